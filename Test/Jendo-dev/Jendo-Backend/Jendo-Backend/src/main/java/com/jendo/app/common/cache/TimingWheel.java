@@ -0,0 +1,118 @@
+package com.jendo.app.common.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for cheap bulk expiry of many keys with deadlines.
+ * Scheduling is O(1); each {@link #advance} walks only the ticks that elapsed and cascades entries
+ * from the coarser levels as their slot comes around. Deadlines beyond the top level simply wait
+ * another rotation in their top-level slot.
+ * <p>
+ * Cancellation is lazy: the wheel reports every key whose deadline passed and the owner decides
+ * whether that key is still actually due.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final List<List<Entry<K>>> slots;
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int slotsPerLevel, int levels) {
+        if (tickMillis <= 0 || levels <= 0 || slotsPerLevel < 2 || Integer.bitCount(slotsPerLevel) != 1) {
+            throw new IllegalArgumentException("tickMillis and levels must be positive and slotsPerLevel a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(slotsPerLevel);
+        this.mask = slotsPerLevel - 1;
+        this.levels = levels;
+        this.slots = new ArrayList<>(slotsPerLevel * levels);
+        for (int i = 0; i < slotsPerLevel * levels; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        // The current tick's slot has already been drained, so the earliest we can fire is the next one
+        place(new Entry<>(key, Math.max(toTick(deadlineMillis), currentTick + 1)));
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis}, handing every key whose deadline has passed to
+     * {@code onExpired}.
+     */
+    public void advance(long nowMillis, Consumer<K> onExpired) {
+        List<K> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = nowMillis / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                List<Entry<K>> due = slot(0, currentTick);
+                for (Entry<K> entry : due) {
+                    expired.add(entry.key);
+                }
+                size -= due.size();
+                due.clear();
+            }
+        }
+        expired.forEach(onExpired);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade() {
+        int highest = 0;
+        for (int level = 1; level < levels; level++) {
+            if ((currentTick & ((1L << (bits * level)) - 1)) != 0) {
+                break;
+            }
+            highest = level;
+        }
+        // Coarser levels first so their entries can settle into the finer slots that follow
+        for (int level = highest; level >= 1; level--) {
+            List<Entry<K>> bucket = slot(level, currentTick);
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            List<Entry<K>> moving = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Entry<K> entry : moving) {
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry<K> entry) {
+        long tick = Math.max(entry.deadlineTick, currentTick);
+        for (int level = 0; level < levels - 1; level++) {
+            int shift = bits * (level + 1);
+            if ((tick >>> shift) == (currentTick >>> shift)) {
+                slot(level, tick).add(entry);
+                return;
+            }
+        }
+        slot(levels - 1, tick).add(entry);
+    }
+
+    private List<Entry<K>> slot(int level, long tick) {
+        int index = (int) ((tick >>> (bits * level)) & mask);
+        return slots.get(level * (mask + 1) + index);
+    }
+
+    private long toTick(long millis) {
+        return (millis + tickMillis - 1) / tickMillis;
+    }
+
+    private record Entry<K>(K key, long deadlineTick) {
+    }
+}
@@ -20,21 +20,27 @@ public class PaginationResponse<T> {
     @Schema(description = "List of items in current page")
     private List<T> content;
     
-    @Schema(description = "Current page number (0-indexed)", example = "0")
-    private int pageNumber;
+    @Schema(description = "Current page number (0-indexed); absent in cursor mode", example = "0")
+    private Integer pageNumber;
     
     @Schema(description = "Number of items per page", example = "10")
     private int pageSize;
     
-    @Schema(description = "Total number of items", example = "100")
-    private long totalElements;
+    @Schema(description = "Total number of items; absent in cursor mode", example = "100")
+    private Long totalElements;
     
-    @Schema(description = "Total number of pages", example = "10")
-    private int totalPages;
+    @Schema(description = "Total number of pages; absent in cursor mode", example = "10")
+    private Integer totalPages;
     
     @Schema(description = "Is this the first page", example = "true")
     private boolean first;
     
     @Schema(description = "Is this the last page", example = "false")
     private boolean last;
+    
+    @Schema(description = "Cursor mode: whether another page follows", example = "true")
+    private Boolean hasNext;
+    
+    @Schema(description = "Cursor mode: opaque token to pass as 'cursor' for the next page", example = "MXwyMDI0LTAxLTE1VDEwOjMwfDQy")
+    private String nextCursor;
 }
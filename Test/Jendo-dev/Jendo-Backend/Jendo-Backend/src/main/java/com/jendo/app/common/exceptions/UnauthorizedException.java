@@ -0,0 +1,12 @@
+package com.jendo.app.common.exceptions;
+
+public class UnauthorizedException extends RuntimeException {
+    
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+    
+    public UnauthorizedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,131 @@
+package com.jendo.app.common.jdbc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps a {@link DataSource} so every statement executed while a {@link QueryStats} recording is active
+ * on the calling thread is counted and timed, and every row read from its result sets is tallied.
+ * Outside a recording, connections hand out the driver's statements untouched.
+ */
+public final class InstrumentedDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private InstrumentedDataSource() {
+    }
+
+    public static DataSource wrap(DataSource target) {
+        if (Proxy.isProxyClass(target.getClass()) && Proxy.getInvocationHandler(target) instanceof DataSourceHandler) {
+            return target;
+        }
+        return proxy(DataSource.class, new DataSourceHandler(target));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record DataSourceHandler(DataSource target) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return proxy(Connection.class, new ConnectionHandler(connection));
+            }
+            return result;
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (QueryStats.current() == null) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            return switch (method.getName()) {
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler((Statement) result, sql));
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler((Statement) result, sql));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private record StatementHandler(Statement target, String preparedSql) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!EXECUTE_METHODS.contains(name)) {
+                Object result = InstrumentedDataSource.invoke(target, method, args);
+                return name.equals("getResultSet") ? countRows(result) : result;
+            }
+
+            long start = System.nanoTime();
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+
+            QueryStats stats = QueryStats.current();
+            if (stats == null) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            stats.recordExecution(sql, elapsed);
+            if (result instanceof Integer updated && updated > 0) {
+                stats.addRows(updated);
+            } else if (result instanceof Long updated && updated > 0) {
+                stats.addRows(updated);
+            } else if (result instanceof int[] batch) {
+                for (int updated : batch) {
+                    stats.addRows(Math.max(0, updated));
+                }
+            } else if (result instanceof long[] batch) {
+                for (long updated : batch) {
+                    stats.addRows(Math.max(0, updated));
+                }
+            }
+            return countRows(result);
+        }
+
+        private static Object countRows(Object result) {
+            if (result instanceof ResultSet resultSet && QueryStats.current() != null) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet));
+            }
+            return result;
+        }
+    }
+
+    private record ResultSetHandler(ResultSet target) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                QueryStats stats = QueryStats.current();
+                if (stats != null) {
+                    stats.addRows(1);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.jendo.app.common.jdbc;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC activity recorded on one thread between {@link #open()} and {@link #close()}: statement count,
+ * rows read or written, time spent inside the driver, and how often each distinct statement ran.
+ * The same SQL text executed many times in one request is the signature of an N+1 load.
+ */
+public class QueryStats {
+
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long rowCount;
+    private long dbTimeNanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    /**
+     * Starts recording on the current thread unless a recording is already active there.
+     *
+     * @return true if this call started the recording and is therefore responsible for closing it
+     */
+    public static boolean open() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new QueryStats());
+        return true;
+    }
+
+    /**
+     * The active recording on this thread, or null when nothing is being recorded.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static QueryStats close() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void recordExecution(String sql, long nanos) {
+        statementCount++;
+        dbTimeNanos += nanos;
+        if (sql != null) {
+            executionsBySql.merge(sql.strip(), 1, Integer::sum);
+        }
+    }
+
+    void addRows(long rows) {
+        rowCount += rows;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    public long getDbTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(dbTimeNanos);
+    }
+
+    /**
+     * Statements that ran at least {@code threshold} times, most frequent first.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(repeated);
+    }
+
+    @Override
+    public String toString() {
+        return statementCount + " statements, " + rowCount + " rows, " + getDbTimeMillis() + "ms in database";
+    }
+}
@@ -0,0 +1,75 @@
+package com.jendo.app.common.metrics;
+
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/routes}: one row per route template, method and status with request count and
+ * latency percentiles taken from the {@code http.server.requests} timers, slowest p99 first.
+ * Percentiles cover the decaying window set by {@code management.metrics.http-latency.expiry}.
+ */
+@Component
+@Endpoint(id = "routes")
+@RequiredArgsConstructor
+public class RouteLatencyEndpoint {
+
+    private static final String REQUESTS_METER = "http.server.requests";
+    private static final String ACTIVE_REQUESTS_METER = "http.server.requests.active";
+
+    private final MeterRegistry meterRegistry;
+
+    public record RouteLatency(String method, String uri, String status, long count,
+                               double meanMs, Double p50Ms, Double p95Ms, Double p99Ms, double maxMs) {
+    }
+
+    public record RouteLatencyReport(int inFlight, List<RouteLatency> routes) {
+    }
+
+    @ReadOperation
+    public RouteLatencyReport routes(@Nullable String uri) {
+        List<RouteLatency> routes = meterRegistry.find(REQUESTS_METER).timers().stream()
+                .filter(timer -> uri == null || uri.equals(timer.getId().getTag("uri")))
+                .map(RouteLatencyEndpoint::toRouteLatency)
+                .sorted(Comparator.comparing((RouteLatency r) -> r.p99Ms() != null ? r.p99Ms() : r.maxMs()).reversed())
+                .toList();
+        int inFlight = meterRegistry.find(ACTIVE_REQUESTS_METER).longTaskTimers().stream()
+                .mapToInt(LongTaskTimer::activeTasks)
+                .sum();
+        return new RouteLatencyReport(inFlight, routes);
+    }
+
+    private static RouteLatency toRouteLatency(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        return new RouteLatency(
+                timer.getId().getTag("method"),
+                timer.getId().getTag("uri"),
+                timer.getId().getTag("status"),
+                snapshot.count(),
+                snapshot.mean(TimeUnit.MILLISECONDS),
+                percentile(snapshot, 0.5),
+                percentile(snapshot, 0.95),
+                percentile(snapshot, 0.99),
+                snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+    private static Double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (Math.abs(value.percentile() - percentile) < 1e-9) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.jendo.app.common.pagination;
+
+import com.jendo.app.common.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by {@code (key DESC, id DESC)}: the sort key and id of the last row a client
+ * has seen. Travels as an opaque URL-safe token so clients cannot depend on its layout.
+ */
+public record KeysetCursor(String key, long id) {
+
+    /** Upper bound used as the position before the first row of a descending scan. */
+    public static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    public static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final String VERSION = "1";
+    private static final char SEPARATOR = '|';
+
+    public static String encode(LocalDateTime key, long id) {
+        return new KeysetCursor(String.valueOf(key), id).encode();
+    }
+
+    public static String encode(LocalDate key, long id) {
+        return new KeysetCursor(String.valueOf(key), id).encode();
+    }
+
+    /**
+     * Parses a client-supplied token; a blank token means "start from the first row" and yields null.
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last || !VERSION.equals(raw.substring(0, first))) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new KeysetCursor(raw.substring(first + 1, last), Long.parseLong(raw.substring(last + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LocalDateTime dateTimeKey(KeysetCursor cursor) {
+        if (cursor == null) {
+            return MAX_DATE_TIME;
+        }
+        try {
+            return LocalDateTime.parse(cursor.key());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    public static LocalDate dateKey(KeysetCursor cursor) {
+        if (cursor == null) {
+            return MAX_DATE;
+        }
+        try {
+            return LocalDate.parse(cursor.key());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    public static long idKey(KeysetCursor cursor) {
+        return cursor == null ? Long.MAX_VALUE : cursor.id();
+    }
+}
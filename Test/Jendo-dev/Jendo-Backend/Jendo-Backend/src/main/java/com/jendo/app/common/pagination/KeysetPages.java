@@ -0,0 +1,47 @@
+package com.jendo.app.common.pagination;
+
+import com.jendo.app.common.dto.PaginationResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for cursor-mode list endpoints. Repositories are asked for one row more than the page size,
+ * which tells whether another page exists without a {@code COUNT(*)}.
+ */
+public final class KeysetPages {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPages() {
+    }
+
+    /**
+     * Limit for a keyset query: the page size plus one look-ahead row. The sort order lives in the query.
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, clamp(size) + 1);
+    }
+
+    public static <R, D> PaginationResponse<D> toResponse(List<R> rows, int size, boolean first,
+                                                          Function<R, String> cursorOf,
+                                                          Function<R, D> mapper) {
+        int pageSize = clamp(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<R> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return PaginationResponse.<D>builder()
+                .content(page.stream().map(mapper).toList())
+                .pageSize(pageSize)
+                .first(first)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .build();
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,173 @@
+package com.jendo.app.common.ratelimit;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets for a large, open-ended set of keys.
+ * <p>
+ * Keys are spread over independent {@link ConcurrentHashMap} stripes, each bounded to its share of
+ * {@code maxKeys}. A bucket's whole state (milli-tokens plus last refill time) is packed into one
+ * {@link AtomicLong} and updated by CAS, so acquiring never blocks and never allocates once the key exists.
+ * A bucket that has refilled to capacity behaves exactly like a brand-new one, so idle keys can be
+ * dropped at any time without changing any decision. Those are the only buckets ever dropped: when a
+ * stripe is full of keys that are still draining, new keys share one overflow bucket per limit until
+ * room frees up, rather than evicting live buckets and handing their owners a fresh burst.
+ */
+public class TokenBucketLimiter {
+
+    private static final int TOKEN_BITS = 21;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLIS_PER_TOKEN = 1000;
+    // A full stripe is rescanned at most this often, so a flood of new keys cannot turn every miss into a scan
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    /**
+     * Bucket shape: up to {@code capacity} requests in a burst, refilled at {@code refillPerMinute}.
+     */
+    public record Limit(int capacity, int refillPerMinute) {
+        public Limit {
+            if (capacity <= 0 || capacity * MILLIS_PER_TOKEN > TOKEN_MASK || refillPerMinute <= 0) {
+                throw new IllegalArgumentException("capacity must be in 1.." + TOKEN_MASK / MILLIS_PER_TOKEN
+                        + " and refillPerMinute positive");
+            }
+        }
+
+        long capacityMilli() {
+            return capacity * MILLIS_PER_TOKEN;
+        }
+
+        // milli-tokens gained per millisecond
+        double refillRate() {
+            return refillPerMinute * MILLIS_PER_TOKEN / 60_000.0;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Bucket>[] stripes;
+    private final AtomicLongArray sweptAt;
+    private final ConcurrentHashMap<Limit, Bucket> overflow = new ConcurrentHashMap<>();
+    private final int stripeMask;
+    private final int maxKeysPerStripe;
+    private final long baseNanos = System.nanoTime();
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketLimiter(int stripeCount, int maxKeys) {
+        if (stripeCount <= 0 || Integer.bitCount(stripeCount) != 1 || maxKeys < stripeCount) {
+            throw new IllegalArgumentException("stripeCount must be a power of two no larger than maxKeys");
+        }
+        this.stripes = new ConcurrentHashMap[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        long[] neverSwept = new long[stripeCount];
+        Arrays.fill(neverSwept, -SWEEP_INTERVAL_MILLIS);
+        this.sweptAt = new AtomicLongArray(neverSwept);
+        this.stripeMask = stripeCount - 1;
+        this.maxKeysPerStripe = maxKeys / stripeCount;
+    }
+
+    /**
+     * Takes one token for {@code key}. Returns 0 when the request may proceed, otherwise the number of
+     * milliseconds until the next token becomes available.
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long now = nowMillis();
+        Bucket bucket = bucketFor(key, limit, now);
+        double rate = limit.refillRate();
+        while (true) {
+            long state = bucket.get();
+            long tokens = state & TOKEN_MASK;
+            long last = state >>> TOKEN_BITS;
+
+            long elapsed = Math.max(0, now - last);
+            long gained = (long) (elapsed * rate);
+            long available = Math.min(limit.capacityMilli(), tokens + gained);
+            // Only move the refill clock by the time actually converted into tokens, so slow rates still accrue
+            long refilledAt = available == limit.capacityMilli() ? now : last + (long) (gained / rate);
+
+            if (available < MILLIS_PER_TOKEN) {
+                return Math.max(1, (long) Math.ceil((MILLIS_PER_TOKEN - available) / rate));
+            }
+            if (bucket.compareAndSet(state, pack(refilledAt, available - MILLIS_PER_TOKEN))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops every bucket that has refilled to capacity.
+     */
+    public int evictIdle() {
+        long now = nowMillis();
+        int evicted = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            evicted += evictIdle(stripe, now);
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Bucket bucketFor(String key, Limit limit, long now) {
+        int index = spread(key.hashCode()) & stripeMask;
+        ConcurrentHashMap<String, Bucket> stripe = stripes[index];
+        Bucket bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxKeysPerStripe && !makeRoom(index, now)) {
+            return overflow.computeIfAbsent(limit, l -> new Bucket(l, pack(now, l.capacityMilli())));
+        }
+        return stripe.computeIfAbsent(key, k -> new Bucket(limit, pack(now, limit.capacityMilli())));
+    }
+
+    private boolean makeRoom(int index, long now) {
+        long last = sweptAt.get(index);
+        if (now - last >= SWEEP_INTERVAL_MILLIS && sweptAt.compareAndSet(index, last, now)) {
+            evictIdle(stripes[index], now);
+        }
+        return stripes[index].size() < maxKeysPerStripe;
+    }
+
+    private static int evictIdle(ConcurrentHashMap<String, Bucket> stripe, long now) {
+        int before = stripe.size();
+        stripe.values().removeIf(bucket -> bucket.isFull(now));
+        return Math.max(0, before - stripe.size());
+    }
+
+    private long nowMillis() {
+        return (System.nanoTime() - baseNanos) / 1_000_000;
+    }
+
+    private static long pack(long millis, long milliTokens) {
+        return (millis << TOKEN_BITS) | milliTokens;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x45D9F3B;
+    }
+
+    // Extends AtomicLong directly to keep each tracked key down to a single small object
+    private static final class Bucket extends AtomicLong {
+        private final transient Limit limit;
+
+        Bucket(Limit limit, long initialState) {
+            super(initialState);
+            this.limit = limit;
+        }
+
+        boolean isFull(long now) {
+            long current = get();
+            long elapsed = Math.max(0, now - (current >>> TOKEN_BITS));
+            return (current & TOKEN_MASK) + elapsed * limit.refillRate() >= limit.capacityMilli();
+        }
+    }
+}
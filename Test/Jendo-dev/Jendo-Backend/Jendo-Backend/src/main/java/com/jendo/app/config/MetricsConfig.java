@@ -0,0 +1,43 @@
+package com.jendo.app.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    /**
+     * Latency histograms for {@code http.server.requests}. Applied by exact name, because the property-based
+     * {@code management.metrics.distribution.*} settings match by prefix and would also attach a histogram to
+     * the {@code http.server.requests.active} in-flight timer.
+     */
+    @Bean
+    public MeterFilter httpLatencyHistogram(
+            @Value("${management.metrics.http-latency.percentiles:0.5,0.95,0.99}") double[] percentiles,
+            @Value("${management.metrics.http-latency.expiry:2m}") Duration expiry) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HTTP_SERVER_REQUESTS.equals(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(percentiles)
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                        .expiry(expiry)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
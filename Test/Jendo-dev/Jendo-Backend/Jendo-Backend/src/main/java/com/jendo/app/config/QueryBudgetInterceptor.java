@@ -0,0 +1,104 @@
+package com.jendo.app.config;
+
+import com.jendo.app.common.jdbc.QueryBudget;
+import com.jendo.app.common.jdbc.QueryStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL issued by each handler: statement count and database time per route, plus warnings for
+ * repeated identical statements (N+1 loads) and for handlers that exceed their {@link QueryBudget}.
+ * The recording is left on the request as {@link QueryStats#REQUEST_ATTRIBUTE} for tests to inspect.
+ * <p>
+ * Async handlers (such as server-sent event streams) release the worker thread before the request
+ * completes, so their recording is closed and reported when concurrent handling starts; it would
+ * otherwise stay on the thread and absorb the statements of every later request served there.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+    private static final String OWNER_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".owner";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jdbc.instrumentation.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The dispatch that completes an async request was already reported when it went async
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(OWNER_ATTRIBUTE, QueryStats.open());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish(request, handler);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request, handler);
+    }
+
+    private void finish(HttpServletRequest request, Object handler) {
+        Object owner = request.getAttribute(OWNER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod) || owner == null) {
+            return;
+        }
+        request.removeAttribute(OWNER_ATTRIBUTE);
+        QueryStats stats = Boolean.TRUE.equals(owner) ? QueryStats.close() : QueryStats.current();
+        if (stats == null) {
+            return;
+        }
+        request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, stats);
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements issued per request")
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder("http.server.requests.db")
+                .description("Time spent in JDBC per request")
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = stats.repeatedStatements(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("jdbc.n_plus_one").tag("uri", route).register(meterRegistry).increment();
+            Map.Entry<String, Integer> worst = repeated.entrySet().iterator().next();
+            logger.warn("Possible N+1 on {} {}: statement ran {} times ({}): {}",
+                    request.getMethod(), route, worst.getValue(), stats, worst.getKey());
+        }
+
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        if (budget != null && stats.getStatementCount() > budget.value()) {
+            Counter.builder("jdbc.query_budget.exceeded").tag("uri", route).register(meterRegistry).increment();
+            logger.warn("Query budget exceeded on {} {}: {} statements, budget {} ({})",
+                    request.getMethod(), route, stats.getStatementCount(), budget.value(), stats);
+        }
+    }
+}
@@ -4,49 +4,59 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.HandlerMapping;
 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampled request logging. Latency aggregates per route come from the {@code http.server.requests}
+ * metrics, so only a sample of ordinary requests is logged, plus every slow or failed one.
+ */
 @Component
 public class RequestLoggingInterceptor implements HandlerInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
+    private static final String START_NANOS_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".startNanos";
+
+    @Value("${request-logging.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${request-logging.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        long startTime = System.currentTimeMillis();
-        request.setAttribute("startTime", startTime);
-        
-        logger.info("API Request - Method: {} | URI: {} | Client IP: {} | User-Agent: {}",
-                request.getMethod(),
-                request.getRequestURI(),
-                request.getRemoteAddr(),
-                request.getHeader("User-Agent"));
-        
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
         return true;
     }
 
-    @Override
-    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
-    }
-
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
-        long startTime = (Long) request.getAttribute("startTime");
-        long executionTime = System.currentTimeMillis() - startTime;
-        
-        logger.info("API Response - Method: {} | URI: {} | Status: {} | Time: {}ms",
-                request.getMethod(),
-                request.getRequestURI(),
-                response.getStatus(),
-                executionTime);
-        
+        Object start = request.getAttribute(START_NANOS_ATTRIBUTE);
+        if (!(start instanceof Long startNanos)) {
+            return;
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        int status = response.getStatus();
+
         if (ex != null) {
-            logger.error("API Exception - Method: {} | URI: {} | Error: {}",
-                    request.getMethod(),
-                    request.getRequestURI(),
-                    ex.getMessage());
+            logger.error("API Exception - Method: {} | URI: {} | Route: {} | Status: {} | Time: {}ms | Error: {}",
+                    request.getMethod(), request.getRequestURI(), route(request), status, elapsedMs, ex.getMessage());
+        } else if (status >= 500 || elapsedMs >= slowThresholdMs) {
+            logger.warn("API Response - Method: {} | URI: {} | Route: {} | Status: {} | Time: {}ms | Client IP: {}",
+                    request.getMethod(), request.getRequestURI(), route(request), status, elapsedMs, request.getRemoteAddr());
+        } else if (logger.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("API Response (sampled) - Method: {} | URI: {} | Route: {} | Status: {} | Time: {}ms",
+                    request.getMethod(), request.getRequestURI(), route(request), status, elapsedMs);
         }
     }
+
+    private static Object route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern : "UNKNOWN";
+    }
 }
@@ -2,10 +2,17 @@ package com.jendo.app.controller;
 
 import com.jendo.app.common.dto.ApiResponse;
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.common.jdbc.QueryBudget;
 import com.jendo.app.domain.appointment.dto.AppointmentRequestDto;
 import com.jendo.app.domain.appointment.dto.AppointmentResponseDto;
+import com.jendo.app.domain.appointment.dto.SlotBookingRequestDto;
+import com.jendo.app.domain.appointment.dto.SlotHoldRequestDto;
+import com.jendo.app.domain.appointment.dto.SlotHoldResponseDto;
 import com.jendo.app.domain.appointment.service.AppointmentService;
+import com.jendo.app.security.AuthenticatedUser;
+import com.jendo.app.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +37,33 @@ public class AppointmentController {
                 .body(ApiResponse.success(appointment, "Appointment created successfully"));
     }
 
+    @PostMapping("/book")
+    @Operation(summary = "Book a slot", description = "Books one of a doctor's available slots; answers 409 if the slot is already taken")
+    public ResponseEntity<ApiResponse<AppointmentResponseDto>> bookSlot(
+            @Valid @RequestBody SlotBookingRequestDto request,
+            @CurrentUser AuthenticatedUser currentUser) {
+        AppointmentResponseDto appointment = appointmentService.bookSlot(request, currentUser.getUserId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(appointment, "Slot booked successfully"));
+    }
+
+    @PostMapping("/holds")
+    @Operation(summary = "Hold a slot", description = "Holds a free slot for a few minutes while the patient confirms; answers 409 if it is booked or held by someone else")
+    public ResponseEntity<ApiResponse<SlotHoldResponseDto>> holdSlot(
+            @Valid @RequestBody SlotHoldRequestDto request,
+            @CurrentUser AuthenticatedUser currentUser) {
+        SlotHoldResponseDto hold = appointmentService.holdSlot(request, currentUser.getUserId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(hold, "Slot held successfully"));
+    }
+
+    @DeleteMapping("/holds/{slotId}")
+    @Operation(summary = "Release a slot hold", description = "Gives up a hold before it expires")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long slotId, @CurrentUser AuthenticatedUser currentUser) {
+        appointmentService.releaseHold(slotId, currentUser.getUserId());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get appointment by ID", description = "Retrieves an appointment by its ID")
     public ResponseEntity<ApiResponse<AppointmentResponseDto>> getAppointmentById(@PathVariable Long id) {
@@ -39,32 +73,42 @@ public class AppointmentController {
 
     @GetMapping
     @Operation(summary = "Get all appointments", description = "Retrieves all appointments with pagination")
+    @QueryBudget(2)
     public ResponseEntity<ApiResponse<PaginationResponse<AppointmentResponseDto>>> getAllAppointments(
             @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Keyset cursor from a previous nextCursor; send it empty to start cursor paging") @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        PaginationResponse<AppointmentResponseDto> appointments = appointmentService.getAllAppointments(page, size);
+        PaginationResponse<AppointmentResponseDto> appointments = cursor != null
+                ? appointmentService.getAllAppointments(cursor, size)
+                : appointmentService.getAllAppointments(page, size);
         return ResponseEntity.ok(ApiResponse.success(appointments));
     }
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get appointments by user", description = "Retrieves appointments for a specific user")
+    @QueryBudget(2)
     public ResponseEntity<ApiResponse<PaginationResponse<AppointmentResponseDto>>> getAppointmentsByUserId(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Keyset cursor from a previous nextCursor; send it empty to start cursor paging") @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        PaginationResponse<AppointmentResponseDto> appointments = 
-                appointmentService.getAppointmentsByUserId(userId, page, size);
+        PaginationResponse<AppointmentResponseDto> appointments = cursor != null
+                ? appointmentService.getAppointmentsByUserId(userId, cursor, size)
+                : appointmentService.getAppointmentsByUserId(userId, page, size);
         return ResponseEntity.ok(ApiResponse.success(appointments));
     }
 
     @GetMapping("/doctor/{doctorId}")
     @Operation(summary = "Get appointments by doctor", description = "Retrieves appointments for a specific doctor")
+    @QueryBudget(2)
     public ResponseEntity<ApiResponse<PaginationResponse<AppointmentResponseDto>>> getAppointmentsByDoctorId(
             @PathVariable Long doctorId,
             @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Keyset cursor from a previous nextCursor; send it empty to start cursor paging") @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        PaginationResponse<AppointmentResponseDto> appointments = 
-                appointmentService.getAppointmentsByDoctorId(doctorId, page, size);
+        PaginationResponse<AppointmentResponseDto> appointments = cursor != null
+                ? appointmentService.getAppointmentsByDoctorId(doctorId, cursor, size)
+                : appointmentService.getAppointmentsByDoctorId(doctorId, page, size);
         return ResponseEntity.ok(ApiResponse.success(appointments));
     }
 
@@ -1,31 +1,38 @@
 package com.jendo.app.controller;
 
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 
 import com.jendo.app.common.dto.ApiResponse;
+import com.jendo.app.common.exceptions.NotFoundException;
+import com.jendo.app.common.exceptions.ServiceUnavailableException;
 import com.jendo.app.domain.user.dto.*;
-import com.jendo.app.domain.user.entity.OtpToken;
+import com.jendo.app.domain.user.entity.OtpPurpose;
+import com.jendo.app.domain.user.entity.Role;
 import com.jendo.app.domain.user.entity.User;
 import com.jendo.app.domain.user.mapper.UserMapper;
-import com.jendo.app.domain.user.repository.OtpTokenRepository;
 import com.jendo.app.domain.user.repository.UserRepository;
 import com.jendo.app.domain.user.service.EmailService;
+import com.jendo.app.domain.user.service.OtpService;
 import com.jendo.app.domain.user.service.UserService;
+import com.jendo.app.security.AuthenticatedUser;
+import com.jendo.app.security.CurrentUser;
+import com.jendo.app.security.GoogleIdTokenVerifier;
 import com.jendo.app.security.JwtUtil;
+import com.jendo.app.security.RefreshTokenService;
+import com.jendo.app.security.TokenRevocationList;
+import com.jendo.app.security.UserPrincipalCache;
+import com.jendo.app.security.VerifiedToken;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -40,38 +47,24 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Authentication", description = "Authentication and authorization APIs")
 public class AuthController {
     private final EmailService emailService;
-    private final OtpTokenRepository otpRepo;
+    private final OtpService otpService;
     private final UserService userService;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
-    
-    private static final SecureRandom secureRandom = new SecureRandom();
-    
-    @Value("${google.client-id:}")
-    private String googleClientId;
-
-    private String generateSecureOtp() {
-        int otp = 100000 + secureRandom.nextInt(900000);
-        return String.valueOf(otp);
-    }
+    private final UserPrincipalCache principalCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList revocationList;
+    private final GoogleIdTokenVerifier googleIdTokenVerifier;
 
     @PostMapping("/send-otp")
     @Transactional
     @Operation(summary = "Send OTP to email", description = "Sends a one-time password to the specified email")
     public ResponseEntity<ApiResponse<Map<String, Object>>> sendOtp(@RequestBody Map<String, String> req) {
         String email = req.get("email");
-        String otp = generateSecureOtp();
-        String hashedOtp = passwordEncoder.encode(otp);
-        
-        OtpToken token = new OtpToken();
-        token.setEmail(email);
-        token.setOtp(hashedOtp);
-        token.setExpiresAt(LocalDateTime.now().plusMinutes(10));
-        otpRepo.deleteByEmail(email);
-        otpRepo.save(token);
+        String otp = otpService.issue(email, OtpPurpose.EMAIL_VERIFICATION);
         
         emailService.sendOtpEmail(email, otp);
         log.info("OTP sent to email: {}", email);
@@ -89,24 +82,21 @@ public class AuthController {
         String email = req.get("email");
         String otp = req.get("otp");
         
-        Optional<OtpToken> tokenOpt = otpRepo.findByEmail(email);
-        if (tokenOpt.isPresent() && tokenOpt.get().getExpiresAt().isAfter(LocalDateTime.now())) {
-            if (passwordEncoder.matches(otp, tokenOpt.get().getOtp())) {
-                otpRepo.deleteByEmail(email);
-                log.info("OTP verified for email: {}", email);
-                return ResponseEntity.ok(ApiResponse.success(
-                    Map.of("success", true, "verified", true),
-                    "OTP verified successfully"
-                ));
-            }
+        OtpService.Verification result = otpService.verify(email, OtpPurpose.EMAIL_VERIFICATION, otp);
+        if (result == OtpService.Verification.VERIFIED) {
+            log.info("OTP verified for email: {}", email);
+            return ResponseEntity.ok(ApiResponse.success(
+                Map.of("success", true, "verified", true),
+                "OTP verified successfully"
+            ));
         }
         
-        log.warn("Invalid or expired OTP for email: {}", email);
-        return ResponseEntity.status(400).body(ApiResponse.error("Invalid or expired OTP"));
+        log.warn("OTP verification failed ({}) for email: {}", result, email);
+        return ResponseEntity.status(400).body(ApiResponse.error(otpFailureMessage(result, "Invalid or expired OTP")));
     }
 
     @PostMapping("/login")
-    @Transactional(readOnly = true)
+    @Transactional
     @Operation(summary = "User login", description = "Authenticates user and returns JWT tokens")
     public ResponseEntity<ApiResponse<AuthResponseDto>> login(@RequestBody Map<String, String> req) {
         String email = req.get("email");
@@ -118,8 +108,8 @@ public class AuthController {
             User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
             
-            String token = jwtUtil.generateToken(email, user.getId());
-            String refreshToken = jwtUtil.generateRefreshToken(email, user.getId());
+            String token = jwtUtil.generateToken(email, user.getId(), roleNames(user));
+            String refreshToken = refreshTokenService.issue(user.getId(), email);
             UserResponseDto userDto = userMapper.toResponseDto(user);
             boolean profileComplete = isProfileComplete(user);
             
@@ -137,6 +127,7 @@ public class AuthController {
             return ResponseEntity.ok(ApiResponse.success(response, "Login successful"));
             
         } catch (Exception e) {
+            rethrowIfBusy(e);
             log.error("Login failed for email: {}", email, e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(ApiResponse.error("Invalid email or password"));
@@ -149,8 +140,8 @@ public class AuthController {
         try {
             UserResponseDto createdUser = userService.createUser(req);
             
-            String token = jwtUtil.generateToken(createdUser.getEmail(), createdUser.getId());
-            String refreshToken = jwtUtil.generateRefreshToken(createdUser.getEmail(), createdUser.getId());
+            String token = jwtUtil.generateToken(createdUser.getEmail(), createdUser.getId(), createdUser.getRoles());
+            String refreshToken = refreshTokenService.issue(createdUser.getId(), createdUser.getEmail());
             
             User user = userRepository.findById(createdUser.getId()).orElseThrow();
             boolean profileComplete = isProfileComplete(user);
@@ -170,6 +161,7 @@ public class AuthController {
                 .body(ApiResponse.success(response, "Registration successful"));
                 
         } catch (Exception e) {
+            rethrowIfBusy(e);
             log.error("Registration failed", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponse.error("Registration failed: " + e.getMessage()));
@@ -189,15 +181,7 @@ public class AuthController {
             ));
         }
         
-        String otp = generateSecureOtp();
-        String hashedOtp = passwordEncoder.encode(otp);
-        
-        OtpToken token = new OtpToken();
-        token.setEmail(email);
-        token.setOtp(hashedOtp);
-        token.setExpiresAt(LocalDateTime.now().plusMinutes(10));
-        otpRepo.deleteByEmail(email);
-        otpRepo.save(token);
+        String otp = otpService.issue(email, OtpPurpose.PASSWORD_RESET);
         
         emailService.sendPasswordResetOtp(email, otp);
         log.info("Password reset OTP sent to: {}", email);
@@ -216,15 +200,10 @@ public class AuthController {
         String otp = req.getOtp();
         String newPassword = req.getNewPassword();
         
-        Optional<OtpToken> tokenOpt = otpRepo.findByEmail(email);
-        if (tokenOpt.isEmpty() || tokenOpt.get().getExpiresAt().isBefore(LocalDateTime.now())) {
-            log.warn("Invalid or expired reset OTP for: {}", email);
-            return ResponseEntity.status(400).body(ApiResponse.error("Invalid or expired OTP"));
-        }
-        
-        if (!passwordEncoder.matches(otp, tokenOpt.get().getOtp())) {
-            log.warn("OTP mismatch for: {}", email);
-            return ResponseEntity.status(400).body(ApiResponse.error("Invalid OTP"));
+        OtpService.Verification result = otpService.verify(email, OtpPurpose.PASSWORD_RESET, otp);
+        if (result != OtpService.Verification.VERIFIED) {
+            log.warn("Reset OTP verification failed ({}) for: {}", result, email);
+            return ResponseEntity.status(400).body(ApiResponse.error(otpFailureMessage(result, "Invalid OTP")));
         }
         
         Optional<User> userOpt = userRepository.findByEmail(email);
@@ -234,9 +213,11 @@ public class AuthController {
         
         User user = userOpt.get();
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.setCredentialsUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        principalCache.invalidateAfterCompletion(user.getId());
+        refreshTokenService.revokeAllForUser(user.getId());
         
-        otpRepo.deleteByEmail(email);
         log.info("Password reset successfully for: {}", email);
         
         return ResponseEntity.ok(ApiResponse.success(
@@ -246,19 +227,15 @@ public class AuthController {
     }
 
     @PostMapping("/change-password")
+    @Transactional
     @Operation(summary = "Change password", description = "Changes password for authenticated user")
     public ResponseEntity<ApiResponse<Map<String, Object>>> changePassword(
-            Authentication authentication,
+            @CurrentUser AuthenticatedUser currentUser,
             @Valid @RequestBody ChangePasswordDto req) {
         
-        if (authentication == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Authentication required"));
-        }
-        
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        String email = currentUser.getEmail();
+        User user = userRepository.findById(currentUser.getUserId())
+            .orElseThrow(() -> new NotFoundException("User", currentUser.getUserId()));
         
         if (!passwordEncoder.matches(req.getCurrentPassword(), user.getPassword())) {
             log.warn("Invalid current password for: {}", email);
@@ -266,11 +243,19 @@ public class AuthController {
         }
         
         user.setPassword(passwordEncoder.encode(req.getNewPassword()));
+        user.setCredentialsUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        principalCache.invalidateAfterCompletion(user.getId());
+        refreshTokenService.revokeAllForUser(user.getId());
         log.info("Password changed successfully for: {}", email);
         
+        // Tokens issued before the change are now rejected, so hand the caller a fresh pair.
         return ResponseEntity.ok(ApiResponse.success(
-            Map.of("success", true),
+            Map.of(
+                "success", true,
+                "token", jwtUtil.generateToken(user.getEmail(), user.getId(), roleNames(user)),
+                "refreshToken", refreshTokenService.issue(user.getId(), user.getEmail())
+            ),
             "Password changed successfully"
         ));
     }
@@ -280,7 +265,7 @@ public class AuthController {
     @Operation(summary = "Google OAuth login", description = "Authenticates user with Google OAuth")
     public ResponseEntity<ApiResponse<AuthResponseDto>> googleAuth(@Valid @RequestBody GoogleAuthDto req) {
         try {
-            Map<String, Object> googleUserInfo = verifyGoogleToken(req.getIdToken());
+            Map<String, Object> googleUserInfo = googleIdTokenVerifier.verify(req.getIdToken()).orElse(null);
             
             if (googleUserInfo == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -331,8 +316,8 @@ public class AuthController {
                 }
             }
             
-            String token = jwtUtil.generateToken(email, user.getId());
-            String refreshToken = jwtUtil.generateRefreshToken(email, user.getId());
+            String token = jwtUtil.generateToken(email, user.getId(), roleNames(user));
+            String refreshToken = refreshTokenService.issue(user.getId(), email);
             UserResponseDto userDto = userMapper.toResponseDto(user);
             boolean profileComplete = isProfileComplete(user);
             
@@ -350,6 +335,7 @@ public class AuthController {
             return ResponseEntity.ok(ApiResponse.success(response, "Google login successful"));
             
         } catch (Exception e) {
+            rethrowIfBusy(e);
             log.error("Google authentication failed", e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(ApiResponse.error("Google authentication failed: " + e.getMessage()));
@@ -357,7 +343,7 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    @Transactional(readOnly = true)
+    @Transactional
     @Operation(summary = "Refresh token", description = "Refreshes access token using refresh token")
     public ResponseEntity<ApiResponse<AuthResponseDto>> refreshToken(@RequestBody Map<String, String> req) {
         String refreshToken = req.get("refreshToken");
@@ -367,33 +353,23 @@ public class AuthController {
                 .body(ApiResponse.error("Refresh token is required"));
         }
         
-        if (!jwtUtil.validateJwtToken(refreshToken)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Invalid refresh token"));
-        }
-        
-        if (!jwtUtil.isRefreshToken(refreshToken)) {
-            log.warn("Attempted to refresh using non-refresh token");
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken).orElse(null);
+        if (rotation == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Invalid token type - must use refresh token"));
+                .body(ApiResponse.error("Invalid or expired refresh token"));
         }
         
-        if (jwtUtil.isTokenExpired(refreshToken)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Refresh token has expired"));
-        }
+        String email = rotation.email();
+        Long userId = rotation.userId();
         
-        String email = jwtUtil.getEmailFromToken(refreshToken);
-        Long userId = jwtUtil.getUserIdFromToken(refreshToken);
-        
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user == null || !user.getId().equals(userId)) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || !user.getEmail().equals(email)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(ApiResponse.error("User not found or token mismatch"));
         }
         
-        String newAccessToken = jwtUtil.generateToken(email, userId);
-        String newRefreshToken = jwtUtil.generateRefreshToken(email, userId);
+        String newAccessToken = jwtUtil.generateToken(email, userId, roleNames(user));
+        String newRefreshToken = rotation.refreshToken();
         UserResponseDto userDto = userMapper.toResponseDto(user);
         
         AuthResponseDto response = AuthResponseDto.builder()
@@ -413,15 +389,10 @@ public class AuthController {
     @GetMapping("/me")
     @Transactional(readOnly = true)
     @Operation(summary = "Get current user", description = "Returns authenticated user profile with completion status")
-    public ResponseEntity<ApiResponse<AuthResponseDto>> getCurrentUser(Authentication authentication) {
-        if (authentication == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Authentication required"));
-        }
-        
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<ApiResponse<AuthResponseDto>> getCurrentUser(@CurrentUser AuthenticatedUser currentUser) {
+        String email = currentUser.getEmail();
+        User user = userRepository.findById(currentUser.getUserId())
+            .orElseThrow(() -> new NotFoundException("User", currentUser.getUserId()));
         
         UserResponseDto userDto = userMapper.toResponseDto(user);
         boolean profileComplete = isProfileComplete(user);
@@ -438,14 +409,50 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    @Operation(summary = "Logout", description = "Invalidates user session")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> logout() {
+    @Transactional
+    @Operation(summary = "Logout", description = "Revokes the presented access token and the refresh token's session")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) Map<String, String> req) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            jwtUtil.verify(authorization.substring(7).trim())
+                .filter(VerifiedToken::isAccessToken)
+                .ifPresent(access -> revocationList.revoke(access.getTokenId(), access.getExpiresAt()));
+        }
+        
+        String refreshToken = req != null ? req.get("refreshToken") : null;
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        
         return ResponseEntity.ok(ApiResponse.success(
             Map.of("success", true),
             "Logged out successfully"
         ));
     }
 
+    // Saturation of the password hashing pool must surface as 503, not as a failed login
+    private static void rethrowIfBusy(Exception e) {
+        if (e instanceof ServiceUnavailableException busy) {
+            throw busy;
+        }
+        if (e.getCause() instanceof ServiceUnavailableException busy) {
+            throw busy;
+        }
+    }
+
+    private String otpFailureMessage(OtpService.Verification result, String invalidMessage) {
+        return switch (result) {
+            case EXPIRED -> "OTP has expired";
+            case LOCKED -> "Too many failed attempts. Please try again later";
+            default -> invalidMessage;
+        };
+    }
+
+    private List<String> roleNames(User user) {
+        return user.getRoles().stream().map(Role::getRoleName).toList();
+    }
+
     private boolean isProfileComplete(User user) {
         return user.getFirstName() != null && !user.getFirstName().isEmpty()
             && user.getLastName() != null && !user.getLastName().isEmpty()
@@ -454,45 +461,4 @@ public class AuthController {
             && user.getDateOfBirth() != null
             && user.getGender() != null && !user.getGender().isEmpty();
     }
-
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> verifyGoogleToken(String idToken) {
-        try {
-            RestTemplate restTemplate = new RestTemplate();
-            String tokenInfoUrl = "https://oauth2.googleapis.com/tokeninfo?id_token=" + idToken;
-            
-            Map<String, Object> tokenInfo = restTemplate.getForObject(tokenInfoUrl, Map.class);
-            
-            if (tokenInfo == null) {
-                log.error("Failed to verify Google token - null response");
-                return null;
-            }
-            
-            String audience = (String) tokenInfo.get("aud");
-            if (googleClientId != null && !googleClientId.isEmpty() && !googleClientId.equals(audience)) {
-                log.error("Google token audience mismatch: expected {}, got {}", googleClientId, audience);
-                return null;
-            }
-            
-            String issuer = (String) tokenInfo.get("iss");
-            if (!"accounts.google.com".equals(issuer) && !"https://accounts.google.com".equals(issuer)) {
-                log.error("Invalid Google token issuer: {}", issuer);
-                return null;
-            }
-            
-            String expStr = (String) tokenInfo.get("exp");
-            if (expStr != null) {
-                long exp = Long.parseLong(expStr);
-                if (exp < System.currentTimeMillis() / 1000) {
-                    log.error("Google token has expired");
-                    return null;
-                }
-            }
-            
-            return tokenInfo;
-        } catch (Exception e) {
-            log.error("Failed to verify Google token", e);
-            return null;
-        }
-    }
 }
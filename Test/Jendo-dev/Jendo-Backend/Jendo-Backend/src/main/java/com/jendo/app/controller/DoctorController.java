@@ -2,11 +2,16 @@ package com.jendo.app.controller;
 
 import com.jendo.app.common.dto.ApiResponse;
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.common.jdbc.QueryBudget;
+import com.jendo.app.domain.doctor.dto.AvailabilityTemplateDto;
 import com.jendo.app.domain.doctor.dto.AvailableSlotDto;
 import com.jendo.app.domain.doctor.dto.DoctorRequestDto;
 import com.jendo.app.domain.doctor.dto.DoctorResponseDto;
+import com.jendo.app.domain.doctor.dto.DoctorSuggestionDto;
+import com.jendo.app.domain.doctor.dto.EarliestSlotDto;
 import com.jendo.app.domain.doctor.service.DoctorService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -43,6 +48,7 @@ public class DoctorController {
 
     @GetMapping
     @Operation(summary = "Get all doctors", description = "Retrieves all doctors with pagination")
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<PaginationResponse<DoctorResponseDto>>> getAllDoctors(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
@@ -52,6 +58,7 @@ public class DoctorController {
 
     @GetMapping("/specialty/{specialty}")
     @Operation(summary = "Get doctors by specialty", description = "Retrieves doctors filtered by specialty")
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<PaginationResponse<DoctorResponseDto>>> getDoctorsBySpecialty(
             @PathVariable String specialty,
             @RequestParam(defaultValue = "0") int page,
@@ -62,11 +69,33 @@ public class DoctorController {
 
     @GetMapping("/available")
     @Operation(summary = "Get available doctors", description = "Retrieves all currently available doctors")
+    @QueryBudget(2)
     public ResponseEntity<ApiResponse<List<DoctorResponseDto>>> getAvailableDoctors() {
         List<DoctorResponseDto> doctors = doctorService.getAvailableDoctors();
         return ResponseEntity.ok(ApiResponse.success(doctors));
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search doctors", description = "Typeahead search over doctor names, specialties and hospitals, best match first")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<DoctorSuggestionDto>>> searchDoctors(
+            @Parameter(description = "Text typed so far; words match the start of names, specialties and hospitals") @RequestParam(defaultValue = "") String q,
+            @Parameter(description = "Number of suggestions, at most 20") @RequestParam(defaultValue = "8") int limit) {
+        List<DoctorSuggestionDto> doctors = doctorService.searchDoctors(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(doctors));
+    }
+
+    @GetMapping("/earliest-slots")
+    @Operation(summary = "Get earliest available slots", description = "Retrieves the soonest free slots across all doctors matching a specialty and/or hospital")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<List<EarliestSlotDto>>> getEarliestAvailableSlots(
+            @RequestParam(required = false) String specialty,
+            @RequestParam(required = false) String hospital,
+            @Parameter(description = "Number of slots to return, at most 50") @RequestParam(defaultValue = "10") int limit) {
+        List<EarliestSlotDto> slots = doctorService.getEarliestAvailableSlots(specialty, hospital, limit);
+        return ResponseEntity.ok(ApiResponse.success(slots));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update doctor", description = "Updates an existing doctor's information")
     public ResponseEntity<ApiResponse<DoctorResponseDto>> updateDoctor(
@@ -94,8 +123,12 @@ public class DoctorController {
 
     @GetMapping("/{id}/available-dates")
     @Operation(summary = "Get available dates", description = "Retrieves dates with available slots for a doctor")
-    public ResponseEntity<ApiResponse<List<LocalDate>>> getAvailableDates(@PathVariable Long id) {
-        List<LocalDate> dates = doctorService.getAvailableDates(id);
+    public ResponseEntity<ApiResponse<List<LocalDate>>> getAvailableDates(
+            @PathVariable Long id,
+            @Parameter(description = "Only dates in the next N days, starting today") @RequestParam(required = false) Integer days) {
+        List<LocalDate> dates = days != null
+                ? doctorService.getAvailableDates(id, days)
+                : doctorService.getAvailableDates(id);
         return ResponseEntity.ok(ApiResponse.success(dates));
     }
 
@@ -108,4 +141,20 @@ public class DoctorController {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(slot, "Available slot created successfully"));
     }
+
+    @GetMapping("/{id}/availability-templates")
+    @Operation(summary = "Get availability templates", description = "Retrieves a doctor's weekly availability templates")
+    public ResponseEntity<ApiResponse<List<AvailabilityTemplateDto>>> getAvailabilityTemplates(@PathVariable Long id) {
+        List<AvailabilityTemplateDto> templates = doctorService.getAvailabilityTemplates(id);
+        return ResponseEntity.ok(ApiResponse.success(templates));
+    }
+
+    @PutMapping("/{id}/availability-templates")
+    @Operation(summary = "Replace availability templates", description = "Replaces a doctor's weekly availability templates and regenerates upcoming slots; booked slots are kept (Admin)")
+    public ResponseEntity<ApiResponse<List<AvailabilityTemplateDto>>> replaceAvailabilityTemplates(
+            @PathVariable Long id,
+            @Valid @RequestBody List<AvailabilityTemplateDto> templates) {
+        List<AvailabilityTemplateDto> saved = doctorService.replaceAvailabilityTemplates(id, templates);
+        return ResponseEntity.ok(ApiResponse.success(saved, "Availability templates updated successfully"));
+    }
 }
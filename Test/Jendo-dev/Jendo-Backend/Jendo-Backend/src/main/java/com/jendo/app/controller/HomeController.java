@@ -1,17 +1,18 @@
 package com.jendo.app.controller;
 
 import com.jendo.app.common.dto.ApiResponse;
+import com.jendo.app.common.exceptions.NotFoundException;
 import com.jendo.app.domain.user.dto.UserResponseDto;
 import com.jendo.app.domain.user.entity.User;
 import com.jendo.app.domain.user.mapper.UserMapper;
 import com.jendo.app.domain.user.repository.UserRepository;
+import com.jendo.app.security.AuthenticatedUser;
+import com.jendo.app.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,15 +32,10 @@ public class HomeController {
     @GetMapping
     @Transactional(readOnly = true)
     @Operation(summary = "Get home data", description = "Returns home page data for authenticated user including profile completion status")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getHomeData(Authentication authentication) {
-        if (authentication == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Authentication required"));
-        }
-        
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getHomeData(@CurrentUser AuthenticatedUser currentUser) {
+        String email = currentUser.getEmail();
+        User user = userRepository.findById(currentUser.getUserId())
+            .orElseThrow(() -> new NotFoundException("User", currentUser.getUserId()));
         
         UserResponseDto userDto = userMapper.toResponseDto(user);
         boolean profileComplete = isProfileComplete(user);
@@ -57,15 +53,10 @@ public class HomeController {
     @GetMapping("/profile")
     @Transactional(readOnly = true)
     @Operation(summary = "Get user profile", description = "Returns authenticated user's profile with completion status")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getProfile(Authentication authentication) {
-        if (authentication == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Authentication required"));
-        }
-        
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getProfile(@CurrentUser AuthenticatedUser currentUser) {
+        String email = currentUser.getEmail();
+        User user = userRepository.findById(currentUser.getUserId())
+            .orElseThrow(() -> new NotFoundException("User", currentUser.getUserId()));
         
         UserResponseDto userDto = userMapper.toResponseDto(user);
         boolean profileComplete = isProfileComplete(user);
@@ -2,6 +2,7 @@ package com.jendo.app.controller;
 
 import com.jendo.app.common.dto.ApiResponse;
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.common.jdbc.QueryBudget;
 import com.jendo.app.domain.jendotest.dto.JendoTestRequestDto;
 import com.jendo.app.domain.jendotest.dto.JendoTestResponseDto;
 import com.jendo.app.domain.jendotest.service.JendoTestService;
@@ -43,25 +44,34 @@ public class JendoTestController {
 
     @GetMapping
     @Operation(summary = "Get all tests", description = "Retrieves all Jendo tests with pagination")
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<PaginationResponse<JendoTestResponseDto>>> getAllTests(
             @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Keyset cursor from a previous nextCursor; send it empty to start cursor paging") @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        PaginationResponse<JendoTestResponseDto> tests = jendoTestService.getAllTests(page, size);
+        PaginationResponse<JendoTestResponseDto> tests = cursor != null
+                ? jendoTestService.getAllTests(cursor, size)
+                : jendoTestService.getAllTests(page, size);
         return ResponseEntity.ok(ApiResponse.success(tests));
     }
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get tests by user", description = "Retrieves all tests for a specific user")
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<PaginationResponse<JendoTestResponseDto>>> getTestsByUserId(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Keyset cursor from a previous nextCursor; send it empty to start cursor paging") @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        PaginationResponse<JendoTestResponseDto> tests = jendoTestService.getTestsByUserId(userId, page, size);
+        PaginationResponse<JendoTestResponseDto> tests = cursor != null
+                ? jendoTestService.getTestsByUserId(userId, cursor, size)
+                : jendoTestService.getTestsByUserId(userId, page, size);
         return ResponseEntity.ok(ApiResponse.success(tests));
     }
 
     @GetMapping("/user/{userId}/date-range")
     @Operation(summary = "Get tests by date range", description = "Retrieves tests for a user within a date range")
+    @QueryBudget(2)
     public ResponseEntity<ApiResponse<List<JendoTestResponseDto>>> getTestsByDateRange(
             @PathVariable Long userId,
             @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
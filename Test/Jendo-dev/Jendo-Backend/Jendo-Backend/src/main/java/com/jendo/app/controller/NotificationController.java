@@ -2,16 +2,25 @@ package com.jendo.app.controller;
 
 import com.jendo.app.common.dto.ApiResponse;
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.domain.notification.dto.BroadcastNotificationRequestDto;
+import com.jendo.app.domain.notification.dto.BroadcastNotificationResponseDto;
 import com.jendo.app.domain.notification.dto.NotificationRequestDto;
 import com.jendo.app.domain.notification.dto.NotificationResponseDto;
+import com.jendo.app.domain.notification.service.BroadcastNotificationService;
+import com.jendo.app.domain.notification.service.NotificationPushHub;
 import com.jendo.app.domain.notification.service.NotificationService;
+import com.jendo.app.security.AuthenticatedUser;
+import com.jendo.app.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -22,6 +31,8 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final BroadcastNotificationService broadcastNotificationService;
+    private final NotificationPushHub pushHub;
 
     @PostMapping
     @Operation(summary = "Create notification", description = "Creates a new notification")
@@ -32,6 +43,33 @@ public class NotificationController {
                 .body(ApiResponse.success(notification, "Notification created"));
     }
 
+    @PostMapping("/broadcasts")
+    @Operation(summary = "Broadcast notification",
+            description = "Stores one notification for every user, or for users whose latest Jendo test has the given risk level")
+    public ResponseEntity<ApiResponse<BroadcastNotificationResponseDto>> broadcastNotification(
+            @Valid @RequestBody BroadcastNotificationRequestDto request) {
+        BroadcastNotificationResponseDto broadcast = broadcastNotificationService.broadcast(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(broadcast, "Broadcast notification created"));
+    }
+
+    @PatchMapping("/broadcasts/{id}/read")
+    @Operation(summary = "Mark broadcast as read", description = "Marks a broadcast notification as read for the current user")
+    public ResponseEntity<ApiResponse<NotificationResponseDto>> markBroadcastAsRead(
+            @PathVariable Long id,
+            @CurrentUser AuthenticatedUser currentUser) {
+        NotificationResponseDto notification = broadcastNotificationService.markAsRead(id, currentUser.getUserId());
+        return ResponseEntity.ok(ApiResponse.success(notification, "Notification marked as read"));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream notifications",
+            description = "Server-sent events for the current user: unread-count on connect and after every change, "
+                    + "notification for each new notification")
+    public SseEmitter streamNotifications(@CurrentUser AuthenticatedUser currentUser) {
+        return pushHub.subscribe(currentUser.getUserId());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get notification by ID")
     public ResponseEntity<ApiResponse<NotificationResponseDto>> getNotificationById(@PathVariable Long id) {
@@ -44,9 +82,11 @@ public class NotificationController {
     public ResponseEntity<ApiResponse<PaginationResponse<NotificationResponseDto>>> getNotificationsByUserId(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Keyset cursor from a previous nextCursor; send it empty to start cursor paging") @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        PaginationResponse<NotificationResponseDto> notifications = 
-                notificationService.getNotificationsByUserId(userId, page, size);
+        PaginationResponse<NotificationResponseDto> notifications = cursor != null
+                ? notificationService.getNotificationsByUserId(userId, cursor, size)
+                : notificationService.getNotificationsByUserId(userId, page, size);
         return ResponseEntity.ok(ApiResponse.success(notifications));
     }
 
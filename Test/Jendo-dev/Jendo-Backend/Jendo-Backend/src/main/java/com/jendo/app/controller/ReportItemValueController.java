@@ -1,9 +1,12 @@
 package com.jendo.app.controller;
 
 import com.jendo.app.common.dto.ApiResponse;
+import com.jendo.app.common.jdbc.QueryBudget;
 import com.jendo.app.domain.reportitemvalue.dto.ReportItemValueRequestDto;
 import com.jendo.app.domain.reportitemvalue.dto.ReportItemValueResponseDto;
 import com.jendo.app.domain.reportitemvalue.service.ReportItemValueService;
+import com.jendo.app.security.AuthenticatedUser;
+import com.jendo.app.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,7 +19,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -29,25 +31,23 @@ import java.util.List;
 public class ReportItemValueController {
 
     private final ReportItemValueService service;
-    private final com.jendo.app.domain.user.service.UserService userService;
 
     @GetMapping
     @Operation(summary = "Get all values", description = "Retrieves all report values for the authenticated user")
-    public ResponseEntity<ApiResponse<List<ReportItemValueResponseDto>>> getAllValues(Authentication authentication) {
-        String email = authentication.getName();
-        Long userId = userService.getUserByEmail(email).getId();
+    @QueryBudget(4)
+    public ResponseEntity<ApiResponse<List<ReportItemValueResponseDto>>> getAllValues(@CurrentUser AuthenticatedUser currentUser) {
+        Long userId = currentUser.getUserId();
         return ResponseEntity.ok(ApiResponse.success(service.getValuesByUserId(userId)));
     }
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get values by user", description = "Retrieves all values for a user")
+    @QueryBudget(4)
     public ResponseEntity<ApiResponse<List<ReportItemValueResponseDto>>> getValuesByUser(
             @PathVariable Long userId,
-            Authentication authentication) {
+            @CurrentUser AuthenticatedUser currentUser) {
         // Ensure users can only access their own data
-        String email = authentication.getName();
-        Long authenticatedUserId = userService.getUserByEmail(email).getId();
-        if (!userId.equals(authenticatedUserId)) {
+        if (!userId.equals(currentUser.getUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Access denied: You can only access your own reports"));
         }
@@ -56,24 +56,23 @@ public class ReportItemValueController {
 
     @GetMapping("/item/{reportItemId}")
     @Operation(summary = "Get values by report item", description = "Retrieves all values for a report item for the authenticated user")
+    @QueryBudget(4)
     public ResponseEntity<ApiResponse<List<ReportItemValueResponseDto>>> getValuesByReportItem(
             @PathVariable Long reportItemId,
-            Authentication authentication) {
-        String email = authentication.getName();
-        Long userId = userService.getUserByEmail(email).getId();
+            @CurrentUser AuthenticatedUser currentUser) {
+        Long userId = currentUser.getUserId();
         return ResponseEntity.ok(ApiResponse.success(service.getValuesByUserIdAndReportItemId(userId, reportItemId)));
     }
 
     @GetMapping("/user/{userId}/item/{reportItemId}")
     @Operation(summary = "Get values by user and item", description = "Retrieves all values for a user and report item")
+    @QueryBudget(4)
     public ResponseEntity<ApiResponse<List<ReportItemValueResponseDto>>> getValuesByUserAndItem(
             @PathVariable Long userId,
             @PathVariable Long reportItemId,
-            Authentication authentication) {
+            @CurrentUser AuthenticatedUser currentUser) {
         // Ensure users can only access their own data
-        String email = authentication.getName();
-        Long authenticatedUserId = userService.getUserByEmail(email).getId();
-        if (!userId.equals(authenticatedUserId)) {
+        if (!userId.equals(currentUser.getUserId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Access denied: You can only access your own reports"));
         }
@@ -82,18 +81,19 @@ public class ReportItemValueController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get value by ID", description = "Retrieves a value by its ID")
-    public ResponseEntity<ApiResponse<ReportItemValueResponseDto>> getValueById(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success(service.getValueById(id)));
+    public ResponseEntity<ApiResponse<ReportItemValueResponseDto>> getValueById(
+            @PathVariable Long id,
+            @CurrentUser AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(ApiResponse.success(service.getValueById(id, currentUser.getUserId())));
     }
 
     @PostMapping
     @Operation(summary = "Create value", description = "Creates a new report item value")
     public ResponseEntity<ApiResponse<ReportItemValueResponseDto>> createValue(
             @Valid @RequestBody ReportItemValueRequestDto request,
-            Authentication authentication) {
-        String email = authentication.getName();
+            @CurrentUser AuthenticatedUser currentUser) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success(service.createValue(request, email), "Value created successfully"));
+                .body(ApiResponse.success(service.createValue(request, currentUser.getUserId()), "Value created successfully"));
     }
 
     @PutMapping("/{id}")
@@ -101,15 +101,16 @@ public class ReportItemValueController {
     public ResponseEntity<ApiResponse<ReportItemValueResponseDto>> updateValue(
             @PathVariable Long id,
             @Valid @RequestBody ReportItemValueRequestDto request,
-            Authentication authentication) {
-        String email = authentication.getName();
-        return ResponseEntity.ok(ApiResponse.success(service.updateValue(id, request, email), "Value updated successfully"));
+            @CurrentUser AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(ApiResponse.success(service.updateValue(id, request, currentUser.getUserId()), "Value updated successfully"));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete value", description = "Deletes a report item value and its attachments")
-    public ResponseEntity<ApiResponse<Void>> deleteValue(@PathVariable Long id) {
-        service.deleteValue(id);
+    public ResponseEntity<ApiResponse<Void>> deleteValue(
+            @PathVariable Long id,
+            @CurrentUser AuthenticatedUser currentUser) {
+        service.deleteValue(id, currentUser.getUserId());
         return ResponseEntity.ok(ApiResponse.success(null, "Value deleted successfully"));
     }
 
@@ -121,23 +122,26 @@ public class ReportItemValueController {
                 content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE,
                     schema = @Schema(type = "string", format = "binary")))
             @RequestPart("file") MultipartFile file,
-            Authentication authentication) {
-        String email = authentication.getName();
+            @CurrentUser AuthenticatedUser currentUser) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success(service.addAttachment(id, file, email), "Attachment added successfully"));
+                .body(ApiResponse.success(service.addAttachment(id, file, currentUser.getUserId()), "Attachment added successfully"));
     }
 
     @DeleteMapping("/attachments/{attachmentId}")
     @Operation(summary = "Delete attachment", description = "Deletes an attachment")
-    public ResponseEntity<ApiResponse<Void>> deleteAttachment(@PathVariable Long attachmentId) {
-        service.deleteAttachment(attachmentId);
+    public ResponseEntity<ApiResponse<Void>> deleteAttachment(
+            @PathVariable Long attachmentId,
+            @CurrentUser AuthenticatedUser currentUser) {
+        service.deleteAttachment(attachmentId, currentUser.getUserId());
         return ResponseEntity.ok(ApiResponse.success(null, "Attachment deleted successfully"));
     }
 
     @GetMapping("/attachments/{attachmentId}/download")
     @Operation(summary = "Download attachment", description = "Downloads an attachment file")
-    public ResponseEntity<Resource> downloadAttachment(@PathVariable Long attachmentId) {
-        Resource resource = service.downloadAttachment(attachmentId);
+    public ResponseEntity<Resource> downloadAttachment(
+            @PathVariable Long attachmentId,
+            @CurrentUser AuthenticatedUser currentUser) {
+        Resource resource = service.downloadAttachment(attachmentId, currentUser.getUserId());
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
@@ -2,10 +2,14 @@ package com.jendo.app.controller;
 
 import com.jendo.app.common.dto.ApiResponse;
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.common.jdbc.QueryBudget;
 import com.jendo.app.domain.user.dto.UserRequestDto;
 import com.jendo.app.domain.user.dto.UserResponseDto;
+import com.jendo.app.domain.user.dto.UserRolesDto;
 import com.jendo.app.domain.user.dto.UserUpdateDto;
 import com.jendo.app.domain.user.service.UserService;
+import com.jendo.app.security.AuthenticatedUser;
+import com.jendo.app.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,7 +23,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.security.core.Authentication;
 import java.io.IOException;
 import java.util.Map;
 import com.cloudinary.Cloudinary;
@@ -70,34 +73,36 @@ public class UserController {
 
     @GetMapping("/me")
     @Operation(summary = "Get current user", description = "Retrieves the currently authenticated user's profile")
-    public ResponseEntity<ApiResponse<UserResponseDto>> getCurrentUser(Authentication authentication) {
-        String email = authentication.getName();
-        UserResponseDto user = userService.getUserByEmail(email);
+    public ResponseEntity<ApiResponse<UserResponseDto>> getCurrentUser(@CurrentUser AuthenticatedUser currentUser) {
+        UserResponseDto user = userService.getUserById(currentUser.getUserId());
         return ResponseEntity.ok(ApiResponse.success(user));
     }
 
     @PutMapping("/me")
     @Operation(summary = "Update current user profile", description = "Updates the currently authenticated user's profile")
     public ResponseEntity<ApiResponse<UserResponseDto>> updateCurrentUser(
-            Authentication authentication,
+            @CurrentUser AuthenticatedUser currentUser,
             @Valid @RequestBody UserUpdateDto request) {
-        String email = authentication.getName();
-        UserResponseDto currentUser = userService.getUserByEmail(email);
-        UserResponseDto user = userService.updateUser(currentUser.getId(), request);
+        UserResponseDto user = userService.updateUser(currentUser.getUserId(), request);
         return ResponseEntity.ok(ApiResponse.success(user, "Profile updated successfully"));
     }
 
     @GetMapping
     @Operation(summary = "Get all users", description = "Retrieves all users with pagination")
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<PaginationResponse<UserResponseDto>>> getAllUsers(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Keyset cursor from a previous nextCursor; send it empty to start cursor paging") @RequestParam(required = false) String cursor,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
-        PaginationResponse<UserResponseDto> users = userService.getAllUsers(page, size);
+        PaginationResponse<UserResponseDto> users = cursor != null
+                ? userService.getAllUsers(cursor, size)
+                : userService.getAllUsers(page, size);
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search users", description = "Search users by name")
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<PaginationResponse<UserResponseDto>>> searchUsers(
             @Parameter(description = "Search query") @RequestParam String query,
             @RequestParam(defaultValue = "0") int page,
@@ -115,6 +120,15 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(user, "User updated successfully"));
     }
 
+    @PutMapping("/{id}/roles")
+    @Operation(summary = "Replace user roles", description = "Replaces a user's roles; admin only. Tokens issued before the change stop working")
+    public ResponseEntity<ApiResponse<UserResponseDto>> updateUserRoles(
+            @PathVariable Long id,
+            @Valid @RequestBody UserRolesDto request) {
+        UserResponseDto user = userService.updateRoles(id, request.getRoles());
+        return ResponseEntity.ok(ApiResponse.success(user, "User roles updated successfully"));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete user", description = "Deletes a user by ID")
     @ApiResponses(value = {
@@ -129,7 +143,7 @@ public class UserController {
     @PostMapping(value = "/profile-image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Upload profile image", description = "Uploads a profile image for the current user")
     public ResponseEntity<ApiResponse<UserResponseDto>> uploadProfileImage(
-            Authentication authentication,
+            @CurrentUser AuthenticatedUser currentUser,
             @RequestParam("image") MultipartFile file) {
         try {
             // Validate file
@@ -156,12 +170,10 @@ public class UserController {
             String imageUrl = (String) uploadResult.get("secure_url");
 
             // Update user profile with new image URL
-            String email = authentication.getName();
-            UserResponseDto currentUser = userService.getUserByEmail(email);
             UserUpdateDto updateDto = UserUpdateDto.builder()
                     .profileImage(imageUrl)
                     .build();
-            UserResponseDto updatedUser = userService.updateUser(currentUser.getId(), updateDto);
+            UserResponseDto updatedUser = userService.updateUser(currentUser.getUserId(), updateDto);
 
             // Return updated user object with success message
             return ResponseEntity.ok(ApiResponse.success(updatedUser, "Profile image uploaded successfully"));
@@ -31,6 +31,9 @@ public class AppointmentResponseDto {
     @Schema(description = "Doctor's name", example = "Dr. Jane Smith")
     private String doctorName;
 
+    @Schema(description = "Booked slot ID, for appointments booked from a doctor's available slots", example = "12")
+    private Long slotId;
+
     @Schema(description = "Patient's email", example = "patient@example.com")
     private String email;
 
@@ -0,0 +1,30 @@
+package com.jendo.app.domain.appointment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to book one of a doctor's available slots")
+public class SlotBookingRequestDto {
+
+    @NotNull(message = "Slot ID is required")
+    @Positive(message = "Slot ID must be positive")
+    @Schema(description = "ID of the available slot to book", example = "12", required = true)
+    private Long slotId;
+
+    @Email(message = "Email must be valid")
+    @Schema(description = "Patient's email for appointment", example = "patient@example.com")
+    private String email;
+
+    @Schema(description = "Appointment type", example = "IN_PERSON")
+    private String type;
+}
@@ -0,0 +1,22 @@
+package com.jendo.app.domain.appointment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to hold a slot while the patient confirms the booking")
+public class SlotHoldRequestDto {
+
+    @NotNull(message = "Slot ID is required")
+    @Positive(message = "Slot ID must be positive")
+    @Schema(description = "ID of the available slot to hold", example = "12", required = true)
+    private Long slotId;
+}
@@ -0,0 +1,37 @@
+package com.jendo.app.domain.appointment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Slot held for a patient until it expires or is booked")
+public class SlotHoldResponseDto {
+
+    @Schema(description = "Held slot ID", example = "12")
+    private Long slotId;
+
+    @Schema(description = "Patient's user ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "Doctor's ID", example = "1")
+    private Long doctorId;
+
+    @Schema(description = "Slot date", example = "2024-12-20")
+    private LocalDate slotDate;
+
+    @Schema(description = "Slot start time", example = "09:00:00")
+    private LocalTime startTime;
+
+    @Schema(description = "When the hold lapses unless the slot is booked", example = "2024-12-18T10:05:00")
+    private LocalDateTime expiresAt;
+}
@@ -1,6 +1,7 @@
 package com.jendo.app.domain.appointment.entity;
 
 import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
 import com.jendo.app.domain.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
@@ -14,12 +15,13 @@ import java.time.LocalTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(exclude = {"user", "doctor"})
-@ToString(exclude = {"user", "doctor"})
+@EqualsAndHashCode(exclude = {"user", "doctor", "slot"})
+@ToString(exclude = {"user", "doctor", "slot"})
 public class Appointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "email", length = 255)
@@ -53,4 +55,8 @@ public class Appointment {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id")
     private Doctor doctor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "slot_id")
+    private DoctorAvailableSlot slot;
 }
@@ -2,8 +2,11 @@ package com.jendo.app.domain.appointment.mapper;
 
 import com.jendo.app.domain.appointment.dto.AppointmentRequestDto;
 import com.jendo.app.domain.appointment.dto.AppointmentResponseDto;
+import com.jendo.app.domain.appointment.dto.SlotBookingRequestDto;
 import com.jendo.app.domain.appointment.entity.Appointment;
+import com.jendo.app.domain.appointment.projection.AppointmentListView;
 import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
 import com.jendo.app.domain.user.entity.User;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +29,23 @@ public class AppointmentMapper {
                 .build();
     }
 
+    public Appointment toEntity(SlotBookingRequestDto dto, User user, DoctorAvailableSlot slot) {
+        Doctor doctor = slot.getDoctor();
+        return Appointment.builder()
+                .user(user)
+                .doctor(doctor)
+                .slot(slot)
+                .email(dto.getEmail() != null ? dto.getEmail() : user.getEmail())
+                .date(slot.getSlotDate())
+                .time(slot.getStartTime())
+                .specialty(doctor.getSpecialty())
+                .qualifications(doctor.getQualifications())
+                .doctorName(doctor.getName())
+                .type(dto.getType())
+                .status("SCHEDULED")
+                .build();
+    }
+
     public AppointmentResponseDto toResponseDto(Appointment entity) {
         return AppointmentResponseDto.builder()
                 .id(entity.getId())
@@ -33,6 +53,7 @@ public class AppointmentMapper {
                 .userName(entity.getUser().getFirstName() + " " + entity.getUser().getLastName())
                 .doctorId(entity.getDoctor() != null ? entity.getDoctor().getId() : null)
                 .doctorName(entity.getDoctorName())
+                .slotId(entity.getSlot() != null ? entity.getSlot().getId() : null)
                 .email(entity.getEmail())
                 .date(entity.getDate())
                 .time(entity.getTime())
@@ -42,4 +63,21 @@ public class AppointmentMapper {
                 .status(entity.getStatus())
                 .build();
     }
+
+    public AppointmentResponseDto toResponseDto(AppointmentListView view) {
+        return AppointmentResponseDto.builder()
+                .id(view.getId())
+                .userId(view.getUserId())
+                .userName(view.getUserFirstName() + " " + view.getUserLastName())
+                .doctorId(view.getDoctorId())
+                .doctorName(view.getDoctorName())
+                .email(view.getEmail())
+                .date(view.getDate())
+                .time(view.getTime())
+                .specialty(view.getSpecialty())
+                .qualifications(view.getQualifications())
+                .type(view.getType())
+                .status(view.getStatus())
+                .build();
+    }
 }
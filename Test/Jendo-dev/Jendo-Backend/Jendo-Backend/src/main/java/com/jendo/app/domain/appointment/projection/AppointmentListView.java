@@ -0,0 +1,36 @@
+package com.jendo.app.domain.appointment.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * An appointment row joined with the patient's name, for listings.
+ */
+public interface AppointmentListView {
+
+    Long getId();
+
+    Long getUserId();
+
+    String getUserFirstName();
+
+    String getUserLastName();
+
+    Long getDoctorId();
+
+    String getDoctorName();
+
+    String getEmail();
+
+    LocalDate getDate();
+
+    LocalTime getTime();
+
+    String getSpecialty();
+
+    String getQualifications();
+
+    String getType();
+
+    String getStatus();
+}
@@ -1,9 +1,12 @@
 package com.jendo.app.domain.appointment.repository;
 
 import com.jendo.app.domain.appointment.entity.Appointment;
+import com.jendo.app.domain.appointment.projection.AppointmentListView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -11,6 +14,11 @@ import java.util.List;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+
+    // a.doctor.id reads the foreign key column, so appointments without a doctor are kept
+    String LIST_VIEW_COLUMNS = "a.id AS id, u.id AS userId, u.firstName AS userFirstName, u.lastName AS userLastName,"
+            + " a.doctor.id AS doctorId, a.doctorName AS doctorName, a.email AS email, a.date AS date, a.time AS time,"
+            + " a.specialty AS specialty, a.qualifications AS qualifications, a.type AS type, a.status AS status";
     
     Page<Appointment> findByUserId(Long userId, Pageable pageable);
     
@@ -21,4 +29,39 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findByStatus(String status);
     
     List<Appointment> findByDoctorIdAndDate(Long doctorId, LocalDate date);
+
+    @Query(value = "SELECT " + LIST_VIEW_COLUMNS + " FROM Appointment a JOIN a.user u",
+            countQuery = "SELECT COUNT(a) FROM Appointment a")
+    Page<AppointmentListView> findAllListViews(Pageable pageable);
+
+    @Query(value = "SELECT " + LIST_VIEW_COLUMNS + " FROM Appointment a JOIN a.user u WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(a) FROM Appointment a WHERE a.user.id = :userId")
+    Page<AppointmentListView> findListViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT " + LIST_VIEW_COLUMNS + " FROM Appointment a JOIN a.user u WHERE a.doctor.id = :doctorId",
+            countQuery = "SELECT COUNT(a) FROM Appointment a WHERE a.doctor.id = :doctorId")
+    Page<AppointmentListView> findListViewsByDoctorId(@Param("doctorId") Long doctorId, Pageable pageable);
+
+    @Query("SELECT " + LIST_VIEW_COLUMNS + " FROM Appointment a JOIN a.user u"
+            + " WHERE (a.date < :date OR (a.date = :date AND a.id < :id))"
+            + " ORDER BY a.date DESC, a.id DESC")
+    List<AppointmentListView> findListViewsBefore(@Param("date") LocalDate date,
+                                                  @Param("id") long id,
+                                                  Pageable limit);
+
+    @Query("SELECT " + LIST_VIEW_COLUMNS + " FROM Appointment a JOIN a.user u"
+            + " WHERE u.id = :userId AND (a.date < :date OR (a.date = :date AND a.id < :id))"
+            + " ORDER BY a.date DESC, a.id DESC")
+    List<AppointmentListView> findListViewsByUserIdBefore(@Param("userId") Long userId,
+                                                          @Param("date") LocalDate date,
+                                                          @Param("id") long id,
+                                                          Pageable limit);
+
+    @Query("SELECT " + LIST_VIEW_COLUMNS + " FROM Appointment a JOIN a.user u"
+            + " WHERE a.doctor.id = :doctorId AND (a.date < :date OR (a.date = :date AND a.id < :id))"
+            + " ORDER BY a.date DESC, a.id DESC")
+    List<AppointmentListView> findListViewsByDoctorIdBefore(@Param("doctorId") Long doctorId,
+                                                            @Param("date") LocalDate date,
+                                                            @Param("id") long id,
+                                                            Pageable limit);
 }
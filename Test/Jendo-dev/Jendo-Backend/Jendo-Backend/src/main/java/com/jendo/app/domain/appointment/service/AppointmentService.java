@@ -3,18 +3,42 @@ package com.jendo.app.domain.appointment.service;
 import com.jendo.app.common.dto.PaginationResponse;
 import com.jendo.app.domain.appointment.dto.AppointmentRequestDto;
 import com.jendo.app.domain.appointment.dto.AppointmentResponseDto;
+import com.jendo.app.domain.appointment.dto.SlotBookingRequestDto;
+import com.jendo.app.domain.appointment.dto.SlotHoldRequestDto;
+import com.jendo.app.domain.appointment.dto.SlotHoldResponseDto;
 
 public interface AppointmentService {
     
     AppointmentResponseDto createAppointment(AppointmentRequestDto request);
+
+    /**
+     * Reserves the slot and creates its appointment in one transaction.
+     *
+     * @throws com.jendo.app.common.exceptions.ConflictException if the slot is already booked or held by someone else
+     */
+    AppointmentResponseDto bookSlot(SlotBookingRequestDto request, Long userId);
+
+    /**
+     * Holds a free slot for the patient for a few minutes, so it cannot be booked or held by anyone else
+     * while they confirm. Holding the same slot again extends the hold.
+     */
+    SlotHoldResponseDto holdSlot(SlotHoldRequestDto request, Long userId);
+
+    void releaseHold(Long slotId, Long userId);
     
     AppointmentResponseDto getAppointmentById(Long id);
     
     PaginationResponse<AppointmentResponseDto> getAllAppointments(int page, int size);
+
+    PaginationResponse<AppointmentResponseDto> getAllAppointments(String cursor, int size);
     
     PaginationResponse<AppointmentResponseDto> getAppointmentsByUserId(Long userId, int page, int size);
+
+    PaginationResponse<AppointmentResponseDto> getAppointmentsByUserId(Long userId, String cursor, int size);
     
     PaginationResponse<AppointmentResponseDto> getAppointmentsByDoctorId(Long doctorId, int page, int size);
+
+    PaginationResponse<AppointmentResponseDto> getAppointmentsByDoctorId(Long doctorId, String cursor, int size);
     
     AppointmentResponseDto updateAppointment(Long id, AppointmentRequestDto request);
     
@@ -1,14 +1,25 @@
 package com.jendo.app.domain.appointment.service;
 
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.common.exceptions.ConflictException;
 import com.jendo.app.common.exceptions.NotFoundException;
+import com.jendo.app.common.pagination.KeysetCursor;
+import com.jendo.app.common.pagination.KeysetPages;
 import com.jendo.app.domain.appointment.dto.AppointmentRequestDto;
 import com.jendo.app.domain.appointment.dto.AppointmentResponseDto;
+import com.jendo.app.domain.appointment.dto.SlotBookingRequestDto;
+import com.jendo.app.domain.appointment.dto.SlotHoldRequestDto;
+import com.jendo.app.domain.appointment.dto.SlotHoldResponseDto;
 import com.jendo.app.domain.appointment.entity.Appointment;
 import com.jendo.app.domain.appointment.mapper.AppointmentMapper;
+import com.jendo.app.domain.appointment.projection.AppointmentListView;
 import com.jendo.app.domain.appointment.repository.AppointmentRepository;
 import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
+import com.jendo.app.domain.doctor.repository.DoctorAvailableSlotRepository;
 import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import com.jendo.app.domain.doctor.service.DoctorAvailabilityIndex;
+import com.jendo.app.domain.doctor.service.SlotHoldRegistry;
 import com.jendo.app.domain.user.entity.User;
 import com.jendo.app.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +32,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,10 +44,14 @@ import java.util.stream.Collectors;
 public class AppointmentServiceImpl implements AppointmentService {
 
     private static final Logger logger = LoggerFactory.getLogger(AppointmentServiceImpl.class);
+    private static final String CANCELLED = "CANCELLED";
     
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final DoctorRepository doctorRepository;
+    private final DoctorAvailableSlotRepository availableSlotRepository;
+    private final DoctorAvailabilityIndex availabilityIndex;
+    private final SlotHoldRegistry slotHolds;
     private final AppointmentMapper appointmentMapper;
 
     @Override
@@ -56,6 +74,66 @@ public class AppointmentServiceImpl implements AppointmentService {
         return appointmentMapper.toResponseDto(appointment);
     }
 
+    @Override
+    public AppointmentResponseDto bookSlot(SlotBookingRequestDto request, Long userId) {
+        Long slotId = request.getSlotId();
+        logger.info("Booking slot {} for user ID: {}", slotId, userId);
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User", userId));
+        DoctorAvailableSlot slot = availableSlotRepository.findWithDoctorById(slotId)
+                .orElseThrow(() -> new NotFoundException("Available Slot", slotId));
+
+        slotHolds.checkBookable(slotId, user.getId());
+
+        // Reads come first and the conditional update last, so the slot's row lock is held only for
+        // the insert that follows. A slot already seen as booked fails without taking the lock at all.
+        if (Boolean.TRUE.equals(slot.getIsBooked()) || availableSlotRepository.bookIfFree(slotId) == 0) {
+            throw new ConflictException("Slot " + slotId + " is already booked");
+        }
+        availabilityIndex.slotBookedAfterCommit(slot.getDoctor().getId(), slot.getSlotDate(), slotId);
+        slotHolds.consumeAfterCommit(slotId, user.getId());
+
+        Appointment appointment = appointmentRepository.save(appointmentMapper.toEntity(request, user, slot));
+        logger.info("Slot {} booked with appointment ID: {}", slotId, appointment.getId());
+        return appointmentMapper.toResponseDto(appointment);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlotHoldResponseDto holdSlot(SlotHoldRequestDto request, Long userId) {
+        Long slotId = request.getSlotId();
+        logger.info("Holding slot {} for user ID: {}", slotId, userId);
+
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User", userId);
+        }
+        DoctorAvailableSlot slot = availableSlotRepository.findWithDoctorById(slotId)
+                .orElseThrow(() -> new NotFoundException("Available Slot", slotId));
+        if (Boolean.TRUE.equals(slot.getIsBooked())) {
+            throw new ConflictException("Slot " + slotId + " is already booked");
+        }
+
+        SlotHoldRegistry.Hold hold = slotHolds.hold(slotId, userId);
+        return SlotHoldResponseDto.builder()
+                .slotId(slotId)
+                .userId(hold.userId())
+                .doctorId(slot.getDoctor().getId())
+                .slotDate(slot.getSlotDate())
+                .startTime(slot.getStartTime())
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAtMillis()), ZoneId.systemDefault()))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void releaseHold(Long slotId, Long userId) {
+        logger.info("Releasing hold on slot {} for user ID: {}", slotId, userId);
+        if (!slotHolds.release(slotId, userId)) {
+            throw new NotFoundException("Slot hold", slotId);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public AppointmentResponseDto getAppointmentById(Long id) {
@@ -70,28 +148,61 @@ public class AppointmentServiceImpl implements AppointmentService {
     public PaginationResponse<AppointmentResponseDto> getAllAppointments(int page, int size) {
         logger.info("Fetching all appointments - page: {}, size: {}", page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("date").descending());
-        Page<Appointment> appointmentPage = appointmentRepository.findAll(pageable);
+        Page<AppointmentListView> appointmentPage = appointmentRepository.findAllListViews(pageable);
         return buildPaginationResponse(appointmentPage);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<AppointmentResponseDto> getAllAppointments(String cursor, int size) {
+        logger.info("Fetching all appointments - cursor mode, size: {}", size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<AppointmentListView> rows = appointmentRepository.findListViewsBefore(
+                KeysetCursor.dateKey(position), KeysetCursor.idKey(position), KeysetPages.limit(size));
+        return KeysetPages.toResponse(rows, size, position == null, AppointmentServiceImpl::cursorOf,
+                appointmentMapper::toResponseDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PaginationResponse<AppointmentResponseDto> getAppointmentsByUserId(Long userId, int page, int size) {
         logger.info("Fetching appointments for user ID: {} - page: {}, size: {}", userId, page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("date").descending());
-        Page<Appointment> appointmentPage = appointmentRepository.findByUserId(userId, pageable);
+        Page<AppointmentListView> appointmentPage = appointmentRepository.findListViewsByUserId(userId, pageable);
         return buildPaginationResponse(appointmentPage);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<AppointmentResponseDto> getAppointmentsByUserId(Long userId, String cursor, int size) {
+        logger.info("Fetching appointments for user ID: {} - cursor mode, size: {}", userId, size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<AppointmentListView> rows = appointmentRepository.findListViewsByUserIdBefore(userId,
+                KeysetCursor.dateKey(position), KeysetCursor.idKey(position), KeysetPages.limit(size));
+        return KeysetPages.toResponse(rows, size, position == null, AppointmentServiceImpl::cursorOf,
+                appointmentMapper::toResponseDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PaginationResponse<AppointmentResponseDto> getAppointmentsByDoctorId(Long doctorId, int page, int size) {
         logger.info("Fetching appointments for doctor ID: {} - page: {}, size: {}", doctorId, page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("date").descending());
-        Page<Appointment> appointmentPage = appointmentRepository.findByDoctorId(doctorId, pageable);
+        Page<AppointmentListView> appointmentPage = appointmentRepository.findListViewsByDoctorId(doctorId, pageable);
         return buildPaginationResponse(appointmentPage);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<AppointmentResponseDto> getAppointmentsByDoctorId(Long doctorId, String cursor, int size) {
+        logger.info("Fetching appointments for doctor ID: {} - cursor mode, size: {}", doctorId, size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<AppointmentListView> rows = appointmentRepository.findListViewsByDoctorIdBefore(doctorId,
+                KeysetCursor.dateKey(position), KeysetCursor.idKey(position), KeysetPages.limit(size));
+        return KeysetPages.toResponse(rows, size, position == null, AppointmentServiceImpl::cursorOf,
+                appointmentMapper::toResponseDto);
+    }
+
     @Override
     public AppointmentResponseDto updateAppointment(Long id, AppointmentRequestDto request) {
         logger.info("Updating appointment with ID: {}", id);
@@ -112,7 +223,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         if (request.getSpecialty() != null) appointment.setSpecialty(request.getSpecialty());
         if (request.getQualifications() != null) appointment.setQualifications(request.getQualifications());
         if (request.getType() != null) appointment.setType(request.getType());
-        if (request.getStatus() != null) appointment.setStatus(request.getStatus());
+        if (request.getStatus() != null) changeStatus(appointment, request.getStatus());
         
         appointment = appointmentRepository.save(appointment);
         logger.info("Appointment updated successfully with ID: {}", id);
@@ -126,7 +237,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Appointment", id));
         
-        appointment.setStatus(status);
+        changeStatus(appointment, status);
         appointment = appointmentRepository.save(appointment);
         
         logger.info("Appointment status updated successfully for ID: {}", id);
@@ -137,15 +248,43 @@ public class AppointmentServiceImpl implements AppointmentService {
     public void deleteAppointment(Long id) {
         logger.info("Deleting appointment with ID: {}", id);
         
-        if (!appointmentRepository.existsById(id)) {
-            throw new NotFoundException("Appointment", id);
+        Appointment appointment = appointmentRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Appointment", id));
+        if (appointment.getSlot() != null && !CANCELLED.equals(appointment.getStatus())) {
+            releaseSlot(appointment.getSlot());
         }
         
-        appointmentRepository.deleteById(id);
+        appointmentRepository.delete(appointment);
         logger.info("Appointment deleted successfully with ID: {}", id);
     }
     
-    private PaginationResponse<AppointmentResponseDto> buildPaginationResponse(Page<Appointment> appointmentPage) {
+    /**
+     * Cancelling a slot appointment frees its slot; reinstating one takes the slot back, which fails
+     * with a conflict if someone else has booked it in the meantime.
+     */
+    private void changeStatus(Appointment appointment, String status) {
+        boolean wasCancelled = CANCELLED.equals(appointment.getStatus());
+        boolean cancelled = CANCELLED.equals(status);
+        DoctorAvailableSlot slot = appointment.getSlot();
+        if (slot != null && wasCancelled != cancelled) {
+            if (cancelled) {
+                releaseSlot(slot);
+            } else if (availableSlotRepository.bookIfFree(slot.getId()) == 0) {
+                throw new ConflictException("Slot " + slot.getId() + " is already booked");
+            } else {
+                availabilityIndex.slotBookedAfterCommit(slot.getDoctor().getId(), slot.getSlotDate(), slot.getId());
+            }
+        }
+        appointment.setStatus(status);
+    }
+
+    private void releaseSlot(DoctorAvailableSlot slot) {
+        if (availableSlotRepository.releaseIfBooked(slot.getId()) > 0) {
+            availabilityIndex.slotReleasedAfterCommit(slot.getDoctor().getId(), slot.getSlotDate(), slot.getId());
+        }
+    }
+
+    private PaginationResponse<AppointmentResponseDto> buildPaginationResponse(Page<AppointmentListView> appointmentPage) {
         List<AppointmentResponseDto> content = appointmentPage.getContent().stream()
                 .map(appointmentMapper::toResponseDto)
                 .collect(Collectors.toList());
@@ -160,4 +299,8 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .last(appointmentPage.isLast())
                 .build();
     }
+
+    private static String cursorOf(AppointmentListView view) {
+        return KeysetCursor.encode(view.getDate(), view.getId());
+    }
 }
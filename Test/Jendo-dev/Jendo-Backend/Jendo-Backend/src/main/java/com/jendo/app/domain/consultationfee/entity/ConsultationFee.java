@@ -17,7 +17,8 @@ import java.math.BigDecimal;
 public class ConsultationFee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consultation_fees_seq")
+    @SequenceGenerator(name = "consultation_fees_seq", sequenceName = "consultation_fees_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "fee_type", length = 50)
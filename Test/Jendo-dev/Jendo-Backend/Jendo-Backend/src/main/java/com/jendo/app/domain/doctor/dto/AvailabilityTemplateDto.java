@@ -0,0 +1,42 @@
+package com.jendo.app.domain.doctor.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Weekly block of a doctor's working hours, split into slots")
+public class AvailabilityTemplateDto {
+
+    @Schema(description = "Template ID", example = "1")
+    private Long id;
+
+    @NotNull(message = "Day of week is required")
+    @Schema(description = "Day of the week", example = "MONDAY", required = true)
+    private DayOfWeek dayOfWeek;
+
+    @NotNull(message = "Start time is required")
+    @Schema(description = "Start of the first slot", example = "09:00:00", required = true)
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    @Schema(description = "End of the block; the last slot ends at or before it", example = "12:00:00", required = true)
+    private LocalTime endTime;
+
+    @NotNull(message = "Slot duration is required")
+    @Positive(message = "Slot duration must be positive")
+    @Max(value = 480, message = "Slot duration must be at most 480 minutes")
+    @Schema(description = "Slot length in minutes", example = "30", required = true)
+    private Integer slotDurationMinutes;
+}
@@ -0,0 +1,45 @@
+package com.jendo.app.domain.doctor.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Free slot in an earliest-available search, with the doctor it belongs to")
+public class EarliestSlotDto {
+
+    @Schema(description = "Slot ID", example = "1")
+    private Long slotId;
+
+    @Schema(description = "Doctor ID", example = "1")
+    private Long doctorId;
+
+    @Schema(description = "Doctor's name", example = "Dr. John Smith")
+    private String doctorName;
+
+    @Schema(description = "Doctor's specialty", example = "Cardiology")
+    private String specialty;
+
+    @Schema(description = "Hospital", example = "City General Hospital")
+    private String hospital;
+
+    @Schema(description = "Slot date", example = "2024-12-20")
+    private LocalDate slotDate;
+
+    @Schema(description = "Start time", example = "09:00:00")
+    private LocalTime startTime;
+
+    @Schema(description = "End time", example = "09:30:00")
+    private LocalTime endTime;
+
+    @Schema(description = "Duration in minutes", example = "30")
+    private Integer slotDurationMinutes;
+}
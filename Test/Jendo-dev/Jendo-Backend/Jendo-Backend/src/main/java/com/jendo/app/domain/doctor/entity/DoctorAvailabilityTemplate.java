@@ -0,0 +1,44 @@
+package com.jendo.app.domain.doctor.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * One weekly block of a doctor's working hours, split into slots of a fixed length. The slot
+ * generator turns a doctor's templates into {@link DoctorAvailableSlot} rows for a rolling window.
+ */
+@Entity
+@Table(name = "doctor_availability_templates")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(exclude = {"doctor"})
+@ToString(exclude = {"doctor"})
+public class DoctorAvailabilityTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctor_availability_templates_seq")
+    @SequenceGenerator(name = "doctor_availability_templates_seq", sequenceName = "doctor_availability_templates_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "slot_duration_minutes", nullable = false)
+    private Integer slotDurationMinutes;
+}
@@ -17,7 +17,8 @@ import java.time.LocalTime;
 public class DoctorAvailableSlot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctor_available_slots_seq")
+    @SequenceGenerator(name = "doctor_available_slots_seq", sequenceName = "doctor_available_slots_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,4 +41,9 @@ public class DoctorAvailableSlot {
     @Column(name = "slot_duration_minutes")
     @Builder.Default
     private Integer slotDurationMinutes = 30;
+
+    /** Created by the slot generator from the doctor's templates, and removed by it again while free. */
+    @Column(name = "is_generated", nullable = false)
+    @Builder.Default
+    private Boolean isGenerated = false;
 }
@@ -0,0 +1,23 @@
+package com.jendo.app.domain.doctor.repository;
+
+import com.jendo.app.domain.doctor.entity.DoctorAvailabilityTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DoctorAvailabilityTemplateRepository extends JpaRepository<DoctorAvailabilityTemplate, Long> {
+
+    List<DoctorAvailabilityTemplate> findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(Long doctorId);
+
+    @Query("SELECT DISTINCT t.doctor.id FROM DoctorAvailabilityTemplate t ORDER BY t.doctor.id")
+    List<Long> findDoctorIdsWithTemplates();
+
+    @Modifying
+    @Query("DELETE FROM DoctorAvailabilityTemplate t WHERE t.doctor.id = :doctorId")
+    int deleteByDoctorId(@Param("doctorId") Long doctorId);
+}
@@ -1,13 +1,17 @@
 package com.jendo.app.domain.doctor.repository;
 
 import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DoctorAvailableSlotRepository extends JpaRepository<DoctorAvailableSlot, Long> {
@@ -20,4 +24,54 @@ public interface DoctorAvailableSlotRepository extends JpaRepository<DoctorAvail
 
     @Query("SELECT DISTINCT s.slotDate FROM DoctorAvailableSlot s WHERE s.doctor.id = :doctorId AND s.isBooked = false AND s.slotDate >= :fromDate ORDER BY s.slotDate")
     List<LocalDate> findAvailableDatesByDoctorId(@Param("doctorId") Long doctorId, @Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT s FROM DoctorAvailableSlot s WHERE s.doctor.id = :doctorId AND s.slotDate >= :fromDate AND s.slotDate < :toDate"
+            + " ORDER BY s.slotDate, s.startTime, s.id")
+    List<DoctorAvailableSlot> findByDoctorIdInRange(@Param("doctorId") Long doctorId,
+                                                    @Param("fromDate") LocalDate fromDate,
+                                                    @Param("toDate") LocalDate toDate);
+
+    /**
+     * Earliest free slots from the given moment across several doctors, merged by the database: all dates
+     * for {@code doctorIds}, and only dates from {@code fromHorizon} for {@code beyondHorizonIds}.
+     */
+    @Query("SELECT s FROM DoctorAvailableSlot s WHERE s.isBooked = false"
+            + " AND (s.slotDate > :date OR (s.slotDate = :date AND s.startTime >= :time))"
+            + " AND (s.doctor.id IN :doctorIds OR (s.doctor.id IN :beyondHorizonIds AND s.slotDate >= :fromHorizon))"
+            + " ORDER BY s.slotDate, s.startTime, s.id")
+    List<DoctorAvailableSlot> findEarliestFree(@Param("date") LocalDate date,
+                                               @Param("time") LocalTime time,
+                                               @Param("doctorIds") List<Long> doctorIds,
+                                               @Param("beyondHorizonIds") List<Long> beyondHorizonIds,
+                                               @Param("fromHorizon") LocalDate fromHorizon,
+                                               Pageable pageable);
+
+    boolean existsByDoctorIdAndSlotDateGreaterThanEqualAndIsBookedFalse(Long doctorId, LocalDate slotDate);
+
+    @Query("SELECT s FROM DoctorAvailableSlot s JOIN FETCH s.doctor WHERE s.id = :id")
+    Optional<DoctorAvailableSlot> findWithDoctorById(@Param("id") Long id);
+
+    /**
+     * Reserves the slot if it is still free. The row lock taken by the update makes concurrent callers
+     * queue on the slot, and only the first one sees it free, so exactly one of them gets 1 back.
+     */
+    @Modifying
+    @Query("UPDATE DoctorAvailableSlot s SET s.isBooked = true WHERE s.id = :id AND s.isBooked = false")
+    int bookIfFree(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE DoctorAvailableSlot s SET s.isBooked = false WHERE s.id = :id AND s.isBooked = true")
+    int releaseIfBooked(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT a.slot.id FROM Appointment a WHERE a.slot.id IN :ids")
+    List<Long> findIdsWithAppointments(@Param("ids") List<Long> ids);
+
+    /**
+     * Deletes generated slots that are still free and that no appointment points at. Slots booked in the
+     * meantime fail the condition and stay.
+     */
+    @Modifying
+    @Query("DELETE FROM DoctorAvailableSlot s WHERE s.id IN :ids AND s.isGenerated = true AND s.isBooked = false"
+            + " AND NOT EXISTS (SELECT a.id FROM Appointment a WHERE a.slot = s)")
+    int deleteFreeGeneratedByIdIn(@Param("ids") List<Long> ids);
 }
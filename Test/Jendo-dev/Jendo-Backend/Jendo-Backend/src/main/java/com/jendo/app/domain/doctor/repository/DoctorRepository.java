@@ -4,6 +4,8 @@ import com.jendo.app.domain.doctor.entity.Doctor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +21,13 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     Optional<Doctor> findByEmail(String email);
     
     Page<Doctor> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    /**
+     * Doctors taking bookings whose specialty and hospital contain the given text; a null filter matches all.
+     */
+    @Query("SELECT d FROM Doctor d WHERE (d.isAvailable IS NULL OR d.isAvailable = true)"
+            + " AND (:specialty IS NULL OR LOWER(d.specialty) LIKE LOWER(CONCAT('%', :specialty, '%')))"
+            + " AND (:hospital IS NULL OR LOWER(d.hospital) LIKE LOWER(CONCAT('%', :hospital, '%')))")
+    List<Doctor> findBookableBySpecialtyAndHospital(@Param("specialty") String specialty,
+                                                    @Param("hospital") String hospital);
 }
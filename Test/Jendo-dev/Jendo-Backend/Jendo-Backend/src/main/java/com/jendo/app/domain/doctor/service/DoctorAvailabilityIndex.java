@@ -0,0 +1,434 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.common.cache.ExpiringCache;
+import com.jendo.app.domain.doctor.dto.AvailableSlotDto;
+import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
+import com.jendo.app.domain.doctor.repository.DoctorAvailableSlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of each doctor's slots over a rolling horizon starting today, so calendar reads
+ * (dates with free slots, free slots on a date) are answered without a query.
+ * <p>
+ * A doctor's index is built on first read from every slot in the horizon, booked or not: one compact
+ * entry per day holding the slots in start-time order and a bitset of which of them are free, plus a
+ * bitset of days with at least one free slot. Slot creation, booking and release update a built index
+ * once their transaction commits; other writes invalidate it. Entries also expire after a TTL and at
+ * midnight, which bounds how long another instance's writes, or a build racing a commit, can go unseen.
+ */
+@Component
+public class DoctorAvailabilityIndex {
+
+    private final DoctorAvailableSlotRepository slotRepository;
+    private final ExpiringCache<Long, Availability> doctors;
+    private final Counter hits;
+    private final Counter misses;
+    private final DistributionSummary doctorBytes;
+
+    @Value("${doctors.availability-index.horizon-days:90}")
+    private int horizonDays;
+
+    @Value("${doctors.availability-index.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public DoctorAvailabilityIndex(DoctorAvailableSlotRepository slotRepository,
+                                   @Value("${doctors.availability-index.max-doctors:5000}") int maxDoctors,
+                                   MeterRegistry meterRegistry) {
+        this.slotRepository = slotRepository;
+        this.doctors = new ExpiringCache<>(maxDoctors);
+        this.hits = Counter.builder("doctors.availability.index.lookups").tag("result", "hit")
+                .description("Calendar reads served by an already built doctor index")
+                .register(meterRegistry);
+        this.misses = Counter.builder("doctors.availability.index.lookups").tag("result", "miss")
+                .description("Calendar reads that had to build the doctor index first")
+                .register(meterRegistry);
+        this.doctorBytes = DistributionSummary.builder("doctors.availability.index.doctor.bytes")
+                .description("Estimated memory of one doctor's index, recorded when it is built")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("doctors.availability.index.bytes", this, DoctorAvailabilityIndex::estimatedBytes)
+                .description("Estimated memory of all built doctor indexes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("doctors.availability.index.doctors", doctors, ExpiringCache::size)
+                .description("Doctors with a built index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Dates from today with at least one free slot, in order, limited to the next {@code days} days
+     * ({@code null} for no limit). Dates past the horizon are read from the database, and only for
+     * doctors known to have free slots there.
+     */
+    public List<LocalDate> availableDates(Long doctorId, Integer days) {
+        Availability availability = availability(doctorId);
+        int limit = days == null ? Integer.MAX_VALUE : Math.max(0, days);
+        List<LocalDate> dates = availability.availableDates(Math.min(limit, availability.horizonDays));
+        if (limit > availability.horizonDays && availability.freeBeyondHorizon) {
+            LocalDate end = days == null ? null : availability.start.plusDays(days);
+            slotRepository.findAvailableDatesByDoctorId(doctorId, availability.horizonEnd()).stream()
+                    .filter(date -> end == null || date.isBefore(end))
+                    .forEach(dates::add);
+        }
+        return dates;
+    }
+
+    /**
+     * Free slots on the date in start-time order, or empty if the date is outside the horizon and the
+     * caller has to ask the database.
+     */
+    public Optional<List<AvailableSlotDto>> freeSlots(Long doctorId, LocalDate date) {
+        Availability availability = availability(doctorId);
+        if (!availability.covers(date)) {
+            return Optional.empty();
+        }
+        return Optional.of(availability.freeSlots(doctorId, date));
+    }
+
+    /**
+     * Cursor over the doctor's free slots from the given moment, in time order, if the doctor's index is
+     * already built. Never queries: callers reading many doctors fetch the rest from the database in one go.
+     */
+    Optional<FreeSlotCursor> cachedCursor(Long doctorId, LocalDate date, LocalTime time) {
+        Availability availability = doctors.get(doctorId);
+        if (availability == null || !availability.covers(date)) {
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(new FreeSlotCursor(doctorId, availability, availability.dayOf(date), time.toSecondOfDay()));
+    }
+
+    /** First date past the horizon of indexes built today. */
+    LocalDate horizonEnd() {
+        return LocalDate.now().plusDays(horizonDays);
+    }
+
+    public void slotCreatedAfterCommit(DoctorAvailableSlot slot) {
+        Long doctorId = slot.getDoctor().getId();
+        SlotEntry entry = SlotEntry.of(slot);
+        LocalDate date = slot.getSlotDate();
+        afterCommit(() -> update(doctorId, availability -> availability.add(date, entry)));
+    }
+
+    public void slotBookedAfterCommit(Long doctorId, LocalDate date, Long slotId) {
+        afterCommit(() -> update(doctorId, availability -> availability.setFree(date, slotId, false)));
+    }
+
+    public void slotReleasedAfterCommit(Long doctorId, LocalDate date, Long slotId) {
+        afterCommit(() -> update(doctorId, availability -> availability.setFree(date, slotId, true)));
+    }
+
+    /** Drops the doctor's index once the current transaction ends, for writes the index cannot replay. */
+    public void invalidateAfterCompletion(Long doctorId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            doctors.invalidate(doctorId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                doctors.invalidate(doctorId);
+            }
+        });
+    }
+
+    public long estimatedBytes(Long doctorId) {
+        Availability availability = doctors.get(doctorId);
+        return availability != null ? availability.estimatedBytes() : 0;
+    }
+
+    long estimatedBytes() {
+        AtomicLong total = new AtomicLong();
+        doctors.forEachValue(availability -> total.addAndGet(availability.estimatedBytes()));
+        return total.get();
+    }
+
+    private Availability availability(Long doctorId) {
+        Availability cached = doctors.get(doctorId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        LocalDate today = LocalDate.now();
+        LocalDate end = today.plusDays(horizonDays);
+        Availability built = new Availability(today, horizonDays,
+                slotRepository.findByDoctorIdInRange(doctorId, today, end),
+                slotRepository.existsByDoctorIdAndSlotDateGreaterThanEqualAndIsBookedFalse(doctorId, end));
+        doctorBytes.record(built.estimatedBytes());
+        long midnight = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        doctors.put(doctorId, built, Math.min(System.currentTimeMillis() + ttlSeconds * 1000, midnight));
+        return built;
+    }
+
+    private void update(Long doctorId, Predicate<Availability> change) {
+        Availability availability = doctors.get(doctorId);
+        // A slot the index does not know means it missed a write, so rebuild it on the next read
+        if (availability != null && !change.test(availability)) {
+            doctors.invalidate(doctorId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private record SlotEntry(long id, int start, int end, int duration, boolean free) {
+
+        static SlotEntry of(DoctorAvailableSlot slot) {
+            return new SlotEntry(slot.getId(), slot.getStartTime().toSecondOfDay(), slot.getEndTime().toSecondOfDay(),
+                    slot.getSlotDurationMinutes() != null ? slot.getSlotDurationMinutes() : 0,
+                    !Boolean.TRUE.equals(slot.getIsBooked()));
+        }
+    }
+
+    /** One day's slots in start-time order, as parallel arrays, with a bit per slot that is set while it is free. */
+    private static final class Day {
+
+        private static final long OVERHEAD_BYTES = 96;
+
+        private final long[] ids;
+        private final int[] starts;
+        private final int[] ends;
+        private final short[] durations;
+        private final BitSet free;
+
+        private Day(List<SlotEntry> entries) {
+            int n = entries.size();
+            ids = new long[n];
+            starts = new int[n];
+            ends = new int[n];
+            durations = new short[n];
+            free = new BitSet(n);
+            for (int i = 0; i < n; i++) {
+                SlotEntry entry = entries.get(i);
+                ids[i] = entry.id();
+                starts[i] = entry.start();
+                ends[i] = entry.end();
+                durations[i] = (short) entry.duration();
+                free.set(i, entry.free());
+            }
+        }
+
+        int indexOf(long slotId) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == slotId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Day with(SlotEntry added) {
+            List<SlotEntry> entries = new ArrayList<>(ids.length + 1);
+            for (int i = 0; i < ids.length; i++) {
+                entries.add(new SlotEntry(ids[i], starts[i], ends[i], durations[i], free.get(i)));
+            }
+            int at = 0;
+            while (at < entries.size() && (starts[at] < added.start()
+                    || (starts[at] == added.start() && ids[at] < added.id()))) {
+                at++;
+            }
+            entries.add(at, added);
+            return new Day(entries);
+        }
+
+        long estimatedBytes() {
+            return OVERHEAD_BYTES + ids.length * (8L + 4 + 4 + 2) + free.size() / 8;
+        }
+    }
+
+    /**
+     * Walks one doctor's free slots in (date, start time, id) order. It keeps its position as the last slot
+     * returned rather than an array index, so slots booked, released or added while it is open are seen
+     * the way a fresh read would see them, without repeats.
+     */
+    static final class FreeSlotCursor {
+
+        private final Long doctorId;
+        private final Availability availability;
+        private int day;
+        private int lastStart;
+        private long lastId = Long.MAX_VALUE;
+
+        private FreeSlotCursor(Long doctorId, Availability availability, int day, int fromSecond) {
+            this.doctorId = doctorId;
+            this.availability = availability;
+            this.day = day;
+            this.lastStart = fromSecond - 1;
+        }
+
+        /** Next free slot within the horizon, or {@code null} once there are none left. */
+        AvailableSlotDto next() {
+            synchronized (availability) {
+                for (int d = availability.daysWithFreeSlots.nextSetBit(day); d >= 0 && d < availability.horizonDays;
+                     d = availability.daysWithFreeSlots.nextSetBit(d + 1)) {
+                    if (d != day) {
+                        day = d;
+                        lastStart = -1;
+                        lastId = Long.MAX_VALUE;
+                    }
+                    Day current = availability.days[d];
+                    for (int i = current.free.nextSetBit(0); i >= 0; i = current.free.nextSetBit(i + 1)) {
+                        if (current.starts[i] > lastStart || (current.starts[i] == lastStart && current.ids[i] > lastId)) {
+                            lastStart = current.starts[i];
+                            lastId = current.ids[i];
+                            return availability.slotDto(doctorId, d, i);
+                        }
+                    }
+                }
+                day = availability.horizonDays;
+                return null;
+            }
+        }
+
+        /** Whether the doctor has free slots past the horizon that the cursor does not reach. */
+        boolean freeBeyondHorizon() {
+            return availability.freeBeyondHorizon;
+        }
+    }
+
+    private static final class Availability {
+
+        private final LocalDate start;
+        private final int horizonDays;
+        private final Day[] days;
+        private final BitSet daysWithFreeSlots;
+        private volatile boolean freeBeyondHorizon;
+
+        private Availability(LocalDate start, int horizonDays, List<DoctorAvailableSlot> slots, boolean freeBeyondHorizon) {
+            this.start = start;
+            this.horizonDays = horizonDays;
+            this.days = new Day[horizonDays];
+            this.daysWithFreeSlots = new BitSet(horizonDays);
+            this.freeBeyondHorizon = freeBeyondHorizon;
+            // Slots arrive ordered by date and start time, so each run of one date becomes one day
+            int from = 0;
+            for (int i = 1; i <= slots.size(); i++) {
+                if (i == slots.size() || !slots.get(i).getSlotDate().equals(slots.get(from).getSlotDate())) {
+                    int day = dayOf(slots.get(from).getSlotDate());
+                    days[day] = new Day(slots.subList(from, i).stream().map(SlotEntry::of).toList());
+                    daysWithFreeSlots.set(day, !days[day].free.isEmpty());
+                    from = i;
+                }
+            }
+        }
+
+        LocalDate horizonEnd() {
+            return start.plusDays(horizonDays);
+        }
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(start) && date.isBefore(horizonEnd());
+        }
+
+        synchronized List<LocalDate> availableDates(int limit) {
+            List<LocalDate> dates = new ArrayList<>();
+            for (int day = daysWithFreeSlots.nextSetBit(0); day >= 0 && day < limit; day = daysWithFreeSlots.nextSetBit(day + 1)) {
+                dates.add(start.plusDays(day));
+            }
+            return dates;
+        }
+
+        synchronized List<AvailableSlotDto> freeSlots(Long doctorId, LocalDate date) {
+            int index = dayOf(date);
+            Day day = days[index];
+            if (day == null) {
+                return new ArrayList<>();
+            }
+            List<AvailableSlotDto> slots = new ArrayList<>(day.free.cardinality());
+            for (int i = day.free.nextSetBit(0); i >= 0; i = day.free.nextSetBit(i + 1)) {
+                slots.add(slotDto(doctorId, index, i));
+            }
+            return slots;
+        }
+
+        private AvailableSlotDto slotDto(Long doctorId, int index, int slot) {
+            Day day = days[index];
+            return AvailableSlotDto.builder()
+                    .id(day.ids[slot])
+                    .doctorId(doctorId)
+                    .slotDate(start.plusDays(index))
+                    .startTime(LocalTime.ofSecondOfDay(day.starts[slot]))
+                    .endTime(LocalTime.ofSecondOfDay(day.ends[slot]))
+                    .isBooked(false)
+                    .slotDurationMinutes((int) day.durations[slot])
+                    .build();
+        }
+
+        synchronized boolean add(LocalDate date, SlotEntry entry) {
+            if (!covers(date)) {
+                freeBeyondHorizon |= !date.isBefore(horizonEnd()) && entry.free();
+                return true;
+            }
+            int index = dayOf(date);
+            Day day = days[index];
+            if (day != null && day.indexOf(entry.id()) >= 0) {
+                return true;
+            }
+            days[index] = day == null ? new Day(List.of(entry)) : day.with(entry);
+            daysWithFreeSlots.set(index, !days[index].free.isEmpty());
+            return true;
+        }
+
+        synchronized boolean setFree(LocalDate date, long slotId, boolean free) {
+            if (!covers(date)) {
+                // Past dates are never read; past the horizon only the existence of free slots is tracked
+                freeBeyondHorizon |= free && !date.isBefore(horizonEnd());
+                return true;
+            }
+            int index = dayOf(date);
+            Day day = days[index];
+            int slot = day != null ? day.indexOf(slotId) : -1;
+            if (slot < 0) {
+                return false;
+            }
+            day.free.set(slot, free);
+            daysWithFreeSlots.set(index, !day.free.isEmpty());
+            return true;
+        }
+
+        synchronized long estimatedBytes() {
+            long bytes = 64 + days.length * 4L + daysWithFreeSlots.size() / 8;
+            for (Day day : days) {
+                if (day != null) {
+                    bytes += day.estimatedBytes();
+                }
+            }
+            return bytes;
+        }
+
+        private int dayOf(LocalDate date) {
+            return (int) ChronoUnit.DAYS.between(start, date);
+        }
+    }
+}
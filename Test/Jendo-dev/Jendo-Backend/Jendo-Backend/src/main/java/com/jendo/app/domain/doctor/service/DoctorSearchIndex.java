@@ -0,0 +1,393 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.domain.doctor.dto.DoctorSuggestionDto;
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over doctors' names, specialties and hospitals for the typeahead search, so
+ * keystrokes are answered without running {@code LIKE '%x%'} scans on the doctors table.
+ * <p>
+ * Every word is indexed as the trigrams of the word with two leading blanks, and query words the same
+ * way without a trailing blank, so a query word matches the start of indexed words first and other
+ * parts of them with a lower score. Results are ranked by the share of query trigrams matched, weighted
+ * by the field they matched in, with bonuses when query words start or equal the doctor's words and a
+ * smaller one for doctors taking bookings.
+ * <p>
+ * Doctors are kept in dense slots and each trigram's posting list holds slot numbers tagged with the
+ * fields the trigram occurs in, so a search is a pass over a few int arrays and a top-k heap. The index
+ * is loaded on the first search with one query, updated once doctor writes commit, and reloaded
+ * periodically to pick up writes made through other instances.
+ */
+@Component
+public class DoctorSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorSearchIndex.class);
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int FIELDS = 3;
+    private static final double[] FIELD_WEIGHTS = {1.0, 0.9, 0.7};
+    private static final double MIN_SIMILARITY = 0.5;
+    private static final double PREFIX_BONUS = 0.5;
+    private static final double EXACT_BONUS = 0.25;
+    private static final double AVAILABLE_BONUS = 0.1;
+
+    private final DoctorRepository doctorRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Entry> slots = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Timer searches;
+    private volatile boolean loaded;
+    // Writes committed while a reload is reading the table, replayed on top of it (null value: removed)
+    private Map<Long, Entry> writesDuringReload;
+
+    public DoctorSearchIndex(DoctorRepository doctorRepository, MeterRegistry meterRegistry) {
+        this.doctorRepository = doctorRepository;
+        this.searches = Timer.builder("doctors.search.index.lookups")
+                .description("Time to answer one typeahead search from the index")
+                .register(meterRegistry);
+        Gauge.builder("doctors.search.index.doctors", this, DoctorSearchIndex::size)
+                .description("Doctors in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Doctors matching the query, best first. Empty for a query with no letters or digits.
+     */
+    public List<DoctorSuggestionDto> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+        long began = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return rank(words, limit);
+        } finally {
+            lock.readLock().unlock();
+            searches.record(System.nanoTime() - began, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void putAfterCommit(Doctor doctor) {
+        Entry entry = Entry.of(doctor);
+        afterCommit(() -> apply(entry.id(), entry));
+    }
+
+    public void removeAfterCommit(Long doctorId) {
+        afterCommit(() -> apply(doctorId, null));
+    }
+
+    /**
+     * Reads every doctor and swaps the result in. Writes that commit while the table is being read are
+     * kept and applied on top, so the reload cannot bring back an older version of them.
+     */
+    @Scheduled(fixedDelayString = "${doctors.search-index.refresh-ms:300000}",
+            initialDelayString = "${doctors.search-index.refresh-ms:300000}")
+    public synchronized void reload() {
+        lock.writeLock().lock();
+        try {
+            writesDuringReload = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Entry> fresh = new ArrayList<>();
+        boolean read = false;
+        try {
+            doctorRepository.findAll().forEach(doctor -> fresh.add(Entry.of(doctor)));
+            read = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (read) {
+                    slots.clear();
+                    freeSlots.clear();
+                    slotById.clear();
+                    postings.clear();
+                    fresh.forEach(this::add);
+                    writesDuringReload.forEach(this::replace);
+                    loaded = true;
+                }
+                writesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.debug("Doctor search index loaded with {} doctors", fresh.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<DoctorSuggestionDto> rank(List<String> words, int limit) {
+        Set<String> grams = new LinkedHashSet<>();
+        words.forEach(word -> grams.addAll(trigrams(word, false)));
+
+        // One pass over the query's posting lists adds up matched trigrams and their field weights per slot
+        int[] matched = new int[slots.size()];
+        double[] weights = new double[slots.size()];
+        int[] touched = new int[slots.size()];
+        int candidates = 0;
+        for (String gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size; i++) {
+                int slot = list.values[i] >>> FIELDS;
+                if (matched[slot]++ == 0) {
+                    touched[candidates++] = slot;
+                }
+                weights[slot] += bestWeight(list.values[i]);
+            }
+        }
+
+        // Top results kept best first in two small arrays; ties go to the doctor added first
+        int[] topSlots = new int[limit];
+        double[] topScores = new double[limit];
+        int found = 0;
+        for (int i = 0; i < candidates; i++) {
+            int slot = touched[i];
+            Entry entry = slots.get(slot);
+            long wordMatches = entry.wordMatches(words);
+            int prefixes = (int) (wordMatches >>> 32);
+            if (matched[slot] < MIN_SIMILARITY * grams.size() && prefixes < words.size()) {
+                continue;
+            }
+            double score = weights[slot] / grams.size()
+                    + PREFIX_BONUS * prefixes / words.size()
+                    + EXACT_BONUS * (int) wordMatches / words.size()
+                    + (Boolean.TRUE.equals(entry.available()) ? AVAILABLE_BONUS : 0);
+            int at = found;
+            while (at > 0 && (score > topScores[at - 1]
+                    || (score == topScores[at - 1] && entry.id() < slots.get(topSlots[at - 1]).id()))) {
+                at--;
+            }
+            if (at == limit) {
+                continue;
+            }
+            int moved = Math.min(found, limit - 1) - at;
+            System.arraycopy(topSlots, at, topSlots, at + 1, moved);
+            System.arraycopy(topScores, at, topScores, at + 1, moved);
+            topSlots[at] = slot;
+            topScores[at] = score;
+            found = Math.min(found + 1, limit);
+        }
+
+        List<DoctorSuggestionDto> results = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            results.add(slots.get(topSlots[i]).toSuggestion(Math.round(topScores[i] * 1000) / 1000.0));
+        }
+        return results;
+    }
+
+    private static double bestWeight(int posting) {
+        for (int field = 0; field < FIELDS; field++) {
+            if ((posting & (1 << field)) != 0) {
+                return FIELD_WEIGHTS[field];
+            }
+        }
+        return 0;
+    }
+
+    private void apply(Long id, Entry entry) {
+        lock.writeLock().lock();
+        try {
+            if (writesDuringReload != null) {
+                writesDuringReload.put(id, entry);
+            }
+            replace(id, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(Long id, Entry entry) {
+        Integer slot = slotById.remove(id);
+        if (slot != null) {
+            for (String gram : slots.get(slot).fieldsByGram().keySet()) {
+                Postings list = postings.get(gram);
+                list.remove(slot);
+                if (list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+            slots.set(slot, null);
+            freeSlots.push(slot);
+        }
+        if (entry != null) {
+            add(entry);
+        }
+    }
+
+    private void add(Entry entry) {
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = slots.size();
+            slots.add(entry);
+        } else {
+            slot = freeSlots.pop();
+            slots.set(slot, entry);
+        }
+        slotById.put(entry.id(), slot);
+        entry.fieldsByGram().forEach((gram, fields) ->
+                postings.computeIfAbsent(gram, key -> new Postings()).add(slot << FIELDS | fields));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    static Set<String> trigrams(String word, boolean closed) {
+        String padded = "  " + word + (closed ? " " : "");
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /** Growable list of {@code slot << FIELDS | field bits}. */
+    private static final class Postings {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int slot) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (values[i] >>> FIELDS != slot) {
+                    values[kept++] = values[i];
+                }
+            }
+            size = kept;
+        }
+    }
+
+    private record Entry(Long id, String name, String specialty, String hospital, String imageUrl, Boolean available,
+                         String[] words, Map<String, Integer> fieldsByGram) {
+
+        static Entry of(Doctor doctor) {
+            List<String> words = new ArrayList<>();
+            Map<String, Integer> fieldsByGram = new HashMap<>();
+            String[] fields = {doctor.getName(), doctor.getSpecialty(), doctor.getHospital()};
+            for (int field = 0; field < FIELDS; field++) {
+                for (String word : DoctorSearchIndex.words(fields[field])) {
+                    words.add(word);
+                    int bit = 1 << field;
+                    trigrams(word, true).forEach(gram -> fieldsByGram.merge(gram, bit, (a, b) -> a | b));
+                }
+            }
+            return new Entry(doctor.getId(), doctor.getName(), doctor.getSpecialty(), doctor.getHospital(),
+                    doctor.getImageUrl(), doctor.getIsAvailable(), words.toArray(String[]::new), fieldsByGram);
+        }
+
+        /** Query words that start one of the doctor's words in the high half, query words equal to one in the low half. */
+        long wordMatches(List<String> queryWords) {
+            long prefixes = 0;
+            long exact = 0;
+            for (String queryWord : queryWords) {
+                boolean prefix = false;
+                for (String word : words) {
+                    if (word.startsWith(queryWord)) {
+                        prefix = true;
+                        if (word.length() == queryWord.length()) {
+                            exact++;
+                            break;
+                        }
+                    }
+                }
+                if (prefix) {
+                    prefixes++;
+                }
+            }
+            return prefixes << 32 | exact;
+        }
+
+        DoctorSuggestionDto toSuggestion(double score) {
+            return DoctorSuggestionDto.builder()
+                    .id(id)
+                    .name(name)
+                    .specialty(specialty)
+                    .hospital(hospital)
+                    .imageUrl(imageUrl)
+                    .isAvailable(available)
+                    .score(score)
+                    .build();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.jendo.app.domain.doctor.service;
 
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.domain.doctor.dto.AvailabilityTemplateDto;
 import com.jendo.app.domain.doctor.dto.AvailableSlotDto;
 import com.jendo.app.domain.doctor.dto.DoctorRequestDto;
 import com.jendo.app.domain.doctor.dto.DoctorResponseDto;
+import com.jendo.app.domain.doctor.dto.DoctorSuggestionDto;
+import com.jendo.app.domain.doctor.dto.EarliestSlotDto;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,6 +22,12 @@ public interface DoctorService {
     PaginationResponse<DoctorResponseDto> getDoctorsBySpecialty(String specialty, int page, int size);
     
     List<DoctorResponseDto> getAvailableDoctors();
+
+    /**
+     * Typeahead search over doctors' names, specialties and hospitals, best match first. Served from
+     * memory, so it is cheap enough to call on every keystroke.
+     */
+    List<DoctorSuggestionDto> searchDoctors(String query, int limit);
     
     DoctorResponseDto updateDoctor(Long id, DoctorRequestDto request);
     
@@ -27,8 +36,24 @@ public interface DoctorService {
     List<AvailableSlotDto> getAvailableSlots(Long doctorId, LocalDate date);
     
     List<LocalDate> getAvailableDates(Long doctorId);
+
+    List<LocalDate> getAvailableDates(Long doctorId, Integer days);
     
+    /**
+     * The {@code limit} earliest free slots from now across every bookable doctor whose specialty and
+     * hospital match; at least one filter is required. Costs at most two queries however many doctors match.
+     */
+    List<EarliestSlotDto> getEarliestAvailableSlots(String specialty, String hospital, int limit);
+
     AvailableSlotDto createAvailableSlot(Long doctorId, AvailableSlotDto slotDto);
     
     void markSlotAsBooked(Long slotId);
+
+    List<AvailabilityTemplateDto> getAvailabilityTemplates(Long doctorId);
+
+    /**
+     * Replaces the doctor's weekly templates and regenerates the doctor's slots for the rolling window.
+     * Booked slots are kept whatever the new templates say.
+     */
+    List<AvailabilityTemplateDto> replaceAvailabilityTemplates(Long doctorId, List<AvailabilityTemplateDto> templates);
 }
@@ -1,13 +1,20 @@
 package com.jendo.app.domain.doctor.service;
 
 import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.common.exceptions.BadRequestException;
+import com.jendo.app.common.exceptions.ConflictException;
 import com.jendo.app.common.exceptions.NotFoundException;
+import com.jendo.app.domain.doctor.dto.AvailabilityTemplateDto;
 import com.jendo.app.domain.doctor.dto.AvailableSlotDto;
 import com.jendo.app.domain.doctor.dto.DoctorRequestDto;
 import com.jendo.app.domain.doctor.dto.DoctorResponseDto;
+import com.jendo.app.domain.doctor.dto.DoctorSuggestionDto;
+import com.jendo.app.domain.doctor.dto.EarliestSlotDto;
 import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailabilityTemplate;
 import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
 import com.jendo.app.domain.doctor.mapper.DoctorMapper;
+import com.jendo.app.domain.doctor.repository.DoctorAvailabilityTemplateRepository;
 import com.jendo.app.domain.doctor.repository.DoctorAvailableSlotRepository;
 import com.jendo.app.domain.doctor.repository.DoctorRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,10 +25,25 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,10 +52,20 @@ import java.util.stream.Collectors;
 public class DoctorServiceImpl implements DoctorService {
 
     private static final Logger logger = LoggerFactory.getLogger(DoctorServiceImpl.class);
+    private static final int MAX_EARLIEST_SLOTS = 50;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final Comparator<AvailableSlotDto> SLOT_ORDER = Comparator.comparing(AvailableSlotDto::getSlotDate)
+            .thenComparing(AvailableSlotDto::getStartTime)
+            .thenComparing(AvailableSlotDto::getId);
     
     private final DoctorRepository doctorRepository;
     private final DoctorMapper doctorMapper;
     private final DoctorAvailableSlotRepository availableSlotRepository;
+    private final DoctorAvailabilityIndex availabilityIndex;
+    private final DoctorAvailabilityTemplateRepository templateRepository;
+    private final SlotGenerationService slotGenerationService;
+    private final SlotHoldRegistry slotHolds;
+    private final DoctorSearchIndex searchIndex;
 
     @Override
     public DoctorResponseDto createDoctor(DoctorRequestDto request) {
@@ -41,6 +73,7 @@ public class DoctorServiceImpl implements DoctorService {
         
         Doctor doctor = doctorMapper.toEntity(request);
         doctor = doctorRepository.save(doctor);
+        searchIndex.putAfterCommit(doctor);
         
         logger.info("Doctor created successfully with ID: {}", doctor.getId());
         return doctorMapper.toResponseDto(doctor);
@@ -81,6 +114,15 @@ public class DoctorServiceImpl implements DoctorService {
         return doctors.stream().map(doctorMapper::toResponseDto).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<DoctorSuggestionDto> searchDoctors(String query, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return searchIndex.search(query, limit);
+    }
+
     @Override
     public DoctorResponseDto updateDoctor(Long id, DoctorRequestDto request) {
         logger.info("Updating doctor with ID: {}", id);
@@ -100,6 +142,7 @@ public class DoctorServiceImpl implements DoctorService {
         if (request.getAvailableDays() != null) doctor.setAvailableDays(request.getAvailableDays());
         
         doctor = doctorRepository.save(doctor);
+        searchIndex.putAfterCommit(doctor);
         logger.info("Doctor updated successfully with ID: {}", id);
         return doctorMapper.toResponseDto(doctor);
     }
@@ -112,7 +155,10 @@ public class DoctorServiceImpl implements DoctorService {
             throw new NotFoundException("Doctor", id);
         }
         
+        templateRepository.deleteByDoctorId(id);
         doctorRepository.deleteById(id);
+        availabilityIndex.invalidateAfterCompletion(id);
+        searchIndex.removeAfterCommit(id);
         logger.info("Doctor deleted successfully with ID: {}", id);
     }
     
@@ -133,18 +179,87 @@ public class DoctorServiceImpl implements DoctorService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<AvailableSlotDto> getAvailableSlots(Long doctorId, LocalDate date) {
         logger.info("Fetching available slots for doctor {} on date {}", doctorId, date);
-        List<DoctorAvailableSlot> slots = availableSlotRepository.findByDoctorIdAndSlotDateAndIsBookedFalse(doctorId, date);
-        return slots.stream().map(this::mapSlotToDto).collect(Collectors.toList());
+        List<AvailableSlotDto> free = availabilityIndex.freeSlots(doctorId, date).orElseGet(() ->
+                availableSlotRepository.findByDoctorIdAndSlotDateAndIsBookedFalse(doctorId, date).stream()
+                        .map(this::mapSlotToDto)
+                        .collect(Collectors.toList()));
+        // Slots held by a patient in checkout are not offered to anyone else
+        free.removeIf(slot -> slotHolds.isHeld(slot.getId()));
+        return free;
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<LocalDate> getAvailableDates(Long doctorId) {
-        logger.info("Fetching available dates for doctor {}", doctorId);
-        return availableSlotRepository.findAvailableDatesByDoctorId(doctorId, LocalDate.now());
+        return getAvailableDates(doctorId, null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<LocalDate> getAvailableDates(Long doctorId, Integer days) {
+        logger.info("Fetching available dates for doctor {} - days: {}", doctorId, days);
+        return availabilityIndex.availableDates(doctorId, days);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<EarliestSlotDto> getEarliestAvailableSlots(String specialty, String hospital, int limit) {
+        logger.info("Fetching earliest {} slots - specialty: {}, hospital: {}", limit, specialty, hospital);
+        String specialtyFilter = specialty == null || specialty.isBlank() ? null : specialty.trim();
+        String hospitalFilter = hospital == null || hospital.isBlank() ? null : hospital.trim();
+        if (specialtyFilter == null && hospitalFilter == null) {
+            throw new BadRequestException("A specialty or a hospital is required");
+        }
+        if (limit < 1 || limit > MAX_EARLIEST_SLOTS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_EARLIEST_SLOTS);
+        }
+
+        Map<Long, Doctor> doctors = doctorRepository.findBookableBySpecialtyAndHospital(specialtyFilter, hospitalFilter).stream()
+                .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+
+        // One stream per doctor with a built index, and one more for everyone else that the database
+        // merges itself, so the queries made do not depend on how many doctors match
+        PriorityQueue<SlotStream> streams = new PriorityQueue<>(Comparator.comparing(SlotStream::head, SLOT_ORDER));
+        List<Long> uncached = new ArrayList<>();
+        List<Long> beyondHorizon = new ArrayList<>();
+        for (Long doctorId : doctors.keySet()) {
+            availabilityIndex.cachedCursor(doctorId, now.toLocalDate(), now.toLocalTime()).ifPresentOrElse(cursor -> {
+                SlotStream.of(cursor::next).ifPresent(streams::add);
+                if (cursor.freeBeyondHorizon()) {
+                    beyondHorizon.add(doctorId);
+                }
+            }, () -> uncached.add(doctorId));
+        }
+        if (!uncached.isEmpty() || !beyondHorizon.isEmpty()) {
+            // Fetched a page of limit at a time: a further page is read only when held slots used up the last one
+            LocalDate horizonEnd = availabilityIndex.horizonEnd();
+            SlotStream.of(new PagedSlotSource(limit, page -> availableSlotRepository.findEarliestFree(
+                            now.toLocalDate(), now.toLocalTime(), uncached, beyondHorizon, horizonEnd, page).stream()
+                    .map(this::mapSlotToDto)
+                    .toList()))
+                    .ifPresent(streams::add);
+        }
+
+        List<EarliestSlotDto> earliest = new ArrayList<>(limit);
+        while (!streams.isEmpty()) {
+            SlotStream stream = streams.poll();
+            AvailableSlotDto slot = stream.head();
+            if (!slotHolds.isHeld(slot.getId())) {
+                earliest.add(mapEarliestSlot(slot, doctors.get(slot.getDoctorId())));
+                // Stop before advancing, so a stream is not pulled for a slot that will not be used
+                if (earliest.size() == limit) {
+                    break;
+                }
+            }
+            if (stream.advance()) {
+                streams.add(stream);
+            }
+        }
+        return earliest;
     }
 
     @Override
@@ -163,16 +278,100 @@ public class DoctorServiceImpl implements DoctorService {
                 .build();
         
         slot = availableSlotRepository.save(slot);
+        availabilityIndex.slotCreatedAfterCommit(slot);
         return mapSlotToDto(slot);
     }
 
     @Override
     public void markSlotAsBooked(Long slotId) {
         logger.info("Marking slot {} as booked", slotId);
-        DoctorAvailableSlot slot = availableSlotRepository.findById(slotId)
-                .orElseThrow(() -> new NotFoundException("Available Slot", slotId));
-        slot.setIsBooked(true);
-        availableSlotRepository.save(slot);
+        if (availableSlotRepository.bookIfFree(slotId) == 0) {
+            if (!availableSlotRepository.existsById(slotId)) {
+                throw new NotFoundException("Available Slot", slotId);
+            }
+            throw new ConflictException("Slot " + slotId + " is already booked");
+        }
+        DoctorAvailableSlot slot = availableSlotRepository.getReferenceById(slotId);
+        availabilityIndex.slotBookedAfterCommit(slot.getDoctor().getId(), slot.getSlotDate(), slotId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilityTemplateDto> getAvailabilityTemplates(Long doctorId) {
+        logger.info("Fetching availability templates for doctor {}", doctorId);
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new NotFoundException("Doctor", doctorId);
+        }
+        return templateRepository.findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(doctorId).stream()
+                .map(this::mapTemplateToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<AvailabilityTemplateDto> replaceAvailabilityTemplates(Long doctorId, List<AvailabilityTemplateDto> templates) {
+        logger.info("Replacing availability templates for doctor {} with {} templates", doctorId, templates.size());
+        Doctor doctor = doctorRepository.findById(doctorId)
+                .orElseThrow(() -> new NotFoundException("Doctor", doctorId));
+        templates.forEach(DoctorServiceImpl::validateTemplate);
+
+        templateRepository.deleteByDoctorId(doctorId);
+        List<DoctorAvailabilityTemplate> saved = templateRepository.saveAll(templates.stream()
+                .map(template -> DoctorAvailabilityTemplate.builder()
+                        .doctor(doctor)
+                        .dayOfWeek(template.getDayOfWeek())
+                        .startTime(template.getStartTime())
+                        .endTime(template.getEndTime())
+                        .slotDurationMinutes(template.getSlotDurationMinutes())
+                        .build())
+                .toList());
+        // The free-text days now follow the templates, so listings show what can actually be booked
+        doctor.setAvailableDays(saved.isEmpty() ? null : saved.stream()
+                .map(DoctorAvailabilityTemplate::getDayOfWeek)
+                .distinct()
+                .sorted()
+                .map(day -> day.getDisplayName(TextStyle.FULL, Locale.ENGLISH))
+                .collect(Collectors.joining(", ")));
+
+        SlotGenerationService.Result result = slotGenerationService.generate(doctorId);
+        logger.info("Availability templates for doctor {} created {} slots and removed {}",
+                doctorId, result.created(), result.removed());
+        return getAvailabilityTemplates(doctorId);
+    }
+
+    private static void validateTemplate(AvailabilityTemplateDto template) {
+        if (template.getDayOfWeek() == null || template.getStartTime() == null || template.getEndTime() == null
+                || template.getSlotDurationMinutes() == null || template.getSlotDurationMinutes() <= 0) {
+            throw new BadRequestException("Each template needs a day of week, start time, end time and a positive slot duration");
+        }
+        int length = SlotGenerationService.endSecondsOf(template.getEndTime()) - template.getStartTime().toSecondOfDay();
+        if (length < template.getSlotDurationMinutes() * 60) {
+            throw new BadRequestException("Template on " + template.getDayOfWeek() + " from " + template.getStartTime()
+                    + " to " + template.getEndTime() + " does not fit one " + template.getSlotDurationMinutes() + " minute slot");
+        }
+    }
+
+    private AvailabilityTemplateDto mapTemplateToDto(DoctorAvailabilityTemplate template) {
+        return AvailabilityTemplateDto.builder()
+                .id(template.getId())
+                .dayOfWeek(template.getDayOfWeek())
+                .startTime(template.getStartTime())
+                .endTime(template.getEndTime())
+                .slotDurationMinutes(template.getSlotDurationMinutes())
+                .build();
+    }
+
+    private EarliestSlotDto mapEarliestSlot(AvailableSlotDto slot, Doctor doctor) {
+        return EarliestSlotDto.builder()
+                .slotId(slot.getId())
+                .doctorId(doctor.getId())
+                .doctorName(doctor.getName())
+                .specialty(doctor.getSpecialty())
+                .hospital(doctor.getHospital())
+                .slotDate(slot.getSlotDate())
+                .startTime(slot.getStartTime())
+                .endTime(slot.getEndTime())
+                .slotDurationMinutes(slot.getSlotDurationMinutes())
+                .build();
     }
 
     private AvailableSlotDto mapSlotToDto(DoctorAvailableSlot slot) {
@@ -186,4 +385,55 @@ public class DoctorServiceImpl implements DoctorService {
                 .slotDurationMinutes(slot.getSlotDurationMinutes())
                 .build();
     }
+
+    /** A time-ordered source of free slots with its next slot pulled out, for merging in a priority queue. */
+    private static final class SlotStream {
+
+        private final Supplier<AvailableSlotDto> source;
+        private AvailableSlotDto head;
+
+        private SlotStream(Supplier<AvailableSlotDto> source, AvailableSlotDto head) {
+            this.source = source;
+            this.head = head;
+        }
+
+        static Optional<SlotStream> of(Supplier<AvailableSlotDto> source) {
+            AvailableSlotDto first = source.get();
+            return first == null ? Optional.empty() : Optional.of(new SlotStream(source, first));
+        }
+
+        AvailableSlotDto head() {
+            return head;
+        }
+
+        boolean advance() {
+            head = source.get();
+            return head != null;
+        }
+    }
+
+    /** Reads a database query page by page as a single source, fetching the next page only once asked past the last. */
+    private static final class PagedSlotSource implements Supplier<AvailableSlotDto> {
+
+        private final int pageSize;
+        private final Function<Pageable, List<AvailableSlotDto>> fetch;
+        private Iterator<AvailableSlotDto> page = Collections.emptyIterator();
+        private int pageNumber;
+        private boolean lastPage;
+
+        private PagedSlotSource(int pageSize, Function<Pageable, List<AvailableSlotDto>> fetch) {
+            this.pageSize = pageSize;
+            this.fetch = fetch;
+        }
+
+        @Override
+        public AvailableSlotDto get() {
+            if (!page.hasNext() && !lastPage) {
+                List<AvailableSlotDto> slots = fetch.apply(PageRequest.of(pageNumber++, pageSize));
+                lastPage = slots.size() < pageSize;
+                page = slots.iterator();
+            }
+            return page.hasNext() ? page.next() : null;
+        }
+    }
 }
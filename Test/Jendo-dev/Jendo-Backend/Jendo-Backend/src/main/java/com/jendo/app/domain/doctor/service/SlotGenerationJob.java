@@ -0,0 +1,92 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.domain.doctor.repository.DoctorAvailabilityTemplateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rolls every templated doctor's slots forward so the generation window ahead of today is always
+ * bookable. Each doctor is generated in its own transaction; a doctor that fails is logged and
+ * retried on the next run without holding up the others.
+ */
+@Component
+public class SlotGenerationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotGenerationJob.class);
+
+    private final SlotGenerationService generationService;
+    private final DoctorAvailabilityTemplateRepository templateRepository;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final Counter created;
+    private final Counter removed;
+    private final Timer doctorTimer;
+
+    @Value("${doctors.slot-generation.enabled:true}")
+    private boolean enabled;
+
+    public SlotGenerationJob(SlotGenerationService generationService,
+                             DoctorAvailabilityTemplateRepository templateRepository,
+                             MeterRegistry meterRegistry) {
+        this.generationService = generationService;
+        this.templateRepository = templateRepository;
+        this.created = Counter.builder("doctors.slots.generated")
+                .tag("action", "created")
+                .description("Slots created from availability templates")
+                .register(meterRegistry);
+        this.removed = Counter.builder("doctors.slots.generated")
+                .tag("action", "removed")
+                .description("Free generated slots removed after a template change")
+                .register(meterRegistry);
+        this.doctorTimer = Timer.builder("doctors.slots.generation")
+                .description("Time to generate one doctor's slots for the window")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${doctors.slot-generation.interval-ms:21600000}",
+            initialDelayString = "${doctors.slot-generation.initial-delay-ms:60000}")
+    public void run() {
+        if (enabled) {
+            generateAll();
+        }
+    }
+
+    /**
+     * Generates the window for every doctor with templates.
+     *
+     * @return the number of slots created
+     */
+    public int generateAll() {
+        if (!runLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int total = 0;
+            int failed = 0;
+            for (Long doctorId : templateRepository.findDoctorIdsWithTemplates()) {
+                try {
+                    SlotGenerationService.Result result = doctorTimer.record(() -> generationService.generate(doctorId));
+                    created.increment(result.created());
+                    removed.increment(result.removed());
+                    total += result.created();
+                } catch (RuntimeException e) {
+                    failed++;
+                    logger.warn("Slot generation failed for doctor ID: {} - {}", doctorId, e.getMessage());
+                }
+            }
+            if (total > 0 || failed > 0) {
+                logger.info("Slot generation created {} slots ({} doctors failed)", total, failed);
+            }
+            return total;
+        } finally {
+            runLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailabilityTemplate;
+import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
+import com.jendo.app.domain.doctor.repository.DoctorAvailabilityTemplateRepository;
+import com.jendo.app.domain.doctor.repository.DoctorAvailableSlotRepository;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a doctor's weekly templates into slots for a date window, one doctor per transaction.
+ * <p>
+ * Generation is idempotent: it reads the doctor's slots in the window once, removes generated slots
+ * that no longer match a template, and inserts the template slots that are missing, all as batched
+ * statements. Booked slots, slots an appointment points at and slots created by hand are kept, and no
+ * new slot is generated on top of them.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SlotGenerationService {
+
+    private final DoctorAvailabilityTemplateRepository templateRepository;
+    private final DoctorAvailableSlotRepository slotRepository;
+    private final DoctorRepository doctorRepository;
+    private final DoctorAvailabilityIndex availabilityIndex;
+
+    @Value("${doctors.slot-generation.window-days:90}")
+    private int windowDays;
+
+    /**
+     * Generates the rolling window that starts today.
+     */
+    public Result generate(Long doctorId) {
+        LocalDate today = LocalDate.now();
+        return generate(doctorId, today, today.plusDays(windowDays));
+    }
+
+    /**
+     * Brings the doctor's slots in {@code [from, to)} in line with the doctor's templates.
+     */
+    public Result generate(Long doctorId, LocalDate from, LocalDate to) {
+        List<DoctorAvailabilityTemplate> templates = templateRepository.findByDoctorIdOrderByDayOfWeekAscStartTimeAsc(doctorId);
+        Map<LocalDate, List<DoctorAvailableSlot>> existing = slotRepository.findByDoctorIdInRange(doctorId, from, to).stream()
+                .collect(Collectors.groupingBy(DoctorAvailableSlot::getSlotDate));
+
+        List<DoctorAvailableSlot> stale = new ArrayList<>();
+        Set<Long> staleIds = new HashSet<>();
+        for (List<DoctorAvailableSlot> slots : existing.values()) {
+            for (DoctorAvailableSlot slot : slots) {
+                if (isRemovable(slot) && !matchesTemplate(slot, templates)) {
+                    stale.add(slot);
+                }
+            }
+        }
+        if (!stale.isEmpty()) {
+            List<Long> ids = stale.stream().map(DoctorAvailableSlot::getId).toList();
+            Set<Long> referenced = new HashSet<>(slotRepository.findIdsWithAppointments(ids));
+            ids.stream().filter(id -> !referenced.contains(id)).forEach(staleIds::add);
+        }
+
+        Doctor doctor = doctorRepository.getReferenceById(doctorId);
+        List<DoctorAvailableSlot> created = new ArrayList<>();
+        for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+            List<DoctorAvailableSlot> kept = existing.getOrDefault(date, List.of()).stream()
+                    .filter(slot -> !staleIds.contains(slot.getId()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            for (DoctorAvailabilityTemplate template : templates) {
+                if (template.getDayOfWeek() != date.getDayOfWeek()) {
+                    continue;
+                }
+                int length = template.getSlotDurationMinutes() * 60;
+                int end = endSecondsOf(template.getEndTime());
+                for (int start = template.getStartTime().toSecondOfDay(); start + length <= end; start += length) {
+                    if (overlapsAny(kept, start, start + length)) {
+                        continue;
+                    }
+                    DoctorAvailableSlot slot = DoctorAvailableSlot.builder()
+                            .doctor(doctor)
+                            .slotDate(date)
+                            .startTime(LocalTime.ofSecondOfDay(start))
+                            .endTime(timeOf(start + length))
+                            .slotDurationMinutes(template.getSlotDurationMinutes())
+                            .isGenerated(true)
+                            .build();
+                    kept.add(slot);
+                    created.add(slot);
+                }
+            }
+        }
+
+        int removed = staleIds.isEmpty() ? 0 : slotRepository.deleteFreeGeneratedByIdIn(List.copyOf(staleIds));
+        slotRepository.saveAll(created);
+        if (removed > 0 || !created.isEmpty()) {
+            availabilityIndex.invalidateAfterCompletion(doctorId);
+        }
+        return new Result(created.size(), removed);
+    }
+
+    private static boolean isRemovable(DoctorAvailableSlot slot) {
+        return Boolean.TRUE.equals(slot.getIsGenerated()) && !Boolean.TRUE.equals(slot.getIsBooked());
+    }
+
+    private static boolean matchesTemplate(DoctorAvailableSlot slot, List<DoctorAvailabilityTemplate> templates) {
+        int start = slot.getStartTime().toSecondOfDay();
+        int end = endSecondsOf(slot.getEndTime());
+        for (DoctorAvailabilityTemplate template : templates) {
+            int length = template.getSlotDurationMinutes() * 60;
+            int templateStart = template.getStartTime().toSecondOfDay();
+            if (template.getDayOfWeek() == slot.getSlotDate().getDayOfWeek()
+                    && start >= templateStart
+                    && (start - templateStart) % length == 0
+                    && end == start + length
+                    && end <= endSecondsOf(template.getEndTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlapsAny(List<DoctorAvailableSlot> slots, int start, int end) {
+        for (DoctorAvailableSlot slot : slots) {
+            if (slot.getStartTime().toSecondOfDay() < end && start < endSecondsOf(slot.getEndTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int endSecondsOf(LocalTime time) {
+        // An end time of midnight closes the day
+        return time.equals(LocalTime.MIDNIGHT) ? 24 * 3600 : time.toSecondOfDay();
+    }
+
+    private static LocalTime timeOf(int seconds) {
+        return seconds >= 24 * 3600 ? LocalTime.MIDNIGHT : LocalTime.ofSecondOfDay(seconds);
+    }
+
+    public record Result(int created, int removed) {
+    }
+}
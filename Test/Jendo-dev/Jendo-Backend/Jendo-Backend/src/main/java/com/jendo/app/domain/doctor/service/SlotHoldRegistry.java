@@ -0,0 +1,158 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.common.cache.TimingWheel;
+import com.jendo.app.common.exceptions.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived holds that keep a slot for one patient while they confirm the booking.
+ * <p>
+ * Holds live only in memory: a map keyed by slot for lock-free availability checks, and a
+ * hierarchical timing wheel that hands back each hold when its deadline passes, so expiry costs no
+ * queries. A per-user count kept next to the map enforces the hold limit without scanning it; an
+ * expired hold still counts until the next sweep drops it, which is at most about a second.
+ * <p>
+ * Nothing is written to the database until the holder books the slot, at which point the booking's
+ * conditional update takes over. Holds are per instance, so with several instances a hold only
+ * protects the slot from bookings routed to the same one.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> heldPerUser = new ConcurrentHashMap<>();
+    private final TimingWheel<Long> expiryWheel = new TimingWheel<>(1000, 64, 3);
+    private final Counter expired;
+
+    @Value("${appointments.slot-hold.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${appointments.slot-hold.max-per-user:2}")
+    private int maxPerUser;
+
+    public SlotHoldRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("appointments.slot.holds", holds, Map::size)
+                .description("Slots currently held during checkout")
+                .register(meterRegistry);
+        this.expired = Counter.builder("appointments.slot.holds.expired")
+                .description("Holds released because the patient did not book in time")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Holds the slot for the user, or extends the user's existing hold on it.
+     *
+     * @throws ConflictException if another user holds the slot, or the user already holds the maximum
+     */
+    public Hold hold(Long slotId, Long userId) {
+        long now = System.currentTimeMillis();
+        Hold hold = holds.compute(slotId, (id, current) -> {
+            if (current != null && current.userId().equals(userId)) {
+                // Extending, or re-taking an expired hold the sweep has not dropped yet; the count stays
+                return new Hold(slotId, userId, now + ttlSeconds * 1000);
+            }
+            if (current != null && !current.isExpired(now)) {
+                throw new ConflictException("Slot " + slotId + " is held by another patient");
+            }
+            reserve(userId);
+            if (current != null) {
+                unreserve(current.userId());
+            }
+            return new Hold(slotId, userId, now + ttlSeconds * 1000);
+        });
+        expiryWheel.schedule(slotId, hold.expiresAtMillis());
+        return hold;
+    }
+
+    public boolean release(Long slotId, Long userId) {
+        Hold current = holds.get(slotId);
+        if (current == null || !current.userId().equals(userId) || !holds.remove(slotId, current)) {
+            return false;
+        }
+        unreserve(userId);
+        return true;
+    }
+
+    /**
+     * Fails if someone other than the user holds the slot. Called before a booking takes the slot.
+     */
+    public void checkBookable(Long slotId, Long userId) {
+        Hold current = live(slotId, System.currentTimeMillis());
+        if (current != null && !current.userId().equals(userId)) {
+            throw new ConflictException("Slot " + slotId + " is held by another patient");
+        }
+    }
+
+    /** Drops the user's hold once the booking that converts it commits. */
+    public void consumeAfterCommit(Long slotId, Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(slotId, userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    release(slotId, userId);
+                }
+            }
+        });
+    }
+
+    public boolean isHeld(Long slotId) {
+        return live(slotId, System.currentTimeMillis()) != null;
+    }
+
+    public int holdCount() {
+        return holds.size();
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void expireHolds() {
+        long now = System.currentTimeMillis();
+        expiryWheel.advance(now, slotId -> holds.computeIfPresent(slotId, (id, hold) -> {
+            // A hold extended after this deadline was scheduled is still live
+            if (!hold.isExpired(now)) {
+                return hold;
+            }
+            expired.increment();
+            unreserve(hold.userId());
+            return null;
+        }));
+    }
+
+    private Hold live(Long slotId, long now) {
+        Hold hold = holds.get(slotId);
+        return hold != null && !hold.isExpired(now) ? hold : null;
+    }
+
+    private void reserve(Long userId) {
+        heldPerUser.compute(userId, (id, count) -> {
+            int held = count == null ? 0 : count;
+            if (held >= maxPerUser) {
+                throw new ConflictException("At most " + maxPerUser + " slots can be held at a time");
+            }
+            return held + 1;
+        });
+    }
+
+    private void unreserve(Long userId) {
+        heldPerUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    public record Hold(Long slotId, Long userId, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
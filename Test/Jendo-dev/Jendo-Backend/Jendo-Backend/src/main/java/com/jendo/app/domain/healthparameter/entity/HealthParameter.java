@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class HealthParameter {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "health_parameters_seq")
+    @SequenceGenerator(name = "health_parameters_seq", sequenceName = "health_parameters_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "blood_type", length = 10)
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class JendoReport {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jendo_reports_seq")
+    @SequenceGenerator(name = "jendo_reports_seq", sequenceName = "jendo_reports_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "file_name", nullable = false)
@@ -24,7 +24,8 @@ import java.util.List;
 public class JendoTest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jendo_tests_seq")
+    @SequenceGenerator(name = "jendo_tests_seq", sequenceName = "jendo_tests_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "score")
@@ -3,6 +3,7 @@ package com.jendo.app.domain.jendotest.mapper;
 import com.jendo.app.domain.jendotest.dto.JendoTestRequestDto;
 import com.jendo.app.domain.jendotest.dto.JendoTestResponseDto;
 import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.jendotest.projection.JendoTestListView;
 import com.jendo.app.domain.user.entity.User;
 import org.springframework.stereotype.Component;
 
@@ -41,4 +42,22 @@ public class JendoTestMapper {
                 .createdAt(entity.getCreatedAt())
                 .build();
     }
+
+    public JendoTestResponseDto toResponseDto(JendoTestListView view) {
+        return JendoTestResponseDto.builder()
+                .id(view.getId())
+                .userId(view.getUserId())
+                .userName(view.getUserFirstName() + " " + view.getUserLastName())
+                .score(view.getScore())
+                .heartRate(view.getHeartRate())
+                .riskLevel(view.getRiskLevel())
+                .testTime(view.getTestTime())
+                .bloodPressure(view.getBloodPressure())
+                .spo2(view.getSpo2())
+                .testDate(view.getTestDate())
+                .vascularRisk(view.getVascularRisk())
+                .pdfFilePath(view.getPdfFilePath())
+                .createdAt(view.getCreatedAt())
+                .build();
+    }
 }
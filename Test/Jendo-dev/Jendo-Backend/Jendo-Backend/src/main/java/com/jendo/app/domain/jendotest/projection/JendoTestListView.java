@@ -0,0 +1,40 @@
+package com.jendo.app.domain.jendotest.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A test row joined with the owner's name, for listings.
+ */
+public interface JendoTestListView {
+
+    Long getId();
+
+    Long getUserId();
+
+    String getUserFirstName();
+
+    String getUserLastName();
+
+    BigDecimal getScore();
+
+    Integer getHeartRate();
+
+    String getRiskLevel();
+
+    LocalTime getTestTime();
+
+    String getBloodPressure();
+
+    BigDecimal getSpo2();
+
+    LocalDate getTestDate();
+
+    BigDecimal getVascularRisk();
+
+    String getPdfFilePath();
+
+    LocalDateTime getCreatedAt();
+}
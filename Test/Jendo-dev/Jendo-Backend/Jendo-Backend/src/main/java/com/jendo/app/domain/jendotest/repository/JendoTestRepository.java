@@ -1,17 +1,26 @@
 package com.jendo.app.domain.jendotest.repository;
 
 import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.jendotest.projection.JendoTestListView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface JendoTestRepository extends JpaRepository<JendoTest, Long> {
+
+    String LIST_VIEW_COLUMNS = "t.id AS id, u.id AS userId, u.firstName AS userFirstName, u.lastName AS userLastName,"
+            + " t.score AS score, t.heartRate AS heartRate, t.riskLevel AS riskLevel, t.testTime AS testTime,"
+            + " t.bloodPressure AS bloodPressure, t.spo2 AS spo2, t.testDate AS testDate,"
+            + " t.vascularRisk AS vascularRisk, t.pdfFilePath AS pdfFilePath, t.createdAt AS createdAt";
     
     Page<JendoTest> findByUserId(Long userId, Pageable pageable);
     
@@ -20,4 +29,33 @@ public interface JendoTestRepository extends JpaRepository<JendoTest, Long> {
     List<JendoTest> findByRiskLevel(String riskLevel);
     
     Optional<JendoTest> findFirstByUserIdOrderByTestDateDescCreatedAtDesc(Long userId);
+
+    @Query(value = "SELECT " + LIST_VIEW_COLUMNS + " FROM JendoTest t JOIN t.user u",
+            countQuery = "SELECT COUNT(t) FROM JendoTest t")
+    Page<JendoTestListView> findAllListViews(Pageable pageable);
+
+    @Query(value = "SELECT " + LIST_VIEW_COLUMNS + " FROM JendoTest t JOIN t.user u WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(t) FROM JendoTest t WHERE t.user.id = :userId")
+    Page<JendoTestListView> findListViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT " + LIST_VIEW_COLUMNS + " FROM JendoTest t JOIN t.user u"
+            + " WHERE (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))"
+            + " ORDER BY t.createdAt DESC, t.id DESC")
+    List<JendoTestListView> findListViewsBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") long id,
+                                                Pageable limit);
+
+    @Query("SELECT " + LIST_VIEW_COLUMNS + " FROM JendoTest t JOIN t.user u"
+            + " WHERE u.id = :userId AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))"
+            + " ORDER BY t.createdAt DESC, t.id DESC")
+    List<JendoTestListView> findListViewsByUserIdBefore(@Param("userId") Long userId,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") long id,
+                                                        Pageable limit);
+
+    @Query("SELECT " + LIST_VIEW_COLUMNS + " FROM JendoTest t JOIN t.user u"
+            + " WHERE u.id = :userId AND t.testDate BETWEEN :startDate AND :endDate")
+    List<JendoTestListView> findListViewsByUserIdAndTestDateBetween(@Param("userId") Long userId,
+                                                                   @Param("startDate") LocalDate startDate,
+                                                                   @Param("endDate") LocalDate endDate);
 }
@@ -14,8 +14,12 @@ public interface JendoTestService {
     JendoTestResponseDto getTestById(Long id);
     
     PaginationResponse<JendoTestResponseDto> getAllTests(int page, int size);
+
+    PaginationResponse<JendoTestResponseDto> getAllTests(String cursor, int size);
     
     PaginationResponse<JendoTestResponseDto> getTestsByUserId(Long userId, int page, int size);
+
+    PaginationResponse<JendoTestResponseDto> getTestsByUserId(Long userId, String cursor, int size);
     
     List<JendoTestResponseDto> getTestsByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate);
     
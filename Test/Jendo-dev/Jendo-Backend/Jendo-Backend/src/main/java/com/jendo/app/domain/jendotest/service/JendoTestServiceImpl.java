@@ -2,10 +2,13 @@ package com.jendo.app.domain.jendotest.service;
 
 import com.jendo.app.common.dto.PaginationResponse;
 import com.jendo.app.common.exceptions.NotFoundException;
+import com.jendo.app.common.pagination.KeysetCursor;
+import com.jendo.app.common.pagination.KeysetPages;
 import com.jendo.app.domain.jendotest.dto.JendoTestRequestDto;
 import com.jendo.app.domain.jendotest.dto.JendoTestResponseDto;
 import com.jendo.app.domain.jendotest.entity.JendoTest;
 import com.jendo.app.domain.jendotest.mapper.JendoTestMapper;
+import com.jendo.app.domain.jendotest.projection.JendoTestListView;
 import com.jendo.app.domain.jendotest.repository.JendoTestRepository;
 import com.jendo.app.domain.user.entity.User;
 import com.jendo.app.domain.user.repository.UserRepository;
@@ -62,8 +65,18 @@ public class JendoTestServiceImpl implements JendoTestService {
     public PaginationResponse<JendoTestResponseDto> getAllTests(int page, int size) {
         logger.info("Fetching all Jendo tests - page: {}, size: {}", page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<JendoTest> testPage = jendoTestRepository.findAll(pageable);
-        return buildPaginationResponse(testPage);
+        return buildPaginationResponse(jendoTestRepository.findAllListViews(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<JendoTestResponseDto> getAllTests(String cursor, int size) {
+        logger.info("Fetching all Jendo tests - cursor mode, size: {}", size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<JendoTestListView> rows = jendoTestRepository.findListViewsBefore(
+                KeysetCursor.dateTimeKey(position), KeysetCursor.idKey(position), KeysetPages.limit(size));
+        return KeysetPages.toResponse(rows, size, position == null, JendoTestServiceImpl::cursorOf,
+                jendoTestMapper::toResponseDto);
     }
 
     @Override
@@ -71,16 +84,27 @@ public class JendoTestServiceImpl implements JendoTestService {
     public PaginationResponse<JendoTestResponseDto> getTestsByUserId(Long userId, int page, int size) {
         logger.info("Fetching Jendo tests for user ID: {} - page: {}, size: {}", userId, page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<JendoTest> testPage = jendoTestRepository.findByUserId(userId, pageable);
-        return buildPaginationResponse(testPage);
+        return buildPaginationResponse(jendoTestRepository.findListViewsByUserId(userId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<JendoTestResponseDto> getTestsByUserId(Long userId, String cursor, int size) {
+        logger.info("Fetching Jendo tests for user ID: {} - cursor mode, size: {}", userId, size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<JendoTestListView> rows = jendoTestRepository.findListViewsByUserIdBefore(userId,
+                KeysetCursor.dateTimeKey(position), KeysetCursor.idKey(position), KeysetPages.limit(size));
+        return KeysetPages.toResponse(rows, size, position == null, JendoTestServiceImpl::cursorOf,
+                jendoTestMapper::toResponseDto);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<JendoTestResponseDto> getTestsByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
         logger.info("Fetching Jendo tests for user ID: {} between {} and {}", userId, startDate, endDate);
-        List<JendoTest> tests = jendoTestRepository.findByUserIdAndTestDateBetween(userId, startDate, endDate);
-        return tests.stream().map(jendoTestMapper::toResponseDto).collect(Collectors.toList());
+        return jendoTestRepository.findListViewsByUserIdAndTestDateBetween(userId, startDate, endDate).stream()
+                .map(jendoTestMapper::toResponseDto)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -120,7 +144,7 @@ public class JendoTestServiceImpl implements JendoTestService {
         logger.info("Jendo test deleted successfully with ID: {}", id);
     }
     
-    private PaginationResponse<JendoTestResponseDto> buildPaginationResponse(Page<JendoTest> testPage) {
+    private PaginationResponse<JendoTestResponseDto> buildPaginationResponse(Page<JendoTestListView> testPage) {
         List<JendoTestResponseDto> content = testPage.getContent().stream()
                 .map(jendoTestMapper::toResponseDto)
                 .collect(Collectors.toList());
@@ -135,4 +159,8 @@ public class JendoTestServiceImpl implements JendoTestService {
                 .last(testPage.isLast())
                 .build();
     }
+
+    private static String cursorOf(JendoTestListView view) {
+        return KeysetCursor.encode(view.getCreatedAt(), view.getId());
+    }
 }
@@ -0,0 +1,28 @@
+package com.jendo.app.domain.notification.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Broadcast notification request")
+public class BroadcastNotificationRequestDto {
+
+    @NotBlank(message = "Message is required")
+    @Schema(description = "Notification message", example = "New learning material: Understanding your vascular health", required = true)
+    private String message;
+
+    @Schema(description = "Notification type", example = "ANNOUNCEMENT")
+    private String type;
+
+    @Size(max = 50, message = "Risk level must not exceed 50 characters")
+    @Schema(description = "Only notify users whose latest Jendo test has this risk level; everyone when empty", example = "HIGH")
+    private String riskLevel;
+}
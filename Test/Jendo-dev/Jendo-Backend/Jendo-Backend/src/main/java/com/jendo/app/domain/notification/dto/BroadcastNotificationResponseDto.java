@@ -0,0 +1,35 @@
+package com.jendo.app.domain.notification.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Broadcast notification response data")
+public class BroadcastNotificationResponseDto {
+
+    @Schema(description = "Broadcast unique identifier", example = "1")
+    private Long id;
+
+    @Schema(description = "Notification message", example = "New learning material: Understanding your vascular health")
+    private String message;
+
+    @Schema(description = "Notification type", example = "ANNOUNCEMENT")
+    private String type;
+
+    @Schema(description = "Targeted risk level, or null for everyone", example = "HIGH")
+    private String targetRiskLevel;
+
+    @Schema(description = "Number of users in the targeted segment, or null for everyone", example = "1250")
+    private Integer recipients;
+
+    @Schema(description = "Creation timestamp", example = "2024-01-15T10:30:00")
+    private LocalDateTime createdAt;
+}
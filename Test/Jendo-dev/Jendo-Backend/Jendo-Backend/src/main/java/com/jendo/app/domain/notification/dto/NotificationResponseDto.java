@@ -32,4 +32,7 @@ public class NotificationResponseDto {
 
     @Schema(description = "Creation timestamp", example = "2024-01-15T10:30:00")
     private LocalDateTime createdAt;
+
+    @Schema(description = "True for a broadcast shared with other users; mark it read through the broadcast endpoint", example = "false")
+    private Boolean broadcast;
 }
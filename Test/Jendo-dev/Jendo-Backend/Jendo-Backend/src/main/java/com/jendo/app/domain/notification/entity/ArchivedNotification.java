@@ -0,0 +1,40 @@
+package com.jendo.app.domain.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A read notification moved out of {@code notifications} by the retention job. Rows keep their
+ * original id and carry the user id without a foreign key, so archiving never holds up user deletes.
+ */
+@Entity
+@Table(name = "notifications_archive")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedNotification {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "message", nullable = false)
+    private String message;
+
+    @Column(name = "type", length = 50)
+    private String type;
+
+    @Column(name = "is_read")
+    private Boolean isRead;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,39 @@
+package com.jendo.app.domain.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification stored once and shown to many users. With no target it reaches every user who
+ * signed up before it was sent; with a target risk level it reaches the users listed in
+ * {@link BroadcastReceipt} when it was sent.
+ */
+@Entity
+@Table(name = "broadcast_notifications")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "broadcast_notifications_seq")
+    @SequenceGenerator(name = "broadcast_notifications_seq", sequenceName = "broadcast_notifications_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "message", nullable = false)
+    private String message;
+
+    @Column(name = "type", length = 50)
+    private String type;
+
+    @Column(name = "target_risk_level", length = 50)
+    private String targetRiskLevel;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
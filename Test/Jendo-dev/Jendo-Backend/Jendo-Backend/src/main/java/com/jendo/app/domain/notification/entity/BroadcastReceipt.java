@@ -0,0 +1,39 @@
+package com.jendo.app.domain.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One user's state for one broadcast. Segment broadcasts get a row per recipient when they are sent,
+ * with no read time; broadcasts to everyone only get a row once the user reads them.
+ */
+@Entity
+@Table(name = "broadcast_receipts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastReceipt {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "broadcast_id")
+        private Long broadcastId;
+
+        @Column(name = "user_id")
+        private Long userId;
+    }
+}
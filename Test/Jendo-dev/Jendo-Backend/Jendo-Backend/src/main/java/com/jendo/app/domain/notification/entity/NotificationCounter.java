@@ -0,0 +1,24 @@
+package com.jendo.app.domain.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of unread notifications a user has, maintained alongside the notification rows so the badge
+ * count is a primary-key read instead of a COUNT over the user's notifications.
+ */
+@Entity
+@Table(name = "notification_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
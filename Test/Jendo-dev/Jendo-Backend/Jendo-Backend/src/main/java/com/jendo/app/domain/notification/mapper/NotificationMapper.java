@@ -26,6 +26,7 @@ public class NotificationMapper {
                 .type(entity.getType())
                 .isRead(entity.getIsRead())
                 .createdAt(entity.getCreatedAt())
+                .broadcast(false)
                 .build();
     }
 }
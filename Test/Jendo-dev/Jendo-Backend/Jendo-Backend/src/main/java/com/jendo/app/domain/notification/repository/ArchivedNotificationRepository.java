@@ -0,0 +1,22 @@
+package com.jendo.app.domain.notification.repository;
+
+import com.jendo.app.domain.notification.entity.ArchivedNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, Long> {
+
+    // A batch retried after a failed delete finds its rows already archived and skips them
+    @Modifying
+    @Query(value = "INSERT INTO notifications_archive (id, user_id, message, type, is_read, created_at, archived_at)"
+            + " SELECT n.id, n.user_id, n.message, n.type, n.is_read, n.created_at, :now FROM notifications n"
+            + " WHERE n.id IN (:ids) AND n.is_read = true ON CONFLICT DO NOTHING", nativeQuery = true)
+    int archiveRead(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
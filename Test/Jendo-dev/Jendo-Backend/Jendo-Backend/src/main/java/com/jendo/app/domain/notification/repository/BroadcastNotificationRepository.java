@@ -0,0 +1,53 @@
+package com.jendo.app.domain.notification.repository;
+
+import com.jendo.app.domain.notification.dto.NotificationResponseDto;
+import com.jendo.app.domain.notification.entity.BroadcastNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Broadcasts as one user sees them. A broadcast is visible to a user who existed when it was sent and
+ * who is either covered by an untargeted broadcast or has a receipt for a targeted one; the receipt,
+ * if any, carries the read time.
+ */
+@Repository
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+
+    String VIEW = "SELECT new com.jendo.app.domain.notification.dto.NotificationResponseDto("
+            + "b.id, u.id, b.message, b.type, CASE WHEN r.readAt IS NULL THEN false ELSE true END, b.createdAt, true)";
+
+    String VISIBLE = " FROM BroadcastNotification b JOIN User u ON u.id = :userId"
+            + " LEFT JOIN BroadcastReceipt r ON r.id.broadcastId = b.id AND r.id.userId = u.id"
+            + " WHERE (u.createdAt IS NULL OR b.createdAt >= u.createdAt)"
+            + " AND (b.targetRiskLevel IS NULL OR r.id.userId IS NOT NULL)";
+
+    String NEWEST_FIRST = " ORDER BY b.createdAt DESC, b.id DESC";
+
+    @Query(VIEW + VISIBLE + NEWEST_FIRST)
+    List<NotificationResponseDto> findViewsByUserId(@Param("userId") Long userId, Pageable limit);
+
+    @Query(VIEW + VISIBLE + " AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id))" + NEWEST_FIRST)
+    List<NotificationResponseDto> findViewsByUserIdBefore(@Param("userId") Long userId,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") long id,
+                                                          Pageable limit);
+
+    @Query(VIEW + VISIBLE + " AND r.readAt IS NULL" + NEWEST_FIRST)
+    List<NotificationResponseDto> findUnreadViewsByUserId(@Param("userId") Long userId);
+
+    @Query(VIEW + VISIBLE + " AND b.id = :id")
+    Optional<NotificationResponseDto> findViewByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT count(b)" + VISIBLE)
+    long countVisibleByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT count(b)" + VISIBLE + " AND r.readAt IS NULL")
+    long countUnreadByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,58 @@
+package com.jendo.app.domain.notification.repository;
+
+import com.jendo.app.domain.notification.entity.BroadcastReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BroadcastReceiptRepository extends JpaRepository<BroadcastReceipt, BroadcastReceipt.Key> {
+
+    /**
+     * Adds the users whose latest Jendo test has the given risk level as unread recipients, in one
+     * statement however large the segment is.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_receipts (broadcast_id, user_id)"
+            + " SELECT :broadcastId, latest.user_id FROM ("
+            + "   SELECT t.user_id, t.risk_level, ROW_NUMBER() OVER (PARTITION BY t.user_id"
+            + "     ORDER BY t.test_date DESC NULLS LAST, t.created_at DESC NULLS LAST, t.id DESC) AS rn"
+            + "   FROM jendo_tests t) latest"
+            + " WHERE latest.rn = 1 AND upper(latest.risk_level) = upper(:riskLevel)",
+            nativeQuery = true)
+    int insertSegmentRecipients(@Param("broadcastId") Long broadcastId, @Param("riskLevel") String riskLevel);
+
+    @Query("SELECT r.id.userId FROM BroadcastReceipt r WHERE r.id.broadcastId = :broadcastId AND r.id.userId IN :userIds")
+    List<Long> findRecipientsAmong(@Param("broadcastId") Long broadcastId, @Param("userIds") Collection<Long> userIds);
+
+    // Targeted broadcasts already have a receipt; untargeted ones get theirs on first read
+    @Modifying
+    @Query("UPDATE BroadcastReceipt r SET r.readAt = :now"
+            + " WHERE r.id.broadcastId = :broadcastId AND r.id.userId = :userId AND r.readAt IS NULL")
+    int markReadIfUnread(@Param("broadcastId") Long broadcastId, @Param("userId") Long userId,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_receipts (broadcast_id, user_id, read_at) VALUES (:broadcastId, :userId, :now)"
+            + " ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertReadIfAbsent(@Param("broadcastId") Long broadcastId, @Param("userId") Long userId,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BroadcastReceipt r SET r.readAt = :now WHERE r.id.userId = :userId AND r.readAt IS NULL")
+    int markAllReadByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_receipts (broadcast_id, user_id, read_at)"
+            + " SELECT b.id, u.id, :now FROM broadcast_notifications b JOIN users u ON u.id = :userId"
+            + " WHERE b.target_risk_level IS NULL AND (u.created_at IS NULL OR b.created_at >= u.created_at)"
+            + " AND NOT EXISTS (SELECT 1 FROM broadcast_receipts r WHERE r.broadcast_id = b.id AND r.user_id = u.id)"
+            + " ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertReadForUntargetedByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
@@ -4,16 +4,69 @@ import com.jendo.app.domain.notification.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
     Page<Notification> findByUserId(Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId"
+            + " AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))"
+            + " ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findByUserIdBefore(@Param("userId") Long userId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") long id,
+                                          Pageable limit);
     
     List<Notification> findByUserIdAndIsReadFalse(Long userId);
     
     long countByUserIdAndIsReadFalse(Long userId);
+
+    @Query("SELECT n.user.id FROM Notification n WHERE n.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    // The is_read guard makes each transition happen once, so callers can count what actually changed
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.isRead = false")
+    int markReadIfUnread(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllReadByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.isRead = false")
+    int deleteIfUnread(@Param("id") Long id);
+
+    /**
+     * Next batch of read notifications created before the cutoff, in (createdAt, id) order after the
+     * given position. Walking forward from the last key skips the dead index entries earlier batches left.
+     */
+    @Query("SELECT n.id AS id, n.createdAt AS createdAt FROM Notification n"
+            + " WHERE n.isRead = true AND n.createdAt < :cutoff"
+            + " AND (n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.id > :id))"
+            + " ORDER BY n.createdAt, n.id")
+    List<RetentionKey> findReadBefore(@Param("cutoff") LocalDateTime cutoff,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") long id,
+                                      Pageable limit);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids AND n.isRead = true")
+    int deleteReadByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface RetentionKey {
+        Long getId();
+
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -0,0 +1,12 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.domain.notification.dto.BroadcastNotificationRequestDto;
+import com.jendo.app.domain.notification.dto.BroadcastNotificationResponseDto;
+import com.jendo.app.domain.notification.dto.NotificationResponseDto;
+
+public interface BroadcastNotificationService {
+
+    BroadcastNotificationResponseDto broadcast(BroadcastNotificationRequestDto request);
+
+    NotificationResponseDto markAsRead(Long broadcastId, Long userId);
+}
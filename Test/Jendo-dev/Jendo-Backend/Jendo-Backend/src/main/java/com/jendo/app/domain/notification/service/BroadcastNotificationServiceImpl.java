@@ -0,0 +1,105 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.common.exceptions.NotFoundException;
+import com.jendo.app.domain.notification.dto.BroadcastNotificationRequestDto;
+import com.jendo.app.domain.notification.dto.BroadcastNotificationResponseDto;
+import com.jendo.app.domain.notification.dto.NotificationResponseDto;
+import com.jendo.app.domain.notification.entity.BroadcastNotification;
+import com.jendo.app.domain.notification.repository.BroadcastNotificationRepository;
+import com.jendo.app.domain.notification.repository.BroadcastReceiptRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BroadcastNotificationServiceImpl implements BroadcastNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastNotificationServiceImpl.class);
+    private static final int RECIPIENT_LOOKUP_BATCH = 1000;
+
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final BroadcastReceiptRepository receiptRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationPushHub pushHub;
+
+    @Override
+    public BroadcastNotificationResponseDto broadcast(BroadcastNotificationRequestDto request) {
+        String riskLevel = request.getRiskLevel() == null || request.getRiskLevel().isBlank()
+                ? null : request.getRiskLevel().trim();
+        logger.info("Creating broadcast notification - target risk level: {}", riskLevel != null ? riskLevel : "everyone");
+
+        BroadcastNotification broadcast = broadcastRepository.save(BroadcastNotification.builder()
+                .message(request.getMessage())
+                .type(request.getType())
+                .targetRiskLevel(riskLevel)
+                .build());
+        Integer recipients = riskLevel != null
+                ? receiptRepository.insertSegmentRecipients(broadcast.getId(), riskLevel)
+                : null;
+
+        unreadCounter.invalidateAllAfterCompletion();
+        pushHub.publishAfterCommit(connectedRecipients(broadcast), NotificationResponseDto.builder()
+                .id(broadcast.getId())
+                .message(broadcast.getMessage())
+                .type(broadcast.getType())
+                .isRead(false)
+                .createdAt(broadcast.getCreatedAt())
+                .broadcast(true)
+                .build());
+
+        logger.info("Broadcast notification created with ID: {} - recipients: {}", broadcast.getId(),
+                recipients != null ? recipients : "everyone");
+        return BroadcastNotificationResponseDto.builder()
+                .id(broadcast.getId())
+                .message(broadcast.getMessage())
+                .type(broadcast.getType())
+                .targetRiskLevel(broadcast.getTargetRiskLevel())
+                .recipients(recipients)
+                .createdAt(broadcast.getCreatedAt())
+                .build();
+    }
+
+    @Override
+    public NotificationResponseDto markAsRead(Long broadcastId, Long userId) {
+        logger.info("Marking broadcast notification as read - ID: {}, user ID: {}", broadcastId, userId);
+        NotificationResponseDto view = broadcastRepository.findViewByIdAndUserId(broadcastId, userId)
+                .orElseThrow(() -> new NotFoundException("Broadcast notification", broadcastId));
+        if (Boolean.TRUE.equals(view.getIsRead())) {
+            return view;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean changed = receiptRepository.markReadIfUnread(broadcastId, userId, now) > 0
+                || receiptRepository.insertReadIfAbsent(broadcastId, userId, now) > 0;
+        if (changed) {
+            unreadCounter.invalidateAfterCompletion(userId);
+            pushHub.publishAfterCommit(userId, null);
+        }
+        view.setIsRead(true);
+        return view;
+    }
+
+    private Collection<Long> connectedRecipients(BroadcastNotification broadcast) {
+        Set<Long> connected = pushHub.connectedUserIds();
+        if (broadcast.getTargetRiskLevel() == null || connected.isEmpty()) {
+            return connected;
+        }
+        List<Long> ids = new ArrayList<>(connected);
+        List<Long> recipients = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += RECIPIENT_LOOKUP_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(from + RECIPIENT_LOOKUP_BATCH, ids.size()));
+            recipients.addAll(receiptRepository.findRecipientsAmong(broadcast.getId(), batch));
+        }
+        return recipients;
+    }
+}
@@ -0,0 +1,332 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.domain.notification.dto.NotificationResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans notification changes out to the server-sent-event streams of the affected user.
+ * <p>
+ * Streams are async servlet requests, so an idle connection holds a socket and a small buffer but no
+ * thread. Each connection has a bounded event buffer drained by a shared delivery pool, one drain at a
+ * time per connection; a connection whose buffer overflows is closed, and the client reconnects and
+ * starts again from the snapshot sent on connect. Changes are published only once their transaction
+ * has committed, and only for users with an open stream.
+ * <p>
+ * Writes are blocking servlet writes, and nothing can cut one short: a client that stops reading holds
+ * its delivery thread until the container's socket write timeout. A watchdog therefore closes any
+ * connection whose current write has run past {@code notifications.push.write-timeout-ms} and gives the
+ * pool a replacement thread until the stuck write returns, so stalled clients cannot starve the rest.
+ */
+@Component
+public class NotificationPushHub implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushHub.class);
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+    private static final long STALLED = -1;
+    private static final long STALLED_REPLACED = -2;
+
+    private final UnreadNotificationCounter unreadCounter;
+    private final Map<Long, Deque<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ThreadPoolExecutor delivery;
+    private final Counter evicted;
+    private final Counter stalled;
+    private int stalledWrites;
+
+    @Value("${notifications.push.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${notifications.push.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${notifications.push.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${notifications.push.write-timeout-ms:5000}")
+    private long writeTimeoutMillis;
+
+    @Value("${notifications.push.max-stalled-writes:32}")
+    private int maxStalledWrites;
+
+    public NotificationPushHub(UnreadNotificationCounter unreadCounter,
+                               @Value("${notifications.push.delivery-threads:4}") int deliveryThreads,
+                               MeterRegistry meterRegistry) {
+        this.unreadCounter = unreadCounter;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.delivery = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "notification-push-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("notifications.push.connections", connections, AtomicInteger::get)
+                .description("Open notification streams")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("notifications.push.evicted")
+                .description("Streams closed because the client fell behind")
+                .register(meterRegistry);
+        this.stalled = Counter.builder("notifications.push.stalled")
+                .description("Streams closed because a write outlived the write timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user. The first event is the current unread count, so a reconnecting
+     * client never needs to poll to catch up.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter, bufferSize);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Added under the map's lock so it cannot race remove() dropping an emptied deque
+        Deque<Subscriber> userSubscribers = subscribers.compute(userId, (id, existing) -> {
+            Deque<Subscriber> deque = existing != null ? existing : new ConcurrentLinkedDeque<>();
+            deque.addLast(subscriber);
+            return deque;
+        });
+        connections.incrementAndGet();
+        while (userSubscribers.size() > maxConnectionsPerUser) {
+            Subscriber oldest = userSubscribers.pollFirst();
+            if (oldest != null) {
+                close(oldest);
+            }
+        }
+
+        submit(() -> offer(subscriber, new PushEvent(UNREAD_COUNT_EVENT, unreadCounter.get(userId))));
+        return emitter;
+    }
+
+    /**
+     * Pushes the user's new unread count, and the created notification if there is one, once the
+     * current transaction commits. Call it after the matching {@link UnreadNotificationCounter#adjust},
+     * so the counter's cache entry is already dropped when the count is read.
+     */
+    public void publishAfterCommit(Long userId, NotificationResponseDto created) {
+        publishAfterCommit(List.of(userId), created);
+    }
+
+    public void publishAfterCommit(Collection<Long> userIds, NotificationResponseDto created) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userIds.forEach(userId -> publish(userId, created));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    userIds.forEach(userId -> publish(userId, created));
+                }
+            }
+        });
+    }
+
+    public Set<Long> connectedUserIds() {
+        return Set.copyOf(subscribers.keySet());
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.push.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        // Keeps proxies from timing out idle streams and surfaces dead sockets as send failures
+        PushEvent ping = new PushEvent(null, null);
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(s -> offer(s, ping)));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.push.write-check-interval-ms:1000}")
+    public void closeStalledWrites() {
+        long now = System.currentTimeMillis();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            long startedAt = subscriber.writeStartedAt.get();
+            if (startedAt > 0 && now - startedAt > writeTimeoutMillis && markStalled(subscriber, startedAt)) {
+                stalled.increment();
+                logger.debug("Closing notification stream for user ID: {} - write stalled", subscriber.userId);
+                close(subscriber);
+            }
+        }));
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(this::close));
+        delivery.shutdown();
+    }
+
+    private void publish(Long userId, NotificationResponseDto created) {
+        Deque<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null || userSubscribers.isEmpty()) {
+            return;
+        }
+        submit(() -> {
+            PushEvent count = new PushEvent(UNREAD_COUNT_EVENT, unreadCounter.get(userId));
+            for (Subscriber subscriber : userSubscribers) {
+                if (created != null) {
+                    offer(subscriber, new PushEvent(NOTIFICATION_EVENT, created));
+                }
+                offer(subscriber, count);
+            }
+        });
+    }
+
+    private void offer(Subscriber subscriber, PushEvent event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            evicted.increment();
+            logger.debug("Closing notification stream for user ID: {} - client fell behind", subscriber.userId);
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            submit(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            if (subscriber.closed.get()) {
+                // The drain owns the emitter, so completing it here never waits behind a write
+                subscriber.emitter.complete();
+                return;
+            }
+            PushEvent event = subscriber.buffer.poll();
+            if (event == null) {
+                subscriber.draining.set(false);
+                // An offer or a close may have landed between the empty poll and the flag reset
+                if ((subscriber.buffer.isEmpty() && !subscriber.closed.get())
+                        || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            long startedAt = System.currentTimeMillis();
+            subscriber.writeStartedAt.set(startedAt);
+            try {
+                subscriber.emitter.send(event.toSse());
+            } catch (IOException | IllegalStateException e) {
+                remove(subscriber);
+            } finally {
+                // Losing this race means the watchdog gave up on the write, and may have added a thread in our place
+                if (!subscriber.writeStartedAt.compareAndSet(startedAt, 0)
+                        && subscriber.writeStartedAt.get() == STALLED_REPLACED) {
+                    releaseReplacement();
+                }
+            }
+        }
+    }
+
+    private synchronized boolean markStalled(Subscriber subscriber, long startedAt) {
+        boolean replace = stalledWrites < maxStalledWrites;
+        if (!subscriber.writeStartedAt.compareAndSet(startedAt, replace ? STALLED_REPLACED : STALLED)) {
+            return false;
+        }
+        if (replace) {
+            stalledWrites++;
+            // Grow the maximum first so it never drops below the core size
+            delivery.setMaximumPoolSize(delivery.getMaximumPoolSize() + 1);
+            delivery.setCorePoolSize(delivery.getCorePoolSize() + 1);
+        } else {
+            logger.warn("{} notification writes stalled; not adding delivery threads", stalledWrites);
+        }
+        return true;
+    }
+
+    private synchronized void releaseReplacement() {
+        stalledWrites--;
+        delivery.setCorePoolSize(delivery.getCorePoolSize() - 1);
+        delivery.setMaximumPoolSize(delivery.getMaximumPoolSize() - 1);
+    }
+
+    private void submit(Runnable task) {
+        try {
+            delivery.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Only happens on shutdown
+            logger.debug("Notification push rejected: {}", e.getMessage());
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        // SseEmitter serializes complete() with send(), so while a drain runs (its write perhaps stalled)
+        // it is left to the drain to complete the emitter once the write returns
+        if (remove(subscriber) && subscriber.draining.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscriber.buffer.clear();
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+        return true;
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<PushEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Start time of the write in progress, 0 when idle, STALLED(_REPLACED) once the watchdog gave up on it
+        private final AtomicLong writeStartedAt = new AtomicLong();
+
+        private Subscriber(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    private record PushEvent(String name, Object data) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("ping");
+            }
+            return SseEmitter.event().name(name).data(data);
+        }
+    }
+}
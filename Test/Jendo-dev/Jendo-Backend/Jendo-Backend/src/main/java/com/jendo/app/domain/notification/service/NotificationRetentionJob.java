@@ -0,0 +1,138 @@
+package com.jendo.app.domain.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps {@code notifications} small by moving read notifications past the retention age into
+ * {@code notifications_archive}, or deleting them outright.
+ * <p>
+ * Work is done in short keyset-ordered batches, each in its own transaction, with a pause between
+ * batches and a cap on batches per run so a large backlog drains over several runs instead of
+ * competing with request traffic. Unread notifications are never touched, so unread counts are
+ * unaffected. Instances running the job at the same time only repeat each other's no-op deletes.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionJob.class);
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public enum Mode { ARCHIVE, DELETE }
+
+    private final NotificationRetentionService retentionService;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final Counter archived;
+    private final Counter deleted;
+    private final Timer batchTimer;
+
+    @Value("${notifications.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.retention.mode:ARCHIVE}")
+    private Mode mode;
+
+    @Value("${notifications.retention.read-after-days:90}")
+    private long readAfterDays;
+
+    @Value("${notifications.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notifications.retention.pause-ms:200}")
+    private long pauseMillis;
+
+    @Value("${notifications.retention.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    public NotificationRetentionJob(NotificationRetentionService retentionService, MeterRegistry meterRegistry) {
+        this.retentionService = retentionService;
+        this.archived = Counter.builder("notifications.retention.rows")
+                .tag("action", "archived")
+                .description("Read notifications copied to the archive")
+                .register(meterRegistry);
+        this.deleted = Counter.builder("notifications.retention.rows")
+                .tag("action", "deleted")
+                .description("Read notifications removed from the notifications table")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("notifications.retention.batch")
+                .description("Time to archive and delete one batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.retention.interval-ms:3600000}",
+            initialDelayString = "${notifications.retention.interval-ms:3600000}")
+    public void run() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    /**
+     * Runs batches until nothing past the retention age is left or the per-run cap is reached.
+     *
+     * @return the number of notifications removed
+     */
+    public int purge() {
+        if (!runLock.tryLock()) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(readAfterDays);
+            LocalDateTime afterCreatedAt = START;
+            long afterId = 0;
+            int removed = 0;
+            for (int batches = 0; batches < maxBatchesPerRun; batches++) {
+                if (batches > 0 && !pause()) {
+                    break;
+                }
+                LocalDateTime fromCreatedAt = afterCreatedAt;
+                long fromId = afterId;
+                NotificationRetentionService.Batch batch = batchTimer.record(() -> retentionService.purgeBatch(
+                        cutoff, fromCreatedAt, fromId, batchSize, mode == Mode.ARCHIVE));
+                if (batch == null) {
+                    break;
+                }
+                archived.increment(batch.archived());
+                deleted.increment(batch.deleted());
+                removed += batch.deleted();
+                afterCreatedAt = batch.lastCreatedAt();
+                afterId = batch.lastId();
+                if (batch.scanned() < batchSize) {
+                    break;
+                }
+            }
+            if (removed > 0) {
+                logger.info("Notification retention removed {} read notifications older than {} days (mode: {})",
+                        removed, readAfterDays, mode);
+            }
+            return removed;
+        } catch (RuntimeException e) {
+            logger.error("Notification retention run failed", e);
+            return 0;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
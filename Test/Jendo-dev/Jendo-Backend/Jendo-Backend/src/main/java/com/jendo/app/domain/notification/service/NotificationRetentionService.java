@@ -0,0 +1,48 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.domain.notification.repository.ArchivedNotificationRepository;
+import com.jendo.app.domain.notification.repository.NotificationRepository;
+import com.jendo.app.domain.notification.repository.NotificationRepository.RetentionKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One retention batch per transaction, so row locks are held for a handful of rows at a time and a
+ * failure only rolls back the batch in flight.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class NotificationRetentionService {
+
+    private final NotificationRepository notificationRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+
+    /**
+     * Archives (if asked) and deletes up to {@code batchSize} read notifications created before
+     * {@code cutoff}, starting after the given position.
+     *
+     * @return the rows removed and the position to continue from, or {@code null} when nothing is left
+     */
+    public Batch purgeBatch(LocalDateTime cutoff, LocalDateTime afterCreatedAt, long afterId,
+                            int batchSize, boolean archive) {
+        List<RetentionKey> keys = notificationRepository.findReadBefore(cutoff, afterCreatedAt, afterId,
+                PageRequest.of(0, batchSize));
+        if (keys.isEmpty()) {
+            return null;
+        }
+        List<Long> ids = keys.stream().map(RetentionKey::getId).toList();
+        int archived = archive ? archivedNotificationRepository.archiveRead(ids, LocalDateTime.now()) : 0;
+        int deleted = notificationRepository.deleteReadByIdIn(ids);
+        RetentionKey last = keys.get(keys.size() - 1);
+        return new Batch(keys.size(), archived, deleted, last.getCreatedAt(), last.getId());
+    }
+
+    public record Batch(int scanned, int archived, int deleted, LocalDateTime lastCreatedAt, long lastId) {
+    }
+}
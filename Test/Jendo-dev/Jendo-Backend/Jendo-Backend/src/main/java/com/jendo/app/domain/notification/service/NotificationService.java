@@ -13,6 +13,8 @@ public interface NotificationService {
     NotificationResponseDto getNotificationById(Long id);
     
     PaginationResponse<NotificationResponseDto> getNotificationsByUserId(Long userId, int page, int size);
+
+    PaginationResponse<NotificationResponseDto> getNotificationsByUserId(Long userId, String cursor, int size);
     
     List<NotificationResponseDto> getUnreadNotificationsByUserId(Long userId);
     
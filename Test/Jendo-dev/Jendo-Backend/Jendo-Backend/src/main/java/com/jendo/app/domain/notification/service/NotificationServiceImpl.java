@@ -2,10 +2,14 @@ package com.jendo.app.domain.notification.service;
 
 import com.jendo.app.common.dto.PaginationResponse;
 import com.jendo.app.common.exceptions.NotFoundException;
+import com.jendo.app.common.pagination.KeysetCursor;
+import com.jendo.app.common.pagination.KeysetPages;
 import com.jendo.app.domain.notification.dto.NotificationRequestDto;
 import com.jendo.app.domain.notification.dto.NotificationResponseDto;
 import com.jendo.app.domain.notification.entity.Notification;
 import com.jendo.app.domain.notification.mapper.NotificationMapper;
+import com.jendo.app.domain.notification.repository.BroadcastNotificationRepository;
+import com.jendo.app.domain.notification.repository.BroadcastReceiptRepository;
 import com.jendo.app.domain.notification.repository.NotificationRepository;
 import com.jendo.app.domain.user.entity.User;
 import com.jendo.app.domain.user.repository.UserRepository;
@@ -17,10 +21,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,10 +37,17 @@ import java.util.stream.Collectors;
 public class NotificationServiceImpl implements NotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
+    private static final Comparator<NotificationResponseDto> NEWEST_FIRST = Comparator
+            .comparing(NotificationResponseDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(NotificationResponseDto::getId, Comparator.reverseOrder());
     
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final NotificationMapper notificationMapper;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationPushHub pushHub;
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final BroadcastReceiptRepository receiptRepository;
 
     @Override
     public NotificationResponseDto createNotification(NotificationRequestDto request) {
@@ -42,9 +58,14 @@ public class NotificationServiceImpl implements NotificationService {
         
         Notification notification = notificationMapper.toEntity(request, user);
         notification = notificationRepository.save(notification);
+        if (Boolean.FALSE.equals(notification.getIsRead())) {
+            unreadCounter.adjust(user.getId(), 1);
+        }
+        NotificationResponseDto response = notificationMapper.toResponseDto(notification);
+        pushHub.publishAfterCommit(user.getId(), response);
         
         logger.info("Notification created with ID: {}", notification.getId());
-        return notificationMapper.toResponseDto(notification);
+        return response;
     }
 
     @Override
@@ -60,6 +81,10 @@ public class NotificationServiceImpl implements NotificationService {
     @Transactional(readOnly = true)
     public PaginationResponse<NotificationResponseDto> getNotificationsByUserId(Long userId, int page, int size) {
         logger.info("Fetching notifications for user ID: {} - page: {}, size: {}", userId, page, size);
+        long broadcasts = broadcastRepository.countVisibleByUserId(userId);
+        if (broadcasts > 0) {
+            return mergedPage(userId, page, size, broadcasts);
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<Notification> notificationPage = notificationRepository.findByUserId(userId, pageable);
         
@@ -78,44 +103,111 @@ public class NotificationServiceImpl implements NotificationService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<NotificationResponseDto> getNotificationsByUserId(Long userId, String cursor, int size) {
+        logger.info("Fetching notifications for user ID: {} - cursor mode, size: {}", userId, size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        LocalDateTime createdAt = KeysetCursor.dateTimeKey(position);
+        long id = KeysetCursor.idKey(position);
+        Pageable limit = KeysetPages.limit(size);
+        List<NotificationResponseDto> personal = notificationRepository.findByUserIdBefore(userId, createdAt, id, limit)
+                .stream().map(notificationMapper::toResponseDto).toList();
+        List<NotificationResponseDto> broadcasts = broadcastRepository.findViewsByUserIdBefore(userId, createdAt, id, limit);
+        List<NotificationResponseDto> rows = newestFirst(personal, broadcasts).limit(limit.getPageSize()).toList();
+        return KeysetPages.toResponse(rows, size, position == null,
+                n -> KeysetCursor.encode(n.getCreatedAt(), n.getId()), Function.identity());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<NotificationResponseDto> getUnreadNotificationsByUserId(Long userId) {
         logger.info("Fetching unread notifications for user ID: {}", userId);
-        List<Notification> notifications = notificationRepository.findByUserIdAndIsReadFalse(userId);
-        return notifications.stream().map(notificationMapper::toResponseDto).collect(Collectors.toList());
+        List<NotificationResponseDto> personal = notificationRepository.findByUserIdAndIsReadFalse(userId).stream()
+                .map(notificationMapper::toResponseDto).toList();
+        return newestFirst(personal, broadcastRepository.findUnreadViewsByUserId(userId)).collect(Collectors.toList());
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long getUnreadCountByUserId(Long userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        // Polled by the app badge: a cache hit should not even borrow a connection
+        return unreadCounter.get(userId);
     }
 
     @Override
     public NotificationResponseDto markAsRead(Long id) {
         logger.info("Marking notification as read - ID: {}", id);
+        boolean changed = notificationRepository.markReadIfUnread(id) > 0;
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Notification", id));
-        notification.setIsRead(true);
-        notification = notificationRepository.save(notification);
+        if (changed) {
+            unreadCounter.adjust(notification.getUser().getId(), -1);
+            pushHub.publishAfterCommit(notification.getUser().getId(), null);
+        }
         return notificationMapper.toResponseDto(notification);
     }
 
     @Override
     public void markAllAsRead(Long userId) {
         logger.info("Marking all notifications as read for user ID: {}", userId);
-        List<Notification> notifications = notificationRepository.findByUserIdAndIsReadFalse(userId);
-        notifications.forEach(n -> n.setIsRead(true));
-        notificationRepository.saveAll(notifications);
+        int updated = notificationRepository.markAllReadByUserId(userId);
+        LocalDateTime now = LocalDateTime.now();
+        int broadcastsRead = receiptRepository.markAllReadByUserId(userId, now)
+                + receiptRepository.insertReadForUntargetedByUserId(userId, now);
+        if (updated > 0) {
+            unreadCounter.adjust(userId, -updated);
+        }
+        if (broadcastsRead > 0) {
+            unreadCounter.invalidateAfterCompletion(userId);
+        }
+        if (updated + broadcastsRead > 0) {
+            pushHub.publishAfterCommit(userId, null);
+        }
+        logger.info("Marked {} notifications and {} broadcasts as read for user ID: {}", updated, broadcastsRead, userId);
     }
 
     @Override
     public void deleteNotification(Long id) {
         logger.info("Deleting notification with ID: {}", id);
-        if (!notificationRepository.existsById(id)) {
-            throw new NotFoundException("Notification", id);
+        Long userId = notificationRepository.findUserIdById(id)
+                .orElseThrow(() -> new NotFoundException("Notification", id));
+        if (notificationRepository.deleteIfUnread(id) > 0) {
+            unreadCounter.adjust(userId, -1);
+            pushHub.publishAfterCommit(userId, null);
+        } else {
+            notificationRepository.deleteById(id);
         }
-        notificationRepository.deleteById(id);
+    }
+
+    /**
+     * Offset page over personal notifications and broadcasts together. Both sources are read up to the
+     * end of the requested page and merged, which is fine for the shallow pages this mode serves;
+     * cursor mode does not need the window.
+     */
+    private PaginationResponse<NotificationResponseDto> mergedPage(Long userId, int page, int size, long broadcasts) {
+        int window = (page + 1) * size;
+        Page<Notification> personal = notificationRepository.findByUserId(userId,
+                PageRequest.of(0, window, Sort.by("createdAt").descending().and(Sort.by("id").descending())));
+        List<NotificationResponseDto> merged = newestFirst(
+                personal.getContent().stream().map(notificationMapper::toResponseDto).toList(),
+                broadcastRepository.findViewsByUserId(userId, PageRequest.of(0, window))).toList();
+
+        long total = personal.getTotalElements() + broadcasts;
+        int from = Math.min(page * size, merged.size());
+        return PaginationResponse.<NotificationResponseDto>builder()
+                .content(merged.subList(from, Math.min(from + size, merged.size())))
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(total)
+                .totalPages((int) ((total + size - 1) / size))
+                .first(page == 0)
+                .last((long) window >= total)
+                .build();
+    }
+
+    private static Stream<NotificationResponseDto> newestFirst(List<NotificationResponseDto> personal,
+                                                               List<NotificationResponseDto> broadcasts) {
+        return Stream.concat(personal.stream(), broadcasts.stream()).sorted(NEWEST_FIRST);
     }
 }
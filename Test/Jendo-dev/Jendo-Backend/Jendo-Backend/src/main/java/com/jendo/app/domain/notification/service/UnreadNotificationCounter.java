@@ -0,0 +1,95 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.common.cache.ExpiringCache;
+import com.jendo.app.domain.notification.repository.BroadcastNotificationRepository;
+import com.jendo.app.domain.notification.repository.NotificationCounterRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-user unread notification counts. Adjustments run in the caller's transaction, next to the
+ * notification writes they describe, so the stored count commits or rolls back with them. Reads are
+ * served from a short-lived in-memory cache whose entry is dropped when an adjusting transaction ends;
+ * the TTL bounds how long another instance, or a read racing a commit, can serve an older count.
+ * Cached values include unread broadcasts, which are counted from the broadcast tables on a miss.
+ */
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    private final NotificationCounterRepository counterRepository;
+    private final BroadcastNotificationRepository broadcastRepository;
+
+    @Value("${notifications.unread-cache.max-size:50000}")
+    private int maxSize;
+
+    @Value("${notifications.unread-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private ExpiringCache<Long, Long> counts;
+
+    @PostConstruct
+    void init() {
+        counts = new ExpiringCache<>(maxSize);
+    }
+
+    public long get(Long userId) {
+        Long cached = counts.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long count = Math.max(0, counterRepository.findUnreadCount(userId).orElse(0L))
+                + broadcastRepository.countUnreadByUserId(userId);
+        counts.put(userId, count, System.currentTimeMillis() + ttlSeconds * 1000);
+        return count;
+    }
+
+    /**
+     * Adds {@code delta} to the user's stored count. Must be called inside the transaction that made
+     * the matching change to the notification rows.
+     */
+    public void adjust(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (counterRepository.addUnread(userId, delta) == 0) {
+            counterRepository.insertIfAbsent(userId);
+            counterRepository.addUnread(userId, delta);
+        }
+        invalidateAfterCompletion(userId);
+    }
+
+    public void invalidateAfterCompletion(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counts.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                counts.invalidate(userId);
+            }
+        });
+    }
+
+    /**
+     * Drops every cached count once the current transaction ends; used when a broadcast changes the
+     * count of many users at once.
+     */
+    public void invalidateAllAfterCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counts.clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                counts.clear();
+            }
+        });
+    }
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class ReportAttachment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_attachments_seq")
+    @SequenceGenerator(name = "report_attachments_seq", sequenceName = "report_attachments_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "file_url")
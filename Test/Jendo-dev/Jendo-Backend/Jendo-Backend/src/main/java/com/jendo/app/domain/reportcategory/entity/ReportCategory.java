@@ -21,7 +21,8 @@ import java.util.List;
 public class ReportCategory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_categories_seq")
+    @SequenceGenerator(name = "report_categories_seq", sequenceName = "report_categories_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 200)
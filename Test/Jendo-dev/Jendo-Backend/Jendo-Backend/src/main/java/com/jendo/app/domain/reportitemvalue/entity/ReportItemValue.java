@@ -25,7 +25,8 @@ import java.util.List;
 public class ReportItemValue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_item_values_seq")
+    @SequenceGenerator(name = "report_item_values_seq", sequenceName = "report_item_values_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "value_number", precision = 10, scale = 2)
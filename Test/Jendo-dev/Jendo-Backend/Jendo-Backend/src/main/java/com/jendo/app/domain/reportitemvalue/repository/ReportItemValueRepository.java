@@ -1,6 +1,7 @@
 package com.jendo.app.domain.reportitemvalue.repository;
 
 import com.jendo.app.domain.reportitemvalue.entity.ReportItemValue;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,11 +12,19 @@ import java.util.List;
 @Repository
 public interface ReportItemValueRepository extends JpaRepository<ReportItemValue, Long> {
     
+    // List reads join the report item in; attachments for all rows come in one batched query
+    @EntityGraph(attributePaths = "reportItem")
+    @Query("SELECT v FROM ReportItemValue v")
+    List<ReportItemValue> findAllWithReportItem();
+
+    @EntityGraph(attributePaths = "reportItem")
     List<ReportItemValue> findByReportItemId(Long reportItemId);
 
+    @EntityGraph(attributePaths = "reportItem")
     @Query("SELECT v FROM ReportItemValue v WHERE v.user.id = :userId")
     List<ReportItemValue> findByUserId(@Param("userId") Long userId);
 
+    @EntityGraph(attributePaths = "reportItem")
     @Query("SELECT v FROM ReportItemValue v WHERE v.user.id = :userId AND v.reportItem.id = :reportItemId")
     List<ReportItemValue> findByUserIdAndReportItemId(@Param("userId") Long userId, @Param("reportItemId") Long reportItemId);
 }
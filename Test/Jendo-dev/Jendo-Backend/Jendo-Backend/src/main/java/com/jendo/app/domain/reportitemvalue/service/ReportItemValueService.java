@@ -12,11 +12,11 @@ public interface ReportItemValueService {
     List<ReportItemValueResponseDto> getValuesByUserId(Long userId);
     List<ReportItemValueResponseDto> getValuesByReportItemId(Long reportItemId);
     List<ReportItemValueResponseDto> getValuesByUserIdAndReportItemId(Long userId, Long reportItemId);
-    ReportItemValueResponseDto getValueById(Long id);
-    ReportItemValueResponseDto createValue(ReportItemValueRequestDto request, String userEmail);
-    ReportItemValueResponseDto updateValue(Long id, ReportItemValueRequestDto request, String userEmail);
-    void deleteValue(Long id);
-    ReportItemValueResponseDto addAttachment(Long valueId, MultipartFile file, String userEmail);
-    void deleteAttachment(Long attachmentId);
-    Resource downloadAttachment(Long attachmentId);
+    ReportItemValueResponseDto getValueById(Long id, Long userId);
+    ReportItemValueResponseDto createValue(ReportItemValueRequestDto request, Long userId);
+    ReportItemValueResponseDto updateValue(Long id, ReportItemValueRequestDto request, Long userId);
+    void deleteValue(Long id, Long userId);
+    ReportItemValueResponseDto addAttachment(Long valueId, MultipartFile file, Long userId);
+    void deleteAttachment(Long attachmentId, Long userId);
+    Resource downloadAttachment(Long attachmentId, Long userId);
 }
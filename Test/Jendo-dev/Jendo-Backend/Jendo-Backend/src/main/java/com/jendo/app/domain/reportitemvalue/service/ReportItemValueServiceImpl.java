@@ -50,7 +50,7 @@ public class ReportItemValueServiceImpl implements ReportItemValueService {
     @Override
     @Transactional(readOnly = true)
     public List<ReportItemValueResponseDto> getAllValues() {
-        return repository.findAll().stream()
+        return repository.findAllWithReportItem().stream()
                 .map(this::toResponseDto)
                 .collect(Collectors.toList());
     }
@@ -81,17 +81,17 @@ public class ReportItemValueServiceImpl implements ReportItemValueService {
 
     @Override
     @Transactional(readOnly = true)
-    public ReportItemValueResponseDto getValueById(Long id) {
-        return toResponseDto(findById(id));
+    public ReportItemValueResponseDto getValueById(Long id, Long userId) {
+        return toResponseDto(findOwned(id, userId));
     }
 
     @Override
-    public ReportItemValueResponseDto createValue(ReportItemValueRequestDto request, String userEmail) {
+    public ReportItemValueResponseDto createValue(ReportItemValueRequestDto request, Long userId) {
         ReportItem reportItem = reportItemRepository.findById(request.getReportItemId())
                 .orElseThrow(() -> new NotFoundException("ReportItem", request.getReportItemId()));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + userEmail));
+        // The id comes from a verified token, so attach a proxy instead of selecting the user row
+        User user = userRepository.getReferenceById(userId);
 
         ReportItemValue value = ReportItemValue.builder()
                 .reportItem(reportItem)
@@ -105,17 +105,9 @@ public class ReportItemValueServiceImpl implements ReportItemValueService {
     }
 
     @Override
-    public ReportItemValueResponseDto updateValue(Long id, ReportItemValueRequestDto request, String userEmail) {
-        ReportItemValue value = findById(id);
-        
-        // Verify user owns this value
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + userEmail));
-        
-        if (value.getUser() == null || !value.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized: You can only update your own reports");
-        }
-        
+    public ReportItemValueResponseDto updateValue(Long id, ReportItemValueRequestDto request, Long userId) {
+        ReportItemValue value = findOwned(id, userId);
+
         value.setValueNumber(request.getValueNumber());
         value.setValueText(request.getValueText());
         value.setValueDate(request.getValueDate());
@@ -130,8 +122,8 @@ public class ReportItemValueServiceImpl implements ReportItemValueService {
     }
 
     @Override
-    public void deleteValue(Long id) {
-        ReportItemValue value = findById(id);
+    public void deleteValue(Long id, Long userId) {
+        ReportItemValue value = findOwned(id, userId);
         for (ReportAttachment attachment : value.getReportAttachments()) {
             try {
                 Path filePath = Paths.get(attachment.getFileUrl());
@@ -144,22 +136,14 @@ public class ReportItemValueServiceImpl implements ReportItemValueService {
     }
 
     @Override
-    public ReportItemValueResponseDto addAttachment(Long valueId, MultipartFile file, String userEmail) {
+    public ReportItemValueResponseDto addAttachment(Long valueId, MultipartFile file, Long userId) {
         logger.info("Adding attachment to value ID: {}", valueId);
 
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
         }
 
-        ReportItemValue value = findById(valueId);
-        
-        // Verify user owns this value
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + userEmail));
-        
-        if (value.getUser() == null || !value.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized: You can only add attachments to your own reports");
-        }
+        ReportItemValue value = findOwned(valueId, userId);
 
         try {
             Path uploadDir = Paths.get(uploadPath);
@@ -192,11 +176,10 @@ public class ReportItemValueServiceImpl implements ReportItemValueService {
     }
 
     @Override
-    public void deleteAttachment(Long attachmentId) {
+    public void deleteAttachment(Long attachmentId, Long userId) {
         logger.info("Deleting attachment ID: {}", attachmentId);
 
-        ReportAttachment attachment = attachmentRepository.findById(attachmentId)
-                .orElseThrow(() -> new NotFoundException("ReportAttachment", attachmentId));
+        ReportAttachment attachment = findOwnedAttachment(attachmentId, userId);
 
         try {
             Path filePath = Paths.get(attachment.getFileUrl());
@@ -211,11 +194,10 @@ public class ReportItemValueServiceImpl implements ReportItemValueService {
 
     @Override
     @Transactional(readOnly = true)
-    public Resource downloadAttachment(Long attachmentId) {
+    public Resource downloadAttachment(Long attachmentId, Long userId) {
         logger.info("Downloading attachment ID: {}", attachmentId);
 
-        ReportAttachment attachment = attachmentRepository.findById(attachmentId)
-                .orElseThrow(() -> new NotFoundException("ReportAttachment", attachmentId));
+        ReportAttachment attachment = findOwnedAttachment(attachmentId, userId);
 
         try {
             Path filePath = Paths.get(attachment.getFileUrl());
@@ -231,11 +213,24 @@ public class ReportItemValueServiceImpl implements ReportItemValueService {
         }
     }
 
-    private ReportItemValue findById(Long id) {
+    // Another user's value is reported as missing, so its id does not reveal that it exists
+    private ReportItemValue findOwned(Long id, Long userId) {
         return repository.findById(id)
+                .filter(value -> isOwnedBy(value, userId))
                 .orElseThrow(() -> new NotFoundException("ReportItemValue", id));
     }
 
+    private ReportAttachment findOwnedAttachment(Long attachmentId, Long userId) {
+        return attachmentRepository.findById(attachmentId)
+                .filter(attachment -> isOwnedBy(attachment.getReportItemValue(), userId))
+                .orElseThrow(() -> new NotFoundException("ReportAttachment", attachmentId));
+    }
+
+    private boolean isOwnedBy(ReportItemValue value, Long userId) {
+        // getId() on the lazy user proxy reads the foreign key without initializing it
+        return value != null && value.getUser() != null && value.getUser().getId().equals(userId);
+    }
+
     private ReportItemValueResponseDto toResponseDto(ReportItemValue value) {
         List<ReportAttachmentResponseDto> attachments = value.getReportAttachments().stream()
                 .map(a -> ReportAttachmentResponseDto.builder()
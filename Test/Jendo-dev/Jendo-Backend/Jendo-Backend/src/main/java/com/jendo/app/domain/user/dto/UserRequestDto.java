@@ -10,7 +10,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
-import java.util.List;
 
 @Data
 @Builder
@@ -59,7 +58,4 @@ public class UserRequestDto {
 
     @Schema(description = "User's address", example = "123 Main St, City, Country")
     private String address;
-
-    @Schema(description = "List of role names for the user", example = "[\"USER\", \"PATIENT\"]")
-    private List<String> roles;
 }
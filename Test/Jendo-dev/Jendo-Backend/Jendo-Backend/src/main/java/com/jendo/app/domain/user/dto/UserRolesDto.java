@@ -0,0 +1,20 @@
+package com.jendo.app.domain.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Role assignment request")
+public class UserRolesDto {
+
+    @NotNull(message = "Roles are required")
+    @Schema(description = "The complete list of role names for the user", example = "[\"USER\", \"PATIENT\"]")
+    private List<String> roles;
+}
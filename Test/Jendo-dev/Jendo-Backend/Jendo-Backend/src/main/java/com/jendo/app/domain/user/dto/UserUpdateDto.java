@@ -11,7 +11,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
-import java.util.List;
 
 @Data
 @Builder
@@ -59,9 +58,6 @@ public class UserUpdateDto {
     @Schema(description = "User's height in cm", example = "175.0")
     private Double height;
 
-    @Schema(description = "List of role names for the user", example = "[\"USER\", \"PATIENT\"]")
-    private List<String> roles;
-
     private boolean phoneSet;
     private boolean dateOfBirthSet;
     private boolean genderSet;
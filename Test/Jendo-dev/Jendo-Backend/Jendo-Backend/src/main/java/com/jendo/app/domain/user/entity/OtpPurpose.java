@@ -0,0 +1,6 @@
+package com.jendo.app.domain.user.entity;
+
+public enum OtpPurpose {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
@@ -2,10 +2,14 @@ package com.jendo.app.domain.user.entity;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,9 +24,14 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class OtpToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "otp_tokens_seq")
+    @SequenceGenerator(name = "otp_tokens_seq", sequenceName = "otp_tokens_seq", allocationSize = 50)
     private Long id;
     private String email;
     private String otp;
     private LocalDateTime expiresAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private OtpPurpose purpose;
 }
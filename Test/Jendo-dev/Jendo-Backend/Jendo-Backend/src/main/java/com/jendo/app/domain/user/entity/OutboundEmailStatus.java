@@ -0,0 +1,7 @@
+package com.jendo.app.domain.user.entity;
+
+public enum OutboundEmailStatus {
+    PENDING,
+    SENDING,
+    FAILED
+}
@@ -26,7 +26,8 @@ import java.util.List;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false, length = 100)
@@ -76,6 +77,9 @@ public class User {
     @Builder.Default
     private Boolean emailVerified = false;
 
+    @Column(name = "credentials_updated_at")
+    private LocalDateTime credentialsUpdatedAt;
+
     @Column(name = "created_by")
     private Long createdBy;
 
@@ -4,9 +4,11 @@ import com.jendo.app.domain.user.dto.UserRequestDto;
 import com.jendo.app.domain.user.dto.UserResponseDto;
 import com.jendo.app.domain.user.entity.Role;
 import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.projection.UserListView;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -50,4 +52,24 @@ public class UserMapper {
                 .updatedAt(entity.getUpdatedAt())
                 .build();
     }
+
+    public UserResponseDto toResponseDto(UserListView view, List<String> roles) {
+        return UserResponseDto.builder()
+                .id(view.getId())
+                .firstName(view.getFirstName())
+                .lastName(view.getLastName())
+                .email(view.getEmail())
+                .phone(view.getPhone())
+                .dateOfBirth(view.getDateOfBirth())
+                .gender(view.getGender())
+                .profileImage(view.getProfileImage())
+                .nationality(view.getNationality())
+                .address(view.getAddress())
+                .weight(view.getWeight())
+                .height(view.getHeight())
+                .roles(roles)
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,12 @@
+package com.jendo.app.domain.user.projection;
+
+import java.time.LocalDateTime;
+
+public interface UserAuthView {
+
+    Long getId();
+
+    String getEmail();
+
+    LocalDateTime getCredentialsUpdatedAt();
+}
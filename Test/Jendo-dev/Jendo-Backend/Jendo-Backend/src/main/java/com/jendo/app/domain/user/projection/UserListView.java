@@ -0,0 +1,38 @@
+package com.jendo.app.domain.user.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The user columns shown in user listings; roles are fetched separately for the whole page.
+ */
+public interface UserListView {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getPhone();
+
+    LocalDate getDateOfBirth();
+
+    String getGender();
+
+    String getProfileImage();
+
+    String getNationality();
+
+    String getAddress();
+
+    Double getWeight();
+
+    Double getHeight();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,8 @@
+package com.jendo.app.domain.user.projection;
+
+public interface UserRoleView {
+
+    Long getUserId();
+
+    String getRoleName();
+}
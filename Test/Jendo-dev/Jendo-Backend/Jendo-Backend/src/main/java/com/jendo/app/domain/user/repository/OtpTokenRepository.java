@@ -1,13 +1,29 @@
 package com.jendo.app.domain.user.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.jendo.app.domain.user.entity.OtpPurpose;
 import com.jendo.app.domain.user.entity.OtpToken;
 
 public interface OtpTokenRepository extends JpaRepository<OtpToken, Long> {
     Optional<OtpToken> findByEmailAndOtp(String email, String otp);
     Optional<OtpToken> findByEmail(String email);
     void deleteByEmail(String email);
+
+    List<OtpToken> findByPurposeIsNotNullAndExpiresAtAfter(LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OtpToken t WHERE t.email = :email AND t.purpose = :purpose")
+    int deleteByEmailAndPurpose(@Param("email") String email, @Param("purpose") OtpPurpose purpose);
+
+    @Modifying
+    @Query("DELETE FROM OtpToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,40 @@
+package com.jendo.app.domain.user.repository;
+
+import com.jendo.app.domain.user.entity.OutboundEmail;
+import com.jendo.app.domain.user.entity.OutboundEmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    // SKIP LOCKED lets several instances drain the outbox without waiting on each other's batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboundEmail e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<OutboundEmail> findDueForUpdate(@Param("statuses") Collection<OutboundEmailStatus> statuses,
+                                         @Param("now") LocalDateTime now,
+                                         Pageable pageable);
+
+    long countByStatusIn(Collection<OutboundEmailStatus> statuses);
+
+    @Modifying
+    @Query("DELETE FROM OutboundEmail e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OutboundEmail e WHERE e.status = :status AND e.createdAt < :cutoff")
+    int deleteByStatusCreatedBefore(@Param("status") OutboundEmailStatus status, @Param("cutoff") LocalDateTime cutoff);
+}
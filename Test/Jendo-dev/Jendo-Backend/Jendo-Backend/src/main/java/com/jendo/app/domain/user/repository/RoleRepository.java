@@ -1,9 +1,13 @@
 package com.jendo.app.domain.user.repository;
 
 import com.jendo.app.domain.user.entity.Role;
+import com.jendo.app.domain.user.projection.UserRoleView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,7 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     List<Role> findByUserId(Long userId);
     
     void deleteByUserId(Long userId);
+
+    @Query("SELECT r.user.id AS userId, r.roleName AS roleName FROM Role r WHERE r.user.id IN :userIds")
+    List<UserRoleView> findRoleNamesByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
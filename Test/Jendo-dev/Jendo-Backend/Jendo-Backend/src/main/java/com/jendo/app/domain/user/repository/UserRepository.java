@@ -1,15 +1,26 @@
 package com.jendo.app.domain.user.repository;
 
 import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.projection.UserAuthView;
+import com.jendo.app.domain.user.projection.UserListView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    String LIST_VIEW_COLUMNS = "u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.email AS email,"
+            + " u.phone AS phone, u.dateOfBirth AS dateOfBirth, u.gender AS gender, u.profileImage AS profileImage,"
+            + " u.nationality AS nationality, u.address AS address, u.weight AS weight, u.height AS height,"
+            + " u.createdAt AS createdAt, u.updatedAt AS updatedAt";
     
     Optional<User> findByEmail(String email);
     
@@ -17,6 +28,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     boolean existsByEmail(String email);
     
+    @Query("SELECT u.id AS id, u.email AS email, u.credentialsUpdatedAt AS credentialsUpdatedAt FROM User u WHERE u.id = :id")
+    Optional<UserAuthView> findAuthViewById(@Param("id") Long id);
+    
     Page<User> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
             String firstName, String lastName, Pageable pageable);
+
+    @Query(value = "SELECT " + LIST_VIEW_COLUMNS + " FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserListView> findAllListViews(Pageable pageable);
+
+    @Query(value = "SELECT " + LIST_VIEW_COLUMNS + " FROM User u"
+            + " WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :query, '%'))"
+            + " OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :query, '%'))",
+            countQuery = "SELECT COUNT(u) FROM User u"
+            + " WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :query, '%'))"
+            + " OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :query, '%'))")
+    Page<UserListView> searchListViews(@Param("query") String query, Pageable pageable);
+
+    @Query("SELECT " + LIST_VIEW_COLUMNS + " FROM User u"
+            + " WHERE (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id))"
+            + " ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserListView> findListViewsBefore(@Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") long id,
+                                           Pageable limit);
 }
@@ -0,0 +1,166 @@
+package com.jendo.app.domain.user.service;
+
+import com.jendo.app.domain.user.entity.OutboundEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the email outbox in the background.
+ * <p>
+ * Each batch is claimed in a short transaction, sent outside of it so no database connection is held
+ * while talking to the relay, and handed to {@link JavaMailSender#send(SimpleMailMessage...)}, which
+ * delivers the whole batch over a single SMTP connection. Outcomes are settled in a second transaction.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private final EmailOutboxService outboxService;
+    private final JavaMailSender mailSender;
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    private final AtomicLong queued = new AtomicLong();
+    private final Timer sendTimer;
+    private final Timer deliveryLag;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter abandoned;
+
+    @Value("${spring.mail.from:noreply@jendo.com}")
+    private String fromAddress;
+
+    @Value("${email.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.lease-ms:120000}")
+    private long leaseMillis;
+
+    public EmailDispatcher(EmailOutboxService outboxService, JavaMailSender mailSender, MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.mailSender = mailSender;
+        Gauge.builder("email.outbox.queued", queued, AtomicLong::get)
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("email.outbox.send")
+                .description("Time to hand one batch to the SMTP relay")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("email.outbox.delivery.lag")
+                .description("Time from enqueue to successful hand-off")
+                .register(meterRegistry);
+        this.sent = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.abandoned = Counter.builder("email.outbox.abandoned").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (enabled) {
+            dispatch();
+        }
+    }
+
+    /**
+     * Sends due messages until the outbox has nothing left that is due.
+     *
+     * @return the number of messages delivered
+     */
+    public int dispatch() {
+        if (!dispatchLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int delivered = 0;
+            List<OutboundEmail> batch;
+            do {
+                batch = outboxService.claimBatch(batchSize, leaseMillis);
+                if (!batch.isEmpty()) {
+                    delivered += send(batch);
+                }
+            } while (batch.size() == batchSize);
+            queued.set(outboxService.countQueued());
+            return delivered;
+        } catch (RuntimeException e) {
+            logger.error("Email dispatch cycle failed", e);
+            return 0;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private int send(List<OutboundEmail> batch) {
+        Map<SimpleMailMessage, OutboundEmail> byMessage = new IdentityHashMap<>();
+        for (OutboundEmail email : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromAddress);
+            message.setTo(email.getRecipient());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            byMessage.put(message, email);
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        long start = System.nanoTime();
+        try {
+            mailSender.send(byMessage.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, cause) -> {
+                OutboundEmail email = byMessage.get(message);
+                if (email != null) {
+                    failures.put(email.getId(), cause.getMessage());
+                }
+            });
+            if (failures.isEmpty()) {
+                batch.forEach(email -> failures.put(email.getId(), e.getMessage()));
+            }
+        } catch (MailException e) {
+            batch.forEach(email -> failures.put(email.getId(), e.getMessage()));
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (OutboundEmail email : batch) {
+            if (!failures.containsKey(email.getId())) {
+                delivered.add(email.getId());
+                if (email.getCreatedAt() != null) {
+                    deliveryLag.record(Duration.between(email.getCreatedAt(), now));
+                }
+            }
+        }
+
+        int gaveUp = outboxService.settle(delivered, failures);
+        sent.increment(delivered.size());
+        retried.increment(failures.size() - gaveUp);
+        abandoned.increment(gaveUp);
+        if (!failures.isEmpty()) {
+            logger.warn("Failed to send {} of {} emails, {} given up on", failures.size(), batch.size(), gaveUp);
+        }
+        return delivered.size();
+    }
+}
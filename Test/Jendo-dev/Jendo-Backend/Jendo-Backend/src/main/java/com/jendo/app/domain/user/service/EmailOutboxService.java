@@ -0,0 +1,131 @@
+package com.jendo.app.domain.user.service;
+
+import com.jendo.app.domain.user.entity.OutboundEmail;
+import com.jendo.app.domain.user.entity.OutboundEmailStatus;
+import com.jendo.app.domain.user.repository.OutboundEmailRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transactional side of the email outbox: queueing messages with the business change that caused them,
+ * and claiming and settling batches for {@link EmailDispatcher}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+    private static final EnumSet<OutboundEmailStatus> DISPATCHABLE =
+            EnumSet.of(OutboundEmailStatus.PENDING, OutboundEmailStatus.SENDING);
+
+    private final OutboundEmailRepository outboundEmailRepository;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${email.outbox.failed-retention-hours:168}")
+    private long failedRetentionHours;
+
+    /**
+     * Queues a message in the current transaction; it is only sent if that transaction commits.
+     */
+    public void enqueue(String recipient, String subject, String body) {
+        outboundEmailRepository.save(OutboundEmail.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Claims up to {@code batchSize} due messages by leasing them for {@code leaseMillis}. A lease that
+     * runs out, e.g. because the instance died mid-send, makes the message due again.
+     */
+    public List<OutboundEmail> claimBatch(int batchSize, long leaseMillis) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboundEmail> batch = outboundEmailRepository.findDueForUpdate(DISPATCHABLE, now, PageRequest.of(0, batchSize));
+        LocalDateTime leaseEnd = now.plusNanos(leaseMillis * 1_000_000);
+        for (OutboundEmail email : batch) {
+            email.setStatus(OutboundEmailStatus.SENDING);
+            email.setNextAttemptAt(leaseEnd);
+        }
+        return batch;
+    }
+
+    /**
+     * Records the outcome of a dispatched batch: delivered messages are removed, failed ones are retried
+     * with exponential backoff until {@code email.outbox.max-attempts} is reached.
+     *
+     * @return the number of messages that were given up on
+     */
+    public int settle(Collection<Long> deliveredIds, Map<Long, String> failures) {
+        if (!deliveredIds.isEmpty()) {
+            outboundEmailRepository.deleteByIdIn(deliveredIds);
+        }
+        int abandoned = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboundEmail email : outboundEmailRepository.findAllById(failures.keySet())) {
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setLastError(truncate(failures.get(email.getId())));
+            if (attempts >= maxAttempts) {
+                email.setStatus(OutboundEmailStatus.FAILED);
+                abandoned++;
+                logger.error("Giving up on email {} to {} after {} attempts: {}",
+                        email.getId(), email.getRecipient(), attempts, email.getLastError());
+            } else {
+                email.setStatus(OutboundEmailStatus.PENDING);
+                email.setNextAttemptAt(now.plusNanos(backoffMillis(attempts) * 1_000_000));
+            }
+        }
+        return abandoned;
+    }
+
+    @Transactional(readOnly = true)
+    public long countQueued() {
+        return outboundEmailRepository.countByStatusIn(DISPATCHABLE);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval-ms:3600000}")
+    public void purgeFailed() {
+        int purged = outboundEmailRepository.deleteByStatusCreatedBefore(
+                OutboundEmailStatus.FAILED, LocalDateTime.now().minusHours(failedRetentionHours));
+        if (purged > 0) {
+            logger.info("Purged {} undeliverable emails from the outbox", purged);
+        }
+    }
+
+    private long backoffMillis(int attempts) {
+        long base = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        // +/-20% jitter so a relay outage does not end in a synchronized retry storm
+        return (long) (base * (0.8 + ThreadLocalRandom.current().nextDouble() * 0.4));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
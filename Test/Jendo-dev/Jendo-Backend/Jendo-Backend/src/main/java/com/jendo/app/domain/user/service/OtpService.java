@@ -0,0 +1,256 @@
+package com.jendo.app.domain.user.service;
+
+import com.jendo.app.common.cache.TimingWheel;
+import com.jendo.app.domain.user.entity.OtpPurpose;
+import com.jendo.app.domain.user.entity.OtpToken;
+import com.jendo.app.domain.user.repository.OtpTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues and verifies one-time passwords.
+ * <p>
+ * Codes are kept in memory as keyed HMAC-SHA256 digests, so a check costs microseconds instead of
+ * a BCrypt round. A hierarchical timing wheel reclaims expired entries, and the digests are optionally
+ * written through to {@code otp_tokens} and reloaded on startup so pending codes survive a restart.
+ * <p>
+ * Failed attempts are counted per email and purpose, not per code, so requesting a fresh code does not
+ * buy more guesses. The count opens a lockout window on the first failure and is cleared by a
+ * successful check or when the window ends.
+ */
+@Service
+@RequiredArgsConstructor
+public class OtpService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtpService.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    public enum Verification {
+        VERIFIED,
+        INVALID,
+        EXPIRED,
+        LOCKED
+    }
+
+    private final OtpTokenRepository otpRepo;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ConcurrentHashMap<String, PendingOtp> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, FailedAttempts> failures = new ConcurrentHashMap<>();
+    private final TimingWheel<String> expiryWheel = new TimingWheel<>(1000, 64, 3);
+
+    @Value("${otp.hmac-secret}")
+    private String hmacSecret;
+
+    @Value("${otp.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${otp.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${otp.lockout-minutes:30}")
+    private long lockoutMinutes;
+
+    @Value("${otp.persistence.enabled:true}")
+    private boolean persistenceEnabled;
+
+    private SecretKeySpec hmacKey;
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    void init() {
+        hmacKey = new SecretKeySpec(hmacSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(hmacKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadPending() {
+        if (!persistenceEnabled) {
+            return;
+        }
+        int loaded = 0;
+        for (OtpToken token : otpRepo.findByPurposeIsNotNullAndExpiresAtAfter(LocalDateTime.now())) {
+            long expiresAt = toEpochMillis(token.getExpiresAt());
+            remember(key(token.getEmail(), token.getPurpose()), token.getOtp(), expiresAt);
+            loaded++;
+        }
+        logger.info("Loaded {} pending OTPs", loaded);
+    }
+
+    /**
+     * Generates a fresh code for the email, replacing any earlier one for the same purpose, and
+     * returns the plain code so the caller can deliver it.
+     */
+    @Transactional
+    public String issue(String email, OtpPurpose purpose) {
+        String code = String.valueOf(100000 + secureRandom.nextInt(900000));
+        String digest = digest(email, purpose, code);
+        long expiresAt = System.currentTimeMillis() + ttlMinutes * 60_000;
+
+        remember(key(email, purpose), digest, expiresAt);
+
+        if (persistenceEnabled) {
+            otpRepo.deleteByEmailAndPurpose(email, purpose);
+            otpRepo.save(OtpToken.builder()
+                    .email(email)
+                    .purpose(purpose)
+                    .otp(digest)
+                    .expiresAt(toLocalDateTime(expiresAt))
+                    .build());
+        }
+        return code;
+    }
+
+    /**
+     * Checks a code and consumes it on success. After {@code otp.max-attempts} wrong guesses, across
+     * however many codes were issued, the pending code is discarded and every check answers
+     * {@link Verification#LOCKED} until {@code otp.lockout-minutes} after the first failure.
+     */
+    @Transactional
+    public Verification verify(String email, OtpPurpose purpose, String code) {
+        if (email == null || code == null) {
+            return Verification.INVALID;
+        }
+        String key = key(email, purpose);
+        long now = System.currentTimeMillis();
+        FailedAttempts failed = failures.get(key);
+        if (failed != null && !failed.isExpired(now) && failed.count().get() >= maxAttempts) {
+            return Verification.LOCKED;
+        }
+        PendingOtp otp = pending.get(key);
+        if (otp == null) {
+            return Verification.INVALID;
+        }
+        if (otp.isExpired(now)) {
+            discard(key, otp, email, purpose);
+            return Verification.EXPIRED;
+        }
+
+        byte[] expected = otp.digest.getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = digest(email, purpose, code).getBytes(StandardCharsets.US_ASCII);
+        if (MessageDigest.isEqual(expected, actual)) {
+            // Only one concurrent verification may consume the code
+            if (!pending.remove(key, otp)) {
+                return Verification.INVALID;
+            }
+            if (persistenceEnabled) {
+                otpRepo.deleteByEmailAndPurpose(email, purpose);
+            }
+            failures.remove(key);
+            return Verification.VERIFIED;
+        }
+
+        if (recordFailure(key, now) >= maxAttempts) {
+            logger.warn("Too many failed OTP attempts for {} ({})", email, purpose);
+            discard(key, otp, email, purpose);
+            return Verification.LOCKED;
+        }
+        return Verification.INVALID;
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void expirePending() {
+        long now = System.currentTimeMillis();
+        expiryWheel.advance(now, key -> {
+            pending.computeIfPresent(key, (k, otp) -> otp.isExpired(now) ? null : otp);
+            failures.computeIfPresent(key, (k, failed) -> failed.isExpired(now) ? null : failed);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${otp.purge-interval-ms:600000}", initialDelayString = "${otp.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = otpRepo.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired OTP rows", purged);
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private void remember(String key, String digest, long expiresAt) {
+        pending.put(key, new PendingOtp(digest, expiresAt));
+        expiryWheel.schedule(key, expiresAt);
+    }
+
+    private int recordFailure(String key, long now) {
+        FailedAttempts failed = failures.get(key);
+        if (failed == null || failed.isExpired(now)) {
+            FailedAttempts window = new FailedAttempts(now + lockoutMinutes * 60_000, new AtomicInteger());
+            failed = failures.merge(key, window, (current, fresh) -> current.isExpired(now) ? fresh : current);
+            if (failed == window) {
+                expiryWheel.schedule(key, window.expiresAtMillis());
+            }
+        }
+        return failed.count().incrementAndGet();
+    }
+
+    private void discard(String key, PendingOtp otp, String email, OtpPurpose purpose) {
+        if (pending.remove(key, otp) && persistenceEnabled) {
+            otpRepo.deleteByEmailAndPurpose(email, purpose);
+        }
+    }
+
+    private String digest(String email, OtpPurpose purpose, String code) {
+        Mac mac = macs.get();
+        mac.reset();
+        byte[] raw = mac.doFinal((purpose.name() + ':' + email + ':' + code).getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(raw);
+    }
+
+    private static String key(String email, OtpPurpose purpose) {
+        return purpose.name() + ':' + email;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record PendingOtp(String digest, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+
+    private record FailedAttempts(long expiresAtMillis, AtomicInteger count) {
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
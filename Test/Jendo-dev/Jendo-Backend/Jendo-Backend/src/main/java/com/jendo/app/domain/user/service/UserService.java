@@ -5,6 +5,8 @@ import com.jendo.app.domain.user.dto.UserRequestDto;
 import com.jendo.app.domain.user.dto.UserResponseDto;
 import com.jendo.app.domain.user.dto.UserUpdateDto;
 
+import java.util.List;
+
 public interface UserService {
     
     UserResponseDto createUser(UserRequestDto request);
@@ -14,10 +16,14 @@ public interface UserService {
     UserResponseDto getUserByEmail(String email);
     
     PaginationResponse<UserResponseDto> getAllUsers(int page, int size);
+
+    PaginationResponse<UserResponseDto> getAllUsers(String cursor, int size);
     
     PaginationResponse<UserResponseDto> searchUsers(String query, int page, int size);
     
     UserResponseDto updateUser(Long id, UserUpdateDto request);
+
+    UserResponseDto updateRoles(Long id, List<String> roles);
     
     void deleteUser(Long id);
 }
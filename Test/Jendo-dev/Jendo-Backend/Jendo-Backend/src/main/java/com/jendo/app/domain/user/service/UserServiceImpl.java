@@ -3,14 +3,19 @@ package com.jendo.app.domain.user.service;
 import com.jendo.app.common.dto.PaginationResponse;
 import com.jendo.app.common.exceptions.ConflictException;
 import com.jendo.app.common.exceptions.NotFoundException;
+import com.jendo.app.common.pagination.KeysetCursor;
+import com.jendo.app.common.pagination.KeysetPages;
 import com.jendo.app.domain.user.dto.UserRequestDto;
 import com.jendo.app.domain.user.dto.UserResponseDto;
 import com.jendo.app.domain.user.dto.UserUpdateDto;
 import com.jendo.app.domain.user.entity.Role;
 import com.jendo.app.domain.user.entity.User;
 import com.jendo.app.domain.user.mapper.UserMapper;
+import com.jendo.app.domain.user.projection.UserListView;
+import com.jendo.app.domain.user.projection.UserRoleView;
 import com.jendo.app.domain.user.repository.RoleRepository;
 import com.jendo.app.domain.user.repository.UserRepository;
+import com.jendo.app.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,7 +28,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,6 +43,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserMapper userMapper;
+    private final UserPrincipalCache principalCache;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -53,18 +61,6 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user = userRepository.save(user);
 
-        if (request.getRoles() != null && !request.getRoles().isEmpty()) {
-            User finalUser = user;
-            List<Role> roles = request.getRoles().stream()
-                    .map(roleName -> Role.builder()
-                            .roleName(roleName)
-                            .user(finalUser)
-                            .build())
-                    .collect(Collectors.toList());
-            roleRepository.saveAll(roles);
-            user.setRoles(roles);
-        }
-
         logger.info("User created successfully with ID: {}", user.getId());
         return userMapper.toResponseDto(user);
     }
@@ -98,9 +94,20 @@ public class UserServiceImpl implements UserService {
     public PaginationResponse<UserResponseDto> getAllUsers(int page, int size) {
         logger.info("Fetching all users - page: {}, size: {}", page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<User> userPage = userRepository.findAll(pageable);
+        return buildPaginationResponse(userRepository.findAllListViews(pageable));
+    }
 
-        return buildPaginationResponse(userPage);
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<UserResponseDto> getAllUsers(String cursor, int size) {
+        logger.info("Fetching all users - cursor mode, size: {}", size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<UserListView> rows = userRepository.findListViewsBefore(
+                KeysetCursor.dateTimeKey(position), KeysetCursor.idKey(position), KeysetPages.limit(size));
+        Map<Long, List<String>> rolesByUser = rolesByUser(rows.stream().map(UserListView::getId).toList());
+        return KeysetPages.toResponse(rows, size, position == null,
+                view -> KeysetCursor.encode(view.getCreatedAt(), view.getId()),
+                view -> userMapper.toResponseDto(view, rolesByUser.getOrDefault(view.getId(), List.of())));
     }
 
     @Override
@@ -108,10 +115,7 @@ public class UserServiceImpl implements UserService {
     public PaginationResponse<UserResponseDto> searchUsers(String query, int page, int size) {
         logger.info("Searching users with query: {} - page: {}, size: {}", query, page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<User> userPage = userRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
-                query, query, pageable);
-
-        return buildPaginationResponse(userPage);
+        return buildPaginationResponse(userRepository.searchListViews(query, pageable));
     }
 
     @Override
@@ -143,24 +147,40 @@ public class UserServiceImpl implements UserService {
         if (request.isWeightSet()) user.setWeight(request.getWeight());
         if (request.isHeightSet()) user.setHeight(request.getHeight());
 
-        if (request.getRoles() != null) {
-            roleRepository.deleteByUserId(id);
-            final User userForRoles = user;
-            List<Role> roles = request.getRoles().stream()
-                    .map(roleName -> Role.builder()
-                            .roleName(roleName)
-                            .user(userForRoles)
-                            .build())
-                    .collect(Collectors.toList());
-            roleRepository.saveAll(roles);
-            user.setRoles(roles);
-        }
-
         User savedUser = userRepository.save(user);
+        principalCache.invalidateAfterCompletion(id);
         logger.info("User updated successfully with ID: {}", id);
         return userMapper.toResponseDto(savedUser);
     }
 
+    @Override
+    public UserResponseDto updateRoles(Long id, List<String> roleNames) {
+        logger.info("Replacing roles for user with ID: {}", id);
+
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.warn("User not found for role update with ID: {}", id);
+                    return new NotFoundException("User", id);
+                });
+
+        // Replace in place: the collection removes orphans, and cascades the new rows on save
+        user.getRoles().clear();
+        roleNames.stream()
+                .distinct()
+                .map(roleName -> Role.builder()
+                        .roleName(roleName)
+                        .user(user)
+                        .build())
+                .forEach(user.getRoles()::add);
+        // Access tokens carry their roles, so tokens issued before the change must stop being accepted
+        user.setCredentialsUpdatedAt(LocalDateTime.now());
+
+        User savedUser = userRepository.save(user);
+        principalCache.invalidateAfterCompletion(id);
+        logger.info("Roles replaced for user with ID: {}", id);
+        return userMapper.toResponseDto(savedUser);
+    }
+
     @Override
     public void deleteUser(Long id) {
         logger.info("Deleting user with ID: {}", id);
@@ -171,12 +191,15 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.deleteById(id);
+        principalCache.invalidateAfterCompletion(id);
         logger.info("User deleted successfully with ID: {}", id);
     }
 
-    private PaginationResponse<UserResponseDto> buildPaginationResponse(Page<User> userPage) {
+    // One query for the page of users, one for all of their roles
+    private PaginationResponse<UserResponseDto> buildPaginationResponse(Page<UserListView> userPage) {
+        Map<Long, List<String>> rolesByUser = rolesByUser(userPage.getContent().stream().map(UserListView::getId).toList());
         List<UserResponseDto> content = userPage.getContent().stream()
-                .map(userMapper::toResponseDto)
+                .map(view -> userMapper.toResponseDto(view, rolesByUser.getOrDefault(view.getId(), List.of())))
                 .collect(Collectors.toList());
 
         return PaginationResponse.<UserResponseDto>builder()
@@ -189,4 +212,13 @@ public class UserServiceImpl implements UserService {
                 .last(userPage.isLast())
                 .build();
     }
+
+    private Map<Long, List<String>> rolesByUser(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return roleRepository.findRoleNamesByUserIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(UserRoleView::getUserId,
+                        Collectors.mapping(UserRoleView::getRoleName, Collectors.toList())));
+    }
 }
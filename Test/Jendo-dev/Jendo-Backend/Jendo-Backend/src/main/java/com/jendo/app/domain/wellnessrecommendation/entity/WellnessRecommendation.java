@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class WellnessRecommendation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wellness_recommendations_seq")
+    @SequenceGenerator(name = "wellness_recommendations_seq", sequenceName = "wellness_recommendations_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "title", length = 200, nullable = false)
@@ -0,0 +1,83 @@
+package com.jendo.app.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Verifies Google ID tokens locally: RS256 signature against {@link GoogleKeySource}, then issuer,
+ * audience and expiry.
+ */
+@Component
+@Slf4j
+public class GoogleIdTokenVerifier {
+
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+    private static final long CLOCK_SKEW_SECONDS = 60;
+
+    private final String clientId;
+    private final JwtParser parser;
+
+    public GoogleIdTokenVerifier(GoogleKeySource keySource, @Value("${google.client-id:}") String clientId) {
+        this.clientId = clientId;
+        this.parser = Jwts.parserBuilder()
+                .setAllowedClockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if (!SignatureAlgorithm.RS256.getValue().equals(header.getAlgorithm())) {
+                            throw new SignatureException("Unexpected Google token algorithm: " + header.getAlgorithm());
+                        }
+                        return keySource.getKey(header.getKeyId())
+                                .orElseThrow(() -> new SignatureException("Unknown Google signing key: " + header.getKeyId()));
+                    }
+                })
+                .build();
+        if (clientId == null || clientId.isBlank()) {
+            log.warn("google.client-id is not set; Google ID token audience will not be checked");
+        }
+    }
+
+    /**
+     * Returns the token's claims if it is a valid Google ID token for this app, otherwise empty.
+     */
+    public Optional<Map<String, Object>> verify(String idToken) {
+        if (idToken == null || idToken.isBlank()) {
+            return Optional.empty();
+        }
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(idToken).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Rejected Google ID token: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (!ISSUERS.contains(claims.getIssuer())) {
+            log.warn("Invalid Google token issuer: {}", claims.getIssuer());
+            return Optional.empty();
+        }
+        if (clientId != null && !clientId.isBlank() && !clientId.equals(claims.getAudience())) {
+            log.warn("Google token audience mismatch: expected {}, got {}", clientId, claims.getAudience());
+            return Optional.empty();
+        }
+        if (claims.getExpiration() == null) {
+            log.warn("Google token has no expiry");
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+}
@@ -0,0 +1,174 @@
+package com.jendo.app.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Google's JWKS, loaded at startup and kept for as long as the response's {@code Cache-Control: max-age}
+ * allows.
+ * <p>
+ * A scheduled task refreshes the set shortly before it goes stale, and keeps retrying once it has, so
+ * logins holding a known {@code kid} never wait on the network. If Google cannot be reached the expired
+ * keys keep being served. An unknown {@code kid} (Google rotated its keys) triggers a synchronous
+ * refresh, but no more than one fetch starts per {@code MIN_FETCH_INTERVAL_MS} whatever the state of
+ * the cache, and a login that finds a fetch already running does not queue behind it.
+ */
+@Component
+@Slf4j
+public class GoogleJwksKeySource implements GoogleKeySource {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final long MIN_FETCH_INTERVAL_MS = 30_000;
+
+    @Value("${google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}")
+    private String jwksUri;
+
+    @Value("${google.jwks-default-max-age-seconds:3600}")
+    private long defaultMaxAgeSeconds;
+
+    @Value("${google.jwks-refresh-ahead-seconds:300}")
+    private long refreshAheadSeconds;
+
+    @Value("${google.jwks-load-at-startup:true}")
+    private boolean loadAtStartup;
+
+    private final RestTemplate restTemplate;
+    private final ReentrantLock fetchLock = new ReentrantLock();
+
+    private volatile KeySet keySet = new KeySet(Map.of(), 0L);
+    private volatile long lastFetchAttempt;
+
+    public GoogleJwksKeySource() {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(3000);
+        factory.setReadTimeout(5000);
+        this.restTemplate = new RestTemplate(factory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadKeys() {
+        if (loadAtStartup) {
+            refresh();
+        }
+    }
+
+    @Override
+    public Optional<PublicKey> getKey(String keyId) {
+        if (keyId == null) {
+            return Optional.empty();
+        }
+        // A known key is served even once expired; the scheduled task brings in the new set
+        PublicKey key = keySet.keys().get(keyId);
+        if (key != null) {
+            return Optional.of(key);
+        }
+
+        refresh();
+        return Optional.ofNullable(keySet.keys().get(keyId));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void refreshIfStale() {
+        // Stay idle until something has asked for Google keys (startup or a login)
+        if (lastFetchAttempt == 0) {
+            return;
+        }
+        if (System.currentTimeMillis() >= keySet.expiresAtMillis() - refreshAheadSeconds * 1000) {
+            refresh();
+        }
+    }
+
+    private void refresh() {
+        // Whoever holds the lock is already fetching; serve what is cached rather than wait behind it
+        if (!fetchLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            if (now - lastFetchAttempt < MIN_FETCH_INTERVAL_MS) {
+                return;
+            }
+            lastFetchAttempt = now;
+            fetch(now);
+        } finally {
+            fetchLock.unlock();
+        }
+    }
+
+    private void fetch(long now) {
+        try {
+            ResponseEntity<Map> response = restTemplate.getForEntity(jwksUri, Map.class);
+            Map<String, PublicKey> keys = parseKeys(response.getBody());
+            if (keys.isEmpty()) {
+                log.warn("Google JWKS response contained no usable keys; keeping {} cached keys", keySet.keys().size());
+                return;
+            }
+            long maxAgeSeconds = maxAgeSeconds(response.getHeaders(), defaultMaxAgeSeconds);
+            keySet = new KeySet(keys, now + maxAgeSeconds * 1000);
+            log.info("Loaded {} Google signing keys, valid for {}s", keys.size(), maxAgeSeconds);
+        } catch (Exception e) {
+            log.warn("Failed to refresh Google JWKS from {}; keeping {} cached keys: {}",
+                    jwksUri, keySet.keys().size(), e.getMessage());
+        }
+    }
+
+    static Map<String, PublicKey> parseKeys(Map<?, ?> jwks) throws Exception {
+        Map<String, PublicKey> keys = new HashMap<>();
+        if (jwks == null || !(jwks.get("keys") instanceof Collection<?> entries)) {
+            return keys;
+        }
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        for (Object entry : entries) {
+            if (!(entry instanceof Map<?, ?> jwk)) {
+                continue;
+            }
+            Object use = jwk.get("use");
+            if (!"RSA".equals(jwk.get("kty")) || (use != null && !"sig".equals(use))
+                    || !(jwk.get("kid") instanceof String kid)
+                    || !(jwk.get("n") instanceof String n) || !(jwk.get("e") instanceof String e)) {
+                continue;
+            }
+            RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                    new BigInteger(1, decoder.decode(n)), new BigInteger(1, decoder.decode(e)));
+            keys.put(kid, keyFactory.generatePublic(spec));
+        }
+        return keys;
+    }
+
+    static long maxAgeSeconds(HttpHeaders headers, long defaultSeconds) {
+        List<String> values = headers.getOrEmpty(HttpHeaders.CACHE_CONTROL);
+        for (String value : values) {
+            Matcher matcher = MAX_AGE.matcher(value);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        return defaultSeconds;
+    }
+
+    private record KeySet(Map<String, PublicKey> keys, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.jendo.app.security;
+
+import java.security.PublicKey;
+import java.util.Optional;
+
+/**
+ * Supplies the public keys Google signs ID tokens with, looked up by the token's {@code kid} header.
+ */
+public interface GoogleKeySource {
+
+    Optional<PublicKey> getKey(String keyId);
+}
@@ -8,8 +8,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,7 +19,8 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -29,37 +28,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         
         try {
             String header = request.getHeader("Authorization");
-            String token = null;
-            String email = null;
+            AuthenticatedUser principal = null;
 
             if (header != null && header.startsWith("Bearer ")) {
-                token = header.substring(7).trim();
-                
-                if (!token.isEmpty() && jwtUtil.validateJwtToken(token)) {
-                    if (jwtUtil.isAccessToken(token)) {
-                        email = jwtUtil.getEmailFromToken(token);
-                        log.debug("Valid access token found for email: {}", email);
-                    } else {
-                        log.warn("Non-access token used in Authorization header");
-                    }
-                } else {
+                String token = header.substring(7).trim();
+                VerifiedToken verified = token.isEmpty() ? null : jwtUtil.verify(token).orElse(null);
+
+                if (verified == null) {
                     log.debug("Invalid or expired JWT token");
+                } else if (verified.isAccessToken() && revocationList.isRevoked(verified)) {
+                    log.debug("Revoked access token presented for email: {}", verified.getEmail());
+                } else if (verified.isAccessToken()) {
+                    principal = principalCache.resolve(verified).orElse(null);
+                    log.debug("Valid access token found for email: {}", verified.getEmail());
+                } else {
+                    log.warn("Non-access token used in Authorization header");
                 }
             }
 
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                try {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                    
-                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                    
-                    log.debug("Successfully authenticated user: {}", email);
-                } catch (UsernameNotFoundException e) {
-                    log.warn("User not found for token email: {}", email);
-                }
+            if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities());
+                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+
+                log.debug("Successfully authenticated user: {}", principal.getEmail());
             }
         } catch (Exception e) {
             log.error("Error processing JWT authentication: {}", e.getMessage());
@@ -1,13 +1,19 @@
 package com.jendo.app.security;
 
+import com.jendo.app.common.cache.ExpiringCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -21,7 +27,23 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration:604800000}")
     private long refreshTokenExpirationMs;
 
-    private SecretKey getSigningKey() {
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private ExpiringCache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = buildSigningKey();
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new ExpiringCache<>(verifiedCacheSize);
+    }
+
+    private SecretKey buildSigningKey() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 64) {
             byte[] paddedKey = new byte[64];
@@ -32,52 +54,109 @@ public class JwtUtil {
     }
 
     public String generateToken(String email, Long userId) {
+        return generateToken(email, userId, List.of());
+    }
+
+    public String generateToken(String email, Long userId, Collection<String> roles) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
                 .claim("userId", userId)
                 .claim("email", email)
-                .claim("type", "access")
+                .claim("roles", roles != null ? List.copyOf(roles) : List.of())
+                .claim("type", VerifiedToken.TYPE_ACCESS)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
     
-    public String generateRefreshToken(String email, Long userId) {
+    /**
+     * Signs a refresh token for a row already recorded by {@link RefreshTokenService}; the id and family
+     * travel as the {@code jti} and {@code fid} claims.
+     */
+    public String generateRefreshToken(String email, Long userId, String tokenId, String familyId, Date expiresAt) {
         return Jwts.builder()
+                .setId(tokenId)
                 .setSubject(email)
                 .claim("userId", userId)
-                .claim("type", "refresh")
+                .claim("fid", familyId)
+                .claim("type", VerifiedToken.TYPE_REFRESH)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + refreshTokenExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setExpiration(expiresAt)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    public long getRefreshTokenExpirationMs() {
+        return refreshTokenExpirationMs;
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or empty if the signature or expiry is invalid or
+     * the token has no expiry at all. Access tokens are remembered until they expire so repeat requests
+     * skip the HMAC check.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        // Every token this service signs expires; one that never does was not issued here
+        if (claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+
+        VerifiedToken verified = toVerifiedToken(claims);
+
+        if (verified.isAccessToken()) {
+            verifiedTokens.put(token, verified, verified.getExpiresAt().toEpochMilli());
+        }
+        return Optional.of(verified);
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        return VerifiedToken.builder()
+                .tokenId(claims.getId())
+                .familyId(claims.get("fid", String.class))
+                .email(claims.getSubject())
+                .userId(claims.get("userId", Long.class))
+                .type(claims.get("type", String.class))
+                .roles(extractRoles(claims))
+                .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+                .expiresAt(claims.getExpiration().toInstant())
+                .build();
+    }
+
+    private List<String> extractRoles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream().map(String::valueOf).toList();
+    }
+
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return getAllClaimsFromToken(token).getSubject();
     }
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("userId", Long.class);
+        return getAllClaimsFromToken(token).get("userId", Long.class);
     }
 
     public Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
     
     public String getTokenType(String token) {
@@ -86,23 +165,15 @@ public class JwtUtil {
     }
     
     public boolean isAccessToken(String token) {
-        return "access".equals(getTokenType(token));
+        return VerifiedToken.TYPE_ACCESS.equals(getTokenType(token));
     }
     
     public boolean isRefreshToken(String token) {
-        return "refresh".equals(getTokenType(token));
+        return VerifiedToken.TYPE_REFRESH.equals(getTokenType(token));
     }
 
     public boolean validateJwtToken(String authToken) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verify(authToken).isPresent();
     }
     
     public boolean isTokenExpired(String token) {
@@ -0,0 +1,203 @@
+package com.jendo.app.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.common.dto.ApiResponse;
+import com.jendo.app.common.ratelimit.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Token-bucket rate limiting for the auth and OTP endpoints, keyed by client IP and, where configured,
+ * by the email in the JSON body. Runs just ahead of the security chain so rejected requests cost no
+ * JWT parsing, hashing or mail. On routes with an email limit, JSON bodies over 16 KB are refused
+ * outright, whether or not they declare a length, so a chunked body cannot slip past the email check.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TokenBucketLimiter limiter;
+    private final List<CompiledRoute> routes = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.limiter = new TokenBucketLimiter(properties.getStripes(), properties.getMaxKeys());
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            routes.add(new CompiledRoute(route.getPath(), route.getMethod(),
+                    toLimit(route.getIp()), toLimit(route.getEmail())));
+        }
+        Gauge.builder("rate_limit.keys", limiter, TokenBucketLimiter::size)
+                .description("Token buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || match(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CompiledRoute route = match(request);
+        HttpServletRequest forwarded = request;
+
+        if (route.ipLimit() != null) {
+            long waitMillis = limiter.tryAcquire(route.path() + "|ip|" + clientIp(request), route.ipLimit());
+            if (waitMillis > 0) {
+                reject(request, response, route, "ip", waitMillis);
+                return;
+            }
+        }
+
+        if (route.emailLimit() != null && isJson(request)) {
+            byte[] body = readBody(request);
+            if (body == null) {
+                log.warn("Refused oversized body on {} from {}", route.path(), clientIp(request));
+                writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large.");
+                return;
+            }
+            CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request, body);
+            forwarded = cached;
+            String email = extractEmail(cached.getBody());
+            if (email != null) {
+                long waitMillis = limiter.tryAcquire(route.path() + "|email|" + email, route.emailLimit());
+                if (waitMillis > 0) {
+                    reject(request, response, route, "email", waitMillis);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:30000}")
+    public void evictIdleBuckets() {
+        int evicted = limiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate-limit buckets, {} remain", evicted, limiter.size());
+        }
+    }
+
+    private CompiledRoute match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (CompiledRoute route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.path(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, CompiledRoute route,
+                        String keyType, long waitMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        Counter.builder("rate_limit.rejected")
+                .tag("route", route.path())
+                .tag("key", keyType)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Rate limit exceeded on {} by {} key from {}", route.path(), keyType, clientIp(request));
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                "Too many requests. Please try again in " + retryAfterSeconds + " seconds.");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        ApiResponse<Void> body = ApiResponse.<Void>builder()
+                .success(false)
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma >= 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    /**
+     * Reads the whole body, or returns null as soon as it is known to exceed the inspection limit. The
+     * declared length is only a shortcut; chunked bodies declare none and are capped by the read itself.
+     */
+    private static byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > MAX_INSPECTED_BODY_BYTES) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+        return body.length > MAX_INSPECTED_BODY_BYTES ? null : body;
+    }
+
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() && !email.asText().isBlank()
+                    ? email.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException e) {
+            // Malformed JSON is left for the controller to reject
+            return null;
+        }
+    }
+
+    private static TokenBucketLimiter.Limit toLimit(RateLimitProperties.BucketLimit limit) {
+        return limit == null ? null : new TokenBucketLimiter.Limit(limit.getCapacity(), limit.getRefillPerMinute());
+    }
+
+    private record CompiledRoute(String path, String method,
+                                 TokenBucketLimiter.Limit ipLimit, TokenBucketLimiter.Limit emailLimit) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.jendo.app.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route token-bucket limits applied by {@link RateLimitFilter}, bound from {@code rate-limit.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on tracked buckets across all routes and key types. */
+    private int maxKeys = 500_000;
+
+    /** Number of independent map stripes; must be a power of two. */
+    private int stripes = 64;
+
+    /** Use the first X-Forwarded-For entry as the client IP; enable only behind a trusted proxy. */
+    private boolean trustForwardedFor = false;
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String path;
+        private String method = "POST";
+        private BucketLimit ip;
+        private BucketLimit email;
+    }
+
+    @Data
+    public static class BucketLimit {
+        private int capacity;
+        private int refillPerMinute;
+    }
+}
@@ -0,0 +1,111 @@
+package com.jendo.app.security;
+
+import com.jendo.app.domain.user.entity.RefreshToken;
+import com.jendo.app.domain.user.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Server-side state for refresh tokens.
+ * <p>
+ * Every login starts a token family; each refresh marks the presented token as replaced and issues the
+ * next one in the same family. Presenting a token that was already rotated or revoked means it leaked,
+ * so the whole family is revoked and the legitimate holder has to sign in again.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+
+    public record Rotation(Long userId, String email, String refreshToken) {
+    }
+
+    /**
+     * Starts a new token family for a fresh sign-in.
+     */
+    public String issue(Long userId, String email) {
+        return issueWithId(userId, email, UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for its successor, or returns empty if it is invalid, expired, unknown
+     * or has been used before.
+     */
+    public Optional<Rotation> rotate(String rawToken) {
+        VerifiedToken verified = jwtUtil.verify(rawToken).orElse(null);
+        if (verified == null || !verified.isRefreshToken() || verified.getTokenId() == null) {
+            return Optional.empty();
+        }
+
+        RefreshToken current = refreshTokenRepository.findByIdForUpdate(verified.getTokenId()).orElse(null);
+        if (current == null || !current.getUserId().equals(verified.getUserId())) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!current.isActive(now)) {
+            if (current.getReplacedBy() != null || current.getRevokedAt() != null) {
+                int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+                logger.warn("Refresh token reuse detected for user {}; revoked {} tokens in family {}",
+                        current.getUserId(), revoked, current.getFamilyId());
+            }
+            return Optional.empty();
+        }
+
+        String nextId = UUID.randomUUID().toString();
+        current.setReplacedBy(nextId);
+        current.setRevokedAt(now);
+        refreshTokenRepository.save(current);
+
+        String next = issueWithId(current.getUserId(), verified.getEmail(), nextId, current.getFamilyId());
+        return Optional.of(new Rotation(current.getUserId(), verified.getEmail(), next));
+    }
+
+    /**
+     * Revokes the family of the given refresh token, ending that sign-in session on every device that shares it.
+     */
+    public void revoke(String rawToken) {
+        jwtUtil.verify(rawToken)
+                .filter(VerifiedToken::isRefreshToken)
+                .map(VerifiedToken::getFamilyId)
+                .ifPresent(familyId -> refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now()));
+    }
+
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String issueWithId(Long userId, String email, String tokenId, String familyId) {
+        Date expiresAt = new Date(System.currentTimeMillis() + jwtUtil.getRefreshTokenExpirationMs());
+        refreshTokenRepository.save(RefreshToken.builder()
+                .id(tokenId)
+                .familyId(familyId)
+                .userId(userId)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()))
+                .build());
+        return jwtUtil.generateRefreshToken(email, userId, tokenId, familyId, expiresAt);
+    }
+}
@@ -1,14 +1,22 @@
 package com.jendo.app.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -17,6 +25,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
+import java.util.List;
+
 @Configuration
 @RequiredArgsConstructor
 public class SecurityConfig {
@@ -24,12 +34,23 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final CustomUserDetailsService customUserDetailsService;
 
+    @Value("${security.actuator.allowed-addresses:127.0.0.1/32,::1/128}")
+    private List<String> actuatorAllowedAddresses;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Writes inside otherwise open namespaces; these must come before the permitAll below
+                        .requestMatchers(HttpMethod.POST, "/api/notifications/broadcasts").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PATCH, "/api/notifications/broadcasts/*/read").authenticated()
+                        .requestMatchers(HttpMethod.PUT, "/api/doctors/*/availability-templates").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/users/*/roles").hasRole("ADMIN")
+                        // Health stays open for load balancers; metrics and routes need an admin or a scraper address
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").access(actuatorAccess())
                         .requestMatchers("/api/auth/**", "/uploads/**", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**","/api-docs/**","/api/doctors/**", "/api/report-categories/**", "/api/report-sections/**", "/api/report-items/**", "/api/report-values/**", "/api/learning-materials/**", "/api/wellness-recommendations/risk-level/**", "/api/chatbot/**", "/api/notifications/**","/api/jendo-tests/**","/api/wellness-recommendations/**").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -38,14 +59,32 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private AuthorizationManager<RequestAuthorizationContext> actuatorAccess() {
+        List<IpAddressMatcher> allowed = actuatorAllowedAddresses.stream()
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        AuthorizationManager<RequestAuthorizationContext> fromAllowedAddress = (authentication, context) ->
+                new AuthorizationDecision(allowed.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+        return AuthorizationManagers.anyOf(AuthorityAuthorizationManager.hasRole("ADMIN"), fromAllowedAddress);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.strength:10}") int strength,
+            @Value("${security.password-hashing.pool-size:0}") int poolSize,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.max-wait-ms:3000}") long maxWaitMs,
+            MeterRegistry meterRegistry) {
+        // Leave at least half the cores for request handling when no explicit size is configured
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, maxWaitMs, meterRegistry);
     }
 
     // CORS configuration for development
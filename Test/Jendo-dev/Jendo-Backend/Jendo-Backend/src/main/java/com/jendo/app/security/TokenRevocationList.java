@@ -0,0 +1,132 @@
+package com.jendo.app.security;
+
+import com.jendo.app.common.cache.BloomFilter;
+import com.jendo.app.domain.user.entity.RevokedToken;
+import com.jendo.app.domain.user.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Denylist of revoked access-token ids, checked on every authenticated request without a database hit.
+ * <p>
+ * A Bloom filter answers the common "never revoked" case in a few hash probes. Positives are confirmed
+ * against buckets keyed by the token's expiry window; once a window has passed, its bucket is dropped
+ * and the filter is rebuilt from what is left, so the list only ever holds tokens that could still be
+ * presented. Revocations are also written to {@code revoked_tokens} and reloaded on startup.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${security.revocation.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    @Value("${security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${security.revocation.bucket-minutes:10}")
+    private long bucketMinutes;
+
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+    private volatile BloomFilter filter;
+    private long bucketMillis;
+
+    @PostConstruct
+    void init() {
+        bucketMillis = bucketMinutes * 60_000;
+        filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadRevoked() {
+        int loaded = 0;
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            remember(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+            loaded++;
+        }
+        logger.info("Loaded {} revoked access tokens", loaded);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        String jti = token.getTokenId();
+        if (jti == null || token.getExpiresAt() == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Set<String> bucket = buckets.get(bucketOf(token.getExpiresAt()));
+        return bucket != null && bucket.contains(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        remember(jti, expiresAt);
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .build());
+    }
+
+    public int size() {
+        return buckets.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void dropExpiredBuckets() {
+        // A bucket may go once every token in it has expired, i.e. once its window has ended
+        long firstLiveBucket = bucketOf(Instant.now()) - 1;
+        Map<Long, Set<String>> expired = buckets.headMap(firstLiveBucket, true);
+        if (expired.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            expired.clear();
+            BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+            buckets.values().forEach(bucket -> bucket.forEach(rebuilt::put));
+            filter = rebuilt;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired revoked-token rows", purged);
+        }
+    }
+
+    private void remember(String jti, Instant expiresAt) {
+        synchronized (writeLock) {
+            buckets.computeIfAbsent(bucketOf(expiresAt), k -> ConcurrentHashMap.newKeySet()).add(jti);
+            filter.put(jti);
+        }
+    }
+
+    private long bucketOf(Instant instant) {
+        return instant.toEpochMilli() / bucketMillis;
+    }
+}
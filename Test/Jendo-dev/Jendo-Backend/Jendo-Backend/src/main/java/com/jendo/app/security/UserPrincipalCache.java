@@ -0,0 +1,100 @@
+package com.jendo.app.security;
+
+import com.jendo.app.common.cache.ExpiringCache;
+import com.jendo.app.domain.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Caches the small slice of account state needed to trust a token: whether the user still exists,
+ * their current email, and when their credentials last changed. Entries live for a short TTL and are
+ * evicted explicitly whenever the account is updated, deleted or has its password changed. Eviction
+ * waits for the changing transaction to end, so a token check racing the change cannot reload and
+ * cache the account as it was before the commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private ExpiringCache<Long, AccountState> accounts;
+
+    @PostConstruct
+    void init() {
+        accounts = new ExpiringCache<>(maxSize);
+    }
+
+    public Optional<AuthenticatedUser> resolve(VerifiedToken token) {
+        if (token.getUserId() == null) {
+            return Optional.empty();
+        }
+
+        AccountState state = accounts.get(token.getUserId());
+        if (state == null) {
+            state = load(token.getUserId());
+            accounts.put(token.getUserId(), state, System.currentTimeMillis() + ttlSeconds * 1000);
+        }
+
+        if (!state.exists()) {
+            log.warn("Token presented for missing user ID: {}", token.getUserId());
+            return Optional.empty();
+        }
+        if (state.credentialsUpdatedAt() != null
+                && (token.getIssuedAt() == null || token.getIssuedAt().isBefore(state.credentialsUpdatedAt()))) {
+            log.debug("Token for user ID {} predates the last credential change", token.getUserId());
+            return Optional.empty();
+        }
+
+        return Optional.of(new AuthenticatedUser(token.getUserId(), state.email(), token.getRoles()));
+    }
+
+    public void invalidateAfterCompletion(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accounts.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                accounts.invalidate(userId);
+            }
+        });
+    }
+
+    private AccountState load(Long userId) {
+        return userRepository.findAuthViewById(userId)
+                .map(view -> new AccountState(true, view.getEmail(), toInstant(view.getCredentialsUpdatedAt())))
+                .orElse(AccountState.MISSING);
+    }
+
+    private static Instant toInstant(LocalDateTime value) {
+        // Token iat only has second precision, so compare against the credential change at the same precision.
+        return value == null ? null : value.atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private record AccountState(boolean exists, String email, Instant credentialsUpdatedAt) {
+        static final AccountState MISSING = new AccountState(false, null, null);
+    }
+}
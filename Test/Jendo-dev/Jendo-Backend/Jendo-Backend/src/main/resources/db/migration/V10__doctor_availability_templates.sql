@@ -0,0 +1,22 @@
+-- Weekly availability templates. SlotGenerationService materializes them into doctor_available_slots
+-- for a rolling window and marks those rows is_generated, so later template edits only ever remove
+-- generated slots that are still free.
+CREATE SEQUENCE IF NOT EXISTS doctor_availability_templates_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE doctor_availability_templates (
+    id                    BIGINT      NOT NULL,
+    doctor_id             BIGINT      NOT NULL,
+    day_of_week           VARCHAR(10) NOT NULL CHECK (day_of_week IN
+        ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    start_time            TIME(6)     NOT NULL,
+    end_time              TIME(6)     NOT NULL,
+    slot_duration_minutes INTEGER     NOT NULL,
+    CONSTRAINT pk_doctor_availability_templates PRIMARY KEY (id),
+    CONSTRAINT fk_doctor_availability_templates_doctor FOREIGN KEY (doctor_id)
+        REFERENCES doctors (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_doctor_availability_templates_doctor_id ON doctor_availability_templates (doctor_id);
+
+-- A constant default, so existing rows are not rewritten
+ALTER TABLE doctor_available_slots ADD COLUMN is_generated BOOLEAN NOT NULL DEFAULT false;
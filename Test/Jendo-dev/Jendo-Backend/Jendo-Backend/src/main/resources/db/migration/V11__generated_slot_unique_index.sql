@@ -0,0 +1,4 @@
+-- One generated slot per doctor, date and start time, so generator runs racing on two instances cannot
+-- both insert the same slot. Built CONCURRENTLY on the live table, so it gets its own script.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_doctor_available_slots_generated
+    ON doctor_available_slots (doctor_id, slot_date, start_time) WHERE is_generated = true;
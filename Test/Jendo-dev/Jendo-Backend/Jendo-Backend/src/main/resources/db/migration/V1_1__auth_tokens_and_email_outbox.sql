@@ -0,0 +1,45 @@
+-- Tables and columns the entities gained after the schema left ddl-auto: update, before V2. Version
+-- 1.1 sorts before V2 so a database baselined at version 1 picks them up too. IF NOT EXISTS lets it run
+-- over a database that Hibernate already updated in the meantime.
+
+-- Access tokens issued before the last password or role change are rejected
+ALTER TABLE users ADD COLUMN IF NOT EXISTS credentials_updated_at TIMESTAMP(6);
+
+-- One OTP row per email and purpose; rows written before purposes existed stay NULL and are ignored
+ALTER TABLE otp_tokens ADD COLUMN IF NOT EXISTS purpose VARCHAR(30)
+    CHECK (purpose IN ('EMAIL_VERIFICATION', 'PASSWORD_RESET'));
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          VARCHAR(36)  NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    family_id   VARCHAR(36)  NOT NULL,
+    replaced_by VARCHAR(36),
+    created_at  TIMESTAMP(6),
+    expires_at  TIMESTAMP(6) NOT NULL,
+    revoked_at  TIMESTAMP(6),
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti        VARCHAR(36)  NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_revoked_tokens PRIMARY KEY (jti)
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              BIGINT       NOT NULL,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            TEXT         NOT NULL,
+    status          VARCHAR(16)  NOT NULL CHECK (status IN ('PENDING', 'SENDING', 'FAILED')),
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP(6),
+    CONSTRAINT pk_email_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,247 @@
+-- Schema as Hibernate generated it under ddl-auto: update when migrations took over, ids still on
+-- IDENTITY columns. Databases that predate Flyway already have exactly these tables and are baselined
+-- at version 1, so this script only runs on empty databases. Anything added since belongs in a later
+-- version; id sequences are created by V2.
+
+CREATE TABLE users (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    first_name             VARCHAR(100) NOT NULL,
+    last_name              VARCHAR(100) NOT NULL,
+    email                  VARCHAR(255) NOT NULL,
+    password               VARCHAR(255) NOT NULL,
+    phone                  VARCHAR(20),
+    date_of_birth          DATE,
+    gender                 VARCHAR(20),
+    profile_image          VARCHAR(255),
+    nationality            VARCHAR(100),
+    address                VARCHAR(255),
+    weight                 DOUBLE PRECISION,
+    height                 DOUBLE PRECISION,
+    email_verified         BOOLEAN,
+    auth_provider          VARCHAR(20),
+    google_id              VARCHAR(255),
+    created_by             BIGINT,
+    created_at             TIMESTAMP(6),
+    updated_at             TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_google_id UNIQUE (google_id)
+);
+
+CREATE TABLE roles (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id   BIGINT      NOT NULL,
+    role_name VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_roles PRIMARY KEY (id),
+    CONSTRAINT fk_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE otp_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email      VARCHAR(255),
+    otp        VARCHAR(255),
+    expires_at TIMESTAMP(6),
+    CONSTRAINT pk_otp_tokens PRIMARY KEY (id)
+);
+
+CREATE TABLE doctors (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name           VARCHAR(200) NOT NULL,
+    specialty      VARCHAR(100),
+    qualifications VARCHAR(255),
+    hospital       VARCHAR(200),
+    address        VARCHAR(255),
+    phone          VARCHAR(20),
+    email          VARCHAR(255),
+    image_url      VARCHAR(255),
+    available_days VARCHAR(255),
+    is_available   BOOLEAN,
+    CONSTRAINT pk_doctors PRIMARY KEY (id)
+);
+
+CREATE TABLE consultation_fees (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    doctor_id BIGINT NOT NULL,
+    fee_type  VARCHAR(50),
+    amount    NUMERIC(10, 2),
+    currency  VARCHAR(10),
+    CONSTRAINT pk_consultation_fees PRIMARY KEY (id),
+    CONSTRAINT fk_consultation_fees_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+CREATE TABLE doctor_available_slots (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    doctor_id             BIGINT  NOT NULL,
+    slot_date             DATE    NOT NULL,
+    start_time            TIME(6) NOT NULL,
+    end_time              TIME(6) NOT NULL,
+    slot_duration_minutes INTEGER,
+    is_booked             BOOLEAN,
+    CONSTRAINT pk_doctor_available_slots PRIMARY KEY (id),
+    CONSTRAINT fk_doctor_available_slots_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+CREATE TABLE appointments (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id        BIGINT NOT NULL,
+    doctor_id      BIGINT,
+    doctor_name    VARCHAR(200),
+    email          VARCHAR(255),
+    date           DATE,
+    time           TIME(6),
+    specialty      VARCHAR(100),
+    qualifications VARCHAR(255),
+    type           VARCHAR(50),
+    status         VARCHAR(50),
+    CONSTRAINT pk_appointments PRIMARY KEY (id),
+    CONSTRAINT fk_appointments_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_appointments_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+CREATE TABLE jendo_tests (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id        BIGINT NOT NULL,
+    score          NUMERIC(38, 2),
+    heart_rate     INTEGER,
+    risk_level     VARCHAR(50),
+    test_date      DATE,
+    test_time      TIME(6),
+    blood_pressure VARCHAR(20),
+    spo2           NUMERIC(38, 2),
+    vascular_risk  NUMERIC(38, 2),
+    pdf_file_path  VARCHAR(500),
+    created_by     BIGINT,
+    created_at     TIMESTAMP(6),
+    CONSTRAINT pk_jendo_tests PRIMARY KEY (id),
+    CONSTRAINT fk_jendo_tests_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE endo_test_reports (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id       BIGINT NOT NULL,
+    jendo_test_id BIGINT,
+    file_url      VARCHAR(255),
+    file_type     VARCHAR(50),
+    created_at    TIMESTAMP(6),
+    CONSTRAINT pk_endo_test_reports PRIMARY KEY (id),
+    CONSTRAINT fk_endo_test_reports_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_endo_test_reports_jendo_test FOREIGN KEY (jendo_test_id) REFERENCES jendo_tests (id)
+);
+
+CREATE TABLE jendo_reports (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id            BIGINT       NOT NULL,
+    file_name          VARCHAR(255) NOT NULL,
+    original_file_name VARCHAR(255),
+    file_path          VARCHAR(255) NOT NULL,
+    content_type       VARCHAR(100),
+    file_size          BIGINT,
+    description        VARCHAR(255),
+    uploaded_at        TIMESTAMP(6),
+    CONSTRAINT pk_jendo_reports PRIMARY KEY (id),
+    CONSTRAINT fk_jendo_reports_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE health_parameters (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id    BIGINT NOT NULL,
+    height     NUMERIC(5, 2),
+    weight     NUMERIC(5, 2),
+    bmi        NUMERIC(5, 2),
+    blood_type VARCHAR(10),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_health_parameters PRIMARY KEY (id),
+    CONSTRAINT fk_health_parameters_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE notifications (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id    BIGINT       NOT NULL,
+    message    VARCHAR(255) NOT NULL,
+    type       VARCHAR(50),
+    is_read    BOOLEAN,
+    created_at TIMESTAMP(6),
+    CONSTRAINT pk_notifications PRIMARY KEY (id),
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE learning_materials (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title       VARCHAR(200) NOT NULL,
+    description VARCHAR(255),
+    author      VARCHAR(200),
+    category    VARCHAR(100),
+    type        VARCHAR(50),
+    duration    VARCHAR(50),
+    video_url   VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    CONSTRAINT pk_learning_materials PRIMARY KEY (id)
+);
+
+CREATE TABLE wellness_recommendations (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title       VARCHAR(200) NOT NULL,
+    description TEXT,
+    risk_level  VARCHAR(50)  NOT NULL,
+    category    VARCHAR(100),
+    type        VARCHAR(50),
+    priority    INTEGER,
+    is_active   BOOLEAN,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_wellness_recommendations PRIMARY KEY (id)
+);
+
+CREATE TABLE report_categories (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name         VARCHAR(200) NOT NULL,
+    icon         VARCHAR(100),
+    created_at   TIMESTAMP(6),
+    last_updated TIMESTAMP(6),
+    CONSTRAINT pk_report_categories PRIMARY KEY (id)
+);
+
+CREATE TABLE report_sections (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    category_id BIGINT,
+    name        VARCHAR(200) NOT NULL,
+    description VARCHAR(255),
+    icon        VARCHAR(100),
+    CONSTRAINT pk_report_sections PRIMARY KEY (id),
+    CONSTRAINT fk_report_sections_category FOREIGN KEY (category_id) REFERENCES report_categories (id)
+);
+
+CREATE TABLE report_items (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    report_section_id BIGINT,
+    name              VARCHAR(200) NOT NULL,
+    description       VARCHAR(255),
+    icon              VARCHAR(100),
+    CONSTRAINT pk_report_items PRIMARY KEY (id),
+    CONSTRAINT fk_report_items_section FOREIGN KEY (report_section_id) REFERENCES report_sections (id)
+);
+
+CREATE TABLE report_item_values (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    report_item_id BIGINT NOT NULL,
+    user_id        BIGINT,
+    value_number   NUMERIC(10, 2),
+    value_text     VARCHAR(255),
+    value_date     DATE,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    CONSTRAINT pk_report_item_values PRIMARY KEY (id),
+    CONSTRAINT fk_report_item_values_item FOREIGN KEY (report_item_id) REFERENCES report_items (id),
+    CONSTRAINT fk_report_item_values_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE report_attachments (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    report_item_value_id BIGINT NOT NULL,
+    file_url             VARCHAR(255),
+    file_type            VARCHAR(50),
+    uploaded_at          TIMESTAMP(6),
+    CONSTRAINT pk_report_attachments PRIMARY KEY (id),
+    CONSTRAINT fk_report_attachments_value FOREIGN KEY (report_item_value_id) REFERENCES report_item_values (id)
+);
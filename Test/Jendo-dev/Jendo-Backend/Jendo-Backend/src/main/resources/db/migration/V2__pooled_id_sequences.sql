@@ -0,0 +1,21 @@
+-- Entity ids move from IDENTITY columns to pooled sequences so Hibernate can batch inserts.
+-- Each sequence steps by the entities' allocationSize (50); Hibernate hands out the 50 ids ending at
+-- the value it fetched. Sequences are moved past the current max id so pooled blocks never collide
+-- with rows inserted under IDENTITY. Tables that do not exist yet only get their sequence.
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'appointments', 'consultation_fees', 'doctor_available_slots', 'doctors', 'email_outbox',
+        'endo_test_reports', 'health_parameters', 'jendo_reports', 'jendo_tests', 'learning_materials',
+        'notifications', 'otp_tokens', 'report_attachments', 'report_categories', 'report_item_values',
+        'report_items', 'report_sections', 'roles', 'users', 'wellness_recommendations'
+    ]
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', t || '_seq');
+        IF to_regclass(t) IS NOT NULL THEN
+            EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) FROM %I) + 50)', t || '_seq', t);
+        END IF;
+    END LOOP;
+END $$;
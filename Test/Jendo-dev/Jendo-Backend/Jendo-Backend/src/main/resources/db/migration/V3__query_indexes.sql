@@ -0,0 +1,100 @@
+-- Indexes matched to the repository queries. Each one names the methods it serves.
+-- CONCURRENTLY keeps the tables writable while the indexes build on a live database, so Flyway runs
+-- this script outside a transaction. Composite keys put the equality column first and end with the
+-- sort columns so list and keyset reads come out of the index already ordered.
+
+-- UserRepository.findAllListViews / findListViewsBefore (ORDER BY created_at DESC, id DESC)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
+
+-- RoleRepository.findByUserId / findRoleNamesByUserIdIn / deleteByUserId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_roles_user_id_role_name ON roles (user_id, role_name);
+
+-- OtpTokenRepository.findByEmail / findByEmailAndOtp / deleteByEmail / deleteByEmailAndPurpose
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_otp_tokens_email_purpose ON otp_tokens (email, purpose);
+-- OtpTokenRepository.deleteExpired / findByPurposeIsNotNullAndExpiresAtAfter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_otp_tokens_expires_at ON otp_tokens (expires_at);
+
+-- RefreshTokenRepository.deleteExpired
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+-- RevokedTokenRepository.deleteExpired / findByExpiresAtAfter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- OutboundEmailRepository.deleteByStatusCreatedBefore(FAILED, ...)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_outbox_failed_created_at
+    ON email_outbox (created_at) WHERE status = 'FAILED';
+
+-- NotificationRepository.findByUserId / findByUserIdBefore (ORDER BY created_at DESC, id DESC)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_created_at_id
+    ON notifications (user_id, created_at, id);
+-- NotificationRepository.findByUserIdAndIsReadFalse / countByUserIdAndIsReadFalse: only unread rows
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_unread
+    ON notifications (user_id) WHERE is_read = false;
+
+-- JendoTestRepository.findAllListViews / findListViewsBefore
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jendo_tests_created_at_id ON jendo_tests (created_at, id);
+-- JendoTestRepository.findByUserId / findListViewsByUserId / findListViewsByUserIdBefore
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jendo_tests_user_created_at_id
+    ON jendo_tests (user_id, created_at, id);
+-- JendoTestRepository.findByUserIdAndTestDateBetween / findListViewsByUserIdAndTestDateBetween
+-- / findFirstByUserIdOrderByTestDateDescCreatedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jendo_tests_user_test_date
+    ON jendo_tests (user_id, test_date, created_at);
+
+-- EndoTestReportRepository.findByUserId / findByJendoTestId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_endo_test_reports_user_id ON endo_test_reports (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_endo_test_reports_jendo_test_id ON endo_test_reports (jendo_test_id);
+
+-- JendoReportRepository.findByUserId / findByUserIdOrderByUploadedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jendo_reports_user_uploaded_at ON jendo_reports (user_id, uploaded_at);
+
+-- HealthParameterRepository.findByUserId / findTopByUserIdOrderByCreatedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_health_parameters_user_created_at
+    ON health_parameters (user_id, created_at);
+
+-- AppointmentRepository.findAllListViews / findListViewsBefore (ORDER BY date DESC, id DESC)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_date_id ON appointments (date, id);
+-- AppointmentRepository.findByUserId / findListViewsByUserId(Before) / findByUserIdAndDateBetween
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_user_date_id ON appointments (user_id, date, id);
+-- AppointmentRepository.findByDoctorId / findListViewsByDoctorId(Before) / findByDoctorIdAndDate
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_doctor_date_id ON appointments (doctor_id, date, id);
+
+-- DoctorRepository.findByEmail
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_doctors_email ON doctors (email);
+-- ConsultationFeeRepository.findByDoctorId / deleteByDoctorId, and the batched fee load for doctor lists
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_consultation_fees_doctor_id ON consultation_fees (doctor_id);
+
+-- DoctorAvailableSlotRepository: every read asks for free slots of one doctor, by date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_doctor_available_slots_free
+    ON doctor_available_slots (doctor_id, slot_date, start_time) WHERE is_booked = false;
+-- Foreign key lookups that include booked slots (doctor deletes)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_doctor_available_slots_doctor_id ON doctor_available_slots (doctor_id);
+
+-- LearningMaterialRepository.findByCategory / findByType / findAll (ORDER BY created_at DESC)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_learning_materials_category_created_at
+    ON learning_materials (category, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_learning_materials_type_created_at
+    ON learning_materials (type, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_learning_materials_created_at ON learning_materials (created_at);
+
+-- WellnessRecommendationRepository.findByRiskLevelIgnoreCaseAndIsActiveTrue(OrderByPriorityAsc);
+-- IgnoreCase compares upper() on both sides
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wellness_recommendations_active_risk_priority
+    ON wellness_recommendations (upper(risk_level), priority) WHERE is_active = true;
+-- WellnessRecommendationRepository.findByRiskLevel / findByCategory
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wellness_recommendations_risk_level ON wellness_recommendations (risk_level);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_wellness_recommendations_category ON wellness_recommendations (category);
+
+-- ReportCategoryRepository.findByName / ReportSectionRepository.findByName
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_report_categories_name ON report_categories (name);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_report_sections_name ON report_sections (name);
+-- ReportSectionRepository.findByCategoryId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_report_sections_category_id ON report_sections (category_id);
+-- ReportItemRepository.findByReportSectionId / findBySectionId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_report_items_section_id ON report_items (report_section_id);
+
+-- ReportItemValueRepository.findByUserId / findByUserIdAndReportItemId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_report_item_values_user_item ON report_item_values (user_id, report_item_id);
+-- ReportItemValueRepository.findByReportItemId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_report_item_values_item_id ON report_item_values (report_item_id);
+-- ReportAttachmentRepository.findByReportItemValueId, and the batched attachment load for value lists
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_report_attachments_value_id ON report_attachments (report_item_value_id);
@@ -0,0 +1,14 @@
+-- Unread notification count per user, kept in step with notifications by NotificationServiceImpl.
+-- Users without a row have no unread notifications; rows are created on the first notification.
+CREATE TABLE notification_counters (
+    user_id      BIGINT NOT NULL,
+    unread_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_notification_counters PRIMARY KEY (user_id),
+    CONSTRAINT fk_notification_counters_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+INSERT INTO notification_counters (user_id, unread_count)
+SELECT user_id, count(*)
+FROM notifications
+WHERE is_read = false
+GROUP BY user_id;
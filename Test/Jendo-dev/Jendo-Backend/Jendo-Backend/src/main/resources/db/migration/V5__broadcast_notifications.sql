@@ -0,0 +1,29 @@
+-- Broadcast notifications are stored once and merged into each user's feed when it is read.
+-- broadcast_receipts holds the recipients of targeted broadcasts (written when the broadcast is sent)
+-- and read markers for every broadcast (read_at); a broadcast to everyone has no rows until users read it.
+CREATE SEQUENCE IF NOT EXISTS broadcast_notifications_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE broadcast_notifications (
+    id                BIGINT       NOT NULL,
+    message           VARCHAR(255) NOT NULL,
+    type              VARCHAR(50),
+    target_risk_level VARCHAR(50),
+    created_at        TIMESTAMP(6),
+    CONSTRAINT pk_broadcast_notifications PRIMARY KEY (id)
+);
+
+-- BroadcastNotificationRepository feed and count queries (ORDER BY created_at DESC, id DESC)
+CREATE INDEX idx_broadcast_notifications_created_at_id ON broadcast_notifications (created_at, id);
+
+CREATE TABLE broadcast_receipts (
+    broadcast_id BIGINT NOT NULL,
+    user_id      BIGINT NOT NULL,
+    read_at      TIMESTAMP(6),
+    CONSTRAINT pk_broadcast_receipts PRIMARY KEY (broadcast_id, user_id),
+    CONSTRAINT fk_broadcast_receipts_broadcast FOREIGN KEY (broadcast_id)
+        REFERENCES broadcast_notifications (id) ON DELETE CASCADE,
+    CONSTRAINT fk_broadcast_receipts_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- BroadcastReceiptRepository.markAllReadByUserId: a user's receipts that are still unread
+CREATE INDEX idx_broadcast_receipts_user_unread ON broadcast_receipts (user_id) WHERE read_at IS NULL;
@@ -0,0 +1,14 @@
+-- Read notifications past the retention age are moved here by NotificationRetentionJob.
+-- No foreign key to users, so archived rows never hold up a user delete.
+CREATE TABLE notifications_archive (
+    id          BIGINT       NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    message     VARCHAR(255) NOT NULL,
+    type        VARCHAR(50),
+    is_read     BOOLEAN,
+    created_at  TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_notifications_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_notifications_archive_user_created_at ON notifications_archive (user_id, created_at);
@@ -0,0 +1,4 @@
+-- NotificationRepository.findReadBefore: the retention job walks read notifications in
+-- (created_at, id) order. Built CONCURRENTLY on the live table, so it gets its own script.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_read_created_at_id
+    ON notifications (created_at, id) WHERE is_read = true;
@@ -0,0 +1,5 @@
+-- Appointments booked through AppointmentService.bookSlot point at the slot they reserved.
+-- The column starts out empty, so the foreign key has nothing to validate on existing rows.
+ALTER TABLE appointments ADD COLUMN slot_id BIGINT;
+ALTER TABLE appointments
+    ADD CONSTRAINT fk_appointments_slot FOREIGN KEY (slot_id) REFERENCES doctor_available_slots (id);
@@ -0,0 +1,4 @@
+-- At most one live appointment per slot. The booking path already guards this with a conditional
+-- update on doctor_available_slots; the index is the backstop. Built CONCURRENTLY, so it gets its own script.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_appointments_active_slot
+    ON appointments (slot_id) WHERE slot_id IS NOT NULL AND (status IS NULL OR status <> 'CANCELLED');
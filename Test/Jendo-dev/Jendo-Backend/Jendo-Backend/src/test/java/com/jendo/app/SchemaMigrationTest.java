@@ -0,0 +1,156 @@
+package com.jendo.app;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations on an empty PostgreSQL database and starts the application with Hibernate
+ * validating the entity mappings against the result, so a migration that drifts from the entities
+ * fails here rather than at deploy time. A second database starts from the pre-migration schema and
+ * must end up identical once baselined and upgraded.
+ */
+@SpringBootTest(properties = {
+        "email.outbox.enabled=false",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@DirtiesContext
+class SchemaMigrationTest {
+
+    private static final List<String> MIGRATED_VERSIONS =
+            List.of("1", "1.1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11");
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Every migration applies and the schema matches the entities")
+    void migrationsApply() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+
+        assertEquals(MIGRATED_VERSIONS, versions);
+        Integer invalid = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_index WHERE NOT indisvalid", Integer.class);
+        assertEquals(0, invalid);
+    }
+
+    @Test
+    @DisplayName("A database created before migrations is baselined and upgraded to the same schema")
+    void upgradesPreMigrationDatabase() throws SQLException {
+        jdbcTemplate.execute("CREATE DATABASE legacy");
+        DataSource legacy = postgres.getDatabase("postgres", "legacy");
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+
+        // V1 is the schema ddl-auto: update left behind, with rows inserted under IDENTITY ids
+        try (Connection connection = legacy.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        }
+        legacyJdbc.update("INSERT INTO users (first_name, last_name, email, password) VALUES ('Early', 'User', 'early@example.com', 'hash')");
+        legacyJdbc.update("INSERT INTO otp_tokens (email, otp, expires_at) VALUES ('early@example.com', '123456', now())");
+
+        Flyway.configure()
+                .dataSource(legacy)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        List<String> versions = legacyJdbc.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        assertEquals(MIGRATED_VERSIONS, versions);
+        assertEquals("BASELINE", legacyJdbc.queryForObject(
+                "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class));
+
+        assertEquals(columns(jdbcTemplate), columns(legacyJdbc));
+        assertEquals(indexes(jdbcTemplate), indexes(legacyJdbc));
+
+        Long userId = legacyJdbc.queryForObject("SELECT id FROM users WHERE email = 'early@example.com'", Long.class);
+        assertTrue(legacyJdbc.queryForObject("SELECT last_value FROM users_seq", Long.class) > userId);
+        assertNull(legacyJdbc.queryForObject("SELECT credentials_updated_at FROM users WHERE id = ?", Object.class, userId));
+    }
+
+    @Test
+    @DisplayName("Hot predicates are served by their indexes")
+    void hotPredicatesUseIndexes() {
+        assertPlanUses("idx_notifications_user_unread",
+                "SELECT count(*) FROM notifications WHERE user_id = 1 AND is_read = false");
+        assertPlanUses("idx_notifications_user_created_at_id",
+                "SELECT id FROM notifications WHERE user_id = 1 ORDER BY created_at DESC, id DESC LIMIT 11");
+        assertPlanUses("idx_jendo_tests_user_created_at_id",
+                "SELECT id FROM jendo_tests WHERE user_id = 1 ORDER BY created_at DESC, id DESC LIMIT 11");
+        assertPlanUses("idx_appointments_doctor_date_id",
+                "SELECT id FROM appointments WHERE doctor_id = 1 AND (date < CURRENT_DATE"
+                        + " OR (date = CURRENT_DATE AND id < 100)) ORDER BY date DESC, id DESC LIMIT 11");
+        assertPlanUses("idx_doctor_available_slots_free",
+                "SELECT id FROM doctor_available_slots WHERE doctor_id = 1 AND slot_date = CURRENT_DATE"
+                        + " AND is_booked = false");
+        assertPlanUses("idx_notifications_read_created_at_id",
+                "SELECT id FROM notifications WHERE is_read = true AND created_at < now()"
+                        + " ORDER BY created_at, id LIMIT 500");
+        assertPlanUses("idx_otp_tokens_email_purpose",
+                "SELECT id FROM otp_tokens WHERE email = 'a@example.com' AND purpose = 'PASSWORD_RESET'");
+    }
+
+    private static List<String> columns(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT table_name || '.' || column_name || ' ' || data_type"
+                + " || coalesce('(' || character_maximum_length || ')', '') || ' ' || is_nullable"
+                + " FROM information_schema.columns WHERE table_schema = 'public'"
+                + " AND table_name <> 'flyway_schema_history' ORDER BY table_name, column_name", String.class);
+    }
+
+    private static List<String> indexes(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT indexdef FROM pg_indexes WHERE schemaname = 'public'"
+                + " AND tablename <> 'flyway_schema_history' ORDER BY indexname", String.class);
+    }
+
+    private void assertPlanUses(String index, String sql) {
+        // The tables are empty, so take sequential scans off the table to see which index the planner picks
+        String plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        });
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+}
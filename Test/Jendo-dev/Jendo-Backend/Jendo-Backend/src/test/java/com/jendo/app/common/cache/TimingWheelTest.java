@@ -0,0 +1,107 @@
+package com.jendo.app.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+
+    // Four slots over three levels: level 0 spans 4 ticks, level 1 spans 16 and level 2 spans 64
+    private TimingWheel<String> wheel;
+    private long baseTick;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel<>(TICK, 4, 3);
+        baseTick = (long) ReflectionTestUtils.getField(wheel, "currentTick");
+    }
+
+    @Test
+    @DisplayName("Keys fire on their deadline tick and not before")
+    void firesAtDeadline() {
+        wheel.schedule("a", at(3));
+
+        assertTrue(advanceTo(2).isEmpty());
+        assertEquals(List.of("a"), advanceTo(3));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Keys on coarser levels cascade down and still fire on the exact tick")
+    void cascadesAcrossLevels() {
+        int[] offsets = {1, 4, 5, 15, 16, 17, 40, 63};
+        for (int offset : offsets) {
+            wheel.schedule("t" + offset, at(offset));
+        }
+        assertEquals(offsets.length, wheel.size());
+
+        Map<String, Integer> firedAt = stepThrough(64);
+        for (int offset : offsets) {
+            assertEquals(offset, firedAt.get("t" + offset), "t" + offset);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Deadlines beyond the top level wait extra rotations and then fire on time")
+    void deadlinesBeyondTopLevel() {
+        wheel.schedule("far", at(150));
+        wheel.schedule("farther", at(300));
+
+        Map<String, Integer> firedAt = stepThrough(320);
+        assertEquals(150, firedAt.get("far"));
+        assertEquals(300, firedAt.get("farther"));
+    }
+
+    @Test
+    @DisplayName("One large advance hands back everything due, and past deadlines fire on the next tick")
+    void largeAdvanceAndPastDeadlines() {
+        wheel.schedule("past", baseTick * TICK - 5_000);
+        wheel.schedule("near", at(2));
+        wheel.schedule("far", at(200));
+        wheel.schedule("later", at(500));
+
+        assertEquals(List.of("past"), advanceTo(1));
+        List<String> fired = advanceTo(250);
+        assertEquals(2, fired.size());
+        assertTrue(fired.containsAll(List.of("near", "far")));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Wheel shapes that cannot be indexed are rejected")
+    void rejectsBadShape() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(0, 4, 3));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(10, 6, 3));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(10, 4, 0));
+    }
+
+    private long at(int ticksFromStart) {
+        return (baseTick + ticksFromStart) * TICK;
+    }
+
+    private List<String> advanceTo(int ticksFromStart) {
+        List<String> fired = new ArrayList<>();
+        wheel.advance(at(ticksFromStart), fired::add);
+        return fired;
+    }
+
+    private Map<String, Integer> stepThrough(int ticks) {
+        Map<String, Integer> firedAt = new HashMap<>();
+        for (int tick = 1; tick <= ticks; tick++) {
+            int now = tick;
+            wheel.advance(at(tick), key -> assertNull(firedAt.put(key, now), key + " fired twice"));
+        }
+        return firedAt;
+    }
+}
@@ -0,0 +1,104 @@
+package com.jendo.app.common.jdbc;
+
+import com.jendo.app.domain.notification.entity.Notification;
+import com.jendo.app.domain.notification.repository.NotificationRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserts the same set of notifications with JDBC batching on and off and compares database round trips.
+ * Timings are logged for reference; only round trips are asserted, since they do not depend on the machine.
+ */
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@ActiveProfiles("test")
+class BulkInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkInsertBenchmarkTest.class);
+    private static final int ROWS = 1000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .firstName("Bulk").lastName("Insert").email("bulk@example.com").password("hash").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Pooled ids let bulk inserts go out in JDBC batches")
+    void batchedInsertsUseFewerRoundTrips() {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            insert(1);
+            insert(50);
+        }
+
+        Result single = insert(1);
+        Result batched = insert(50);
+        logger.info("Inserting {} notifications: one per statement {} round trips in {} ms, batched {} round trips in {} ms",
+                ROWS, single.statements(), single.millis(), batched.statements(), batched.millis());
+
+        int sequenceCalls = ROWS / 50;
+        // One insert per row plus one sequence call per 50 ids (one more if the pool was part-used)
+        assertTrue(single.statements() >= ROWS + sequenceCalls, single.toString());
+        // One batch per 50 rows plus the same sequence calls
+        assertTrue(batched.statements() <= ROWS / 50 + sequenceCalls + 1, batched.toString());
+    }
+
+    private Result insert(int jdbcBatchSize) {
+        QueryStats.open();
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                User owner = entityManager.getReference(User.class, user.getId());
+                for (int i = 0; i < ROWS; i++) {
+                    entityManager.persist(Notification.builder()
+                            .user(owner).type("BENCHMARK").message("Notification " + i).isRead(false).build());
+                }
+            });
+        } catch (RuntimeException e) {
+            QueryStats.close();
+            throw e;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new Result(QueryStats.close().getStatementCount(), millis);
+    }
+
+    private record Result(int statements, long millis) {
+    }
+}
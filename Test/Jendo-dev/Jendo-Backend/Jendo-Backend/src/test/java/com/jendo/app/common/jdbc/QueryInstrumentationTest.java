@@ -0,0 +1,112 @@
+package com.jendo.app.common.jdbc;
+
+import com.jendo.app.domain.consultationfee.entity.ConsultationFee;
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.jendo.app.support.QueryBudgetAssertions.assertWithinQueryBudget;
+import static com.jendo.app.support.QueryBudgetAssertions.queryStats;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryInstrumentationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 6; i++) {
+            Doctor doctor = Doctor.builder()
+                    .name("Dr. Test " + i)
+                    .specialty("Cardiology")
+                    .isAvailable(true)
+                    .build();
+            doctor.getConsultationFees().add(ConsultationFee.builder()
+                    .feeType("STANDARD")
+                    .amount(BigDecimal.valueOf(2500))
+                    .currency("LKR")
+                    .doctor(doctor)
+                    .build());
+            doctorRepository.save(doctor);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        doctorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Statements, rows and database time are recorded per request")
+    void recordsStatementsPerRequest() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/doctors/{id}", doctorRepository.findAll().get(0).getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        QueryStats stats = queryStats(result);
+        assertTrue(stats.getStatementCount() >= 1);
+        assertTrue(stats.getRowCount() >= 1);
+        assertTrue(stats.getDbTimeNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Repeated identical statements are reported")
+    void detectsRepeatedStatements() {
+        List<Long> ids = doctorRepository.findAll().stream().map(Doctor::getId).toList();
+
+        QueryStats.open();
+        try {
+            ids.forEach(doctorRepository::findById);
+        } finally {
+            QueryStats stats = QueryStats.close();
+            assertEquals(List.of(6), List.copyOf(stats.repeatedStatements(5).values()));
+        }
+    }
+
+    @Test
+    @DisplayName("Doctor list stays within its query budget")
+    void doctorListWithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/doctors").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertWithinQueryBudget(result);
+        assertTrue(queryStats(result).repeatedStatements(2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Nothing is recorded outside a recording scope")
+    void noRecordingOutsideScope() {
+        assertNull(QueryStats.current());
+        doctorRepository.count();
+        assertNull(QueryStats.current());
+
+        assertTrue(QueryStats.open());
+        assertFalse(QueryStats.open());
+        doctorRepository.count();
+        QueryStats stats = QueryStats.close();
+        assertEquals(1, stats.getStatementCount());
+        assertEquals(1, stats.getRowCount());
+    }
+}
@@ -0,0 +1,72 @@
+package com.jendo.app.common.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private static final TokenBucketLimiter.Limit SLOW = new TokenBucketLimiter.Limit(2, 1);
+    // One token per millisecond, so a drained bucket is full again after a short sleep
+    private static final TokenBucketLimiter.Limit FAST = new TokenBucketLimiter.Limit(1, 60_000);
+
+    @Test
+    @DisplayName("A key gets its burst, then waits for the refill")
+    void burstThenWait() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(4, 100);
+
+        assertEquals(0, limiter.tryAcquire("a", SLOW));
+        assertEquals(0, limiter.tryAcquire("a", SLOW));
+        long wait = limiter.tryAcquire("a", SLOW);
+        assertTrue(wait > 59_000 && wait <= 60_000, "wait was " + wait);
+
+        assertEquals(0, limiter.tryAcquire("b", SLOW));
+    }
+
+    @Test
+    @DisplayName("Only refilled buckets are evicted")
+    void evictsOnlyFullBuckets() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 10);
+        limiter.tryAcquire("fast", FAST);
+        limiter.tryAcquire("slow", SLOW);
+
+        Thread.sleep(5);
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.tryAcquire("slow", SLOW));
+        assertTrue(limiter.tryAcquire("slow", SLOW) > 0);
+    }
+
+    @Test
+    @DisplayName("A full table of draining keys keeps their state and sends new keys to a shared bucket")
+    void fullTableKeepsLiveBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 2);
+        limiter.tryAcquire("a", SLOW);
+        limiter.tryAcquire("a", SLOW);
+        limiter.tryAcquire("b", SLOW);
+        limiter.tryAcquire("b", SLOW);
+
+        assertEquals(0, limiter.tryAcquire("c", SLOW));
+        assertEquals(0, limiter.tryAcquire("d", SLOW));
+        assertTrue(limiter.tryAcquire("e", SLOW) > 0, "new keys share the overflow bucket");
+
+        assertEquals(2, limiter.size());
+        assertTrue(limiter.tryAcquire("a", SLOW) > 0, "a draining key must not be reset by eviction");
+        assertTrue(limiter.tryAcquire("b", SLOW) > 0, "a draining key must not be reset by eviction");
+    }
+
+    @Test
+    @DisplayName("A full table makes room by dropping refilled buckets")
+    void fullTableDropsRefilledBuckets() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 2);
+        limiter.tryAcquire("a", FAST);
+        limiter.tryAcquire("b", SLOW);
+
+        Thread.sleep(5);
+        assertEquals(0, limiter.tryAcquire("c", SLOW));
+        assertEquals(0, limiter.tryAcquire("c", SLOW));
+        assertTrue(limiter.tryAcquire("c", SLOW) > 0, "c has its own bucket, not the overflow one");
+        assertEquals(2, limiter.size());
+    }
+}
@@ -5,12 +5,15 @@ import com.jendo.app.common.dto.PaginationResponse;
 import com.jendo.app.domain.healthparameter.dto.HealthParameterRequestDto;
 import com.jendo.app.domain.healthparameter.dto.HealthParameterResponseDto;
 import com.jendo.app.domain.healthparameter.service.HealthParameterService;
+import com.jendo.app.support.WebMvcSliceConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -26,6 +29,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(HealthParameterController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(WebMvcSliceConfig.class)
 class HealthParameterControllerTest {
 
     @Autowired
@@ -111,7 +116,7 @@ class HealthParameterControllerTest {
                 .content(params)
                 .pageNumber(0)
                 .pageSize(10)
-                .totalElements(1)
+                .totalElements(1L)
                 .totalPages(1)
                 .first(true)
                 .last(true)
@@ -0,0 +1,175 @@
+package com.jendo.app.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.domain.appointment.entity.Appointment;
+import com.jendo.app.domain.appointment.repository.AppointmentRepository;
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.jendotest.repository.JendoTestRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import com.jendo.app.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.jendo.app.support.QueryBudgetAssertions.queryStats;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks cursor-mode list endpoints page by page and checks every row is returned exactly once, in order,
+ * with a single statement per page.
+ */
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KeysetPaginationTest {
+
+    private static final int ROWS = 23;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JendoTestRepository jendoTestRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User owner;
+    private String bearer;
+    private final List<Long> testIds = new ArrayList<>();
+    private final List<Appointment> appointments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .firstName("Keyset").lastName("Owner").email("keyset@example.com").password("hash").build());
+        bearer = "Bearer " + jwtUtil.generateToken(owner.getEmail(), owner.getId());
+
+        for (int i = 0; i < ROWS; i++) {
+            testIds.add(jendoTestRepository.save(JendoTest.builder()
+                    .user(owner).score(BigDecimal.ONE).testDate(LocalDate.now()).build()).getId());
+            // Several appointments share a date, so the id tie-breaker decides their order
+            appointments.add(appointmentRepository.save(Appointment.builder()
+                    .user(owner).doctorName("Dr. Keyset").email(owner.getEmail())
+                    .date(LocalDate.now().plusDays(i % 4)).time(LocalTime.NOON).status("SCHEDULED").build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        jendoTestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Cursor pages cover every test once, newest first")
+    void jendoTests_WalkAllPages() throws Exception {
+        List<Long> expected = testIds.stream().sorted(Comparator.reverseOrder()).toList();
+
+        assertEquals(expected, walk(() -> get("/api/jendo-tests")));
+        assertEquals(expected, walk(() -> get("/api/jendo-tests/user/{id}", owner.getId())));
+    }
+
+    @Test
+    @DisplayName("Cursor pages break ties on the sort key by id")
+    void appointments_WalkAllPages() throws Exception {
+        List<Long> expected = appointments.stream()
+                .sorted(Comparator.comparing(Appointment::getDate).thenComparing(Appointment::getId).reversed())
+                .map(Appointment::getId)
+                .toList();
+
+        assertEquals(expected, walk(() -> get("/api/appointments").header(HttpHeaders.AUTHORIZATION, bearer)));
+        assertEquals(expected, walk(() -> get("/api/appointments/user/{id}", owner.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearer)));
+    }
+
+    @Test
+    @DisplayName("Rows inserted after the first page do not shift later pages")
+    void jendoTests_StableUnderInserts() throws Exception {
+        JsonNode first = page(get("/api/jendo-tests").param("cursor", ""));
+        jendoTestRepository.save(JendoTest.builder()
+                .user(owner).score(BigDecimal.ONE).testDate(LocalDate.now()).build());
+
+        JsonNode second = page(get("/api/jendo-tests").param("cursor", first.get("nextCursor").asText()));
+
+        long lastOfFirst = first.get("content").get(PAGE_SIZE - 1).get("id").asLong();
+        assertEquals(lastOfFirst - 1, second.get("content").get(0).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Malformed cursor is rejected")
+    void invalidCursor() throws Exception {
+        mockMvc.perform(get("/api/jendo-tests").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Offset mode still reports totals")
+    void offsetModeUnchanged() throws Exception {
+        mockMvc.perform(get("/api/jendo-tests").param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(ROWS))
+                .andExpect(jsonPath("$.data.pageNumber").value(0))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    private List<Long> walk(Supplier<MockHttpServletRequestBuilder> request) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        Set<String> cursors = new LinkedHashSet<>();
+        String cursor = "";
+        while (cursor != null) {
+            assertTrue(cursors.add(cursor), "cursor repeated: " + cursor);
+            JsonNode data = page(request.get().param("cursor", cursor));
+            data.get("content").forEach(row -> ids.add(row.get("id").asLong()));
+            assertFalse(data.has("totalElements"));
+            assertEquals(data.get("hasNext").asBoolean(), data.hasNonNull("nextCursor"));
+            cursor = data.hasNonNull("nextCursor") ? data.get("nextCursor").asText() : null;
+        }
+        assertEquals((ROWS + PAGE_SIZE - 1) / PAGE_SIZE, cursors.size());
+        return ids;
+    }
+
+    private JsonNode page(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.param("size", String.valueOf(PAGE_SIZE)))
+                .andExpect(status().isOk())
+                .andReturn();
+        // One statement per page: the look-ahead row replaces the COUNT query
+        assertEquals(1, queryStats(result).getStatementCount(), queryStats(result).toString());
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("data");
+    }
+}
@@ -0,0 +1,220 @@
+package com.jendo.app.controller;
+
+import com.jendo.app.common.jdbc.QueryStats;
+import com.jendo.app.domain.appointment.entity.Appointment;
+import com.jendo.app.domain.appointment.repository.AppointmentRepository;
+import com.jendo.app.domain.consultationfee.entity.ConsultationFee;
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.jendotest.repository.JendoTestRepository;
+import com.jendo.app.domain.reportattachment.entity.ReportAttachment;
+import com.jendo.app.domain.reportitem.entity.ReportItem;
+import com.jendo.app.domain.reportitem.repository.ReportItemRepository;
+import com.jendo.app.domain.reportitemvalue.entity.ReportItemValue;
+import com.jendo.app.domain.reportitemvalue.repository.ReportItemValueRepository;
+import com.jendo.app.domain.user.entity.Role;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import com.jendo.app.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.jendo.app.support.QueryBudgetAssertions.assertWithinQueryBudget;
+import static com.jendo.app.support.QueryBudgetAssertions.queryStats;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the list endpoints against a seeded database and fails if any of them exceeds its
+ * {@link com.jendo.app.common.jdbc.QueryBudget} or loads associations one row at a time.
+ */
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListEndpointQueryBudgetTest {
+
+    private static final int ROWS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JendoTestRepository jendoTestRepository;
+
+    @Autowired
+    private ReportItemRepository reportItemRepository;
+
+    @Autowired
+    private ReportItemValueRepository reportItemValueRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User owner;
+    private Doctor doctor;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            User user = User.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .password("hash")
+                    .build();
+            user.getRoles().add(Role.builder().roleName("USER").user(user).build());
+            users.add(userRepository.save(user));
+        }
+        owner = users.get(0);
+        bearer = "Bearer " + jwtUtil.generateToken(owner.getEmail(), owner.getId());
+
+        for (int i = 0; i < ROWS; i++) {
+            Doctor saved = Doctor.builder().name("Dr. " + i).specialty("Cardiology").isAvailable(true).build();
+            saved.getConsultationFees().add(ConsultationFee.builder()
+                    .feeType("STANDARD").amount(BigDecimal.TEN).currency("LKR").doctor(saved).build());
+            saved = doctorRepository.save(saved);
+            if (i == 0) {
+                doctor = saved;
+            }
+        }
+
+        ReportItem item = reportItemRepository.save(ReportItem.builder().name("Cholesterol").build());
+        for (int i = 0; i < ROWS; i++) {
+            User user = users.get(i);
+            appointmentRepository.save(Appointment.builder()
+                    .user(user).doctor(i % 2 == 0 ? doctor : null).doctorName("Dr. 0").email(user.getEmail())
+                    .date(LocalDate.now().plusDays(i)).time(LocalTime.NOON).status("SCHEDULED").build());
+            jendoTestRepository.save(JendoTest.builder()
+                    .user(i % 2 == 0 ? owner : user).score(BigDecimal.ONE).testDate(LocalDate.now()).build());
+
+            ReportItemValue value = ReportItemValue.builder()
+                    .reportItem(item).user(owner).valueNumber(BigDecimal.valueOf(i)).build();
+            value.getReportAttachments().add(ReportAttachment.builder()
+                    .fileUrl("uploads/" + i + ".pdf").fileType("application/pdf").reportItemValue(value).build());
+            reportItemValueRepository.save(value);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportItemValueRepository.deleteAll();
+        reportItemRepository.deleteAll();
+        appointmentRepository.deleteAll();
+        jendoTestRepository.deleteAll();
+        doctorRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Doctor lists")
+    void doctors() throws Exception {
+        expectWithinBudget(get("/api/doctors").param("size", "50"), ROWS);
+        expectWithinBudget(get("/api/doctors/specialty/{specialty}", "cardio").param("size", "50"), ROWS);
+        expectWithinBudget(get("/api/doctors/available"), ROWS);
+    }
+
+    @Test
+    @DisplayName("User lists")
+    void users() throws Exception {
+        expectWithinBudget(authorized(get("/api/users").param("size", "50")), ROWS);
+        expectWithinBudget(authorized(get("/api/users/search").param("query", "first").param("size", "50")), ROWS);
+    }
+
+    @Test
+    @DisplayName("Appointment lists")
+    void appointments() throws Exception {
+        expectWithinBudget(authorized(get("/api/appointments").param("size", "50")), ROWS);
+        expectWithinBudget(authorized(get("/api/appointments/doctor/{id}", doctor.getId()).param("size", "50")), ROWS / 2);
+        expectWithinBudget(authorized(get("/api/appointments/user/{id}", owner.getId())), 1);
+    }
+
+    @Test
+    @DisplayName("Jendo test lists")
+    void jendoTests() throws Exception {
+        expectWithinBudget(get("/api/jendo-tests").param("size", "50"), ROWS);
+        expectWithinBudget(get("/api/jendo-tests/user/{id}", owner.getId()).param("size", "50"), ROWS / 2);
+        expectWithinBudget(get("/api/jendo-tests/user/{id}/date-range", owner.getId())
+                .param("startDate", LocalDate.now().minusDays(1).toString())
+                .param("endDate", LocalDate.now().plusDays(1).toString()), ROWS / 2);
+    }
+
+    @Test
+    @DisplayName("Report value lists")
+    void reportValues() throws Exception {
+        expectWithinBudget(authorized(get("/api/report-values")), ROWS);
+        expectWithinBudget(authorized(get("/api/report-values/user/{id}", owner.getId())), ROWS);
+    }
+
+    @Test
+    @DisplayName("An open notification stream does not leak its recording into the next request on the thread")
+    void streamRecordingIsClosed() throws Exception {
+        int single = queryStats(mockMvc.perform(get("/api/doctors/{id}", doctor.getId())).andReturn()).getStatementCount();
+
+        mockMvc.perform(authorized(get("/api/notifications/stream").accept(MediaType.TEXT_EVENT_STREAM)))
+                .andExpect(request().asyncStarted());
+        assertNull(QueryStats.current());
+
+        // MockMvc serves every request on the test thread, as a reused worker thread would
+        MvcResult next = mockMvc.perform(get("/api/doctors/{id}", doctor.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(single, queryStats(next).getStatementCount());
+        assertNull(QueryStats.current());
+    }
+
+    private RequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, bearer);
+    }
+
+    private void expectWithinBudget(RequestBuilder request, int expectedRows) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(contentSize(expectedRows))
+                .andReturn();
+        assertWithinQueryBudget(result);
+    }
+
+    private static ResultMatcher contentSize(int expectedRows) {
+        return result -> {
+            String body = result.getResponse().getContentAsString();
+            String path = body.contains("\"content\"") ? "$.data.content" : "$.data";
+            jsonPath(path, hasSize(expectedRows)).match(result);
+        };
+    }
+}
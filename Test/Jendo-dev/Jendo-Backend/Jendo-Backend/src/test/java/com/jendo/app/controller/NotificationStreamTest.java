@@ -0,0 +1,260 @@
+package com.jendo.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.domain.notification.dto.NotificationRequestDto;
+import com.jendo.app.domain.notification.dto.NotificationResponseDto;
+import com.jendo.app.domain.notification.repository.NotificationCounterRepository;
+import com.jendo.app.domain.notification.repository.NotificationRepository;
+import com.jendo.app.domain.notification.service.NotificationPushHub;
+import com.jendo.app.domain.notification.service.NotificationService;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import com.jendo.app.security.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Opens real notification streams against the running server and checks what arrives after commits.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "email.outbox.enabled=false",
+        "notifications.push.max-connections-per-user=1",
+        // One delivery thread, so a single stalled write would hold up every stream
+        "notifications.push.delivery-threads=1",
+        "notifications.push.write-timeout-ms=500",
+        "notifications.push.write-check-interval-ms=100"
+})
+@ActiveProfiles("test")
+class NotificationStreamTest {
+
+    private static final long WAIT_SECONDS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationPushHub pushHub;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private User owner;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .firstName("Stream").lastName("Owner").email("stream@example.com").password("hash").build());
+        bearer = "Bearer " + jwtUtil.generateToken(owner.getEmail(), owner.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterRepository.deleteAllInBatch();
+        notificationRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A stream gets the unread count on connect and every committed change after it")
+    void streamFollowsCommittedChanges() throws Exception {
+        try (Stream stream = open()) {
+            assertEquals(new Event("unread-count", "0"), stream.next());
+
+            // Rolled back, so nothing may be pushed for it
+            transactionTemplate.executeWithoutResult(status -> {
+                create("Rolled back");
+                status.setRollbackOnly();
+            });
+            create("Committed");
+
+            Event notification = stream.next();
+            assertEquals("notification", notification.name());
+            assertEquals("Committed", objectMapper.readTree(notification.data()).get("message").asText());
+            assertEquals(new Event("unread-count", "1"), stream.next());
+
+            notificationService.markAllAsRead(owner.getId());
+            assertEquals(new Event("unread-count", "0"), stream.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Opening more streams than allowed closes the oldest one")
+    void oldestStreamIsClosedPastTheLimit() throws Exception {
+        try (Stream first = open()) {
+            assertEquals("unread-count", first.next().name());
+            try (Stream second = open()) {
+                assertEquals("unread-count", second.next().name());
+                assertEquals(Stream.CLOSED, first.next());
+                assertEquals(1, pushHub.connectionCount());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A client that stops reading is closed after the write timeout and does not hold up other streams")
+    void stalledClientDoesNotBlockOthers() throws Exception {
+        User slow = userRepository.save(User.builder()
+                .firstName("Slow").lastName("Reader").email("slow.stream@example.com").password("hash").build());
+        Counter stalled = meterRegistry.counter("notifications.push.stalled");
+        double stalledBefore = stalled.count();
+
+        try (Stream stream = open(); Socket slowClient = openUnread(slow)) {
+            assertEquals("unread-count", stream.next().name());
+            waitFor(() -> pushHub.connectedUserIds().contains(slow.getId()));
+
+            // Events far larger than the socket buffers, until a write to the slow client blocks for good
+            NotificationResponseDto large = NotificationResponseDto.builder()
+                    .id(1L).userId(slow.getId()).message("x".repeat(1 << 20)).type("TEST").build();
+            for (int i = 0; i < 200 && stalled.count() == stalledBefore; i++) {
+                pushHub.publishAfterCommit(slow.getId(), large);
+                Thread.sleep(25);
+            }
+            assertEquals(stalledBefore + 1, stalled.count());
+
+            create("Still delivered");
+            assertEquals("notification", stream.next().name());
+            assertEquals(new Event("unread-count", "1"), stream.next());
+            assertFalse(pushHub.connectedUserIds().contains(slow.getId()));
+        }
+    }
+
+    /** Subscribes over a raw socket with a tiny receive buffer and never reads the response. */
+    private Socket openUnread(User user) throws Exception {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", port));
+        String request = "GET /api/notifications/stream HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Accept: text/event-stream\r\n"
+                + "Authorization: Bearer " + jwtUtil.generateToken(user.getEmail(), user.getId()) + "\r\n\r\n";
+        socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        return socket;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_SECONDS * 1000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within " + WAIT_SECONDS + "s");
+            Thread.sleep(20);
+        }
+    }
+
+    private void create(String message) {
+        notificationService.createNotification(NotificationRequestDto.builder()
+                .userId(owner.getId()).message(message).type("TEST").build());
+    }
+
+    private Stream open() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/notifications/stream"))
+                .header("Authorization", bearer)
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofSeconds(WAIT_SECONDS))
+                .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        return new Stream(response.body());
+    }
+
+    private record Event(String name, String data) {
+    }
+
+    /** Reads events on a background thread so the test can wait on them with a timeout. */
+    private static final class Stream implements AutoCloseable {
+
+        static final Event CLOSED = new Event("closed", null);
+
+        private final InputStream body;
+        private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+
+        Stream(InputStream body) {
+            this.body = body;
+            Thread reader = new Thread(this::read, "sse-test-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        Event next() throws InterruptedException {
+            Event event = events.poll(WAIT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(event, "No event within " + WAIT_SECONDS + "s");
+            return event;
+        }
+
+        private void read() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                String name = null;
+                StringBuilder data = new StringBuilder();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("event:")) {
+                        name = line.substring(6).trim();
+                    } else if (line.startsWith("data:")) {
+                        data.append(line.substring(5));
+                    } else if (line.isEmpty() && name != null) {
+                        events.add(new Event(name, data.toString()));
+                        name = null;
+                        data.setLength(0);
+                    }
+                }
+            } catch (Exception ignored) {
+                // Closed by the test
+            }
+            events.add(CLOSED);
+        }
+
+        @Override
+        public void close() throws Exception {
+            body.close();
+        }
+    }
+}
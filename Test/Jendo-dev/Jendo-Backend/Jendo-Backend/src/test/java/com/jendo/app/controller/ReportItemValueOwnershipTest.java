@@ -0,0 +1,169 @@
+package com.jendo.app.controller;
+
+import com.jendo.app.domain.reportattachment.entity.ReportAttachment;
+import com.jendo.app.domain.reportattachment.repository.ReportAttachmentRepository;
+import com.jendo.app.domain.reportitem.entity.ReportItem;
+import com.jendo.app.domain.reportitem.repository.ReportItemRepository;
+import com.jendo.app.domain.reportitemvalue.entity.ReportItemValue;
+import com.jendo.app.domain.reportitemvalue.repository.ReportItemValueRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import com.jendo.app.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that report values and their attachments are reachable only by the user who owns them, with
+ * the owner resolved from the token rather than from anything in the request.
+ */
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReportItemValueOwnershipTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReportItemRepository reportItemRepository;
+
+    @Autowired
+    private ReportItemValueRepository valueRepository;
+
+    @Autowired
+    private ReportAttachmentRepository attachmentRepository;
+
+    @TempDir
+    Path uploads;
+
+    private User owner;
+    private String ownerBearer;
+    private String otherBearer;
+    private ReportItem item;
+    private Long valueId;
+    private Long attachmentId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        owner = userRepository.save(User.builder()
+                .firstName("Value").lastName("Owner").email("owner.values@example.com").password("hash").build());
+        User other = userRepository.save(User.builder()
+                .firstName("Other").lastName("Patient").email("other.values@example.com").password("hash").build());
+        ownerBearer = "Bearer " + jwtUtil.generateToken(owner.getEmail(), owner.getId(), List.of("USER"));
+        otherBearer = "Bearer " + jwtUtil.generateToken(other.getEmail(), other.getId(), List.of("USER"));
+
+        Path report = Files.writeString(uploads.resolve("lipids.pdf"), "lipid panel");
+        item = reportItemRepository.save(ReportItem.builder().name("Cholesterol").build());
+        ReportItemValue value = ReportItemValue.builder()
+                .reportItem(item).user(owner).valueNumber(BigDecimal.valueOf(180)).build();
+        value.getReportAttachments().add(ReportAttachment.builder()
+                .fileUrl(report.toString()).fileType("application/pdf").reportItemValue(value).build());
+        value = valueRepository.save(value);
+        valueId = value.getId();
+        attachmentId = value.getReportAttachments().get(0).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        valueRepository.deleteAll();
+        reportItemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Another user gets 403 or 404 on every route to someone else's values, and nothing changes")
+    void otherUsersAreRefused() throws Exception {
+        String update = "{\"reportItemId\":" + item.getId() + ",\"valueNumber\":1}";
+
+        mockMvc.perform(get("/api/report-values/{id}", valueId).header(HttpHeaders.AUTHORIZATION, otherBearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(json(put("/api/report-values/{id}", valueId), update).header(HttpHeaders.AUTHORIZATION, otherBearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(multipart("/api/report-values/{id}/attachments", valueId)
+                        .file(new MockMultipartFile("file", "x.pdf", "application/pdf", new byte[]{1}))
+                        .header(HttpHeaders.AUTHORIZATION, otherBearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/report-values/attachments/{id}/download", attachmentId).header(HttpHeaders.AUTHORIZATION, otherBearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/report-values/attachments/{id}", attachmentId).header(HttpHeaders.AUTHORIZATION, otherBearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/report-values/{id}", valueId).header(HttpHeaders.AUTHORIZATION, otherBearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/report-values/user/{userId}", owner.getId()).header(HttpHeaders.AUTHORIZATION, otherBearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/report-values").header(HttpHeaders.AUTHORIZATION, otherBearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty());
+
+        // Without a token there is no user to own anything
+        mockMvc.perform(get("/api/report-values/{id}", valueId)).andExpect(status().isUnauthorized());
+
+        ReportItemValue untouched = valueRepository.findById(valueId).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(180).compareTo(untouched.getValueNumber()));
+        assertTrue(attachmentRepository.existsById(attachmentId));
+    }
+
+    @Test
+    @DisplayName("The owner can read, update, download and delete their own values")
+    void ownerHasAccess() throws Exception {
+        String update = "{\"reportItemId\":" + item.getId() + ",\"valueNumber\":175}";
+
+        mockMvc.perform(get("/api/report-values/{id}", valueId).header(HttpHeaders.AUTHORIZATION, ownerBearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(valueId));
+        mockMvc.perform(json(put("/api/report-values/{id}", valueId), update).header(HttpHeaders.AUTHORIZATION, ownerBearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.valueNumber").value(175));
+        mockMvc.perform(get("/api/report-values/user/{userId}", owner.getId()).header(HttpHeaders.AUTHORIZATION, ownerBearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(valueId));
+        mockMvc.perform(get("/api/report-values/attachments/{id}/download", attachmentId).header(HttpHeaders.AUTHORIZATION, ownerBearer))
+                .andExpect(status().isOk())
+                .andExpect(content().string("lipid panel"));
+
+        mockMvc.perform(delete("/api/report-values/attachments/{id}", attachmentId).header(HttpHeaders.AUTHORIZATION, ownerBearer))
+                .andExpect(status().isOk());
+        assertFalse(attachmentRepository.existsById(attachmentId));
+        mockMvc.perform(delete("/api/report-values/{id}", valueId).header(HttpHeaders.AUTHORIZATION, ownerBearer))
+                .andExpect(status().isOk());
+        assertFalse(valueRepository.existsById(valueId));
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+}
@@ -0,0 +1,182 @@
+package com.jendo.app.domain.appointment.service;
+
+import com.jendo.app.common.exceptions.ConflictException;
+import com.jendo.app.domain.appointment.dto.AppointmentResponseDto;
+import com.jendo.app.domain.appointment.dto.SlotBookingRequestDto;
+import com.jendo.app.domain.appointment.entity.Appointment;
+import com.jendo.app.domain.appointment.repository.AppointmentRepository;
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
+import com.jendo.app.domain.doctor.repository.DoctorAvailableSlotRepository;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lets many patients race for the slots of two popular doctors and checks that every slot ends up with
+ * exactly one appointment. Throughput is logged for reference; only correctness is asserted.
+ */
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@ActiveProfiles("test")
+class SlotBookingContentionTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotBookingContentionTest.class);
+    private static final int DOCTORS = 2;
+    private static final int SLOTS_PER_DOCTOR = 12;
+    private static final int PATIENTS = 20;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorAvailableSlotRepository slotRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> patients = new ArrayList<>();
+    private final List<Long> slots = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PATIENTS; i++) {
+            patients.add(userRepository.save(User.builder()
+                    .firstName("Patient").lastName("No" + i).email("patient" + i + "@example.com")
+                    .password("hash").build()).getId());
+        }
+        for (int d = 0; d < DOCTORS; d++) {
+            Doctor doctor = doctorRepository.save(Doctor.builder()
+                    .name("Dr. Popular " + d).specialty("Cardiology").qualifications("MD").build());
+            for (int s = 0; s < SLOTS_PER_DOCTOR; s++) {
+                LocalTime start = LocalTime.of(9, 0).plusMinutes(30L * s);
+                slots.add(slotRepository.save(DoctorAvailableSlot.builder()
+                        .doctor(doctor).slotDate(LocalDate.now().plusDays(1))
+                        .startTime(start).endTime(start.plusMinutes(30)).build()).getId());
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAllInBatch();
+        slotRepository.deleteAllInBatch();
+        doctorRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Every patient tries every slot at once; each slot gets one appointment and the rest get conflicts")
+    void racingPatientsBookEachSlotOnce() throws Exception {
+        Queue<Map.Entry<Long, Long>> attempts = new ConcurrentLinkedQueue<>();
+        Random random = new Random(42);
+        for (Long patient : patients) {
+            List<Long> order = new ArrayList<>(slots);
+            Collections.shuffle(order, random);
+            order.forEach(slot -> attempts.add(Map.entry(patient, slot)));
+        }
+        int total = attempts.size();
+
+        Queue<AppointmentResponseDto> booked = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                Map.Entry<Long, Long> attempt;
+                while ((attempt = attempts.poll()) != null) {
+                    try {
+                        booked.add(appointmentService.bookSlot(booking(attempt.getValue()), attempt.getKey()));
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "Booking threads did not finish");
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+        logger.info("{} booking attempts on {} slots from {} threads: {} booked, {} conflicts in {} ms ({} attempts/s)",
+                total, slots.size(), THREADS, booked.size(), conflicts.get(), millis, total * 1000L / millis);
+
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures);
+        assertEquals(slots.size(), booked.size());
+        assertEquals(total - slots.size(), conflicts.get());
+
+        Map<Long, Long> appointmentsPerSlot = appointmentRepository.findAll().stream()
+                .collect(Collectors.groupingBy(a -> a.getSlot().getId(), Collectors.counting()));
+        assertEquals(slots.stream().collect(Collectors.toMap(Function.identity(), slot -> 1L)), appointmentsPerSlot);
+        assertTrue(slotRepository.findAllById(slots).stream().allMatch(DoctorAvailableSlot::getIsBooked));
+    }
+
+    @Test
+    @DisplayName("Cancelling frees the slot for the next patient, and the old appointment cannot take it back")
+    void cancelReleasesSlot() {
+        Long slot = slots.get(0);
+        AppointmentResponseDto first = appointmentService.bookSlot(booking(slot), patients.get(0));
+        assertEquals(slot, first.getSlotId());
+        assertEquals(LocalTime.of(9, 0), first.getTime());
+        assertEquals("Dr. Popular 0", first.getDoctorName());
+        assertThrows(ConflictException.class, () -> appointmentService.bookSlot(booking(slot), patients.get(1)));
+
+        appointmentService.updateAppointmentStatus(first.getId(), "CANCELLED");
+        assertFalse(slotRepository.findById(slot).orElseThrow().getIsBooked());
+
+        AppointmentResponseDto second = appointmentService.bookSlot(booking(slot), patients.get(1));
+        assertThrows(ConflictException.class, () -> appointmentService.updateAppointmentStatus(first.getId(), "SCHEDULED"));
+
+        appointmentService.deleteAppointment(second.getId());
+        assertFalse(slotRepository.findById(slot).orElseThrow().getIsBooked());
+        assertEquals(List.of(first.getId()), appointmentRepository.findAll().stream().map(Appointment::getId).toList());
+    }
+
+    private static SlotBookingRequestDto booking(Long slotId) {
+        return SlotBookingRequestDto.builder().slotId(slotId).build();
+    }
+}
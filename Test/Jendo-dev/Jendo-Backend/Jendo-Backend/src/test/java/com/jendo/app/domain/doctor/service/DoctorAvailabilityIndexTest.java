@@ -0,0 +1,162 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.common.exceptions.ConflictException;
+import com.jendo.app.common.jdbc.QueryStats;
+import com.jendo.app.domain.appointment.dto.AppointmentResponseDto;
+import com.jendo.app.domain.appointment.dto.SlotBookingRequestDto;
+import com.jendo.app.domain.appointment.repository.AppointmentRepository;
+import com.jendo.app.domain.appointment.service.AppointmentService;
+import com.jendo.app.domain.doctor.dto.AvailableSlotDto;
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
+import com.jendo.app.domain.doctor.repository.DoctorAvailableSlotRepository;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "email.outbox.enabled=false",
+        "doctors.availability-index.horizon-days=14"
+})
+@ActiveProfiles("test")
+class DoctorAvailabilityIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DoctorAvailableSlotRepository slotRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Doctor doctor;
+    private Long patientId;
+
+    @BeforeEach
+    void setUp() {
+        doctor = doctorRepository.save(Doctor.builder().name("Dr. Index").specialty("Cardiology").build());
+        patientId = userRepository.save(User.builder()
+                .firstName("Index").lastName("Patient").email("index@example.com").password("hash").build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityIndex.invalidateAfterCompletion(doctor.getId());
+        appointmentRepository.deleteAllInBatch();
+        slotRepository.deleteAllInBatch();
+        doctorRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Calendar reads match the database and need no SQL once the index is built")
+    void readsServedFromIndex() {
+        slot(1, 10, false);
+        slot(1, 9, false);
+        slot(1, 11, true);
+        slot(3, 9, true);
+        slot(5, 14, false);
+        slot(-1, 9, false);
+
+        assertEquals(List.of(TODAY.plusDays(1), TODAY.plusDays(5)), doctorService.getAvailableDates(doctor.getId()));
+        assertTrue(availabilityIndex.estimatedBytes(doctor.getId()) > 0);
+
+        QueryStats.open();
+        List<LocalDate> dates = doctorService.getAvailableDates(doctor.getId(), 3);
+        List<AvailableSlotDto> slots = doctorService.getAvailableSlots(doctor.getId(), TODAY.plusDays(1));
+        List<AvailableSlotDto> booked = doctorService.getAvailableSlots(doctor.getId(), TODAY.plusDays(3));
+        assertEquals(0, QueryStats.close().getStatementCount());
+
+        assertEquals(List.of(TODAY.plusDays(1)), dates);
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                slots.stream().map(AvailableSlotDto::getStartTime).toList());
+        assertEquals(slotRepository.findByDoctorIdAndSlotDateAndIsBookedFalse(doctor.getId(), TODAY.plusDays(1)).stream()
+                        .map(DoctorAvailableSlot::getId).sorted().toList(),
+                slots.stream().map(AvailableSlotDto::getId).sorted().toList());
+        assertTrue(booked.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Created, booked and released slots update the built index after commit")
+    void writesUpdateIndex() {
+        Long first = slot(2, 9, false);
+        assertEquals(List.of(TODAY.plusDays(2)), doctorService.getAvailableDates(doctor.getId()));
+
+        AvailableSlotDto created = doctorService.createAvailableSlot(doctor.getId(), AvailableSlotDto.builder()
+                .slotDate(TODAY.plusDays(4)).startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(8, 30)).build());
+        transactionTemplate.executeWithoutResult(status -> {
+            doctorService.createAvailableSlot(doctor.getId(), AvailableSlotDto.builder()
+                    .slotDate(TODAY.plusDays(6)).startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(8, 30)).build());
+            status.setRollbackOnly();
+        });
+        assertEquals(List.of(TODAY.plusDays(2), TODAY.plusDays(4)), doctorService.getAvailableDates(doctor.getId()));
+
+        AppointmentResponseDto appointment = appointmentService.bookSlot(SlotBookingRequestDto.builder()
+                .slotId(first).build(), patientId);
+        assertThrows(ConflictException.class, () -> appointmentService.bookSlot(SlotBookingRequestDto.builder()
+                .slotId(first).build(), patientId));
+        doctorService.markSlotAsBooked(created.getId());
+
+        QueryStats.open();
+        assertTrue(doctorService.getAvailableDates(doctor.getId()).isEmpty());
+        assertTrue(doctorService.getAvailableSlots(doctor.getId(), TODAY.plusDays(2)).isEmpty());
+        assertEquals(0, QueryStats.close().getStatementCount());
+
+        appointmentService.updateAppointmentStatus(appointment.getId(), "CANCELLED");
+        assertEquals(List.of(TODAY.plusDays(2)), doctorService.getAvailableDates(doctor.getId()));
+        assertEquals(List.of(first), doctorService.getAvailableSlots(doctor.getId(), TODAY.plusDays(2)).stream()
+                .map(AvailableSlotDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Dates past the horizon come from the database and only when asked for")
+    void beyondHorizon() {
+        slot(3, 9, false);
+        Long far = slot(30, 9, false);
+
+        assertEquals(List.of(TODAY.plusDays(3), TODAY.plusDays(30)), doctorService.getAvailableDates(doctor.getId()));
+        assertEquals(List.of(TODAY.plusDays(3)), doctorService.getAvailableDates(doctor.getId(), 14));
+        assertEquals(List.of(TODAY.plusDays(3)), doctorService.getAvailableDates(doctor.getId(), 20));
+        assertEquals(List.of(far), doctorService.getAvailableSlots(doctor.getId(), TODAY.plusDays(30)).stream()
+                .map(AvailableSlotDto::getId).toList());
+    }
+
+    private Long slot(int daysFromToday, int hour, boolean booked) {
+        return slotRepository.save(DoctorAvailableSlot.builder()
+                .doctor(doctor).slotDate(TODAY.plusDays(daysFromToday))
+                .startTime(LocalTime.of(hour, 0)).endTime(LocalTime.of(hour, 30))
+                .isBooked(booked).build()).getId();
+    }
+}
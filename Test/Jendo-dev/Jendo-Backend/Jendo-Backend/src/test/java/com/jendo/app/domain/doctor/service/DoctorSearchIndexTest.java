@@ -0,0 +1,142 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.common.exceptions.BadRequestException;
+import com.jendo.app.common.jdbc.QueryStats;
+import com.jendo.app.domain.doctor.dto.DoctorRequestDto;
+import com.jendo.app.domain.doctor.dto.DoctorSuggestionDto;
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@ActiveProfiles("test")
+class DoctorSearchIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorSearchIndexTest.class);
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorSearchIndex searchIndex;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        doctor("Dr. Jane Smith", "Cardiology", "City General Hospital", true);
+        doctor("Dr. John Smithers", "Dermatology", "Lakeside Clinic", true);
+        doctor("Dr. Amal Péréra", "Cardiology", "Lanka Hospital", true);
+        doctor("Dr. Janet Doe", "Neurology", "City General Hospital", false);
+        searchIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        doctorRepository.deleteAllInBatch();
+        searchIndex.reload();
+    }
+
+    @Test
+    @DisplayName("Typed prefixes, infixes and accents rank the best match first without touching the database")
+    void ranksMatches() {
+        QueryStats.open();
+        List<String> jan = names("jan");
+        List<String> cardio = names("Cardio");
+        List<String> smithCity = names("smith city");
+        List<String> perera = names("perera");
+        List<String> infix = names("ardiology");
+        assertEquals(0, QueryStats.close().getStatementCount());
+
+        assertEquals(List.of("Dr. Jane Smith", "Dr. Janet Doe"), jan);
+        assertEquals(List.of("Dr. Jane Smith", "Dr. Amal Péréra"), cardio);
+        assertEquals("Dr. Jane Smith", smithCity.get(0));
+        assertEquals(List.of("Dr. Amal Péréra"), perera);
+        assertEquals(Set.of("Dr. Jane Smith", "Dr. Amal Péréra"), Set.copyOf(infix));
+        assertTrue(names("zzz").isEmpty());
+        assertTrue(names("  ").isEmpty());
+        assertThrows(BadRequestException.class, () -> doctorService.searchDoctors("jan", 0));
+    }
+
+    @Test
+    @DisplayName("Created, updated and deleted doctors show up once committed")
+    void followsWrites() {
+        Long id = doctorService.createDoctor(DoctorRequestDto.builder()
+                .name("Dr. Kasun Silva").specialty("Pediatrics").hospital("Asiri").isAvailable(true).build()).getId();
+        assertEquals(List.of("Dr. Kasun Silva"), names("kas"));
+
+        doctorService.updateDoctor(id, DoctorRequestDto.builder().name("Dr. Nimal Silva").build());
+        assertTrue(names("kas").isEmpty());
+        assertEquals(List.of("Dr. Nimal Silva"), names("nim sil"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            doctorService.updateDoctor(id, DoctorRequestDto.builder().name("Dr. Rolled Back").build());
+            status.setRollbackOnly();
+        });
+        assertTrue(names("rolled").isEmpty());
+
+        doctorService.deleteDoctor(id);
+        assertTrue(names("nimal").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Searches over a few thousand doctors are answered from memory in about a millisecond or less")
+    void searchIsFast() {
+        String[] specialties = {"Cardiology", "Dermatology", "Neurology", "Pediatrics", "Oncology", "Orthopedics"};
+        String[] surnames = {"Perera", "Fernando", "Silva", "Jayasinghe", "Bandara", "Wickramasinghe", "Smith", "Khan"};
+        List<Doctor> doctors = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            doctors.add(Doctor.builder()
+                    .name("Dr. Person" + i + " " + surnames[i % surnames.length])
+                    .specialty(specialties[i % specialties.length])
+                    .hospital("Hospital " + (i % 40))
+                    .isAvailable(i % 3 != 0)
+                    .build());
+        }
+        doctorRepository.saveAll(doctors);
+        searchIndex.reload();
+
+        String[] queries = {"p", "pe", "per", "pere", "card", "silva", "jay", "hospital 1", "wick orth", "ono"};
+        for (int i = 0; i < 3000; i++) {
+            doctorService.searchDoctors(queries[i % queries.length], 8);
+        }
+        int runs = 2000;
+        long began = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            assertFalse(doctorService.searchDoctors(queries[i % queries.length], 8).isEmpty());
+        }
+        double micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - began) / (double) runs;
+        logger.info("Average typeahead search over {} doctors: {} us", searchIndex.size(), micros);
+        // Typically well under a millisecond; the bound leaves room for a busy build machine
+        assertTrue(micros < 5000, micros + " us");
+        assertEquals("Dr. Person6 Smith", doctorService.searchDoctors("person6 smith", 8).get(0).getName());
+    }
+
+    private List<String> names(String query) {
+        return doctorService.searchDoctors(query, 8).stream().map(DoctorSuggestionDto::getName).toList();
+    }
+
+    private void doctor(String name, String specialty, String hospital, boolean available) {
+        doctorRepository.save(Doctor.builder().name(name).specialty(specialty).hospital(hospital).isAvailable(available).build());
+    }
+}
@@ -0,0 +1,196 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.common.exceptions.BadRequestException;
+import com.jendo.app.common.jdbc.QueryStats;
+import com.jendo.app.domain.appointment.dto.SlotHoldRequestDto;
+import com.jendo.app.domain.appointment.service.AppointmentService;
+import com.jendo.app.domain.doctor.dto.EarliestSlotDto;
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
+import com.jendo.app.domain.doctor.repository.DoctorAvailableSlotRepository;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "email.outbox.enabled=false",
+        "doctors.availability-index.horizon-days=14"
+})
+@ActiveProfiles("test")
+class EarliestAvailableSlotsTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final int CARDIOLOGISTS = 40;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private SlotHoldRegistry slotHolds;
+
+    @Autowired
+    private DoctorAvailableSlotRepository slotRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Doctor> cardiologists = new ArrayList<>();
+    private Long patientId;
+
+    @BeforeEach
+    void setUp() {
+        patientId = userRepository.save(User.builder()
+                .firstName("Early").lastName("Bird").email("early@example.com").password("hash").build()).getId();
+        Random random = new Random(24);
+        List<DoctorAvailableSlot> slots = new ArrayList<>();
+        for (int i = 0; i < CARDIOLOGISTS + 5; i++) {
+            boolean cardiology = i < CARDIOLOGISTS;
+            Doctor doctor = doctorRepository.save(Doctor.builder()
+                    .name("Dr. Earliest " + i)
+                    .specialty(cardiology ? "Cardiology" : "Dermatology")
+                    .hospital(i % 2 == 0 ? "North General" : "South Clinic")
+                    .isAvailable(i != 3)
+                    .build());
+            if (cardiology) {
+                cardiologists.add(doctor);
+            }
+            for (int n = 0; n < 6; n++) {
+                int hour = 8 + random.nextInt(10);
+                slots.add(DoctorAvailableSlot.builder().doctor(doctor)
+                        .slotDate(TODAY.plusDays(1 + random.nextInt(12)))
+                        .startTime(LocalTime.of(hour, 0)).endTime(LocalTime.of(hour, 30))
+                        .isBooked(random.nextInt(4) == 0).build());
+            }
+        }
+        // Already started today, and past the index horizon
+        slots.add(DoctorAvailableSlot.builder().doctor(cardiologists.get(0)).slotDate(TODAY)
+                .startTime(LocalTime.MIDNIGHT).endTime(LocalTime.of(0, 30)).isBooked(false).build());
+        slots.add(DoctorAvailableSlot.builder().doctor(cardiologists.get(1)).slotDate(TODAY.plusDays(30))
+                .startTime(LocalTime.of(9, 0)).endTime(LocalTime.of(9, 30)).isBooked(false).build());
+        slotRepository.saveAll(slots);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.findAll().forEach(slot -> slotHolds.release(slot.getId(), patientId));
+        doctorRepository.findAll().forEach(doctor -> availabilityIndex.invalidateAfterCompletion(doctor.getId()));
+        slotRepository.deleteAllInBatch();
+        doctorRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Earliest slots across a specialty match a full scan, in two queries whatever the index holds")
+    void mergesAcrossDoctors() {
+        QueryStats.open();
+        List<EarliestSlotDto> cold = doctorService.getEarliestAvailableSlots("cardio", null, 15);
+        assertEquals(2, QueryStats.close().getStatementCount());
+        assertEquals(expected("Cardiology", null, 15), slotIds(cold));
+        assertTrue(cold.stream().allMatch(slot -> "Cardiology".equals(slot.getSpecialty())));
+
+        // Half the doctors served from their index, the rest merged in by the database
+        for (int i = 0; i < CARDIOLOGISTS; i += 2) {
+            doctorService.getAvailableDates(cardiologists.get(i).getId());
+        }
+        QueryStats.open();
+        List<EarliestSlotDto> warm = doctorService.getEarliestAvailableSlots("Cardiology", null, 15);
+        assertEquals(2, QueryStats.close().getStatementCount());
+        assertEquals(slotIds(cold), slotIds(warm));
+
+        cardiologists.forEach(doctor -> doctorService.getAvailableDates(doctor.getId()));
+        QueryStats.open();
+        List<EarliestSlotDto> all = doctorService.getEarliestAvailableSlots("Cardiology", null, 50);
+        assertTrue(QueryStats.close().getStatementCount() <= 2);
+        assertEquals(expected("Cardiology", null, 50), slotIds(all));
+    }
+
+    @Test
+    @DisplayName("Indexed doctors with free slots past the horizon still have them merged in order")
+    void reachesPastHorizon() {
+        cardiologists.forEach(doctor -> doctorService.getAvailableDates(doctor.getId()));
+        List<EarliestSlotDto> slots = doctorService.getEarliestAvailableSlots("Cardiology", null, 50);
+        List<Long> expected = expected("Cardiology", null, 200);
+        assertEquals(expected.subList(0, 50), slotIds(slots));
+
+        List<EarliestSlotDto> north = doctorService.getEarliestAvailableSlots(null, "north", 50);
+        assertEquals(expected(null, "North General", 50), slotIds(north));
+    }
+
+    @Test
+    @DisplayName("Held slots are skipped and the search needs a filter")
+    void skipsHeldSlots() {
+        List<Long> before = slotIds(doctorService.getEarliestAvailableSlots("Cardiology", null, 5));
+        appointmentService.holdSlot(new SlotHoldRequestDto(before.get(0)), patientId);
+
+        List<Long> after = slotIds(doctorService.getEarliestAvailableSlots("Cardiology", null, 5));
+        assertEquals(before.subList(1, 5), after.subList(0, 4));
+        assertFalse(after.contains(before.get(0)));
+
+        assertThrows(BadRequestException.class, () -> doctorService.getEarliestAvailableSlots(" ", null, 5));
+        assertThrows(BadRequestException.class, () -> doctorService.getEarliestAvailableSlots("Cardiology", null, 0));
+    }
+
+    @Test
+    @DisplayName("Holds covering a whole page of results cost one more page, not a fetch sized by every hold")
+    void readsNextPageWhenHeldSlotsFillOne() {
+        List<Long> before = expected("Cardiology", null, 4);
+        appointmentService.holdSlot(new SlotHoldRequestDto(before.get(0)), patientId);
+        appointmentService.holdSlot(new SlotHoldRequestDto(before.get(1)), patientId);
+
+        QueryStats.open();
+        List<Long> after = slotIds(doctorService.getEarliestAvailableSlots("Cardiology", null, 2));
+        assertEquals(3, QueryStats.close().getStatementCount());
+        assertEquals(before.subList(2, 4), after);
+    }
+
+    private List<Long> expected(String specialty, String hospital, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> doctorIds = doctorRepository.findAll().stream()
+                .filter(doctor -> !Boolean.FALSE.equals(doctor.getIsAvailable()))
+                .filter(doctor -> specialty == null || specialty.equals(doctor.getSpecialty()))
+                .filter(doctor -> hospital == null || hospital.equals(doctor.getHospital()))
+                .map(Doctor::getId)
+                .collect(Collectors.toSet());
+        return slotRepository.findAll().stream()
+                .filter(slot -> doctorIds.contains(slot.getDoctor().getId()) && !slot.getIsBooked())
+                .filter(slot -> !slot.getSlotDate().atTime(slot.getStartTime()).isBefore(now))
+                .sorted(Comparator.comparing(DoctorAvailableSlot::getSlotDate)
+                        .thenComparing(DoctorAvailableSlot::getStartTime)
+                        .thenComparing(DoctorAvailableSlot::getId))
+                .limit(limit)
+                .map(DoctorAvailableSlot::getId)
+                .toList();
+    }
+
+    private static List<Long> slotIds(List<EarliestSlotDto> slots) {
+        return slots.stream().map(EarliestSlotDto::getSlotId).toList();
+    }
+}
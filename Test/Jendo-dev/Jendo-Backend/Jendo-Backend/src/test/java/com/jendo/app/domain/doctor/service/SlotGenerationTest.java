@@ -0,0 +1,163 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.common.jdbc.QueryStats;
+import com.jendo.app.domain.appointment.dto.SlotBookingRequestDto;
+import com.jendo.app.domain.appointment.repository.AppointmentRepository;
+import com.jendo.app.domain.appointment.service.AppointmentService;
+import com.jendo.app.domain.doctor.dto.AvailabilityTemplateDto;
+import com.jendo.app.domain.doctor.dto.AvailableSlotDto;
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailabilityTemplate;
+import com.jendo.app.domain.doctor.repository.DoctorAvailabilityTemplateRepository;
+import com.jendo.app.domain.doctor.repository.DoctorAvailableSlotRepository;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "email.outbox.enabled=false",
+        "doctors.slot-generation.window-days=90"
+})
+@ActiveProfiles("test")
+class SlotGenerationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotGenerationTest.class);
+    private static final int DOCTORS = 200;
+
+    @Autowired
+    private SlotGenerationJob generationJob;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorAvailabilityTemplateRepository templateRepository;
+
+    @Autowired
+    private DoctorAvailableSlotRepository slotRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAllInBatch();
+        slotRepository.deleteAllInBatch();
+        templateRepository.deleteAllInBatch();
+        doctorRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Three months for 200 doctors goes out in JDBC batches, and a second run changes nothing")
+    void rollsOutWindowInBatches() {
+        List<DoctorAvailabilityTemplate> templates = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            Doctor doctor = doctorRepository.save(Doctor.builder().name("Dr. Template " + i).build());
+            for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                    DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+                templates.add(DoctorAvailabilityTemplate.builder().doctor(doctor).dayOfWeek(day)
+                        .startTime(LocalTime.of(9, 0)).endTime(LocalTime.of(13, 0)).slotDurationMinutes(30).build());
+            }
+        }
+        templateRepository.saveAll(templates);
+
+        QueryStats.open();
+        long began = System.nanoTime();
+        int created = generationJob.generateAll();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+        QueryStats stats = QueryStats.close();
+        logger.info("Generated {} slots for {} doctors in {} ms with {} statements",
+                created, DOCTORS, millis, stats.getStatementCount());
+
+        LocalDate today = LocalDate.now();
+        long weekdays = today.datesUntil(today.plusDays(90))
+                .filter(date -> date.getDayOfWeek().getValue() <= 5)
+                .count();
+        assertEquals(DOCTORS * weekdays * 8, created);
+        assertEquals(created, slotRepository.count());
+        // Per doctor: templates, existing slots, one sequence call and one insert batch per 50 rows
+        long perDoctor = 2 + 2 * (weekdays * 8 / 50 + 1);
+        assertTrue(stats.getStatementCount() <= 1 + DOCTORS * perDoctor, stats.toString());
+
+        QueryStats.open();
+        assertEquals(0, generationJob.generateAll());
+        assertTrue(QueryStats.close().getStatementCount() <= 1 + DOCTORS * 2L);
+        assertEquals(created, slotRepository.count());
+    }
+
+    @Test
+    @DisplayName("Editing templates replaces free generated slots and leaves booked and hand-made slots alone")
+    void templateEditKeepsBookedSlots() {
+        Doctor doctor = doctorRepository.save(Doctor.builder().name("Dr. Edit").availableDays("Whenever").build());
+        Long patientId = userRepository.save(User.builder()
+                .firstName("Template").lastName("Patient").email("template@example.com").password("hash").build()).getId();
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        doctorService.replaceAvailabilityTemplates(doctor.getId(), List.of(template(DayOfWeek.MONDAY, 9, 12, 30)));
+        assertEquals(List.of("09:00", "09:30", "10:00", "10:30", "11:00", "11:30"), starts(doctor, monday));
+        Long tenOClock = slotRepository.findByDoctorIdAndSlotDateAndIsBookedFalse(doctor.getId(), monday).stream()
+                .filter(slot -> slot.getStartTime().equals(LocalTime.of(10, 0)))
+                .findFirst().orElseThrow().getId();
+        appointmentService.bookSlot(SlotBookingRequestDto.builder().slotId(tenOClock).build(), patientId);
+        doctorService.createAvailableSlot(doctor.getId(), AvailableSlotDto.builder()
+                .slotDate(monday).startTime(LocalTime.of(15, 0)).endTime(LocalTime.of(15, 30)).build());
+
+        List<AvailabilityTemplateDto> saved = doctorService.replaceAvailabilityTemplates(doctor.getId(), List.of(
+                template(DayOfWeek.MONDAY, 9, 11, 20),
+                template(DayOfWeek.WEDNESDAY, 14, 15, 60)));
+
+        assertEquals(2, saved.size());
+        assertEquals("Monday, Wednesday", doctorRepository.findById(doctor.getId()).orElseThrow().getAvailableDays());
+        // 10:00 stays booked, so the 20 minute slots that overlap it are skipped
+        assertEquals(List.of("09:00", "09:20", "09:40", "10:40", "15:00"), starts(doctor, monday));
+        assertTrue(slotRepository.findById(tenOClock).orElseThrow().getIsBooked());
+        assertEquals(List.of("14:00"), starts(doctor, monday.plusDays(2)));
+
+        doctorService.replaceAvailabilityTemplates(doctor.getId(), List.of());
+        assertEquals(List.of("15:00"), starts(doctor, monday));
+        assertTrue(slotRepository.existsById(tenOClock));
+        assertNull(doctorRepository.findById(doctor.getId()).orElseThrow().getAvailableDays());
+    }
+
+    private List<String> starts(Doctor doctor, LocalDate date) {
+        return doctorService.getAvailableSlots(doctor.getId(), date).stream()
+                .map(AvailableSlotDto::getStartTime)
+                .sorted()
+                .map(LocalTime::toString)
+                .toList();
+    }
+
+    private static AvailabilityTemplateDto template(DayOfWeek day, int fromHour, int toHour, int minutes) {
+        return AvailabilityTemplateDto.builder().dayOfWeek(day)
+                .startTime(LocalTime.of(fromHour, 0)).endTime(LocalTime.of(toHour, 0))
+                .slotDurationMinutes(minutes).build();
+    }
+}
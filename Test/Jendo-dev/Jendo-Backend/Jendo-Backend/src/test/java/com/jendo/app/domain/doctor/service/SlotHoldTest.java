@@ -0,0 +1,233 @@
+package com.jendo.app.domain.doctor.service;
+
+import com.jendo.app.common.exceptions.ConflictException;
+import com.jendo.app.common.jdbc.QueryStats;
+import com.jendo.app.domain.appointment.dto.SlotBookingRequestDto;
+import com.jendo.app.domain.appointment.dto.SlotHoldRequestDto;
+import com.jendo.app.domain.appointment.dto.SlotHoldResponseDto;
+import com.jendo.app.domain.appointment.repository.AppointmentRepository;
+import com.jendo.app.domain.appointment.service.AppointmentService;
+import com.jendo.app.domain.doctor.dto.AvailableSlotDto;
+import com.jendo.app.domain.doctor.entity.Doctor;
+import com.jendo.app.domain.doctor.entity.DoctorAvailableSlot;
+import com.jendo.app.domain.doctor.repository.DoctorAvailableSlotRepository;
+import com.jendo.app.domain.doctor.repository.DoctorRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import com.jendo.app.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "email.outbox.enabled=false",
+        "appointments.slot-hold.ttl-seconds=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlotHoldTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private SlotHoldRegistry slotHolds;
+
+    @Autowired
+    private DoctorAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DoctorAvailableSlotRepository slotRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Doctor doctor;
+    private Long alice;
+    private Long bob;
+
+    @BeforeEach
+    void setUp() {
+        doctor = doctorRepository.save(Doctor.builder().name("Dr. Hold").build());
+        alice = patient("alice");
+        bob = patient("bob");
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.findAll().forEach(slot -> {
+            slotHolds.release(slot.getId(), alice);
+            slotHolds.release(slot.getId(), bob);
+        });
+        availabilityIndex.invalidateAfterCompletion(doctor.getId());
+        appointmentRepository.deleteAllInBatch();
+        slotRepository.deleteAllInBatch();
+        doctorRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A held slot is hidden and closed to other patients until the holder books it")
+    void holdBlocksOthers() {
+        Long nine = slot(9);
+        Long ten = slot(10);
+
+        SlotHoldResponseDto hold = appointmentService.holdSlot(new SlotHoldRequestDto(nine), alice);
+        assertEquals(doctor.getId(), hold.getDoctorId());
+        assertNotNull(hold.getExpiresAt());
+        assertEquals(List.of(ten), freeSlotIds());
+
+        assertThrows(ConflictException.class, () -> appointmentService.holdSlot(new SlotHoldRequestDto(nine), bob));
+        assertThrows(ConflictException.class, () -> appointmentService.bookSlot(SlotBookingRequestDto.builder()
+                .slotId(nine).build(), bob));
+        assertFalse(slotRepository.findById(nine).orElseThrow().getIsBooked());
+
+        appointmentService.bookSlot(SlotBookingRequestDto.builder().slotId(nine).build(), alice);
+        assertFalse(slotHolds.isHeld(nine));
+        assertTrue(slotRepository.findById(nine).orElseThrow().getIsBooked());
+        assertThrows(ConflictException.class, () -> appointmentService.holdSlot(new SlotHoldRequestDto(nine), bob));
+    }
+
+    @Test
+    @DisplayName("Expired holds free the slot without touching the database")
+    void expiryNeedsNoQueries() throws InterruptedException {
+        Long nine = slot(9);
+        appointmentService.holdSlot(new SlotHoldRequestDto(nine), alice);
+        assertTrue(freeSlotIds().isEmpty());
+
+        Thread.sleep(1100);
+        assertEquals(List.of(nine), freeSlotIds());
+
+        QueryStats.open();
+        slotHolds.expireHolds();
+        Thread.sleep(1100);
+        slotHolds.expireHolds();
+        assertEquals(0, QueryStats.close().getStatementCount());
+        assertEquals(0, slotHolds.holdCount());
+
+        appointmentService.holdSlot(new SlotHoldRequestDto(nine), bob);
+        assertTrue(slotHolds.isHeld(nine));
+    }
+
+    @Test
+    @DisplayName("A patient can hold only a few slots at once and can give them back")
+    void perPatientLimit() {
+        Long nine = slot(9);
+        Long ten = slot(10);
+        Long eleven = slot(11);
+
+        appointmentService.holdSlot(new SlotHoldRequestDto(nine), alice);
+        appointmentService.holdSlot(new SlotHoldRequestDto(ten), alice);
+        appointmentService.holdSlot(new SlotHoldRequestDto(ten), alice);
+        assertThrows(ConflictException.class, () -> appointmentService.holdSlot(new SlotHoldRequestDto(eleven), alice));
+
+        appointmentService.releaseHold(nine, alice);
+        appointmentService.holdSlot(new SlotHoldRequestDto(eleven), alice);
+        assertEquals(List.of(nine), freeSlotIds());
+    }
+
+    @Test
+    @DisplayName("Expired holds stop counting against the patient's limit once swept")
+    void expiryFreesPerPatientLimit() throws InterruptedException {
+        Long nine = slot(9);
+        Long ten = slot(10);
+        Long eleven = slot(11);
+
+        appointmentService.holdSlot(new SlotHoldRequestDto(nine), alice);
+        appointmentService.holdSlot(new SlotHoldRequestDto(ten), alice);
+        Thread.sleep(1100);
+
+        // Bob taking over an expired hold hands Alice's count back straight away
+        appointmentService.holdSlot(new SlotHoldRequestDto(nine), bob);
+        appointmentService.holdSlot(new SlotHoldRequestDto(eleven), alice);
+        assertThrows(ConflictException.class, () -> appointmentService.holdSlot(new SlotHoldRequestDto(nine), alice));
+
+        Thread.sleep(1100);
+        slotHolds.expireHolds();
+        Thread.sleep(1100);
+        slotHolds.expireHolds();
+        assertEquals(0, slotHolds.holdCount());
+        appointmentService.holdSlot(new SlotHoldRequestDto(nine), alice);
+        appointmentService.holdSlot(new SlotHoldRequestDto(ten), alice);
+    }
+
+    @Test
+    @DisplayName("The hold endpoints act for the logged-in patient only")
+    void endpointsUseCurrentUser() throws Exception {
+        Long nine = slot(9);
+        String aliceBearer = bearer(alice);
+        String bobBearer = bearer(bob);
+
+        mockMvc.perform(post("/api/appointments/holds").header(HttpHeaders.AUTHORIZATION, aliceBearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"slotId\":" + nine + ",\"userId\":" + bob + "}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.userId").value(alice));
+
+        mockMvc.perform(delete("/api/appointments/holds/{slotId}", nine).header(HttpHeaders.AUTHORIZATION, bobBearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/appointments/book").header(HttpHeaders.AUTHORIZATION, bobBearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"slotId\":" + nine + "}"))
+                .andExpect(status().isConflict());
+        assertTrue(slotHolds.isHeld(nine));
+
+        mockMvc.perform(delete("/api/appointments/holds/{slotId}", nine).header(HttpHeaders.AUTHORIZATION, aliceBearer))
+                .andExpect(status().isNoContent());
+        assertFalse(slotHolds.isHeld(nine));
+    }
+
+    private String bearer(Long userId) {
+        User user = userRepository.findById(userId).orElseThrow();
+        return "Bearer " + jwtUtil.generateToken(user.getEmail(), user.getId(), List.of("USER"));
+    }
+
+    private List<Long> freeSlotIds() {
+        return doctorService.getAvailableSlots(doctor.getId(), DAY).stream().map(AvailableSlotDto::getId).toList();
+    }
+
+    private Long slot(int hour) {
+        return slotRepository.save(DoctorAvailableSlot.builder()
+                .doctor(doctor).slotDate(DAY)
+                .startTime(LocalTime.of(hour, 0)).endTime(LocalTime.of(hour, 30))
+                .isBooked(false).build()).getId();
+    }
+
+    private Long patient(String name) {
+        return userRepository.save(User.builder()
+                .firstName(name).lastName("Hold").email(name + ".hold@example.com").password("hash").build()).getId();
+    }
+}
@@ -0,0 +1,218 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.common.dto.PaginationResponse;
+import com.jendo.app.common.jdbc.QueryStats;
+import com.jendo.app.domain.jendotest.entity.JendoTest;
+import com.jendo.app.domain.jendotest.repository.JendoTestRepository;
+import com.jendo.app.domain.notification.dto.BroadcastNotificationRequestDto;
+import com.jendo.app.domain.notification.dto.BroadcastNotificationResponseDto;
+import com.jendo.app.domain.notification.dto.NotificationRequestDto;
+import com.jendo.app.domain.notification.dto.NotificationResponseDto;
+import com.jendo.app.domain.notification.repository.BroadcastNotificationRepository;
+import com.jendo.app.domain.notification.repository.BroadcastReceiptRepository;
+import com.jendo.app.domain.notification.repository.NotificationCounterRepository;
+import com.jendo.app.domain.notification.repository.NotificationRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@ActiveProfiles("test")
+class BroadcastNotificationTest {
+
+    private static final int USERS = 30;
+
+    @Autowired
+    private BroadcastNotificationService broadcastService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private BroadcastNotificationRepository broadcastRepository;
+
+    @Autowired
+    private BroadcastReceiptRepository receiptRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    @Autowired
+    private JendoTestRepository jendoTestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(User.builder()
+                    .firstName("Broadcast").lastName("User" + i).email("broadcast" + i + "@example.com")
+                    .password("hash").build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiptRepository.deleteAllInBatch();
+        broadcastRepository.deleteAllInBatch();
+        counterRepository.deleteAllInBatch();
+        notificationRepository.deleteAllInBatch();
+        jendoTestRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A broadcast to everyone is one row, merged into every feed with its own read state")
+    void broadcastToEveryone() {
+        Long userId = users.get(0).getId();
+        notify(userId, "Personal before");
+
+        QueryStats.open();
+        BroadcastNotificationResponseDto broadcast = broadcast(null);
+        QueryStats stats = QueryStats.close();
+        // A sequence call and one insert, whatever the number of users
+        assertTrue(stats.getStatementCount() <= 2, stats.toString());
+        assertNull(broadcast.getRecipients());
+        assertEquals(0, receiptRepository.count());
+
+        notify(userId, "Personal after");
+        User later = userRepository.save(User.builder()
+                .firstName("Late").lastName("Joiner").email("late@example.com").password("hash").build());
+
+        List<NotificationResponseDto> feed = notificationService.getNotificationsByUserId(userId, 0, 10).getContent();
+        assertEquals(List.of("Personal after", "Announcement", "Personal before"),
+                feed.stream().map(NotificationResponseDto::getMessage).toList());
+        assertEquals(List.of(false, true, false), feed.stream().map(NotificationResponseDto::getBroadcast).toList());
+        assertEquals(3, notificationService.getUnreadCountByUserId(userId));
+        assertEquals(1, notificationService.getUnreadCountByUserId(users.get(1).getId()));
+        assertEquals(0, notificationService.getUnreadCountByUserId(later.getId()));
+
+        assertTrue(broadcastService.markAsRead(broadcast.getId(), userId).getIsRead());
+        broadcastService.markAsRead(broadcast.getId(), userId);
+        assertEquals(2, notificationService.getUnreadCountByUserId(userId));
+        assertEquals(1, notificationService.getUnreadCountByUserId(users.get(1).getId()));
+        assertEquals(List.of("Personal after", "Personal before"),
+                notificationService.getUnreadNotificationsByUserId(userId).stream()
+                        .map(NotificationResponseDto::getMessage).toList());
+    }
+
+    @Test
+    @DisplayName("A segment broadcast reaches users whose latest test has the risk level, in one insert")
+    void broadcastToRiskSegment() {
+        List<Long> high = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = users.get(i);
+            // Every third user moved from HIGH to LOW, so only their older test matches
+            test(user, i % 3 == 0 ? "HIGH" : "LOW", LocalDate.now().minusDays(10));
+            if (i % 3 == 0) {
+                test(user, "LOW", LocalDate.now());
+            } else if (i % 2 == 0) {
+                test(user, "high", LocalDate.now());
+                high.add(user.getId());
+            }
+        }
+
+        QueryStats.open();
+        BroadcastNotificationResponseDto broadcast = broadcast("HIGH");
+        QueryStats stats = QueryStats.close();
+        assertTrue(stats.getStatementCount() <= 3, stats.toString());
+        assertEquals(high.size(), broadcast.getRecipients());
+
+        for (User user : users) {
+            long expected = high.contains(user.getId()) ? 1 : 0;
+            assertEquals(expected, notificationService.getUnreadCountByUserId(user.getId()), user.getLastName());
+        }
+
+        Long recipient = high.get(0);
+        notify(recipient, "Personal");
+        assertEquals(2, notificationService.getUnreadCountByUserId(recipient));
+        notificationService.markAllAsRead(recipient);
+        assertEquals(0, notificationService.getUnreadCountByUserId(recipient));
+        assertTrue(notificationService.getNotificationsByUserId(recipient, 0, 10).getContent().stream()
+                .allMatch(NotificationResponseDto::getIsRead));
+    }
+
+    @Test
+    @DisplayName("Mark all read also marks untargeted broadcasts")
+    void markAllReadCoversBroadcasts() {
+        Long userId = users.get(0).getId();
+        broadcast(null);
+        broadcast(null);
+        notify(userId, "Personal");
+        assertEquals(3, notificationService.getUnreadCountByUserId(userId));
+
+        notificationService.markAllAsRead(userId);
+        assertEquals(0, notificationService.getUnreadCountByUserId(userId));
+        assertTrue(notificationService.getUnreadNotificationsByUserId(userId).isEmpty());
+        assertEquals(2, notificationService.getUnreadCountByUserId(users.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("Offset and cursor pages list personal notifications and broadcasts once each, newest first")
+    void pagesMergeBothSources() {
+        Long userId = users.get(0).getId();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String message = i % 3 == 1 ? "Announcement" : "Personal " + i;
+            if (i % 3 == 1) {
+                broadcast(null);
+            } else {
+                notify(userId, message);
+            }
+            expected.add(0, message);
+        }
+
+        List<String> offset = new ArrayList<>();
+        PaginationResponse<NotificationResponseDto> page;
+        int pageNumber = 0;
+        do {
+            page = notificationService.getNotificationsByUserId(userId, pageNumber++, 3);
+            page.getContent().forEach(n -> offset.add(n.getMessage()));
+        } while (!page.isLast());
+        assertEquals(expected, offset);
+        assertEquals(7L, page.getTotalElements());
+
+        List<String> keyset = new ArrayList<>();
+        String cursor = "";
+        do {
+            page = notificationService.getNotificationsByUserId(userId, cursor, 3);
+            page.getContent().forEach(n -> keyset.add(n.getMessage()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(expected, keyset);
+    }
+
+    private BroadcastNotificationResponseDto broadcast(String riskLevel) {
+        return broadcastService.broadcast(BroadcastNotificationRequestDto.builder()
+                .message("Announcement").type("ANNOUNCEMENT").riskLevel(riskLevel).build());
+    }
+
+    private void notify(Long userId, String message) {
+        notificationService.createNotification(NotificationRequestDto.builder()
+                .userId(userId).message(message).type("TEST").build());
+    }
+
+    private void test(User user, String riskLevel, LocalDate date) {
+        jendoTestRepository.save(JendoTest.builder()
+                .user(user).score(BigDecimal.ONE).riskLevel(riskLevel).testDate(date).build());
+    }
+}
@@ -0,0 +1,116 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.domain.notification.entity.Notification;
+import com.jendo.app.domain.notification.repository.ArchivedNotificationRepository;
+import com.jendo.app.domain.notification.repository.NotificationCounterRepository;
+import com.jendo.app.domain.notification.repository.NotificationRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "email.outbox.enabled=false",
+        "notifications.retention.enabled=false",
+        "notifications.retention.read-after-days=30",
+        "notifications.retention.batch-size=7",
+        "notifications.retention.pause-ms=0"
+})
+@ActiveProfiles("test")
+class NotificationRetentionJobTest {
+
+    @Autowired
+    private NotificationRetentionJob retentionJob;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ArchivedNotificationRepository archivedNotificationRepository;
+
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .firstName("Retention").lastName("User").email("retention@example.com").password("hash").build());
+        save(20, true, 60);
+        save(5, false, 60);
+        save(5, true, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(retentionJob, "mode", NotificationRetentionJob.Mode.ARCHIVE);
+        ReflectionTestUtils.setField(retentionJob, "maxBatchesPerRun", 200);
+        archivedNotificationRepository.deleteAllInBatch();
+        counterRepository.deleteAllInBatch();
+        notificationRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Old read notifications move to the archive in batches; unread and recent ones stay")
+    void archivesOldReadNotifications() {
+        assertEquals(20, retentionJob.purge());
+
+        assertEquals(10, notificationRepository.count());
+        assertEquals(5, notificationRepository.countByUserIdAndIsReadFalse(user.getId()));
+        assertEquals(20, archivedNotificationRepository.count());
+        assertTrue(archivedNotificationRepository.findAll().stream()
+                .allMatch(a -> a.getUserId().equals(user.getId()) && a.getIsRead() && a.getArchivedAt() != null));
+
+        assertEquals(0, retentionJob.purge());
+    }
+
+    @Test
+    @DisplayName("Delete mode drops rows without archiving them")
+    void deleteMode() {
+        ReflectionTestUtils.setField(retentionJob, "mode", NotificationRetentionJob.Mode.DELETE);
+
+        assertEquals(20, retentionJob.purge());
+        assertEquals(10, notificationRepository.count());
+        assertEquals(0, archivedNotificationRepository.count());
+    }
+
+    @Test
+    @DisplayName("A run stops at the batch cap and the next run carries on")
+    void batchCapSpreadsWorkOverRuns() {
+        ReflectionTestUtils.setField(retentionJob, "maxBatchesPerRun", 2);
+
+        assertEquals(14, retentionJob.purge());
+        assertEquals(6, retentionJob.purge());
+        assertEquals(0, retentionJob.purge());
+    }
+
+    private void save(int count, boolean read, int daysAgo) {
+        List<Notification> saved = notificationRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> Notification.builder().user(user).message("Message " + i).type("TEST").isRead(read).build())
+                .toList());
+        // created_at is set on insert and not updatable through the entity
+        saved.forEach(n -> jdbcTemplate.update("UPDATE notifications SET created_at = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(daysAgo), n.getId()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.jendo.app.domain.notification.service;
+
+import com.jendo.app.common.jdbc.QueryStats;
+import com.jendo.app.domain.notification.dto.NotificationRequestDto;
+import com.jendo.app.domain.notification.dto.NotificationResponseDto;
+import com.jendo.app.domain.notification.repository.NotificationCounterRepository;
+import com.jendo.app.domain.notification.repository.NotificationRepository;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@ActiveProfiles("test")
+class UnreadNotificationCounterTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+                .firstName("Unread").lastName("Counter").email("unread@example.com").password("hash").build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterRepository.deleteAllInBatch();
+        notificationRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("The unread count follows creates, reads and deletes")
+    void countFollowsWrites() {
+        assertEquals(0, notificationService.getUnreadCountByUserId(userId));
+
+        Long first = create().getId();
+        Long second = create().getId();
+        Long third = create().getId();
+        assertEquals(3, notificationService.getUnreadCountByUserId(userId));
+
+        notificationService.markAsRead(first);
+        notificationService.markAsRead(first);
+        assertEquals(2, notificationService.getUnreadCountByUserId(userId));
+
+        notificationService.deleteNotification(first);
+        assertEquals(2, notificationService.getUnreadCountByUserId(userId));
+        notificationService.deleteNotification(second);
+        assertEquals(1, notificationService.getUnreadCountByUserId(userId));
+
+        notificationService.markAllAsRead(userId);
+        assertEquals(0, notificationService.getUnreadCountByUserId(userId));
+        assertTrue(notificationService.getNotificationById(third).getIsRead());
+    }
+
+    @Test
+    @DisplayName("Mark all read is a fixed number of statements and a cached count needs no SQL")
+    void bulkReadAndCachedPoll() {
+        for (int i = 0; i < 25; i++) {
+            create();
+        }
+
+        QueryStats.open();
+        notificationService.markAllAsRead(userId);
+        QueryStats stats = QueryStats.close();
+        // The notifications UPDATE, two broadcast receipt statements and the counter UPDATE, whatever the number of rows
+        assertEquals(4, stats.getStatementCount(), stats.toString());
+        assertEquals(0, notificationRepository.countByUserIdAndIsReadFalse(userId));
+
+        assertEquals(0, notificationService.getUnreadCountByUserId(userId));
+        QueryStats.open();
+        assertEquals(0, notificationService.getUnreadCountByUserId(userId));
+        assertEquals(0, QueryStats.close().getStatementCount());
+    }
+
+    private NotificationResponseDto create() {
+        return notificationService.createNotification(NotificationRequestDto.builder()
+                .userId(userId).message("Test result ready").type("TEST").build());
+    }
+}
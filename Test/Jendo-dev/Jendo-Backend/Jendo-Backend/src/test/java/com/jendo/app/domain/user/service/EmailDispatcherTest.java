@@ -0,0 +1,119 @@
+package com.jendo.app.domain.user.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.jendo.app.domain.user.entity.OutboundEmail;
+import com.jendo.app.domain.user.entity.OutboundEmailStatus;
+import com.jendo.app.domain.user.repository.OutboundEmailRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.mail.host=127.0.0.1",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "spring.mail.from=noreply@jendo.test",
+        "email.outbox.enabled=false",
+        "email.outbox.batch-size=2",
+        "email.outbox.max-attempts=2"
+})
+@ActiveProfiles("test")
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailDispatcher dispatcher;
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        outboundEmailRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Dispatch - Queued emails are delivered in batches and removed from the outbox")
+    void dispatch_DeliversQueuedEmails() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendOtpEmail("one@example.com", "111111");
+            emailService.sendPasswordResetOtp("two@example.com", "222222");
+            emailService.sendWelcomeEmail("three@example.com", "Three");
+        });
+
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        assertEquals(3, dispatcher.dispatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        assertEquals("Jendo - Your OTP Code", greenMail.getReceivedMessagesForDomain("one@example.com")[0].getSubject());
+        assertTrue(GreenMailUtil.getBody(
+                greenMail.getReceivedMessagesForDomain("two@example.com")[0]).contains("222222"));
+        assertEquals(0, outboundEmailRepository.count());
+    }
+
+    @Test
+    @DisplayName("Enqueue - Nothing is sent when the business transaction rolls back")
+    void enqueue_RolledBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendOtpEmail("rollback@example.com", "333333");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, dispatcher.dispatch());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    @DisplayName("Dispatch - Relay outage reschedules with backoff, then gives up after max attempts")
+    void dispatch_RetriesThenGivesUp() {
+        greenMail.stop();
+        transactionTemplate.executeWithoutResult(status -> emailService.sendOtpEmail("down@example.com", "444444"));
+
+        assertEquals(0, dispatcher.dispatch());
+        OutboundEmail retried = outboundEmailRepository.findAll().get(0);
+        assertEquals(OutboundEmailStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertNotNull(retried.getLastError());
+        assertTrue(retried.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // Not due yet, so a second cycle leaves it alone
+        assertEquals(0, dispatcher.dispatch());
+        assertEquals(1, outboundEmailRepository.findAll().get(0).getAttempts());
+
+        retried.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboundEmailRepository.save(retried);
+        dispatcher.dispatch();
+
+        List<OutboundEmail> remaining = outboundEmailRepository.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals(OutboundEmailStatus.FAILED, remaining.get(0).getStatus());
+        assertEquals(2, remaining.get(0).getAttempts());
+    }
+}
@@ -0,0 +1,137 @@
+package com.jendo.app.domain.user.service;
+
+import com.jendo.app.domain.user.entity.OtpPurpose;
+import com.jendo.app.domain.user.repository.OtpTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static com.jendo.app.domain.user.service.OtpService.Verification.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "email.outbox.enabled=false",
+        "otp.max-attempts=5"
+})
+@ActiveProfiles("test")
+class OtpServiceTest {
+
+    @Autowired
+    private OtpService otpService;
+
+    @Autowired
+    private OtpTokenRepository otpTokenRepository;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(otpService, "ttlMinutes", 10L);
+        otpTokenRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("The right code verifies once; wrong codes do not consume it")
+    void verifiesOnce() {
+        String email = "verify.otp@example.com";
+        String code = otpService.issue(email, OtpPurpose.EMAIL_VERIFICATION);
+        assertEquals(1, otpTokenRepository.count());
+
+        assertEquals(INVALID, otpService.verify(email, OtpPurpose.EMAIL_VERIFICATION, wrong(code)));
+        assertEquals(VERIFIED, otpService.verify(email, OtpPurpose.EMAIL_VERIFICATION, code));
+        assertEquals(INVALID, otpService.verify(email, OtpPurpose.EMAIL_VERIFICATION, code));
+        assertEquals(0, otpTokenRepository.count());
+    }
+
+    @Test
+    @DisplayName("A code only works for the email and purpose it was issued for")
+    void purposeIsolation() {
+        String email = "purpose.otp@example.com";
+        String signup = otpService.issue(email, OtpPurpose.EMAIL_VERIFICATION);
+
+        assertEquals(INVALID, otpService.verify(email, OtpPurpose.PASSWORD_RESET, signup));
+        assertEquals(INVALID, otpService.verify("someone.else@example.com", OtpPurpose.EMAIL_VERIFICATION, signup));
+
+        String reset = otpService.issue(email, OtpPurpose.PASSWORD_RESET);
+        if (!reset.equals(signup)) {
+            assertEquals(INVALID, otpService.verify(email, OtpPurpose.EMAIL_VERIFICATION, reset));
+        }
+        assertEquals(VERIFIED, otpService.verify(email, OtpPurpose.EMAIL_VERIFICATION, signup));
+        assertEquals(VERIFIED, otpService.verify(email, OtpPurpose.PASSWORD_RESET, reset));
+    }
+
+    @Test
+    @DisplayName("Expired codes are reported as such and then reclaimed by the wheel")
+    void expiry() throws InterruptedException {
+        ReflectionTestUtils.setField(otpService, "ttlMinutes", 0L);
+        String stale = "stale.otp@example.com";
+        String code = otpService.issue(stale, OtpPurpose.PASSWORD_RESET);
+        assertEquals(EXPIRED, otpService.verify(stale, OtpPurpose.PASSWORD_RESET, code));
+        assertEquals(INVALID, otpService.verify(stale, OtpPurpose.PASSWORD_RESET, code));
+
+        String swept = "swept.otp@example.com";
+        int pending = otpService.pendingCount();
+        String sweptCode = otpService.issue(swept, OtpPurpose.PASSWORD_RESET);
+        Thread.sleep(1100);
+        otpService.expirePending();
+        assertEquals(pending, otpService.pendingCount());
+        assertEquals(INVALID, otpService.verify(swept, OtpPurpose.PASSWORD_RESET, sweptCode));
+    }
+
+    @Test
+    @DisplayName("Too many wrong guesses lock verification, even with the right code")
+    void attemptLimit() {
+        String email = "locked.otp@example.com";
+        String code = otpService.issue(email, OtpPurpose.PASSWORD_RESET);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(INVALID, otpService.verify(email, OtpPurpose.PASSWORD_RESET, wrong(code)));
+        }
+        assertEquals(LOCKED, otpService.verify(email, OtpPurpose.PASSWORD_RESET, wrong(code)));
+        assertEquals(LOCKED, otpService.verify(email, OtpPurpose.PASSWORD_RESET, code));
+
+        // The lock is per purpose
+        String other = otpService.issue(email, OtpPurpose.EMAIL_VERIFICATION);
+        assertEquals(VERIFIED, otpService.verify(email, OtpPurpose.EMAIL_VERIFICATION, other));
+    }
+
+    @Test
+    @DisplayName("Requesting a new code does not reset the failed-attempt count")
+    void reissueKeepsAttempts() {
+        String email = "reissue.otp@example.com";
+        String first = otpService.issue(email, OtpPurpose.PASSWORD_RESET);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(INVALID, otpService.verify(email, OtpPurpose.PASSWORD_RESET, wrong(first)));
+        }
+
+        String second = otpService.issue(email, OtpPurpose.PASSWORD_RESET);
+        assertEquals(INVALID, otpService.verify(email, OtpPurpose.PASSWORD_RESET, wrong(second)));
+        assertEquals(LOCKED, otpService.verify(email, OtpPurpose.PASSWORD_RESET, wrong(second)));
+
+        String third = otpService.issue(email, OtpPurpose.PASSWORD_RESET);
+        assertEquals(LOCKED, otpService.verify(email, OtpPurpose.PASSWORD_RESET, third));
+    }
+
+    @Test
+    @DisplayName("A successful check clears the failed-attempt count")
+    void successResetsAttempts() {
+        String email = "reset.otp@example.com";
+        String first = otpService.issue(email, OtpPurpose.PASSWORD_RESET);
+        for (int i = 0; i < 4; i++) {
+            otpService.verify(email, OtpPurpose.PASSWORD_RESET, wrong(first));
+        }
+        assertEquals(VERIFIED, otpService.verify(email, OtpPurpose.PASSWORD_RESET, first));
+
+        String second = otpService.issue(email, OtpPurpose.PASSWORD_RESET);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(INVALID, otpService.verify(email, OtpPurpose.PASSWORD_RESET, wrong(second)));
+        }
+        assertEquals(VERIFIED, otpService.verify(email, OtpPurpose.PASSWORD_RESET, second));
+    }
+
+    private static String wrong(String code) {
+        return code.equals("123456") ? "654321" : "123456";
+    }
+}
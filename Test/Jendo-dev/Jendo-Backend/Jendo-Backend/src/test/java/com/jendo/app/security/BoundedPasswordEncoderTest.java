@@ -0,0 +1,179 @@
+package com.jendo.app.security;
+
+import com.jendo.app.common.dto.ApiResponse;
+import com.jendo.app.common.exceptions.GlobalExceptionHandler;
+import com.jendo.app.common.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BlockingEncoder delegate;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = new BlockingEncoder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        delegate.release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("With the worker busy and the queue full, the next hash is refused at once")
+    void refusesWhenQueueIsFull() throws Exception {
+        encoder = encoder(5_000);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(delegate.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueueDepth(1);
+
+        long start = System.nanoTime();
+        ServiceUnavailableException busy = assertThrows(ServiceUnavailableException.class, () -> encoder.encode("third"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertInstanceOf(RejectedExecutionException.class, busy.getCause());
+        assertEquals(2, busy.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        delegate.release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("A hash that waits past max-wait-ms is refused, and a cancelled hash keeps its worker until done")
+    void timesOutAndFreesQueueSlot() throws Exception {
+        encoder = encoder(100);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(delegate.started.await(5, TimeUnit.SECONDS));
+
+        ServiceUnavailableException busy = assertThrows(ServiceUnavailableException.class, () -> encoder.encode("second"));
+        assertInstanceOf(TimeoutException.class, busy.getCause());
+        // The first caller gave up too, but its hash cannot be stopped and still occupies the only worker
+        ExecutionException gaveUp = assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceUnavailableException.class, gaveUp.getCause());
+        assertEquals(1.0, meterRegistry.get("password.hashing.active").gauge().value());
+        assertEquals(0.0, meterRegistry.get("password.hashing.queue.depth").gauge().value());
+
+        // The timed-out hash no longer holds the only queue slot, so this one is queued rather than refused
+        busy = assertThrows(ServiceUnavailableException.class, () -> encoder.encode("third"));
+        assertInstanceOf(TimeoutException.class, busy.getCause());
+        assertEquals(3.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        delegate.release.countDown();
+        awaitGauge("password.hashing.active", 0);
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    @DisplayName("A saturated pool during login surfaces as 503 with Retry-After, not as bad credentials")
+    void saturationMapsTo503() throws Exception {
+        encoder = encoder(5_000);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(delegate.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueueDepth(1);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("login@example.com").password("hashed:secret").roles("USER").build()));
+        ServiceUnavailableException busy = assertThrows(ServiceUnavailableException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("login@example.com", "secret")));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        ResponseEntity<ApiResponse<Void>> response = new GlobalExceptionHandler()
+                .handleServiceUnavailableException(busy, new ServletWebRequest(request));
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertFalse(response.getBody().isSuccess());
+        assertEquals("/api/auth/login", response.getBody().getPath());
+
+        delegate.release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    private BoundedPasswordEncoder encoder(long maxWaitMillis) {
+        return new BoundedPasswordEncoder(delegate, 10, 1, 1, maxWaitMillis, meterRegistry);
+    }
+
+    private void awaitQueueDepth(double depth) throws InterruptedException {
+        awaitGauge("password.hashing.queue.depth", depth);
+    }
+
+    private void awaitGauge(String name, double value) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get(name).gauge().value() != value) {
+            assertTrue(System.currentTimeMillis() < deadline, name + " never reached " + value);
+            Thread.sleep(10);
+        }
+    }
+
+    /** Stands in for BCrypt: every hash holds its worker until the test releases it. */
+    private static class BlockingEncoder implements PasswordEncoder {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hold();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            hold();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        private void hold() {
+            calls.incrementAndGet();
+            started.countDown();
+            // Like BCrypt, ignore the interrupt a cancellation sends and keep going
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
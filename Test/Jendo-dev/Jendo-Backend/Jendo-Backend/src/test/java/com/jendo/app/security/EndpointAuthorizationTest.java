@@ -0,0 +1,204 @@
+package com.jendo.app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.domain.notification.repository.BroadcastNotificationRepository;
+import com.jendo.app.domain.notification.repository.BroadcastReceiptRepository;
+import com.jendo.app.domain.user.entity.Role;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.RoleRepository;
+import com.jendo.app.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that write endpoints added inside the open {@code /api/...} namespaces are not open themselves,
+ * that clients cannot grant themselves roles, and that the actuator is closed to ordinary users.
+ */
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointAuthorizationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BroadcastNotificationRepository broadcastRepository;
+
+    @Autowired
+    private BroadcastReceiptRepository receiptRepository;
+
+    private User patient;
+    private String patientBearer;
+    private String adminBearer;
+
+    @BeforeEach
+    void setUp() {
+        patient = userRepository.save(User.builder()
+                .firstName("Plain").lastName("Patient").email("patient.authz@example.com").password("hash").build());
+        User admin = userRepository.save(User.builder()
+                .firstName("Site").lastName("Admin").email("admin.authz@example.com").password("hash").build());
+        patientBearer = "Bearer " + jwtUtil.generateToken(patient.getEmail(), patient.getId(), List.of("USER"));
+        adminBearer = "Bearer " + jwtUtil.generateToken(admin.getEmail(), admin.getId(), List.of("ADMIN"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiptRepository.deleteAllInBatch();
+        broadcastRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Only admins can broadcast, and marking a broadcast read needs a login")
+    void broadcastsNeedAdmin() throws Exception {
+        String body = "{\"message\":\"Clinic closed tomorrow\",\"type\":\"INFO\"}";
+
+        mockMvc.perform(json(post("/api/notifications/broadcasts"), body)).andExpect(denied());
+        mockMvc.perform(json(post("/api/notifications/broadcasts"), body).header(HttpHeaders.AUTHORIZATION, patientBearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(json(post("/api/notifications/broadcasts"), body).header(HttpHeaders.AUTHORIZATION, adminBearer))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(patch("/api/notifications/broadcasts/{id}/read", 1)).andExpect(denied());
+    }
+
+    @Test
+    @DisplayName("Only admins can replace a doctor's availability templates")
+    void availabilityTemplatesNeedAdmin() throws Exception {
+        String path = "/api/doctors/{id}/availability-templates";
+
+        mockMvc.perform(json(put(path, 999_999), "[]")).andExpect(denied());
+        mockMvc.perform(json(put(path, 999_999), "[]").header(HttpHeaders.AUTHORIZATION, patientBearer))
+                .andExpect(status().isForbidden());
+        // No such doctor, but the admin gets past security to be told so
+        mockMvc.perform(json(put(path, 999_999), "[]").header(HttpHeaders.AUTHORIZATION, adminBearer))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get(path, 999_999)).andExpect(allowed());
+    }
+
+    @Test
+    @DisplayName("Roles sent at signup or on a profile update are ignored")
+    void clientsCannotGrantThemselvesRoles() throws Exception {
+        String signup = "{\"firstName\":\"Eager\",\"lastName\":\"Admin\",\"email\":\"eager.authz@example.com\","
+                + "\"password\":\"password123\",\"roles\":[\"ADMIN\"]}";
+        String body = mockMvc.perform(json(post("/api/auth/signup"), signup))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("data").get("token").asText();
+        assertTrue(jwtUtil.verify(token).orElseThrow().getRoles().isEmpty());
+
+        String broadcast = "{\"message\":\"Self-promoted\",\"type\":\"INFO\"}";
+        mockMvc.perform(json(post("/api/notifications/broadcasts"), broadcast)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(json(put("/api/users/me"), "{\"roles\":[\"ADMIN\"]}").header(HttpHeaders.AUTHORIZATION, patientBearer))
+                .andExpect(status().isOk());
+        assertTrue(roleRepository.findByUserId(patient.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Only admins assign roles, and a demotion rejects the user's earlier tokens")
+    void roleChangesNeedAdminAndRevokeTokens() throws Exception {
+        User demoted = userRepository.save(User.builder()
+                .firstName("Former").lastName("Admin").email("demoted.authz@example.com").password("hash").build());
+        String demotedBearer = "Bearer " + jwtUtil.generateToken(demoted.getEmail(), demoted.getId(), List.of("ADMIN"));
+        String path = "/api/users/{id}/roles";
+        String body = "{\"roles\":[\"USER\"]}";
+
+        mockMvc.perform(json(put(path, patient.getId()), "{\"roles\":[\"ADMIN\"]}").header(HttpHeaders.AUTHORIZATION, patientBearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(remoteAddress()).header(HttpHeaders.AUTHORIZATION, demotedBearer))
+                .andExpect(status().isOk());
+
+        // Token issue times have second precision, so let the change land in a later second
+        Thread.sleep(1100);
+        mockMvc.perform(json(put(path, demoted.getId()), body).header(HttpHeaders.AUTHORIZATION, adminBearer))
+                .andExpect(status().isOk());
+        assertEquals(List.of("USER"), roleRepository.findByUserId(demoted.getId()).stream().map(Role::getRoleName).toList());
+
+        mockMvc.perform(get("/actuator/metrics").with(remoteAddress()).header(HttpHeaders.AUTHORIZATION, demotedBearer))
+                .andExpect(denied());
+    }
+
+    @Test
+    @DisplayName("Actuator health is open; metrics need an admin or an allowed scraper address")
+    void actuatorNeedsAdminOrScraper() throws Exception {
+        // Health may report DOWN here (no mail server), which is still an answer rather than a refusal
+        mockMvc.perform(remote(get("/actuator/health"))).andExpect(allowed());
+
+        mockMvc.perform(remote(get("/actuator/prometheus"))).andExpect(denied());
+        mockMvc.perform(remote(get("/actuator/metrics")).header(HttpHeaders.AUTHORIZATION, patientBearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(remote(get("/actuator/metrics")).header(HttpHeaders.AUTHORIZATION, adminBearer))
+                .andExpect(status().isOk());
+
+        // MockMvc requests come from 127.0.0.1, which the default allowlist admits
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder remote(MockHttpServletRequestBuilder request) {
+        return request.with(remoteAddress());
+    }
+
+    private static RequestPostProcessor remoteAddress() {
+        return servletRequest -> {
+            servletRequest.setRemoteAddr("203.0.113.7");
+            return servletRequest;
+        };
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static ResultMatcher allowed() {
+        return result -> {
+            int status = result.getResponse().getStatus();
+            assertTrue(status != 401 && status != 403, "Expected access but was " + status);
+        };
+    }
+
+    private static ResultMatcher denied() {
+        return result -> {
+            int status = result.getResponse().getStatus();
+            assertTrue(status == 401 || status == 403, "Expected 401 or 403 but was " + status);
+        };
+    }
+}
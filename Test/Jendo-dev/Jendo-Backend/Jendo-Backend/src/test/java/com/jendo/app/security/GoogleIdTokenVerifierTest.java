@@ -0,0 +1,161 @@
+package com.jendo.app.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoogleIdTokenVerifierTest {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+    private static final String KEY_ID = "test-key";
+
+    private KeyPair googleKeys;
+    private GoogleIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        googleKeys = generateRsaKeyPair();
+        // Local stand-in for Google's JWKS endpoint
+        GoogleKeySource keySource = kid -> KEY_ID.equals(kid) ? Optional.of(googleKeys.getPublic()) : Optional.empty();
+        verifier = new GoogleIdTokenVerifier(keySource, CLIENT_ID);
+    }
+
+    @Test
+    @DisplayName("Verify - Valid token returns claims")
+    void verify_ValidToken() {
+        String token = googleToken(KEY_ID, googleKeys, "https://accounts.google.com", CLIENT_ID, 3600);
+
+        Map<String, Object> claims = verifier.verify(token).orElseThrow();
+
+        assertEquals("user@example.com", claims.get("email"));
+        assertEquals("1234567890", claims.get("sub"));
+        assertEquals(Boolean.TRUE, claims.get("email_verified"));
+    }
+
+    @Test
+    @DisplayName("Verify - Issuer without scheme is accepted")
+    void verify_BareIssuer() {
+        String token = googleToken(KEY_ID, googleKeys, "accounts.google.com", CLIENT_ID, 3600);
+
+        assertTrue(verifier.verify(token).isPresent());
+    }
+
+    @Test
+    @DisplayName("Verify - Wrong audience is rejected")
+    void verify_WrongAudience() {
+        String token = googleToken(KEY_ID, googleKeys, "https://accounts.google.com", "other-client", 3600);
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify - Wrong issuer is rejected")
+    void verify_WrongIssuer() {
+        String token = googleToken(KEY_ID, googleKeys, "https://evil.example.com", CLIENT_ID, 3600);
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify - Expired token is rejected")
+    void verify_Expired() {
+        String token = googleToken(KEY_ID, googleKeys, "https://accounts.google.com", CLIENT_ID, -600);
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify - Unknown key id is rejected")
+    void verify_UnknownKeyId() {
+        String token = googleToken("rotated-away", googleKeys, "https://accounts.google.com", CLIENT_ID, 3600);
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify - Token signed by another key is rejected")
+    void verify_ForgedSignature() throws Exception {
+        String token = googleToken(KEY_ID, generateRsaKeyPair(), "https://accounts.google.com", CLIENT_ID, 3600);
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify - HMAC-signed token is rejected")
+    void verify_HmacAlgorithm() {
+        String token = Jwts.builder()
+                .setHeaderParam("kid", KEY_ID)
+                .setIssuer("https://accounts.google.com")
+                .setAudience(CLIENT_ID)
+                .setSubject("1234567890")
+                .setExpiration(new Date(System.currentTimeMillis() + 3600_000))
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256))
+                .compact();
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("JWKS - RSA signing keys are parsed by kid")
+    void parseKeys_RsaKeys() throws Exception {
+        RSAPublicKey publicKey = (RSAPublicKey) googleKeys.getPublic();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        Map<String, Object> jwks = Map.of("keys", List.of(
+                Map.of("kty", "RSA", "use", "sig", "alg", "RS256", "kid", KEY_ID,
+                        "n", encoder.encodeToString(publicKey.getModulus().toByteArray()),
+                        "e", encoder.encodeToString(publicKey.getPublicExponent().toByteArray())),
+                Map.of("kty", "EC", "kid", "ignored", "crv", "P-256")));
+
+        Map<String, PublicKey> keys = GoogleJwksKeySource.parseKeys(jwks);
+
+        assertEquals(1, keys.size());
+        assertEquals(publicKey, keys.get(KEY_ID));
+    }
+
+    @Test
+    @DisplayName("JWKS - Cache lifetime follows Cache-Control max-age")
+    void maxAgeSeconds_FromCacheControl() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=21389, must-revalidate, no-transform");
+
+        assertEquals(21389, GoogleJwksKeySource.maxAgeSeconds(headers, 3600));
+        assertEquals(3600, GoogleJwksKeySource.maxAgeSeconds(new HttpHeaders(), 3600));
+    }
+
+    private static String googleToken(String keyId, KeyPair keys, String issuer, String audience, long expiresInSeconds) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setHeaderParam("kid", keyId)
+                .setIssuer(issuer)
+                .setAudience(audience)
+                .setSubject("1234567890")
+                .claim("email", "user@example.com")
+                .claim("email_verified", true)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiresInSeconds * 1000))
+                .signWith(keys.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static KeyPair generateRsaKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,127 @@
+package com.jendo.app.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.web.client.RestTemplate;
+
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class GoogleJwksKeySourceTest {
+
+    private static final String JWKS_URI = "https://keys.example.test/certs";
+    private static final String KEY_ID = "current-key";
+
+    private GoogleJwksKeySource keySource;
+    private MockRestServiceServer google;
+    private RSAPublicKey publicKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keySource = new GoogleJwksKeySource();
+        ReflectionTestUtils.setField(keySource, "jwksUri", JWKS_URI);
+        ReflectionTestUtils.setField(keySource, "defaultMaxAgeSeconds", 3600L);
+        ReflectionTestUtils.setField(keySource, "refreshAheadSeconds", 300L);
+        ReflectionTestUtils.setField(keySource, "loadAtStartup", true);
+        google = MockRestServiceServer.bindTo((RestTemplate) ReflectionTestUtils.getField(keySource, "restTemplate")).build();
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        publicKey = (RSAPublicKey) generator.generateKeyPair().getPublic();
+    }
+
+    @Test
+    @DisplayName("Keys load at startup and logins are served from the cache")
+    void loadsAtStartup() {
+        google.expect(ExpectedCount.once(), requestTo(JWKS_URI)).andRespond(jwks(3600));
+
+        keySource.loadKeys();
+        assertEquals(publicKey, keySource.getKey(KEY_ID).orElseThrow());
+        assertEquals(publicKey, keySource.getKey(KEY_ID).orElseThrow());
+        keySource.refreshIfStale();
+
+        google.verify();
+    }
+
+    @Test
+    @DisplayName("Expired keys keep being served while Google is down, and fetches stay rate limited")
+    void servesStaleKeysDuringOutage() {
+        google.expect(ExpectedCount.once(), requestTo(JWKS_URI)).andRespond(jwks(0));
+        google.expect(ExpectedCount.once(), requestTo(JWKS_URI)).andRespond(withServerError());
+
+        keySource.loadKeys();
+        // The set expired on arrival; the next scheduled run tries once, and fails
+        backdateLastFetch();
+        keySource.refreshIfStale();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(publicKey, keySource.getKey(KEY_ID).orElseThrow());
+        }
+        assertTrue(keySource.getKey("rotated-in").isEmpty());
+        keySource.refreshIfStale();
+
+        google.verify();
+    }
+
+    @Test
+    @DisplayName("An unknown kid fetches at most once per interval, and other logins do not wait on that fetch")
+    void unknownKidFetchIsSharedAndRateLimited() throws Exception {
+        CountDownLatch responding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseCreator slowGoogle = request -> {
+            responding.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return jwks(3600).createResponse(request);
+        };
+        google.expect(ExpectedCount.once(), requestTo(JWKS_URI)).andRespond(slowGoogle);
+
+        CompletableFuture<PublicKey> first = CompletableFuture.supplyAsync(() -> keySource.getKey(KEY_ID).orElse(null));
+        assertTrue(responding.await(5, TimeUnit.SECONDS));
+
+        // The fetch is in flight: a second login returns at once instead of queueing behind it
+        assertTrue(keySource.getKey(KEY_ID).isEmpty());
+        assertFalse(first.isDone());
+
+        release.countDown();
+        assertEquals(publicKey, first.get(5, TimeUnit.SECONDS));
+        assertTrue(keySource.getKey("unknown-kid").isEmpty());
+
+        google.verify();
+    }
+
+    private void backdateLastFetch() {
+        long lastFetch = (long) ReflectionTestUtils.getField(keySource, "lastFetchAttempt");
+        ReflectionTestUtils.setField(keySource, "lastFetchAttempt", lastFetch - 60_000);
+    }
+
+    private ResponseCreator jwks(long maxAgeSeconds) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String body = "{\"keys\":[{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + KEY_ID + "\","
+                + "\"n\":\"" + encoder.encodeToString(publicKey.getModulus().toByteArray()) + "\","
+                + "\"e\":\"" + encoder.encodeToString(publicKey.getPublicExponent().toByteArray()) + "\"}]}";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=" + maxAgeSeconds);
+        return withSuccess(body, MediaType.APPLICATION_JSON).headers(headers);
+    }
+}
@@ -0,0 +1,154 @@
+package com.jendo.app.security;
+
+import com.jendo.app.common.cache.ExpiringCache;
+import com.jendo.app.domain.user.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "jwt-util-test-secret-that-is-comfortably-longer-than-sixty-four-bytes";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil(60_000, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("A verified access token is served from the cache on the next request")
+    void cachesVerifiedAccessTokens() {
+        String token = jwtUtil.generateToken("cached@example.com", 7L, List.of("USER"));
+
+        VerifiedToken first = jwtUtil.verify(token).orElseThrow();
+        assertSame(first, jwtUtil.verify(token).orElseThrow());
+        assertEquals(7L, first.getUserId());
+        assertEquals(List.of("USER"), first.getRoles());
+        assertEquals(1, verifiedTokens().size());
+
+        String refresh = jwtUtil.generateRefreshToken("cached@example.com", 7L, "rt-1", "family-1",
+                new Date(System.currentTimeMillis() + 60_000));
+        assertTrue(jwtUtil.verify(refresh).orElseThrow().isRefreshToken());
+        assertEquals(1, verifiedTokens().size());
+    }
+
+    @Test
+    @DisplayName("A cached token stops verifying once it expires")
+    void cachedTokenExpires() throws InterruptedException {
+        jwtUtil = jwtUtil(1_000, 100);
+        String token = jwtUtil.generateToken("short@example.com", 8L, List.of());
+        Instant expiresAt = jwtUtil.verify(token).orElseThrow().getExpiresAt();
+        assertTrue(jwtUtil.verify(token).isPresent());
+
+        Thread.sleep(Math.max(0, expiresAt.toEpochMilli() - System.currentTimeMillis()) + 50);
+        assertTrue(jwtUtil.verify(token).isEmpty());
+        assertEquals(0, verifiedTokens().size());
+    }
+
+    @Test
+    @DisplayName("The cache stays within its bound, and evicted tokens are verified again from scratch")
+    void evictsBeyondBound() {
+        jwtUtil = jwtUtil(60_000, 2);
+        List<String> tokens = List.of(
+                jwtUtil.generateToken("a@example.com", 1L, List.of()),
+                jwtUtil.generateToken("b@example.com", 2L, List.of()),
+                jwtUtil.generateToken("c@example.com", 3L, List.of()));
+
+        tokens.forEach(token -> assertTrue(jwtUtil.verify(token).isPresent()));
+        assertTrue(verifiedTokens().size() <= 2);
+        for (int i = 0; i < tokens.size(); i++) {
+            assertEquals(i + 1L, jwtUtil.verify(tokens.get(i)).orElseThrow().getUserId());
+        }
+        assertTrue(verifiedTokens().size() <= 2);
+    }
+
+    @Test
+    @DisplayName("Revoking a cached token denies it even though verification is still a cache hit")
+    void revokedCachedTokenIsDenied() throws Exception {
+        TokenRevocationList revocations = new TokenRevocationList(mock(RevokedTokenRepository.class));
+        ReflectionTestUtils.setField(revocations, "expectedRevocations", 1000);
+        ReflectionTestUtils.setField(revocations, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(revocations, "bucketMinutes", 10L);
+        revocations.init();
+        UserPrincipalCache principals = mock(UserPrincipalCache.class);
+        when(principals.resolve(any())).thenReturn(Optional.of(new AuthenticatedUser(9L, "revoked@example.com", List.of("USER"))));
+        JwtAuthFilter filter = new JwtAuthFilter(jwtUtil, principals, revocations);
+
+        String token = jwtUtil.generateToken("revoked@example.com", 9L, List.of("USER"));
+        VerifiedToken cached = jwtUtil.verify(token).orElseThrow();
+        assertNotNull(authenticate(filter, token));
+
+        revocations.revoke(cached.getTokenId(), cached.getExpiresAt());
+        assertSame(cached, jwtUtil.verify(token).orElseThrow());
+        assertNull(authenticate(filter, token));
+        verify(principals, times(1)).resolve(any());
+    }
+
+    @Test
+    @DisplayName("A correctly signed token without an expiry is rejected rather than failing")
+    void rejectsTokenWithoutExpiry() {
+        String token = Jwts.builder()
+                .setId("no-exp")
+                .setSubject("forever@example.com")
+                .claim("userId", 10L)
+                .claim("type", VerifiedToken.TYPE_ACCESS)
+                .setIssuedAt(new Date())
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertTrue(jwtUtil.verify(token).isEmpty());
+        assertFalse(jwtUtil.validateJwtToken(token));
+        assertEquals(0, verifiedTokens().size());
+    }
+
+    private static JwtUtil jwtUtil(long expirationMs, int cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", cacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private ExpiringCache<?, ?> verifiedTokens() {
+        return (ExpiringCache<?, ?>) ReflectionTestUtils.getField(jwtUtil, "verifiedTokens");
+    }
+
+    private static Object authenticate(JwtAuthFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
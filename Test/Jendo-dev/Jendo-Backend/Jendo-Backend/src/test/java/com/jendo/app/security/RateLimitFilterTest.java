@@ -0,0 +1,113 @@
+package com.jendo.app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private static final String LOGIN = "/api/auth/login";
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.BucketLimit ip = new RateLimitProperties.BucketLimit();
+        ip.setCapacity(100);
+        ip.setRefillPerMinute(100);
+        RateLimitProperties.BucketLimit email = new RateLimitProperties.BucketLimit();
+        email.setCapacity(1);
+        email.setRefillPerMinute(1);
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPath(LOGIN);
+        route.setIp(ip);
+        route.setEmail(email);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxKeys(1000);
+        properties.setStripes(4);
+        properties.setRoutes(List.of(route));
+        filter = new RateLimitFilter(properties, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("The email limit applies across client addresses")
+    void emailLimitedAcrossAddresses() throws Exception {
+        String body = "{\"email\":\"Victim@Example.com\",\"password\":\"guess\"}";
+
+        assertEquals(200, send(login(body, "10.0.0.1", false)).getStatus());
+        MockHttpServletResponse rejected = send(login(body.replace("Victim", "victim"), "10.0.0.2", false));
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("A chunked body is still checked against the email limit and reaches the controller intact")
+    void chunkedBodyIsLimited() throws Exception {
+        String body = "{\"email\":\"chunked@example.com\",\"password\":\"guess\"}";
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(login(body, "10.0.0.1", true), response, chain);
+        assertEquals(200, response.getStatus());
+        byte[] forwarded = chain.getRequest().getInputStream().readAllBytes();
+        assertEquals(body, new String(forwarded, StandardCharsets.UTF_8));
+
+        assertEquals(429, send(login(body, "10.0.0.2", true)).getStatus());
+    }
+
+    @Test
+    @DisplayName("Bodies too large to inspect are refused whether or not they declare a length")
+    void oversizedBodyIsRefused() throws Exception {
+        String body = "{\"email\":\"padded@example.com\",\"padding\":\"" + "x".repeat(20_000) + "\"}";
+
+        for (boolean chunked : new boolean[]{false, true}) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login(body, "10.0.0.1", chunked), response, chain);
+            assertEquals(413, response.getStatus());
+            assertNull(chain.getRequest(), "an oversized body must not reach the controller");
+        }
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest login(String body, String remoteAddr, boolean chunked) {
+        MockHttpServletRequest request = chunked ? new ChunkedRequest() : new MockHttpServletRequest();
+        request.setMethod("POST");
+        request.setRequestURI(LOGIN);
+        request.setRemoteAddr(remoteAddr);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // Transfer-Encoding: chunked requests report no content length
+    private static class ChunkedRequest extends MockHttpServletRequest {
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.jendo.app.security;
+
+import com.jendo.app.domain.user.entity.RefreshToken;
+import com.jendo.app.domain.user.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@ActiveProfiles("test")
+class RefreshTokenServiceTest {
+
+    private static final Long USER_ID = 42L;
+    private static final String EMAIL = "refresh@example.com";
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Each refresh hands out the next token in the same family and retires the presented one")
+    void rotationChainsWithinFamily() {
+        String first = refreshTokenService.issue(USER_ID, EMAIL);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first).orElseThrow();
+        assertEquals(USER_ID, rotation.userId());
+        assertEquals(EMAIL, rotation.email());
+
+        VerifiedToken before = jwtUtil.verify(first).orElseThrow();
+        VerifiedToken after = jwtUtil.verify(rotation.refreshToken()).orElseThrow();
+        assertEquals(before.getFamilyId(), after.getFamilyId());
+        assertNotEquals(before.getTokenId(), after.getTokenId());
+
+        RefreshToken retired = refreshTokenRepository.findById(before.getTokenId()).orElseThrow();
+        assertEquals(after.getTokenId(), retired.getReplacedBy());
+        assertNotNull(retired.getRevokedAt());
+
+        assertTrue(refreshTokenService.rotate(rotation.refreshToken()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Replaying a rotated token revokes its whole family but leaves other sign-ins alone")
+    void reuseRevokesFamily() {
+        String stolen = refreshTokenService.issue(USER_ID, EMAIL);
+        String otherDevice = refreshTokenService.issue(USER_ID, EMAIL);
+        String current = refreshTokenService.rotate(stolen).orElseThrow().refreshToken();
+
+        assertTrue(refreshTokenService.rotate(stolen).isEmpty());
+        assertTrue(refreshTokenService.rotate(current).isEmpty(), "the legitimate holder must sign in again");
+
+        String familyId = jwtUtil.verify(stolen).orElseThrow().getFamilyId();
+        List<RefreshToken> family = refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getFamilyId().equals(familyId))
+                .toList();
+        assertEquals(2, family.size());
+        assertTrue(family.stream().allMatch(token -> token.getRevokedAt() != null));
+
+        assertTrue(refreshTokenService.rotate(otherDevice).isPresent());
+    }
+
+    @Test
+    @DisplayName("Logout ends one family and a password change ends them all")
+    void explicitRevocation() {
+        String loggedOut = refreshTokenService.issue(USER_ID, EMAIL);
+        String kept = refreshTokenService.issue(USER_ID, EMAIL);
+        String otherUser = refreshTokenService.issue(USER_ID + 1, "other@example.com");
+
+        refreshTokenService.revoke(loggedOut);
+        assertTrue(refreshTokenService.rotate(loggedOut).isEmpty());
+        String next = refreshTokenService.rotate(kept).orElseThrow().refreshToken();
+
+        refreshTokenService.revokeAllForUser(USER_ID);
+        assertTrue(refreshTokenService.rotate(next).isEmpty());
+        assertTrue(refreshTokenService.rotate(otherUser).isPresent());
+    }
+
+    @Test
+    @DisplayName("Access tokens, garbage and unknown ids cannot be rotated")
+    void rejectsNonRefreshTokens() {
+        assertEquals(Optional.empty(), refreshTokenService.rotate(jwtUtil.generateToken(EMAIL, USER_ID)));
+        assertEquals(Optional.empty(), refreshTokenService.rotate("not-a-jwt"));
+
+        String issued = refreshTokenService.issue(USER_ID, EMAIL);
+        refreshTokenRepository.deleteAllInBatch();
+        assertEquals(Optional.empty(), refreshTokenService.rotate(issued));
+    }
+}
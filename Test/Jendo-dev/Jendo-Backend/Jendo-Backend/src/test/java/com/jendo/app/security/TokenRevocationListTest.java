@@ -0,0 +1,101 @@
+package com.jendo.app.security;
+
+import com.jendo.app.common.cache.BloomFilter;
+import com.jendo.app.domain.user.entity.RevokedToken;
+import com.jendo.app.domain.user.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TokenRevocationListTest {
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationList revocations;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        revocations = new TokenRevocationList(repository);
+        ReflectionTestUtils.setField(revocations, "expectedRevocations", 1000);
+        ReflectionTestUtils.setField(revocations, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(revocations, "bucketMinutes", 10L);
+        revocations.init();
+    }
+
+    @Test
+    @DisplayName("Revoked ids are denied and persisted; expired or incomplete revocations are ignored")
+    void revokeAndCheck() {
+        Instant expiresAt = Instant.now().plus(15, ChronoUnit.MINUTES);
+        revocations.revoke("revoked", expiresAt);
+        revocations.revoke("already-expired", Instant.now().minusSeconds(1));
+        revocations.revoke(null, expiresAt);
+
+        assertTrue(revocations.isRevoked(token("revoked", expiresAt)));
+        assertFalse(revocations.isRevoked(token("other", expiresAt)));
+        assertFalse(revocations.isRevoked(token("already-expired", Instant.now().plusSeconds(60))));
+        assertEquals(1, revocations.size());
+        verify(repository, times(1)).save(any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("A Bloom filter hit is confirmed against the exact set before denying the token")
+    void falsePositiveFallsBackToExactSet() {
+        // A filter sized for one entry saturates quickly, so nearly every id becomes a false positive
+        ReflectionTestUtils.setField(revocations, "expectedRevocations", 1);
+        ReflectionTestUtils.setField(revocations, "falsePositiveRate", 0.5);
+        revocations.init();
+        Instant expiresAt = Instant.now().plus(15, ChronoUnit.MINUTES);
+        IntStream.range(0, 200).forEach(i -> revocations.revoke("revoked-" + i, expiresAt));
+
+        BloomFilter filter = (BloomFilter) ReflectionTestUtils.getField(revocations, "filter");
+        assertTrue(filter.mightContain("never-revoked"));
+        assertFalse(revocations.isRevoked(token("never-revoked", expiresAt)));
+        assertTrue(revocations.isRevoked(token("revoked-7", expiresAt)));
+    }
+
+    @Test
+    @DisplayName("Buckets whose window has passed are dropped and the filter is rebuilt from the rest")
+    void expiredBucketsAreDropped() throws InterruptedException {
+        // Shrink the windows to 100 ms so a bucket can expire within the test
+        ReflectionTestUtils.setField(revocations, "bucketMillis", 100L);
+        Instant soon = Instant.now().plusMillis(150);
+        revocations.revoke("short-lived", soon);
+        Instant later = Instant.now().plus(1, ChronoUnit.HOURS);
+        revocations.revoke("long-lived", later);
+        assertTrue(revocations.isRevoked(token("short-lived", soon)));
+
+        revocations.dropExpiredBuckets();
+        assertEquals(2, revocations.size(), "nothing has expired yet");
+
+        Thread.sleep(400);
+        revocations.dropExpiredBuckets();
+        assertEquals(1, revocations.size());
+        BloomFilter filter = (BloomFilter) ReflectionTestUtils.getField(revocations, "filter");
+        assertFalse(filter.mightContain("short-lived"));
+        assertTrue(revocations.isRevoked(token("long-lived", later)));
+    }
+
+    @Test
+    @DisplayName("Tokens without an id or expiry are never treated as revoked")
+    void incompleteTokensPass() {
+        revocations.revoke("revoked", Instant.now().plusSeconds(60));
+
+        assertFalse(revocations.isRevoked(token(null, Instant.now().plusSeconds(60))));
+        assertFalse(revocations.isRevoked(token("revoked", null)));
+    }
+
+    private static VerifiedToken token(String jti, Instant expiresAt) {
+        return VerifiedToken.builder().tokenId(jti).type(VerifiedToken.TYPE_ACCESS).expiresAt(expiresAt).build();
+    }
+}
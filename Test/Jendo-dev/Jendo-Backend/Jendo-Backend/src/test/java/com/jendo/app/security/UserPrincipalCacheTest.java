@@ -0,0 +1,146 @@
+package com.jendo.app.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jendo.app.domain.user.entity.User;
+import com.jendo.app.domain.user.repository.RefreshTokenRepository;
+import com.jendo.app.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "email.outbox.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserPrincipalCacheTest {
+
+    private static final String EMAIL = "cached.principal@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private VerifiedToken token;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .firstName("Cached").lastName("Principal").email(EMAIL)
+                .password(passwordEncoder.encode("old-password")).build());
+        token = jwtUtil.verify(jwtUtil.generateToken(EMAIL, user.getId())).orElseThrow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+        principalCache.invalidateAfterCompletion(user.getId());
+    }
+
+    @Test
+    @DisplayName("A lookup racing a delete cannot re-cache the account before the delete commits")
+    void invalidationWaitsForCommit() {
+        assertTrue(principalCache.resolve(token).isPresent());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.deleteById(user.getId());
+            principalCache.invalidateAfterCompletion(user.getId());
+            // Another request still sees the committed account, and must not cache it past the commit
+            assertTrue(resolveElsewhere().isPresent());
+        });
+
+        assertTrue(principalCache.resolve(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A rolled back change leaves the account usable")
+    void rollbackKeepsAccount() {
+        assertTrue(principalCache.resolve(token).isPresent());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.deleteById(user.getId());
+            principalCache.invalidateAfterCompletion(user.getId());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(principalCache.resolve(token).isPresent());
+    }
+
+    @Test
+    @DisplayName("Changing the password rejects earlier access and refresh tokens at once")
+    void passwordChangeRevokesTokens() throws Exception {
+        String oldBearer = "Bearer " + jwtUtil.generateToken(EMAIL, user.getId());
+        String oldRefresh = refreshTokenService.issue(user.getId(), EMAIL);
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, oldBearer))
+                .andExpect(status().isOk());
+
+        // Token issue times have second precision, so let the change land in a later second
+        Thread.sleep(1100);
+        String body = mockMvc.perform(post("/api/auth/change-password").header(HttpHeaders.AUTHORIZATION, oldBearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"old-password\",\"newPassword\":\"new-password\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode issued = objectMapper.readTree(body).get("data");
+
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, oldBearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + oldRefresh + "\"}"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/users/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + issued.get("token").asText()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + issued.get("refreshToken").asText() + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private Optional<AuthenticatedUser> resolveElsewhere() {
+        return CompletableFuture.supplyAsync(() -> principalCache.resolve(token)).join();
+    }
+}
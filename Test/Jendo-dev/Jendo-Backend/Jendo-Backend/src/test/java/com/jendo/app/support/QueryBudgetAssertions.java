@@ -0,0 +1,52 @@
+package com.jendo.app.support;
+
+import com.jendo.app.common.jdbc.QueryBudget;
+import com.jendo.app.common.jdbc.QueryStats;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+
+/**
+ * Assertions over the SQL an endpoint issued, for tests that run against a real database through MockMvc.
+ */
+public final class QueryBudgetAssertions {
+
+    public static final int DEFAULT_REPEAT_THRESHOLD = 5;
+
+    private QueryBudgetAssertions() {
+    }
+
+    public static QueryStats queryStats(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE);
+        if (!(stats instanceof QueryStats queryStats)) {
+            throw new AssertionError("No query statistics were recorded for " + result.getRequest().getRequestURI());
+        }
+        return queryStats;
+    }
+
+    /**
+     * Fails if the handler issued more statements than its {@link QueryBudget} allows, or ran any single
+     * statement {@value #DEFAULT_REPEAT_THRESHOLD} or more times.
+     */
+    public static void assertWithinQueryBudget(MvcResult result) {
+        QueryStats stats = queryStats(result);
+        if (result.getHandler() instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            if (budget != null && stats.getStatementCount() > budget.value()) {
+                throw new AssertionError(String.format("%s issued %d statements, budget is %d (%s)",
+                        handlerMethod.getShortLogMessage(), stats.getStatementCount(), budget.value(), stats));
+            }
+        }
+        assertNoRepeatedStatements(result, DEFAULT_REPEAT_THRESHOLD);
+    }
+
+    public static void assertNoRepeatedStatements(MvcResult result, int threshold) {
+        Map<String, Integer> repeated = queryStats(result).repeatedStatements(threshold);
+        if (!repeated.isEmpty()) {
+            Map.Entry<String, Integer> worst = repeated.entrySet().iterator().next();
+            throw new AssertionError(String.format("N+1 on %s: statement ran %d times: %s",
+                    result.getRequest().getRequestURI(), worst.getValue(), worst.getKey()));
+        }
+    }
+}
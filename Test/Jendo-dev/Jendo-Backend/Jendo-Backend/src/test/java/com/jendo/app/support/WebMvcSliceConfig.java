@@ -0,0 +1,45 @@
+package com.jendo.app.support;
+
+import com.cloudinary.Cloudinary;
+import com.jendo.app.security.JwtUtil;
+import com.jendo.app.security.RateLimitProperties;
+import com.jendo.app.security.TokenRevocationList;
+import com.jendo.app.security.UserPrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Beans a {@code @WebMvcTest} slice picks up indirectly: the JWT and rate-limit filters, the query
+ * budget interceptor's metrics, and the upload client. Pair it with
+ * {@code @AutoConfigureMockMvc(addFilters = false)} so requests go straight to the controller.
+ */
+@TestConfiguration
+public class WebMvcSliceConfig {
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private UserPrincipalCache principalCache;
+
+    @MockBean
+    private TokenRevocationList revocationList;
+
+    @MockBean
+    private Cloudinary cloudinary;
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    RateLimitProperties rateLimitProperties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(false);
+        return properties;
+    }
+}